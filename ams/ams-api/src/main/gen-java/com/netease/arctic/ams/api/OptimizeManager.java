@@ -20,6 +20,8 @@ public class OptimizeManager {
 
     public OptimizeTask pollTask(int queueId, JobId jobId, java.lang.String attemptId, long waitTime) throws com.netease.arctic.ams.api.NoSuchObjectException, org.apache.thrift.TException;
 
+    public java.util.List<OptimizeTask> pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime) throws com.netease.arctic.ams.api.NoSuchObjectException, org.apache.thrift.TException;
+
     public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat) throws org.apache.thrift.TException;
 
     public void reportOptimizerState(OptimizerStateReport reportData) throws org.apache.thrift.TException;
@@ -38,6 +40,8 @@ public class OptimizeManager {
 
     public void pollTask(int queueId, JobId jobId, java.lang.String attemptId, long waitTime, org.apache.thrift.async.AsyncMethodCallback<OptimizeTask> resultHandler) throws org.apache.thrift.TException;
 
+    public void pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>> resultHandler) throws org.apache.thrift.TException;
+
     public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
 
     public void reportOptimizerState(OptimizerStateReport reportData, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
@@ -118,6 +122,36 @@ public class OptimizeManager {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "pollTask failed: unknown result");
     }
 
+    public java.util.List<OptimizeTask> pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime) throws com.netease.arctic.ams.api.NoSuchObjectException, org.apache.thrift.TException
+    {
+      send_pollTasks(queueId, jobId, maxTasks, maxBytes, waitTime);
+      return recv_pollTasks();
+    }
+
+    public void send_pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime) throws org.apache.thrift.TException
+    {
+      pollTasks_args args = new pollTasks_args();
+      args.setQueueId(queueId);
+      args.setJobId(jobId);
+      args.setMaxTasks(maxTasks);
+      args.setMaxBytes(maxBytes);
+      args.setWaitTime(waitTime);
+      sendBase("pollTasks", args);
+    }
+
+    public java.util.List<OptimizeTask> recv_pollTasks() throws com.netease.arctic.ams.api.NoSuchObjectException, org.apache.thrift.TException
+    {
+      pollTasks_result result = new pollTasks_result();
+      receiveBase(result, "pollTasks");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e1 != null) {
+        throw result.e1;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "pollTasks failed: unknown result");
+    }
+
     public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat) throws org.apache.thrift.TException
     {
       send_reportOptimizeResult(optimizeTaskStat);
@@ -315,6 +349,50 @@ public class OptimizeManager {
       }
     }
 
+    public void pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      pollTasks_call method_call = new pollTasks_call(queueId, jobId, maxTasks, maxBytes, waitTime, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class pollTasks_call extends org.apache.thrift.async.TAsyncMethodCall<java.util.List<OptimizeTask>> {
+      private int queueId;
+      private JobId jobId;
+      private int maxTasks;
+      private long maxBytes;
+      private long waitTime;
+      public pollTasks_call(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.queueId = queueId;
+        this.jobId = jobId;
+        this.maxTasks = maxTasks;
+        this.maxBytes = maxBytes;
+        this.waitTime = waitTime;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("pollTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        pollTasks_args args = new pollTasks_args();
+        args.setQueueId(queueId);
+        args.setJobId(jobId);
+        args.setMaxTasks(maxTasks);
+        args.setMaxBytes(maxBytes);
+        args.setWaitTime(waitTime);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.util.List<OptimizeTask> getResult() throws com.netease.arctic.ams.api.NoSuchObjectException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_pollTasks();
+      }
+    }
+
     public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       reportOptimizeResult_call method_call = new reportOptimizeResult_call(optimizeTaskStat, resultHandler, this, ___protocolFactory, ___transport);
@@ -490,6 +568,7 @@ public class OptimizeManager {
     private static <I extends Iface> java.util.Map<java.lang.String,  org.apache.thrift.ProcessFunction<I, ? extends org.apache.thrift.TBase>> getProcessMap(java.util.Map<java.lang.String, org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
       processMap.put("ping", new ping());
       processMap.put("pollTask", new pollTask());
+      processMap.put("pollTasks", new pollTasks());
       processMap.put("reportOptimizeResult", new reportOptimizeResult());
       processMap.put("reportOptimizerState", new reportOptimizerState());
       processMap.put("registerOptimizer", new registerOptimizer());
@@ -552,6 +631,35 @@ public class OptimizeManager {
       }
     }
 
+    public static class pollTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, pollTasks_args> {
+      public pollTasks() {
+        super("pollTasks");
+      }
+
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public pollTasks_result getResult(I iface, pollTasks_args args) throws org.apache.thrift.TException {
+        pollTasks_result result = new pollTasks_result();
+        try {
+          result.success = iface.pollTasks(args.queueId, args.jobId, args.maxTasks, args.maxBytes, args.waitTime);
+        } catch (com.netease.arctic.ams.api.NoSuchObjectException e1) {
+          result.e1 = e1;
+        }
+        return result;
+      }
+    }
+
     public static class reportOptimizeResult<I extends Iface> extends org.apache.thrift.ProcessFunction<I, reportOptimizeResult_args> {
       public reportOptimizeResult() {
         super("reportOptimizeResult");
@@ -700,6 +808,7 @@ public class OptimizeManager {
     private static <I extends AsyncIface> java.util.Map<java.lang.String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase,?>> getProcessMap(java.util.Map<java.lang.String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
       processMap.put("ping", new ping());
       processMap.put("pollTask", new pollTask());
+      processMap.put("pollTasks", new pollTasks());
       processMap.put("reportOptimizeResult", new reportOptimizeResult());
       processMap.put("reportOptimizerState", new reportOptimizerState());
       processMap.put("registerOptimizer", new registerOptimizer());
@@ -833,6 +942,71 @@ public class OptimizeManager {
       }
     }
 
+    public static class pollTasks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, pollTasks_args, java.util.List<OptimizeTask>> {
+      public pollTasks() {
+        super("pollTasks");
+      }
+
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>>() { 
+          public void onComplete(java.util.List<OptimizeTask> o) {
+            pollTasks_result result = new pollTasks_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            pollTasks_result result = new pollTasks_result();
+            if (e instanceof com.netease.arctic.ams.api.NoSuchObjectException) {
+              result.e1 = (com.netease.arctic.ams.api.NoSuchObjectException) e;
+              result.setE1IsSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, pollTasks_args args, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizeTask>> resultHandler) throws org.apache.thrift.TException {
+        iface.pollTasks(args.queueId, args.jobId, args.maxTasks, args.maxBytes, args.waitTime,resultHandler);
+      }
+    }
+
     public static class reportOptimizeResult<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, reportOptimizeResult_args, Void> {
       public reportOptimizeResult() {
         super("reportOptimizeResult");
@@ -2804,6 +2978,1295 @@ public class OptimizeManager {
     }
   }
 
+  public static class pollTasks_args implements org.apache.thrift.TBase<pollTasks_args, pollTasks_args._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_args");
+
+    private static final org.apache.thrift.protocol.TField QUEUE_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("queueId", org.apache.thrift.protocol.TType.I32, (short)1);
+    private static final org.apache.thrift.protocol.TField JOB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("jobId", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField MAX_TASKS_FIELD_DESC = new org.apache.thrift.protocol.TField("maxTasks", org.apache.thrift.protocol.TType.I32, (short)3);
+    private static final org.apache.thrift.protocol.TField MAX_BYTES_FIELD_DESC = new org.apache.thrift.protocol.TField("maxBytes", org.apache.thrift.protocol.TType.I64, (short)4);
+    private static final org.apache.thrift.protocol.TField WAIT_TIME_FIELD_DESC = new org.apache.thrift.protocol.TField("waitTime", org.apache.thrift.protocol.TType.I64, (short)5);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_argsTupleSchemeFactory();
+
+    public int queueId; // required
+    public @org.apache.thrift.annotation.Nullable JobId jobId; // required
+    public int maxTasks; // required
+    public long maxBytes; // required
+    public long waitTime; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      QUEUE_ID((short)1, "queueId"),
+      JOB_ID((short)2, "jobId"),
+      MAX_TASKS((short)3, "maxTasks"),
+      MAX_BYTES((short)4, "maxBytes"),
+      WAIT_TIME((short)5, "waitTime");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // QUEUE_ID
+            return QUEUE_ID;
+          case 2: // JOB_ID
+            return JOB_ID;
+          case 3: // MAX_TASKS
+            return MAX_TASKS;
+          case 4: // MAX_BYTES
+            return MAX_BYTES;
+          case 5: // WAIT_TIME
+            return WAIT_TIME;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __QUEUEID_ISSET_ID = 0;
+    private static final int __MAXTASKS_ISSET_ID = 1;
+    private static final int __MAXBYTES_ISSET_ID = 2;
+    private static final int __WAITTIME_ISSET_ID = 3;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.QUEUE_ID, new org.apache.thrift.meta_data.FieldMetaData("queueId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.JOB_ID, new org.apache.thrift.meta_data.FieldMetaData("jobId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, JobId.class)));
+      tmpMap.put(_Fields.MAX_TASKS, new org.apache.thrift.meta_data.FieldMetaData("maxTasks", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.MAX_BYTES, new org.apache.thrift.meta_data.FieldMetaData("maxBytes", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.WAIT_TIME, new org.apache.thrift.meta_data.FieldMetaData("waitTime", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_args.class, metaDataMap);
+    }
+
+    public pollTasks_args() {
+    }
+
+    public pollTasks_args(
+      int queueId,
+      JobId jobId,
+      int maxTasks,
+      long maxBytes,
+      long waitTime)
+    {
+      this();
+      this.queueId = queueId;
+      setQueueIdIsSet(true);
+      this.jobId = jobId;
+      this.maxTasks = maxTasks;
+      setMaxTasksIsSet(true);
+      this.maxBytes = maxBytes;
+      setMaxBytesIsSet(true);
+      this.waitTime = waitTime;
+      setWaitTimeIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_args(pollTasks_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.queueId = other.queueId;
+      if (other.isSetJobId()) {
+        this.jobId = new JobId(other.jobId);
+      }
+      this.maxTasks = other.maxTasks;
+      this.maxBytes = other.maxBytes;
+      this.waitTime = other.waitTime;
+    }
+
+    public pollTasks_args deepCopy() {
+      return new pollTasks_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setQueueIdIsSet(false);
+      this.queueId = 0;
+      this.jobId = null;
+      setMaxTasksIsSet(false);
+      this.maxTasks = 0;
+      setMaxBytesIsSet(false);
+      this.maxBytes = 0;
+      setWaitTimeIsSet(false);
+      this.waitTime = 0;
+    }
+
+    public int getQueueId() {
+      return this.queueId;
+    }
+
+    public pollTasks_args setQueueId(int queueId) {
+      this.queueId = queueId;
+      setQueueIdIsSet(true);
+      return this;
+    }
+
+    public void unsetQueueId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __QUEUEID_ISSET_ID);
+    }
+
+    /** Returns true if field queueId is set (has been assigned a value) and false otherwise */
+    public boolean isSetQueueId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __QUEUEID_ISSET_ID);
+    }
+
+    public void setQueueIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __QUEUEID_ISSET_ID, value);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public JobId getJobId() {
+      return this.jobId;
+    }
+
+    public pollTasks_args setJobId(@org.apache.thrift.annotation.Nullable JobId jobId) {
+      this.jobId = jobId;
+      return this;
+    }
+
+    public void unsetJobId() {
+      this.jobId = null;
+    }
+
+    /** Returns true if field jobId is set (has been assigned a value) and false otherwise */
+    public boolean isSetJobId() {
+      return this.jobId != null;
+    }
+
+    public void setJobIdIsSet(boolean value) {
+      if (!value) {
+        this.jobId = null;
+      }
+    }
+
+    public int getMaxTasks() {
+      return this.maxTasks;
+    }
+
+    public pollTasks_args setMaxTasks(int maxTasks) {
+      this.maxTasks = maxTasks;
+      setMaxTasksIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxTasks() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MAXTASKS_ISSET_ID);
+    }
+
+    /** Returns true if field maxTasks is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxTasks() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MAXTASKS_ISSET_ID);
+    }
+
+    public void setMaxTasksIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MAXTASKS_ISSET_ID, value);
+    }
+
+    public long getMaxBytes() {
+      return this.maxBytes;
+    }
+
+    public pollTasks_args setMaxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      setMaxBytesIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxBytes() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MAXBYTES_ISSET_ID);
+    }
+
+    /** Returns true if field maxBytes is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxBytes() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MAXBYTES_ISSET_ID);
+    }
+
+    public void setMaxBytesIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MAXBYTES_ISSET_ID, value);
+    }
+
+    public long getWaitTime() {
+      return this.waitTime;
+    }
+
+    public pollTasks_args setWaitTime(long waitTime) {
+      this.waitTime = waitTime;
+      setWaitTimeIsSet(true);
+      return this;
+    }
+
+    public void unsetWaitTime() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __WAITTIME_ISSET_ID);
+    }
+
+    /** Returns true if field waitTime is set (has been assigned a value) and false otherwise */
+    public boolean isSetWaitTime() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __WAITTIME_ISSET_ID);
+    }
+
+    public void setWaitTimeIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __WAITTIME_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case QUEUE_ID:
+        if (value == null) {
+          unsetQueueId();
+        } else {
+          setQueueId((java.lang.Integer)value);
+        }
+        break;
+
+      case JOB_ID:
+        if (value == null) {
+          unsetJobId();
+        } else {
+          setJobId((JobId)value);
+        }
+        break;
+
+      case MAX_TASKS:
+        if (value == null) {
+          unsetMaxTasks();
+        } else {
+          setMaxTasks((java.lang.Integer)value);
+        }
+        break;
+
+      case MAX_BYTES:
+        if (value == null) {
+          unsetMaxBytes();
+        } else {
+          setMaxBytes((java.lang.Long)value);
+        }
+        break;
+
+      case WAIT_TIME:
+        if (value == null) {
+          unsetWaitTime();
+        } else {
+          setWaitTime((java.lang.Long)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case QUEUE_ID:
+        return getQueueId();
+
+      case JOB_ID:
+        return getJobId();
+
+      case MAX_TASKS:
+        return getMaxTasks();
+
+      case MAX_BYTES:
+        return getMaxBytes();
+
+      case WAIT_TIME:
+        return getWaitTime();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case QUEUE_ID:
+        return isSetQueueId();
+      case JOB_ID:
+        return isSetJobId();
+      case MAX_TASKS:
+        return isSetMaxTasks();
+      case MAX_BYTES:
+        return isSetMaxBytes();
+      case WAIT_TIME:
+        return isSetWaitTime();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_args)
+        return this.equals((pollTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_queueId = true;
+      boolean that_present_queueId = true;
+      if (this_present_queueId || that_present_queueId) {
+        if (!(this_present_queueId && that_present_queueId))
+          return false;
+        if (this.queueId != that.queueId)
+          return false;
+      }
+
+      boolean this_present_jobId = true && this.isSetJobId();
+      boolean that_present_jobId = true && that.isSetJobId();
+      if (this_present_jobId || that_present_jobId) {
+        if (!(this_present_jobId && that_present_jobId))
+          return false;
+        if (!this.jobId.equals(that.jobId))
+          return false;
+      }
+
+      boolean this_present_maxTasks = true;
+      boolean that_present_maxTasks = true;
+      if (this_present_maxTasks || that_present_maxTasks) {
+        if (!(this_present_maxTasks && that_present_maxTasks))
+          return false;
+        if (this.maxTasks != that.maxTasks)
+          return false;
+      }
+
+      boolean this_present_maxBytes = true;
+      boolean that_present_maxBytes = true;
+      if (this_present_maxBytes || that_present_maxBytes) {
+        if (!(this_present_maxBytes && that_present_maxBytes))
+          return false;
+        if (this.maxBytes != that.maxBytes)
+          return false;
+      }
+
+      boolean this_present_waitTime = true;
+      boolean that_present_waitTime = true;
+      if (this_present_waitTime || that_present_waitTime) {
+        if (!(this_present_waitTime && that_present_waitTime))
+          return false;
+        if (this.waitTime != that.waitTime)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + queueId;
+
+      hashCode = hashCode * 8191 + ((isSetJobId()) ? 131071 : 524287);
+      if (isSetJobId())
+        hashCode = hashCode * 8191 + jobId.hashCode();
+
+      hashCode = hashCode * 8191 + maxTasks;
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(maxBytes);
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(waitTime);
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetQueueId()).compareTo(other.isSetQueueId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetQueueId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.queueId, other.queueId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetJobId()).compareTo(other.isSetJobId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetJobId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.jobId, other.jobId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMaxTasks()).compareTo(other.isSetMaxTasks());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxTasks()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxTasks, other.maxTasks);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMaxBytes()).compareTo(other.isSetMaxBytes());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxBytes()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxBytes, other.maxBytes);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetWaitTime()).compareTo(other.isSetWaitTime());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetWaitTime()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.waitTime, other.waitTime);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_args(");
+      boolean first = true;
+
+      sb.append("queueId:");
+      sb.append(this.queueId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("jobId:");
+      if (this.jobId == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.jobId);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxTasks:");
+      sb.append(this.maxTasks);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxBytes:");
+      sb.append(this.maxBytes);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("waitTime:");
+      sb.append(this.waitTime);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (jobId != null) {
+        jobId.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsStandardScheme getScheme() {
+        return new pollTasks_argsStandardScheme();
+      }
+    }
+
+    private static class pollTasks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // QUEUE_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.queueId = iprot.readI32();
+                struct.setQueueIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // JOB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.jobId = new JobId();
+                struct.jobId.read(iprot);
+                struct.setJobIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // MAX_TASKS
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxTasks = iprot.readI32();
+                struct.setMaxTasksIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // MAX_BYTES
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.maxBytes = iprot.readI64();
+                struct.setMaxBytesIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 5: // WAIT_TIME
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.waitTime = iprot.readI64();
+                struct.setWaitTimeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(QUEUE_ID_FIELD_DESC);
+        oprot.writeI32(struct.queueId);
+        oprot.writeFieldEnd();
+        if (struct.jobId != null) {
+          oprot.writeFieldBegin(JOB_ID_FIELD_DESC);
+          struct.jobId.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(MAX_TASKS_FIELD_DESC);
+        oprot.writeI32(struct.maxTasks);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(MAX_BYTES_FIELD_DESC);
+        oprot.writeI64(struct.maxBytes);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(WAIT_TIME_FIELD_DESC);
+        oprot.writeI64(struct.waitTime);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsTupleScheme getScheme() {
+        return new pollTasks_argsTupleScheme();
+      }
+    }
+
+    private static class pollTasks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetQueueId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetJobId()) {
+          optionals.set(1);
+        }
+        if (struct.isSetMaxTasks()) {
+          optionals.set(2);
+        }
+        if (struct.isSetMaxBytes()) {
+          optionals.set(3);
+        }
+        if (struct.isSetWaitTime()) {
+          optionals.set(4);
+        }
+        oprot.writeBitSet(optionals, 5);
+        if (struct.isSetQueueId()) {
+          oprot.writeI32(struct.queueId);
+        }
+        if (struct.isSetJobId()) {
+          struct.jobId.write(oprot);
+        }
+        if (struct.isSetMaxTasks()) {
+          oprot.writeI32(struct.maxTasks);
+        }
+        if (struct.isSetMaxBytes()) {
+          oprot.writeI64(struct.maxBytes);
+        }
+        if (struct.isSetWaitTime()) {
+          oprot.writeI64(struct.waitTime);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(5);
+        if (incoming.get(0)) {
+          struct.queueId = iprot.readI32();
+          struct.setQueueIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.jobId = new JobId();
+          struct.jobId.read(iprot);
+          struct.setJobIdIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.maxTasks = iprot.readI32();
+          struct.setMaxTasksIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.maxBytes = iprot.readI64();
+          struct.setMaxBytesIsSet(true);
+        }
+        if (incoming.get(4)) {
+          struct.waitTime = iprot.readI64();
+          struct.setWaitTimeIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class pollTasks_result implements org.apache.thrift.TBase<pollTasks_result, pollTasks_result._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+    private static final org.apache.thrift.protocol.TField E1_FIELD_DESC = new org.apache.thrift.protocol.TField("e1", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_resultTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.util.List<OptimizeTask> success; // required
+    public @org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.NoSuchObjectException e1; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E1((short)1, "e1");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E1
+            return E1;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, OptimizeTask.class))));
+      tmpMap.put(_Fields.E1, new org.apache.thrift.meta_data.FieldMetaData("e1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, com.netease.arctic.ams.api.NoSuchObjectException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_result.class, metaDataMap);
+    }
+
+    public pollTasks_result() {
+    }
+
+    public pollTasks_result(
+      java.util.List<OptimizeTask> success,
+      com.netease.arctic.ams.api.NoSuchObjectException e1)
+    {
+      this();
+      this.success = success;
+      this.e1 = e1;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_result(pollTasks_result other) {
+      if (other.isSetSuccess()) {
+        java.util.List<OptimizeTask> __this__success = new java.util.ArrayList<OptimizeTask>(other.success.size());
+        for (OptimizeTask other_element : other.success) {
+          __this__success.add(new OptimizeTask(other_element));
+        }
+        this.success = __this__success;
+      }
+      if (other.isSetE1()) {
+        this.e1 = new com.netease.arctic.ams.api.NoSuchObjectException(other.e1);
+      }
+    }
+
+    public pollTasks_result deepCopy() {
+      return new pollTasks_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e1 = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Iterator<OptimizeTask> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(OptimizeTask elem) {
+      if (this.success == null) {
+        this.success = new java.util.ArrayList<OptimizeTask>();
+      }
+      this.success.add(elem);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.List<OptimizeTask> getSuccess() {
+      return this.success;
+    }
+
+    public pollTasks_result setSuccess(@org.apache.thrift.annotation.Nullable java.util.List<OptimizeTask> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public com.netease.arctic.ams.api.NoSuchObjectException getE1() {
+      return this.e1;
+    }
+
+    public pollTasks_result setE1(@org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.NoSuchObjectException e1) {
+      this.e1 = e1;
+      return this;
+    }
+
+    public void unsetE1() {
+      this.e1 = null;
+    }
+
+    /** Returns true if field e1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetE1() {
+      return this.e1 != null;
+    }
+
+    public void setE1IsSet(boolean value) {
+      if (!value) {
+        this.e1 = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((java.util.List<OptimizeTask>)value);
+        }
+        break;
+
+      case E1:
+        if (value == null) {
+          unsetE1();
+        } else {
+          setE1((com.netease.arctic.ams.api.NoSuchObjectException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E1:
+        return getE1();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E1:
+        return isSetE1();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_result)
+        return this.equals((pollTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e1 = true && this.isSetE1();
+      boolean that_present_e1 = true && that.isSetE1();
+      if (this_present_e1 || that_present_e1) {
+        if (!(this_present_e1 && that_present_e1))
+          return false;
+        if (!this.e1.equals(that.e1))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetE1()) ? 131071 : 524287);
+      if (isSetE1())
+        hashCode = hashCode * 8191 + e1.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetE1()).compareTo(other.isSetE1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e1, other.e1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e1:");
+      if (this.e1 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e1);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultStandardScheme getScheme() {
+        return new pollTasks_resultStandardScheme();
+      }
+    }
+
+    private static class pollTasks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list68 = iprot.readListBegin();
+                  struct.success = new java.util.ArrayList<OptimizeTask>(_list68.size);
+                  @org.apache.thrift.annotation.Nullable OptimizeTask _elem69;
+                  for (int _i70 = 0; _i70 < _list68.size; ++_i70)
+                  {
+                    _elem69 = new OptimizeTask();
+                    _elem69.read(iprot);
+                    struct.success.add(_elem69);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E1
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e1 = new com.netease.arctic.ams.api.NoSuchObjectException();
+                struct.e1.read(iprot);
+                struct.setE1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (OptimizeTask _iter71 : struct.success)
+            {
+              _iter71.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        if (struct.e1 != null) {
+          oprot.writeFieldBegin(E1_FIELD_DESC);
+          struct.e1.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultTupleScheme getScheme() {
+        return new pollTasks_resultTupleScheme();
+      }
+    }
+
+    private static class pollTasks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE1()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (OptimizeTask _iter72 : struct.success)
+            {
+              _iter72.write(oprot);
+            }
+          }
+        }
+        if (struct.isSetE1()) {
+          struct.e1.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list73 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new java.util.ArrayList<OptimizeTask>(_list73.size);
+            @org.apache.thrift.annotation.Nullable OptimizeTask _elem74;
+            for (int _i75 = 0; _i75 < _list73.size; ++_i75)
+            {
+              _elem74 = new OptimizeTask();
+              _elem74.read(iprot);
+              struct.success.add(_elem74);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e1 = new com.netease.arctic.ams.api.NoSuchObjectException();
+          struct.e1.read(iprot);
+          struct.setE1IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
   public static class reportOptimizeResult_args implements org.apache.thrift.TBase<reportOptimizeResult_args, reportOptimizeResult_args._Fields>, java.io.Serializable, Cloneable, Comparable<reportOptimizeResult_args>   {
     private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("reportOptimizeResult_args");
 
@@ -56,6 +56,14 @@ public class CatalogMetaProperties {
     public static final String CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS = "client.pool.cache.eviction-interval-ms";
     public static final long CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS_DEFAULT = TimeUnit.MINUTES.toMillis(5);
 
+    // only used for engine properties, cache loaded tables in the catalog
+    public static final String TABLE_CACHE_ENABLED = "table-cache.enabled";
+    public static final boolean TABLE_CACHE_ENABLED_DEFAULT = false;
+    public static final String TABLE_CACHE_EXPIRATION_INTERVAL_MS = "table-cache.expiration-interval-ms";
+    public static final long TABLE_CACHE_EXPIRATION_INTERVAL_MS_DEFAULT = TimeUnit.SECONDS.toMillis(30);
+    public static final String TABLE_CACHE_MAX_SIZE = "table-cache.max-size";
+    public static final long TABLE_CACHE_MAX_SIZE_DEFAULT = 1000;
+
     // only used for engine properties
     public static final String LOAD_AUTH_FROM_AMS = "auth.load-from-ams";
     public static final boolean LOAD_AUTH_FROM_AMS_DEFAULT = true;
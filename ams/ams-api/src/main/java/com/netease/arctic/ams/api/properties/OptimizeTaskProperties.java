@@ -6,4 +6,12 @@ public class OptimizeTaskProperties {
   public static final String CUSTOM_HIVE_SUB_DIRECTORY = "custom-hive-sub-directory";
   public static final String MAX_EXECUTE_TIME = "max-execute-time";
   public static final String MOVE_FILES_TO_HIVE_LOCATION = "move-files-to-hive-location";
+  // encoding of the files of the task and of its result, java serialization if absent
+  public static final String FILE_ENCODING = "file-encoding";
+  // attempt id of a task polled in a batch, assigned by AMS
+  public static final String ATTEMPT_ID = "attempt-id";
+
+  // optimizer state properties
+  // encodings of files supported by the optimizer, separated by comma
+  public static final String SUPPORTED_FILE_ENCODINGS = "supported-file-encodings";
 }
@@ -51,4 +51,7 @@ public class OptimizerProperties {
   public static final String SPILLABLE_MAP_ENABLE = "spillable.map.enabled";
   public static final String SPILLABLE_MAP_DIR = "spillable.map.dir";
   public static final String SPILLABLE_MEMORY_LIMIT = "spillable.memory.limit";
+  public static final String SPILLABLE_BLOCK_CACHE_SIZE = "spillable.block-cache.size";
+  public static final String SPILLABLE_WRITE_BUFFER_SIZE = "spillable.write-buffer.size";
+  public static final String SPILLABLE_DISK_QUOTA = "spillable.disk.quota";
 }
@@ -122,6 +122,9 @@ service OptimizeManager {
     OptimizeTask pollTask(1:i32 queueId, 2:JobId jobId, 3:string attemptId, 4:i64 waitTime)
         throws (1: arctic_commons.NoSuchObjectException e1)
 
+    list<OptimizeTask> pollTasks(1:i32 queueId, 2:JobId jobId, 3:i32 maxTasks, 4:i64 maxBytes, 5:i64 waitTime)
+        throws (1: arctic_commons.NoSuchObjectException e1)
+
     void reportOptimizeResult(1:OptimizeTaskStat optimizeTaskStat)
 
     void reportOptimizerState(1: OptimizerStateReport reportData)
@@ -392,6 +392,12 @@ public class MockArcticMetastoreServer implements Runnable {
       return null;
     }
 
+    @Override
+    public List<OptimizeTask> pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime)
+        throws NoSuchObjectException, TException {
+      return Collections.emptyList();
+    }
+
     @Override
     public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat) throws TException {
 
@@ -183,6 +183,7 @@ public class AmsRestServer {
         get("/optimize/optimizerGroups/{optimizerGroup}/optimizers", OptimizerController::getOptimizers);
         get("/optimize/optimizerGroups", OptimizerController::getOptimizerGroups);
         get("/optimize/optimizerGroups/{optimizerGroup}/info", OptimizerController::getOptimizerGroupInfo);
+        get("/optimize/optimizerGroups/{optimizerGroup}/metrics", OptimizerController::getOptimizerGroupMetrics);
         delete("/optimize/optimizerGroups/{optimizerGroup}/optimizers/{jobId}", OptimizerController::releaseOptimizer);
         post("/optimize/optimizerGroups/{optimizerGroup}/optimizers", OptimizerController::scaleOutOptimizer);
         post("/optimize/optimizerGroups", OptimizerController::createOptimizeGroup);
@@ -208,6 +209,7 @@ public class AmsRestServer {
 
         /** health check **/
         get("/health/status", HealthCheckController::healthCheck);
+        get("/health/fileCache/metrics", HealthCheckController::getFileCacheMetrics);
 
         /** version controller **/
         get("/versionInfo", VersionController::getVersionInfo);
@@ -239,6 +241,7 @@ public class AmsRestServer {
         get("/optimize/optimizerGroups/{optimizerGroup}/optimizers", OptimizerController::getOptimizers);
         get("/optimize/optimizerGroups", OptimizerController::getOptimizerGroups);
         get("/optimize/optimizerGroups/{optimizerGroup}/info", OptimizerController::getOptimizerGroupInfo);
+        get("/optimize/optimizerGroups/{optimizerGroup}/metrics", OptimizerController::getOptimizerGroupMetrics);
         delete("/optimize/optimizerGroups/{optimizerGroup}/optimizers/{jobId}", OptimizerController::releaseOptimizer);
         post("/optimize/optimizerGroups/{optimizerGroup}/optimizers", OptimizerController::scaleOutOptimizer);
         post("/optimize/optimizerGroups", OptimizerController::createOptimizeGroup);
@@ -254,6 +257,7 @@ public class AmsRestServer {
 
         /** health check **/
         get("/health/status", HealthCheckController::healthCheck);
+        get("/health/fileCache/metrics", HealthCheckController::getFileCacheMetrics);
 
         /** version controller **/
         get("/versionInfo", VersionController::getVersionInfo);
@@ -85,6 +85,23 @@ public class ArcticMetaStoreConf {
           .defaultValue(10)
           .withDescription("Number of threads in the thread pool.  " +
               "These will be used to execute all optimize commit processes.");
+  public static final ConfigOption<Long> OPTIMIZE_FULL_PLAN_INTERVAL =
+      ConfigOptions.key("arctic.ams.optimize.full-plan.interval")
+          .longType()
+          .defaultValue(300000L)
+          .withDescription("Interval of planning all partitions of a table. Between full plans only the partitions " +
+              "changed by commits reported to ams are planned, every plan is full if not positive.");
+  public static final ConfigOption<Integer> OPTIMIZE_PLAN_THREAD_POOL_SIZE =
+      ConfigOptions.key("arctic.ams.optimize.plan.thread.pool-size")
+          .intType()
+          .defaultValue(4)
+          .withDescription("Number of threads planning tables in parallel for each optimize group.");
+  public static final ConfigOption<Integer> OPTIMIZE_READY_TASKS_CAPACITY =
+      ConfigOptions.key("arctic.ams.optimize.ready-tasks.capacity")
+          .intType()
+          .defaultValue(64)
+          .withDescription("Number of planned tasks kept ready in each optimize group, tables are planned ahead of " +
+              "the optimizers until it is reached.");
   public static final ConfigOption<Long> OPTIMIZE_REFRESH_TABLES_INTERVAL =
       ConfigOptions.key("arctic.ams.optimize.refresh-tables.interval")
           .longType()
@@ -102,6 +119,29 @@ public class ArcticMetaStoreConf {
           .defaultValue(10)
           .withDescription("Number of threads in the thread pool.  " +
               "These will be used to execute all orphan file clean processes.");
+  public static final ConfigOption<Integer> ORPHAN_CLEAN_PARALLELISM =
+      ConfigOptions.key("arctic.ams.orphan.clean.parallelism")
+          .intType()
+          .defaultValue(4)
+          .withDescription("Number of threads listing directories and deleting files when cleaning orphan files " +
+              "of a table.");
+  public static final ConfigOption<Integer> ORPHAN_CLEAN_DELETE_BATCH_SIZE =
+      ConfigOptions.key("arctic.ams.orphan.clean.delete.batch-size")
+          .intType()
+          .defaultValue(1000)
+          .withDescription("Number of orphan files deleted by a thread in one batch.");
+  public static final ConfigOption<Integer> ORPHAN_CLEAN_NAMESPACE_OPERATIONS_PER_SECOND =
+      ConfigOptions.key("arctic.ams.orphan.clean.namespace-operations-per-second")
+          .intType()
+          .defaultValue(1000)
+          .withDescription("Max number of list and delete operations per second on the file system when cleaning " +
+              "orphan files of a table, no limit if not positive.");
+  public static final ConfigOption<Long> ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE =
+      ConfigOptions.key("arctic.ams.orphan.clean.valid-files.memory-size")
+          .longType()
+          .defaultValue(256L * 1024 * 1024)
+          .withDescription("Max memory in bytes to keep valid file paths when cleaning orphan files of a table, " +
+              "the paths spill to disk beyond it.");
   public static final ConfigOption<Integer> TRASH_CLEAN_THREAD_POOL_SIZE =
       ConfigOptions.key("arctic.ams.trash.clean.thread.pool-size")
           .intType()
@@ -120,6 +160,30 @@ public class ArcticMetaStoreConf {
           .defaultValue(10)
           .withDescription("Number of threads in the thread pool.  " +
               "These will be used to execute all file sync processes.");
+  public static final ConfigOption<Integer> FILE_CACHE_COMMIT_THREADS =
+      ConfigOptions.key("arctic.ams.file.cache.commit.threads")
+          .intType()
+          .defaultValue(2)
+          .withDescription("Number of threads writing committed files into the file cache in the background, " +
+              "commits of a table are always written by the same thread. Commits are written synchronously if 0.");
+  public static final ConfigOption<Integer> FILE_CACHE_COMMIT_QUEUE_CAPACITY =
+      ConfigOptions.key("arctic.ams.file.cache.commit.queue-capacity")
+          .intType()
+          .defaultValue(10000)
+          .withDescription("Max number of commits waiting for a file cache commit thread, committers wait " +
+              "when the queue is full.");
+  public static final ConfigOption<Integer> FILE_CACHE_COMMIT_BATCH_SIZE =
+      ConfigOptions.key("arctic.ams.file.cache.commit.batch-size")
+          .intType()
+          .defaultValue(100)
+          .withDescription("Max number of commits a file cache commit thread writes at a time, " +
+              "commits of each table are written in one transaction.");
+  public static final ConfigOption<Long> FILE_CACHE_COMMIT_WAIT_TIMEOUT =
+      ConfigOptions.key("arctic.ams.file.cache.commit.wait-timeout")
+          .longType()
+          .defaultValue(60000L)
+          .withDescription("Max milliseconds services reading the file cache wait for the current snapshot of a " +
+              "table to be written into it.");
   public static final ConfigOption<String> THRIFT_BIND_HOST =
       ConfigOptions.key("arctic.ams.server-host")
           .stringType()
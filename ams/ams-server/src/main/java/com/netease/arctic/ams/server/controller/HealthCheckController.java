@@ -19,6 +19,7 @@
 package com.netease.arctic.ams.server.controller;
 
 import com.netease.arctic.ams.server.controller.response.OkResponse;
+import com.netease.arctic.ams.server.service.ServiceContainer;
 import io.javalin.http.Context;
 
 /**
@@ -29,4 +30,11 @@ public class HealthCheckController {
   public static void healthCheck(Context ctx) {
     ctx.json(OkResponse.of(null));
   }
+
+  /**
+   * get metrics of commits waiting to be written into the file cache
+   */
+  public static void getFileCacheMetrics(Context ctx) {
+    ctx.json(OkResponse.of(ServiceContainer.getFileInfoCacheService().getMetrics()));
+  }
 }
@@ -21,6 +21,7 @@ package com.netease.arctic.ams.server.controller;
 import com.netease.arctic.ams.server.controller.response.ErrorResponse;
 import com.netease.arctic.ams.server.controller.response.OkResponse;
 import com.netease.arctic.ams.server.controller.response.PageResult;
+import com.netease.arctic.ams.server.model.OptimizeQueueMetrics;
 import com.netease.arctic.ams.server.model.Optimizer;
 import com.netease.arctic.ams.server.model.OptimizerGroupInfo;
 import com.netease.arctic.ams.server.model.OptimizerResourceInfo;
@@ -30,6 +31,7 @@ import com.netease.arctic.ams.server.optimize.IOptimizeService;
 import com.netease.arctic.ams.server.optimize.TableOptimizeItem;
 import com.netease.arctic.ams.server.service.ServiceContainer;
 import com.netease.arctic.ams.server.service.impl.ContainerMetaService;
+import com.netease.arctic.ams.server.service.impl.OptimizeQueueService;
 import com.netease.arctic.ams.server.service.impl.OptimizerService;
 import com.netease.arctic.table.TableIdentifier;
 import io.javalin.http.Context;
@@ -41,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -196,6 +199,26 @@ public class OptimizerController extends RestBaseController {
     }
   }
 
+  /**
+   * get planning metrics of optimizerGroup: ready tasks, planning tables, plan latency
+   * url = /optimize/optimizerGroups/{optimizerGroup}/metrics.
+   * * @return List of {@link OptimizeQueueMetrics}
+   */
+  public static void getOptimizerGroupMetrics(Context ctx) {
+    String optimizerGroup = ctx.pathParam("optimizerGroup");
+    try {
+      OptimizeQueueService optimizeQueueService = ServiceContainer.getOptimizeQueueService();
+      if (optimizerGroup.equals("all")) {
+        ctx.json(OkResponse.of(optimizeQueueService.getQueueMetrics()));
+      } else {
+        ctx.json(OkResponse.of(Collections.singletonList(optimizeQueueService.getQueueMetrics(optimizerGroup))));
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to get optimizerGroup metrics", e);
+      ctx.json(new ErrorResponse(HttpCode.BAD_REQUEST, "Failed to get optimizerGroup metrics", ""));
+    }
+  }
+
   /**
    * release optimizer.
    *
@@ -191,10 +191,15 @@ public class ArcticTableMetastoreHandler implements AmsClient, ArcticTableMetast
       ddlTracerService.commit(commit.getTableIdentifier(), commit.getSchemaUpdateMeta());
     }
     try {
-      fileInfoCacheService.commitCacheFileInfo(commit);
+      fileInfoCacheService.commitCacheFileInfoAsync(commit);
     } catch (Exception e) {
       LOG.warn("commit file cache failed", e);
     }
+    try {
+      ServiceContainer.getPartitionChangeTracker().onCommit(commit);
+    } catch (Exception e) {
+      LOG.warn("track changed partitions failed", e);
+    }
   }
 
   @Override
@@ -28,10 +28,28 @@ import com.netease.arctic.ams.api.OptimizerDescriptor;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizerStateReport;
 import com.netease.arctic.ams.api.TableIdentifier;
+import com.netease.arctic.ams.api.properties.OptimizeTaskProperties;
+import com.netease.arctic.ams.server.optimize.OptimizeTaskItem;
+import com.netease.arctic.ams.server.optimize.TableOptimizeItem;
 import com.netease.arctic.ams.server.service.ServiceContainer;
+import com.netease.arctic.data.file.ContentFilesCodec;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class OptimizeManagerHandler implements OptimizeManager.Iface {
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizeManagerHandler.class);
+
+  // optimizers which reported to support the compact file encoding
+  private final Set<String> compactEncodingOptimizers = ConcurrentHashMap.newKeySet();
 
   @Override
   public void ping() throws TException {
@@ -41,16 +59,67 @@ public class OptimizeManagerHandler implements OptimizeManager.Iface {
   @Override
   public OptimizeTask pollTask(int queueId, JobId jobId, String attemptId, long waitTime)
       throws TException {
-    return ServiceContainer.getOptimizeQueueService().pollTask(queueId, jobId, attemptId, waitTime);
+    OptimizeTask task = ServiceContainer.getOptimizeQueueService().pollTask(queueId, jobId, attemptId, waitTime);
+    if (task == null || jobId == null || !compactEncodingOptimizers.contains(jobId.getId())) {
+      return task;
+    }
+    try {
+      return toCompactEncoding(task);
+    } catch (Exception e) {
+      LOG.warn("failed to encode files of task {} compactly, send them java serialized", task.getTaskId(), e);
+      return task;
+    }
+  }
+
+  @Override
+  public List<OptimizeTask> pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime)
+      throws TException {
+    List<OptimizeTask> tasks =
+        ServiceContainer.getOptimizeQueueService().pollTasks(queueId, jobId, maxTasks, maxBytes, waitTime);
+    if (jobId == null || !compactEncodingOptimizers.contains(jobId.getId())) {
+      return tasks;
+    }
+    List<OptimizeTask> encodedTasks = new ArrayList<>(tasks.size());
+    for (OptimizeTask task : tasks) {
+      try {
+        encodedTasks.add(toCompactEncoding(task));
+      } catch (Exception e) {
+        LOG.warn("failed to encode files of task {} compactly, send them java serialized", task.getTaskId(), e);
+        encodedTasks.add(task);
+      }
+    }
+    return encodedTasks;
   }
 
   @Override
   public void reportOptimizeResult(OptimizeTaskStat optimizeTaskStat) throws NoSuchObjectException {
+    if (ContentFilesCodec.isCompact(optimizeTaskStat.getFiles())) {
+      // the rest of AMS keeps every file java serialized
+      TableOptimizeItem tableItem = tableOptimizeItem(optimizeTaskStat.getTableIdentifier());
+      List<ContentFile<?>> files;
+      try {
+        files = ContentFilesCodec.decode(optimizeTaskStat.getFiles(), tableItem.getSpecs());
+      } catch (IllegalArgumentException e) {
+        // the files may be written with a spec added after the table is refreshed
+        tableItem.getArcticTable(true);
+        files = ContentFilesCodec.decode(optimizeTaskStat.getFiles(), tableItem.getSpecs());
+      }
+      optimizeTaskStat.setFiles(ContentFilesCodec.encode(files, ContentFilesCodec.JAVA_ENCODING, null));
+    }
     ServiceContainer.getOptimizeService().handleOptimizeResult(optimizeTaskStat);
   }
 
   @Override
   public void reportOptimizerState(OptimizerStateReport reportData) throws TException {
+    Map<String, String> state = reportData.getOptimizerState();
+    if (state != null && state.containsKey(OptimizeTaskProperties.SUPPORTED_FILE_ENCODINGS)) {
+      String optimizerId = String.valueOf(reportData.getOptimizerId());
+      if (ContentFilesCodec.supportsCompact(state.get(OptimizeTaskProperties.SUPPORTED_FILE_ENCODINGS))) {
+        compactEncodingOptimizers.add(optimizerId);
+      } else {
+        compactEncodingOptimizers.remove(optimizerId);
+      }
+    }
     ServiceContainer.getOptimizerService().updateOptimizerState(reportData);
   }
 
@@ -76,4 +145,19 @@ public class OptimizeManagerHandler implements OptimizeManager.Iface {
       throw new OperationErrorException(e.getMessage());
     }
   }
+
+  /**
+   * Copy of the task with its files in the compact encoding, the task in the queue is kept as it is.
+   */
+  private OptimizeTask toCompactEncoding(OptimizeTask task) throws NoSuchObjectException {
+    TableOptimizeItem tableItem = tableOptimizeItem(task.getTableIdentifier());
+    OptimizeTaskItem taskItem = tableItem.getOptimizeTask(task.getTaskId());
+    Preconditions.checkState(taskItem != null, "can't find optimize task %s", task.getTaskId());
+    return taskItem.toCompactEncoding(task, tableItem::getSpecs);
+  }
+
+  private static TableOptimizeItem tableOptimizeItem(TableIdentifier tableIdentifier) throws NoSuchObjectException {
+    return ServiceContainer.getOptimizeService()
+        .getTableOptimizeItem(com.netease.arctic.table.TableIdentifier.of(tableIdentifier));
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.model;
+
+/**
+ * Planning metrics of an optimize queue, latencies are in milliseconds.
+ */
+public class OptimizeQueueMetrics {
+  private int queueId;
+  private String name;
+  private int readyTasks;
+  private int readyTasksCapacity;
+  private int planningTables;
+  private int planParallelism;
+  private long plannedTables;
+  private long lastPlanLatency;
+  private long avgPlanLatency;
+  private long maxPlanLatency;
+  private long lastRoundLatency;
+
+  public int getQueueId() {
+    return queueId;
+  }
+
+  public void setQueueId(int queueId) {
+    this.queueId = queueId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getReadyTasks() {
+    return readyTasks;
+  }
+
+  public void setReadyTasks(int readyTasks) {
+    this.readyTasks = readyTasks;
+  }
+
+  public int getReadyTasksCapacity() {
+    return readyTasksCapacity;
+  }
+
+  public void setReadyTasksCapacity(int readyTasksCapacity) {
+    this.readyTasksCapacity = readyTasksCapacity;
+  }
+
+  public int getPlanningTables() {
+    return planningTables;
+  }
+
+  public void setPlanningTables(int planningTables) {
+    this.planningTables = planningTables;
+  }
+
+  public int getPlanParallelism() {
+    return planParallelism;
+  }
+
+  public void setPlanParallelism(int planParallelism) {
+    this.planParallelism = planParallelism;
+  }
+
+  public long getPlannedTables() {
+    return plannedTables;
+  }
+
+  public void setPlannedTables(long plannedTables) {
+    this.plannedTables = plannedTables;
+  }
+
+  public long getLastPlanLatency() {
+    return lastPlanLatency;
+  }
+
+  public void setLastPlanLatency(long lastPlanLatency) {
+    this.lastPlanLatency = lastPlanLatency;
+  }
+
+  public long getAvgPlanLatency() {
+    return avgPlanLatency;
+  }
+
+  public void setAvgPlanLatency(long avgPlanLatency) {
+    this.avgPlanLatency = avgPlanLatency;
+  }
+
+  public long getMaxPlanLatency() {
+    return maxPlanLatency;
+  }
+
+  public void setMaxPlanLatency(long maxPlanLatency) {
+    this.maxPlanLatency = maxPlanLatency;
+  }
+
+  public long getLastRoundLatency() {
+    return lastRoundLatency;
+  }
+
+  public void setLastRoundLatency(long lastRoundLatency) {
+    this.lastRoundLatency = lastRoundLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "OptimizeQueueMetrics{" +
+        "queueId=" + queueId +
+        ", name=" + name +
+        ", readyTasks=" + readyTasks +
+        ", planningTables=" + planningTables +
+        ", plannedTables=" + plannedTables +
+        ", avgPlanLatency=" + avgPlanLatency +
+        ", maxPlanLatency=" + maxPlanLatency +
+        '}';
+  }
+}
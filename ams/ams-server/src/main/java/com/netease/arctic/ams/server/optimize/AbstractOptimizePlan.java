@@ -53,7 +53,9 @@ public abstract class AbstractOptimizePlan {
   // partitions to optimizing
   protected final Set<String> affectedPartitions = new HashSet<>();
   private boolean skippedPartitions = false;
-  
+  // partitions allowed to plan, all partitions are allowed if null
+  private Set<String> partitionsToPlan;
+
   private int collectFileCnt = 0;
   private long collectFileSize = 0;
 
@@ -71,6 +73,15 @@ public abstract class AbstractOptimizePlan {
     return arcticTable.id();
   }
 
+  /**
+   * Only plan the given partitions, such as the partitions changed since the last plan.
+   *
+   * @param partitionsToPlan - partitions allowed to plan, all partitions are allowed if null
+   */
+  public void setPartitionsToPlan(Set<String> partitionsToPlan) {
+    this.partitionsToPlan = partitionsToPlan;
+  }
+
   public OptimizePlanResult plan() {
     long startTime = System.nanoTime();
 
@@ -147,6 +158,7 @@ public abstract class AbstractOptimizePlan {
 
   protected List<String> getPartitionsToOptimizeInOrder() {
     List<String> partitionNeedOptimizedInOrder = allPartitions.stream()
+        .filter(partition -> partitionsToPlan == null || partitionsToPlan.contains(partition))
         .filter(this::partitionNeedPlan)
         .map(partition -> new PartitionWeightWrapper(partition, getPartitionWeight(partition)))
         .sorted()
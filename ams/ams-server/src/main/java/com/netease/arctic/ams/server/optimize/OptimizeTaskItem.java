@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import com.netease.arctic.ams.api.ErrorMessage;
 import com.netease.arctic.ams.api.JobId;
 import com.netease.arctic.ams.api.OptimizeStatus;
+import com.netease.arctic.ams.api.OptimizeTask;
 import com.netease.arctic.ams.api.OptimizeTaskId;
 import com.netease.arctic.ams.api.properties.OptimizeTaskProperties;
 import com.netease.arctic.ams.server.mapper.InternalTableFilesMapper;
@@ -34,6 +35,7 @@ import com.netease.arctic.ams.server.model.TableTaskHistory;
 import com.netease.arctic.ams.server.service.IJDBCService;
 import com.netease.arctic.ams.server.service.ServiceContainer;
 import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.file.ContentFilesCodec;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.table.TableProperties;
@@ -42,13 +44,16 @@ import com.netease.arctic.utils.SerializationUtils;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.FileContent;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -60,6 +65,8 @@ public class OptimizeTaskItem extends IJDBCService {
 
   private final BasicOptimizeTask optimizeTask;
   private volatile OptimizeTaskRuntime optimizeRuntime;
+  // files of the task in the compact encoding, which are small enough to be kept in memory
+  private volatile CompactFiles compactFiles;
   private final ReentrantLock lock = new ReentrantLock();
 
   public OptimizeTaskItem(BasicOptimizeTask optimizeTask,
@@ -258,6 +265,41 @@ public class OptimizeTaskItem extends IJDBCService {
         .map(SerializationUtils::byteArrayToByteBuffer).collect(Collectors.toList()));
   }
 
+  /**
+   * Encode the files of the task in the compact encoding, the files of the task must be loaded.
+   *
+   * @param specs specs of the table
+   */
+  public void encodeCompactFiles(Map<Integer, PartitionSpec> specs) {
+    this.compactFiles = new CompactFiles(optimizeTask, specs);
+  }
+
+  /**
+   * Copy of the polled task with its files in the compact encoding. The files are encoded only once, when the task is
+   * planned, or at the first poll if AMS restarted after the task is planned.
+   *
+   * @param polledTask the polled task, with files loaded
+   * @param specs      specs of the table
+   * @return copy of the task
+   */
+  public OptimizeTask toCompactEncoding(OptimizeTask polledTask, Supplier<Map<Integer, PartitionSpec>> specs) {
+    CompactFiles files = compactFiles;
+    if (files == null) {
+      files = new CompactFiles(polledTask, specs.get());
+      compactFiles = files;
+    }
+    OptimizeTask compactTask = new OptimizeTask(polledTask);
+    compactTask.setBaseFiles(files.baseFiles);
+    compactTask.setInsertFiles(files.insertFiles);
+    compactTask.setDeleteFiles(files.deleteFiles);
+    compactTask.setPosDeleteFiles(files.posDeleteFiles);
+    if (compactTask.getProperties() == null) {
+      compactTask.setProperties(new HashMap<>());
+    }
+    compactTask.getProperties().put(OptimizeTaskProperties.FILE_ENCODING, ContentFilesCodec.COMPACT_ENCODING);
+    return compactTask;
+  }
+
   public void setMaxExecuteTime() {
     // can update max execute time on optimizing
     try {
@@ -440,4 +482,26 @@ public class OptimizeTaskItem extends IJDBCService {
       }
     }
   }
+
+  private static class CompactFiles {
+    private final List<ByteBuffer> baseFiles;
+    private final List<ByteBuffer> insertFiles;
+    private final List<ByteBuffer> deleteFiles;
+    private final List<ByteBuffer> posDeleteFiles;
+
+    CompactFiles(OptimizeTask task, Map<Integer, PartitionSpec> specs) {
+      this.baseFiles = encode(task.getBaseFiles(), specs);
+      this.insertFiles = encode(task.getInsertFiles(), specs);
+      this.deleteFiles = encode(task.getDeleteFiles(), specs);
+      this.posDeleteFiles = encode(task.getPosDeleteFiles(), specs);
+    }
+
+    private static List<ByteBuffer> encode(List<ByteBuffer> files, Map<Integer, PartitionSpec> specs) {
+      if (files == null) {
+        return null;
+      }
+      return ContentFilesCodec.encode(
+          ContentFilesCodec.decode(files, specs), ContentFilesCodec.COMPACT_ENCODING, specs);
+    }
+  }
 }
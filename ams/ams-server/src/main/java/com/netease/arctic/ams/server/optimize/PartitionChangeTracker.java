@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.optimize;
+
+import com.netease.arctic.ams.api.DataFile;
+import com.netease.arctic.ams.api.PartitionFieldData;
+import com.netease.arctic.ams.api.TableChange;
+import com.netease.arctic.ams.api.TableCommitMeta;
+import com.netease.arctic.table.TableIdentifier;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partitions of every table changed since the table was planned, collected from the commits reported to AMS.
+ * <p>
+ * A table is fully planned when it is planned the first time, after its properties or schema changed and once every
+ * full plan interval, since not every commit is reported to AMS and partitions may need optimizing only because
+ * time passed. Between full plans, only the changed partitions are planned.
+ */
+public class PartitionChangeTracker {
+
+  private final Map<TableIdentifier, TableChanges> tables = new ConcurrentHashMap<>();
+
+  /**
+   * Record the partitions changed by a commit.
+   */
+  public void onCommit(TableCommitMeta commit) {
+    TableIdentifier identifier = TableIdentifier.of(commit.getTableIdentifier());
+    TableChanges tableChanges = tables.computeIfAbsent(identifier, id -> new TableChanges());
+    synchronized (tableChanges) {
+      if (commit.getProperties() != null || commit.getSchemaUpdateMeta() != null) {
+        tableChanges.fullPlanRequired = true;
+      }
+      if (commit.getChanges() == null) {
+        return;
+      }
+      for (TableChange change : commit.getChanges()) {
+        if (change.getAddFiles() != null) {
+          for (DataFile file : change.getAddFiles()) {
+            tableChanges.partition(partitionToPath(file.getPartition())).onAdd(file, commit.getCommitTime());
+          }
+        }
+        if (change.getDeleteFiles() != null) {
+          for (DataFile file : change.getDeleteFiles()) {
+            tableChanges.partition(partitionToPath(file.getPartition())).onDelete(commit.getCommitTime());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the partitions to plan of the table, they are left in the tracker.
+   *
+   * @param fullPlanInterval - interval of full plans (ms), every plan is full if not positive
+   * @return scope of the plan
+   */
+  public PlanScope peek(TableIdentifier identifier, long fullPlanInterval) {
+    return scope(identifier, fullPlanInterval, false);
+  }
+
+  /**
+   * Take the partitions to plan of the table, they are removed from the tracker until they change again or are
+   * restored.
+   *
+   * @param fullPlanInterval - interval of full plans (ms), every plan is full if not positive
+   * @return scope of the plan
+   */
+  public PlanScope take(TableIdentifier identifier, long fullPlanInterval) {
+    return scope(identifier, fullPlanInterval, true);
+  }
+
+  /**
+   * Put the partitions taken back, for the plan failed, or the partitions are optimized and should be planned again.
+   */
+  public void restore(TableIdentifier identifier, PlanScope scope) {
+    TableChanges tableChanges = tables.computeIfAbsent(identifier, id -> new TableChanges());
+    synchronized (tableChanges) {
+      if (scope.isFull()) {
+        tableChanges.fullPlanRequired = true;
+      }
+      scope.getPartitions().forEach((partition, changes) -> tableChanges.partition(partition).merge(changes));
+    }
+  }
+
+  /**
+   * Forget the table, it will be fully planned next time.
+   */
+  public void forget(TableIdentifier identifier) {
+    tables.remove(identifier);
+  }
+
+  private PlanScope scope(TableIdentifier identifier, long fullPlanInterval, boolean take) {
+    TableChanges tableChanges = tables.computeIfAbsent(identifier, id -> new TableChanges());
+    synchronized (tableChanges) {
+      long currentTime = System.currentTimeMillis();
+      boolean full = fullPlanInterval <= 0 || tableChanges.fullPlanRequired ||
+          currentTime - tableChanges.lastFullPlanTime >= fullPlanInterval;
+      PlanScope scope = new PlanScope(full, new HashMap<>(tableChanges.partitions));
+      if (take) {
+        tableChanges.partitions.clear();
+        if (full) {
+          tableChanges.fullPlanRequired = false;
+          tableChanges.lastFullPlanTime = currentTime;
+        }
+      }
+      return scope;
+    }
+  }
+
+  /**
+   * Same as {@link org.apache.iceberg.PartitionSpec#partitionToPath}, the values of the partition fields are already
+   * converted to strings by their transforms.
+   */
+  private static String partitionToPath(List<PartitionFieldData> partition) {
+    if (partition == null) {
+      return "";
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < partition.size(); i++) {
+      if (i > 0) {
+        sb.append("/");
+      }
+      sb.append(partition.get(i).getName()).append("=").append(escape(partition.get(i).getValue()));
+    }
+    return sb.toString();
+  }
+
+  private static String escape(String value) {
+    try {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException("Failed to encode partition value " + value, e);
+    }
+  }
+
+  private static class TableChanges {
+    private final Map<String, PartitionChanges> partitions = new HashMap<>();
+    private boolean fullPlanRequired = true;
+    private long lastFullPlanTime;
+
+    private PartitionChanges partition(String partition) {
+      return partitions.computeIfAbsent(partition, p -> new PartitionChanges());
+    }
+  }
+
+  /**
+   * Statistics of the files changed in a partition.
+   */
+  public static class PartitionChanges {
+    private int commits;
+    private int addedFileCount;
+    private long addedFileSize;
+    private int deletedFileCount;
+    private long latestCommitTime;
+
+    private void onAdd(DataFile file, long commitTime) {
+      commits++;
+      addedFileCount++;
+      addedFileSize += file.getFileSize();
+      latestCommitTime = Math.max(latestCommitTime, commitTime);
+    }
+
+    private void onDelete(long commitTime) {
+      commits++;
+      deletedFileCount++;
+      latestCommitTime = Math.max(latestCommitTime, commitTime);
+    }
+
+    private void merge(PartitionChanges other) {
+      commits += other.commits;
+      addedFileCount += other.addedFileCount;
+      addedFileSize += other.addedFileSize;
+      deletedFileCount += other.deletedFileCount;
+      latestCommitTime = Math.max(latestCommitTime, other.latestCommitTime);
+    }
+
+    public int getCommits() {
+      return commits;
+    }
+
+    public int getAddedFileCount() {
+      return addedFileCount;
+    }
+
+    public long getAddedFileSize() {
+      return addedFileSize;
+    }
+
+    public int getDeletedFileCount() {
+      return deletedFileCount;
+    }
+
+    public long getLatestCommitTime() {
+      return latestCommitTime;
+    }
+  }
+
+  /**
+   * Partitions to plan of a table.
+   */
+  public static class PlanScope {
+    private final boolean full;
+    private final Map<String, PartitionChanges> partitions;
+
+    private PlanScope(boolean full, Map<String, PartitionChanges> partitions) {
+      this.full = full;
+      this.partitions = Collections.unmodifiableMap(partitions);
+    }
+
+    /**
+     * @return true if all partitions should be planned
+     */
+    public boolean isFull() {
+      return full;
+    }
+
+    /**
+     * @return true if no partition should be planned
+     */
+    public boolean isEmpty() {
+      return !full && partitions.isEmpty();
+    }
+
+    /**
+     * @return the changed partitions, null if all partitions should be planned
+     */
+    public Set<String> partitionsToPlan() {
+      return full ? null : partitions.keySet();
+    }
+
+    public Map<String, PartitionChanges> getPartitions() {
+      return partitions;
+    }
+  }
+}
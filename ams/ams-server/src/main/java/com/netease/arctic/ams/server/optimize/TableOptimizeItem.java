@@ -51,11 +51,13 @@ import com.netease.arctic.ams.server.utils.UnKeyedTableUtil;
 import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.catalog.CatalogLoader;
 import com.netease.arctic.data.file.ContentFileWithSequence;
+import com.netease.arctic.data.file.ContentFilesCodec;
 import com.netease.arctic.data.file.FileNameGenerator;
 import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.hive.utils.TableTypeUtil;
 import com.netease.arctic.scan.ChangeTableIncrementalScan;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.ChangeTable;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.table.TableProperties;
@@ -66,13 +68,16 @@ import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.SnapshotSummary;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.Pair;
 import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
@@ -105,6 +110,8 @@ public class TableOptimizeItem extends IJDBCService {
 
   private final TableIdentifier tableIdentifier;
   private volatile ArcticTable arcticTable;
+  // specs of the files of the table, with the table they are built from
+  private volatile Pair<ArcticTable, Map<Integer, PartitionSpec>> specsCache;
   private TableOptimizeRuntime tableOptimizeRuntime;
   private FilesStatistics optimizeFileInfo;
 
@@ -247,6 +254,21 @@ public class TableOptimizeItem extends IJDBCService {
     return arcticTable;
   }
 
+  /**
+   * Get specs of all the files of the table by spec id, they are built again only after the table is refreshed.
+   *
+   * @return specs of the table
+   */
+  public Map<Integer, PartitionSpec> getSpecs() {
+    ArcticTable table = getArcticTable();
+    Pair<ArcticTable, Map<Integer, PartitionSpec>> specs = specsCache;
+    if (specs == null || specs.first() != table) {
+      specs = Pair.of(table, ContentFilesCodec.specsOf(table));
+      specsCache = specs;
+    }
+    return specs.second();
+  }
+
   /**
    * Get arcticTable, refresh immediately or not.
    *
@@ -348,6 +370,17 @@ public class TableOptimizeItem extends IJDBCService {
       case Failed:
         optimizeTaskItem.onFailed(optimizeTaskStat.getErrorMessage(), optimizeTaskStat.getCostTime());
         break;
+      case Pending:
+        // the optimizer returned the task without executing it
+        optimizeTaskItem.clearFiles();
+        try {
+          ServiceContainer.getOptimizeQueueService().submitTask(optimizeTaskItem);
+        } catch (Exception e) {
+          LOG.error("{} failed to put returned task back into queue", optimizeTaskItem.getTaskId(), e);
+          optimizeTaskItem.onFailed(new ErrorMessage(System.currentTimeMillis(),
+              "failed to put returned task back into queue"), 0);
+        }
+        break;
       case Prepared:
         List<ByteBuffer> targetFiles = optimizeTaskStat.getFiles();
         long targetFileSize = optimizeTaskStat.getNewFileSize();
@@ -565,6 +598,17 @@ public class TableOptimizeItem extends IJDBCService {
   }
 
   public List<FileScanTask> planBaseFiles(Snapshot baseCurrentSnapshot) {
+    return planBaseFiles(baseCurrentSnapshot, null);
+  }
+
+  /**
+   * Plan the base files of the given partitions only.
+   *
+   * @param baseCurrentSnapshot - snapshot of the base store to plan
+   * @param partitionsToPlan - partitions to plan, all partitions are planned if null
+   * @return file scan tasks of the partitions
+   */
+  public List<FileScanTask> planBaseFiles(Snapshot baseCurrentSnapshot, Set<String> partitionsToPlan) {
     if (baseCurrentSnapshot == null) {
       return Collections.emptyList();
     }
@@ -575,10 +619,16 @@ public class TableOptimizeItem extends IJDBCService {
       baseTable = getArcticTable().asUnkeyedTable();
     }
     List<FileScanTask> baseFiles = new ArrayList<>();
+    PartitionSpec spec = baseTable.spec();
     try (CloseableIterable<FileScanTask> fileScanTasks = baseTable.newScan()
         .useSnapshot(baseCurrentSnapshot.snapshotId())
+        .filter(UnKeyedTableUtil.partitionFilter(spec, partitionsToPlan))
         .planFiles()) {
-      fileScanTasks.forEach(baseFiles::add);
+      for (FileScanTask fileScanTask : fileScanTasks) {
+        if (inPartitions(spec, fileScanTask.file(), partitionsToPlan)) {
+          baseFiles.add(fileScanTask);
+        }
+      }
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to close table scan of " + baseTable.name(), e);
     }
@@ -673,6 +723,12 @@ public class TableOptimizeItem extends IJDBCService {
         }
         optimizeTaskItem.persistOptimizeTask();
         addedOptimizeTaskIds.add(optimizeTask.getTaskId());
+        try {
+          // encode the files while they are in memory, they are sent compactly on every poll
+          optimizeTaskItem.encodeCompactFiles(getSpecs());
+        } catch (Exception e) {
+          LOG.warn("{} failed to encode files of task {} compactly", tableIdentifier, optimizeTask.getTaskId(), e);
+        }
         LOG.info("{} add new task {}", tableIdentifier, optimizeTask);
         // when minor optimize, there is no need to execute task not contains deleteFiles or not contains any dataFiles,
         // for no deleteFiles the inertFiles need to commit to base table
@@ -1079,6 +1135,16 @@ public class TableOptimizeItem extends IJDBCService {
     return commitTime != INIT_COMMIT_TIME;
   }
 
+  /**
+   * Get optimize task by task id.
+   *
+   * @param taskId -
+   * @return the optimize task, null if not found
+   */
+  public OptimizeTaskItem getOptimizeTask(OptimizeTaskId taskId) {
+    return optimizeTasks.get(taskId);
+  }
+
   /**
    * Get all optimize tasks.
    *
@@ -1144,24 +1210,47 @@ public class TableOptimizeItem extends IJDBCService {
                                         List<FileScanTask> baseFiles, Snapshot baseSnapshot, Snapshot changeSnapshot,
                                         StructLikeMap<Long> partitionOptimizedSequence,
                                         StructLikeMap<Long> legacyPartitionMaxTransactionId) {
+    return getMinorPlan(queueId, currentTime, baseFiles, baseSnapshot, changeSnapshot, partitionOptimizedSequence,
+        legacyPartitionMaxTransactionId, null);
+  }
+
+  /**
+   * Get minor optimize plan for arctic tables, only the change files of the given partitions are planned.
+   *
+   * @param queueId     -
+   * @param currentTime -
+   * @param partitionsToPlan - partitions to plan, all partitions are planned if null
+   * @return -
+   */
+  public MinorOptimizePlan getMinorPlan(int queueId, long currentTime,
+                                        List<FileScanTask> baseFiles, Snapshot baseSnapshot, Snapshot changeSnapshot,
+                                        StructLikeMap<Long> partitionOptimizedSequence,
+                                        StructLikeMap<Long> legacyPartitionMaxTransactionId,
+                                        Set<String> partitionsToPlan) {
     if (changeSnapshot == null) {
       LOG.debug("{} change table is empty, skip minor optimize", tableIdentifier);
       return null;
     }
     long changeSnapshotId = changeSnapshot.snapshotId();
-    long maxSequence = getMaxSequenceLimit(changeSnapshot, partitionOptimizedSequence, legacyPartitionMaxTransactionId);
+    long maxSequence = getMaxSequenceLimit(changeSnapshot, partitionOptimizedSequence, legacyPartitionMaxTransactionId,
+        partitionsToPlan);
     if (maxSequence == Long.MIN_VALUE) {
       return null;
     }
-    ChangeTableIncrementalScan changeTableIncrementalScan =
-        getArcticTable().asKeyedTable().changeTable().newChangeScan()
-            .fromSequence(partitionOptimizedSequence)
-            .fromLegacyTransaction(legacyPartitionMaxTransactionId)
-            .toSequence(maxSequence)
-            .useSnapshot(changeSnapshotId);
-    List<ContentFileWithSequence<?>> changeFiles;
+    ChangeTable changeTable = getArcticTable().asKeyedTable().changeTable();
+    ChangeTableIncrementalScan changeTableIncrementalScan = changeTable.newChangeScan()
+        .fromSequence(partitionOptimizedSequence)
+        .fromLegacyTransaction(legacyPartitionMaxTransactionId)
+        .toSequence(maxSequence)
+        .useSnapshot(changeSnapshotId);
+    changeTableIncrementalScan.filter(UnKeyedTableUtil.partitionFilter(changeTable.spec(), partitionsToPlan));
+    List<ContentFileWithSequence<?>> changeFiles = new ArrayList<>();
     try (CloseableIterable<ContentFileWithSequence<?>> files = changeTableIncrementalScan.planFilesWithSequence()) {
-      changeFiles = Lists.newArrayList(files);
+      for (ContentFileWithSequence<?> file : files) {
+        if (inPartitions(changeTable.spec(), file, partitionsToPlan)) {
+          changeFiles.add(file);
+        }
+      }
     } catch (IOException e) {
       throw new UncheckedIOException("Failed to close table scan of " + getArcticTable().name(), e);
     }
@@ -1178,7 +1267,8 @@ public class TableOptimizeItem extends IJDBCService {
 
   private long getMaxSequenceLimit(Snapshot changeSnapshot,
                                    StructLikeMap<Long> partitionOptimizedSequence,
-                                   StructLikeMap<Long> legacyPartitionMaxTransactionId) {
+                                   StructLikeMap<Long> legacyPartitionMaxTransactionId,
+                                   Set<String> partitionsToPlan) {
     int totalFilesInSummary = PropertyUtil
         .propertyAsInt(changeSnapshot.summary(), SnapshotSummary.TOTAL_DATA_FILES_PROP, 0);
     int maxFileCntLimit = CompatiblePropertyUtil.propertyAsInt(getArcticTable().properties(),
@@ -1188,14 +1278,18 @@ public class TableOptimizeItem extends IJDBCService {
       return Long.MAX_VALUE;
     }
     // scan and get all change files grouped by sequence(snapshot)
-    ChangeTableIncrementalScan changeTableIncrementalScan =
-        getArcticTable().asKeyedTable().changeTable().newChangeScan()
-            .fromSequence(partitionOptimizedSequence)
-            .fromLegacyTransaction(legacyPartitionMaxTransactionId)
-            .useSnapshot(changeSnapshot.snapshotId());
+    ChangeTable changeTable = getArcticTable().asKeyedTable().changeTable();
+    ChangeTableIncrementalScan changeTableIncrementalScan = changeTable.newChangeScan()
+        .fromSequence(partitionOptimizedSequence)
+        .fromLegacyTransaction(legacyPartitionMaxTransactionId)
+        .useSnapshot(changeSnapshot.snapshotId());
+    changeTableIncrementalScan.filter(UnKeyedTableUtil.partitionFilter(changeTable.spec(), partitionsToPlan));
     Map<Long, SnapshotFileGroup> changeFilesGroupBySequence = new HashMap<>();
     try (CloseableIterable<ContentFileWithSequence<?>> files = changeTableIncrementalScan.planFilesWithSequence()) {
       for (ContentFileWithSequence<?> file : files) {
+        if (!inPartitions(changeTable.spec(), file, partitionsToPlan)) {
+          continue;
+        }
         SnapshotFileGroup fileGroup =
             changeFilesGroupBySequence.computeIfAbsent(file.getSequenceNumber(), key -> {
               long txId = FileNameGenerator.parseChangeTransactionId(file.path().toString(), file.getSequenceNumber());
@@ -1225,6 +1319,10 @@ public class TableOptimizeItem extends IJDBCService {
     return maxSequence;
   }
 
+  private static boolean inPartitions(PartitionSpec spec, ContentFile<?> file, Set<String> partitions) {
+    return partitions == null || partitions.contains(spec.partitionToPath(file.partition()));
+  }
+
   /**
    * Select all the files whose sequence <= maxSequence as Selected-Files, seek the maxSequence to find as many
    * Selected-Files as possible, and also
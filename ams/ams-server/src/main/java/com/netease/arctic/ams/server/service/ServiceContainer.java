@@ -24,6 +24,7 @@ import com.netease.arctic.ams.server.handler.impl.ArcticTableMetastoreHandler;
 import com.netease.arctic.ams.server.handler.impl.OptimizeManagerHandler;
 import com.netease.arctic.ams.server.optimize.IOptimizeService;
 import com.netease.arctic.ams.server.optimize.OptimizeService;
+import com.netease.arctic.ams.server.optimize.PartitionChangeTracker;
 import com.netease.arctic.ams.server.service.impl.AdaptHiveService;
 import com.netease.arctic.ams.server.service.impl.ArcticTransactionService;
 import com.netease.arctic.ams.server.service.impl.CatalogMetadataService;
@@ -72,6 +73,8 @@ public class ServiceContainer {
 
   private static volatile FileInfoCacheService fileInfoCacheService;
 
+  private static volatile PartitionChangeTracker partitionChangeTracker;
+
   private static volatile ITableTaskHistoryService tableTaskHistoryService;
 
   private static volatile ArcticTransactionService arcticTransactionService;
@@ -212,6 +215,18 @@ public class ServiceContainer {
     return catalogMetadataService;
   }
 
+  public static PartitionChangeTracker getPartitionChangeTracker() {
+    if (partitionChangeTracker == null) {
+      synchronized (ServiceContainer.class) {
+        if (partitionChangeTracker == null) {
+          partitionChangeTracker = new PartitionChangeTracker();
+        }
+      }
+    }
+
+    return partitionChangeTracker;
+  }
+
   public static FileInfoCacheService getFileInfoCacheService() {
     if (fileInfoCacheService == null) {
       synchronized (ServiceContainer.class) {
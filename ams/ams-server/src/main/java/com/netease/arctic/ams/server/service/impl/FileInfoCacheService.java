@@ -33,6 +33,7 @@ import com.netease.arctic.ams.server.mapper.SnapInfoCacheMapper;
 import com.netease.arctic.ams.server.model.AMSDataFileInfo;
 import com.netease.arctic.ams.server.model.CacheFileInfo;
 import com.netease.arctic.ams.server.model.CacheSnapshotInfo;
+import com.netease.arctic.ams.server.model.FileCacheMetrics;
 import com.netease.arctic.ams.server.model.PartitionBaseInfo;
 import com.netease.arctic.ams.server.model.PartitionFileBaseInfo;
 import com.netease.arctic.ams.server.model.TableMetadata;
@@ -72,8 +73,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Collectors;
 
 import static com.netease.arctic.utils.ConvertStructUtil.partitionToPath;
@@ -82,16 +87,82 @@ public class FileInfoCacheService extends IJDBCService {
 
   private static final Logger LOG = LoggerFactory.getLogger(FileInfoCacheService.class);
 
-  public void commitCacheFileInfo(TableCommitMeta tableCommitMeta) {
-    if (needFixCacheFromTable(tableCommitMeta)) {
-      LOG.warn("should not cache {}", tableCommitMeta);
+  // commits waiting to be written by each commit worker, commits of a table always go to the same worker
+  private volatile List<BlockingQueue<PendingCommit>> commitQueues;
+  // notified when commits are written into the cache
+  private final Object cachedSignal = new Object();
+
+  /**
+   * Write the files of the commit into the cache in the background, so the committer does not wait for the
+   * database. Commits of a table are written in order, the committer waits if too many commits are waiting.
+   * Use {@link #waitSnapshotCached} to wait for a snapshot.
+   * <p>
+   * Waiting commits are only kept in memory. If the AMS stops before they are written or writing them fails, later
+   * commits of the table are not cached either because their parent is missing, and the cache of the table is rebuilt
+   * from the table snapshots by {@link SyncAndExpireFileCacheTask} once no commit is cached for
+   * {@link ArcticMetaStoreConf#TABLE_FILE_INFO_CACHE_INTERVAL}.
+   */
+  public void commitCacheFileInfoAsync(TableCommitMeta tableCommitMeta) {
+    List<BlockingQueue<PendingCommit>> queues = commitQueues();
+    if (queues.isEmpty()) {
+      commitCacheFileInfo(tableCommitMeta);
       return;
     }
+    BlockingQueue<PendingCommit> queue =
+        queues.get(Math.floorMod(tableCommitMeta.getTableIdentifier().hashCode(), queues.size()));
+    PendingCommit pendingCommit = new PendingCommit(tableCommitMeta);
+    if (queue.offer(pendingCommit)) {
+      return;
+    }
+    LOG.warn("too many commits waiting for file cache, wait to put commit of {}", tableCommitMeta.getTableIdentifier());
+    try {
+      queue.put(pendingCommit);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // the cache of the table is fixed by the sync task later
+      LOG.warn("interrupted while waiting to put commit of {} into file cache", tableCommitMeta.getTableIdentifier());
+    }
+  }
 
-    List<CacheFileInfo> fileInfoList = genFileInfo(tableCommitMeta);
-    List<CacheSnapshotInfo> cacheSnapInfoList = genSnapInfo(tableCommitMeta);
+  public void commitCacheFileInfo(TableCommitMeta tableCommitMeta) {
+    commitCacheFileInfos(Collections.singletonList(tableCommitMeta));
+  }
 
-    try (SqlSession sqlSession = getSqlSession(false)) {
+  /**
+   * Write the files of the commits into the cache with JDBC batches, commits of a table must be in commit order.
+   * Commits of each table are written in their own transaction, so a failed table does not affect others.
+   */
+  public void commitCacheFileInfos(List<TableCommitMeta> tableCommitMetas) {
+    Map<TableIdentifier, List<TableCommitMeta>> commitsOfTables = new LinkedHashMap<>();
+    tableCommitMetas.forEach(meta ->
+        commitsOfTables.computeIfAbsent(meta.getTableIdentifier(), identifier -> new ArrayList<>()).add(meta));
+    commitsOfTables.values().forEach(this::commitTableCacheFileInfos);
+  }
+
+  private void commitTableCacheFileInfos(List<TableCommitMeta> tableCommitMetas) {
+    // snapshots of the commits in this batch, which are not visible in the database before the batch is written
+    Set<String> batchSnapshots = new HashSet<>();
+    List<TableCommitMeta> cachedCommitMetas = new ArrayList<>();
+    List<CacheFileInfo> fileInfoList = new ArrayList<>();
+    List<CacheSnapshotInfo> cacheSnapInfoList = new ArrayList<>();
+    for (TableCommitMeta tableCommitMeta : tableCommitMetas) {
+      if (needFixCacheFromTable(tableCommitMeta, batchSnapshots)) {
+        LOG.warn("should not cache {}", tableCommitMeta);
+        continue;
+      }
+      cachedCommitMetas.add(tableCommitMeta);
+      fileInfoList.addAll(genFileInfo(tableCommitMeta));
+      for (CacheSnapshotInfo snapshotInfo : genSnapInfo(tableCommitMeta)) {
+        cacheSnapInfoList.add(snapshotInfo);
+        batchSnapshots.add(snapshotKey(snapshotInfo.getTableIdentifier(), snapshotInfo.getInnerTable(),
+            snapshotInfo.getSnapshotId()));
+      }
+    }
+    if (cachedCommitMetas.isEmpty()) {
+      return;
+    }
+
+    try (SqlSession sqlSession = getBatchSqlSession()) {
       try {
         FileInfoCacheMapper fileInfoCacheMapper = getMapper(sqlSession, FileInfoCacheMapper.class);
         fileInfoList.stream().filter(e -> e.getDeleteSnapshotId() == null)
@@ -110,10 +181,120 @@ public class FileInfoCacheService extends IJDBCService {
         sqlSession.commit();
       } catch (Exception e) {
         sqlSession.rollback();
-        LOG.error("insert file cache {} error", JSONObject.toJSONString(tableCommitMeta), e);
+        LOG.error("insert file cache {} error", JSONObject.toJSONString(cachedCommitMetas), e);
       }
     } catch (Exception e) {
-      LOG.error("insert file cache {} error", JSONObject.toJSONString(tableCommitMeta), e);
+      LOG.error("insert file cache {} error", JSONObject.toJSONString(cachedCommitMetas), e);
+    }
+  }
+
+  /**
+   * Wait until the snapshot is written into the cache.
+   *
+   * @return true if the snapshot is cached, false if it is not cached before timeout
+   */
+  public boolean waitSnapshotCached(TableIdentifier identifier, String innerTable, long snapshotId, long timeoutMs)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    while (!snapshotIsCached(identifier, innerTable, snapshotId)) {
+      long waitTime = deadline - System.currentTimeMillis();
+      if (waitTime <= 0) {
+        return false;
+      }
+      synchronized (cachedSignal) {
+        // also check periodically, the snapshot may be cached by the sync task
+        cachedSignal.wait(Math.min(waitTime, 1000));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return number of commits waiting to be written into the cache
+   */
+  public int getPendingCommitCount() {
+    List<BlockingQueue<PendingCommit>> queues = commitQueues;
+    return queues == null ? 0 : queues.stream().mapToInt(BlockingQueue::size).sum();
+  }
+
+  /**
+   * @return milliseconds the oldest waiting commit has waited to be written into the cache, 0 if none
+   */
+  public long getCommitLag() {
+    List<BlockingQueue<PendingCommit>> queues = commitQueues;
+    if (queues == null) {
+      return 0;
+    }
+    long now = System.currentTimeMillis();
+    long lag = 0;
+    for (BlockingQueue<PendingCommit> queue : queues) {
+      PendingCommit oldest = queue.peek();
+      if (oldest != null) {
+        lag = Math.max(lag, now - oldest.enqueueTime);
+      }
+    }
+    return lag;
+  }
+
+  public FileCacheMetrics getMetrics() {
+    FileCacheMetrics metrics = new FileCacheMetrics();
+    metrics.setPendingCommits(getPendingCommitCount());
+    metrics.setCommitLag(getCommitLag());
+    return metrics;
+  }
+
+  private List<BlockingQueue<PendingCommit>> commitQueues() {
+    if (commitQueues == null) {
+      synchronized (this) {
+        if (commitQueues == null) {
+          int threads = ArcticMetaStore.conf.getInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_THREADS);
+          int capacity = ArcticMetaStore.conf.getInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_QUEUE_CAPACITY);
+          int batchSize = ArcticMetaStore.conf.getInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_BATCH_SIZE);
+          List<BlockingQueue<PendingCommit>> queues = new ArrayList<>();
+          for (int i = 0; i < threads; i++) {
+            BlockingQueue<PendingCommit> queue = new LinkedBlockingQueue<>(capacity);
+            Thread worker = new Thread(() -> drainCommits(queue, batchSize), "File Cache Commit Worker " + i);
+            worker.setDaemon(true);
+            worker.start();
+            queues.add(queue);
+          }
+          commitQueues = queues;
+        }
+      }
+    }
+    return commitQueues;
+  }
+
+  private void drainCommits(BlockingQueue<PendingCommit> queue, int batchSize) {
+    List<PendingCommit> pendingCommits = new ArrayList<>();
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        pendingCommits.add(queue.take());
+        queue.drainTo(pendingCommits, batchSize - 1);
+        commitCacheFileInfos(pendingCommits.stream().map(c -> c.tableCommitMeta).collect(Collectors.toList()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Throwable t) {
+        LOG.error("failed to write {} commits into file cache", pendingCommits.size(), t);
+      } finally {
+        pendingCommits.clear();
+        synchronized (cachedSignal) {
+          cachedSignal.notifyAll();
+        }
+      }
+    }
+  }
+
+  private static String snapshotKey(TableIdentifier identifier, String innerTable, long snapshotId) {
+    return TableMetadataUtil.getTableAllIdentifyName(identifier) + "." + innerTable + "." + snapshotId;
+  }
+
+  private static class PendingCommit {
+    private final TableCommitMeta tableCommitMeta;
+    private final long enqueueTime = System.currentTimeMillis();
+
+    PendingCommit(TableCommitMeta tableCommitMeta) {
+      this.tableCommitMeta = tableCommitMeta;
     }
   }
 
@@ -286,16 +467,21 @@ public class FileInfoCacheService extends IJDBCService {
     }
   }
 
-  private boolean needFixCacheFromTable(TableCommitMeta tableCommitMeta) {
+  private boolean needFixCacheFromTable(TableCommitMeta tableCommitMeta, Set<String> batchSnapshots) {
     if (CollectionUtils.isNotEmpty(tableCommitMeta.getChanges())) {
       TableChange tableChange = tableCommitMeta.getChanges().get(0);
       if (tableChange.getParentSnapshotId() == -1) {
         return false;
       }
-      return !(snapshotIsCached(tableCommitMeta.getTableIdentifier(), tableChange.getInnerTable(),
-          tableChange.getParentSnapshotId()) &&
-          !snapshotIsCached(tableCommitMeta.getTableIdentifier(), tableChange.getInnerTable(),
-              tableChange.getSnapshotId()));
+      TableIdentifier identifier = tableCommitMeta.getTableIdentifier();
+      String innerTable = tableChange.getInnerTable();
+      boolean parentCached =
+          batchSnapshots.contains(snapshotKey(identifier, innerTable, tableChange.getParentSnapshotId())) ||
+              snapshotIsCached(identifier, innerTable, tableChange.getParentSnapshotId());
+      boolean snapshotCached =
+          batchSnapshots.contains(snapshotKey(identifier, innerTable, tableChange.getSnapshotId())) ||
+              snapshotIsCached(identifier, innerTable, tableChange.getSnapshotId());
+      return !(parentCached && !snapshotCached);
     }
     return true;
   }
@@ -346,7 +532,7 @@ public class FileInfoCacheService extends IJDBCService {
       //remove snapshot to release memory of snapshot, because there is too much cache in BaseSnapshot
       iterator.remove();
 
-      try (SqlSession sqlSession = getSqlSession(false)) {
+      try (SqlSession sqlSession = getBatchSqlSession()) {
         try {
           FileInfoCacheMapper fileInfoCacheMapper = getMapper(sqlSession, FileInfoCacheMapper.class);
           fileInfos.stream().filter(e -> e.getDeleteSnapshotId() == null).forEach(fileInfoCacheMapper::insertCache);
@@ -408,7 +594,7 @@ public class FileInfoCacheService extends IJDBCService {
       fileCount++;
     }
     CacheSnapshotInfo snapshotInfo = syncSnapInfo(identifier, tableType, curr, fileSize, fileCount);
-    try (SqlSession sqlSession = getSqlSession(false)) {
+    try (SqlSession sqlSession = getBatchSqlSession()) {
       try {
         FileInfoCacheMapper fileInfoCacheMapper = getMapper(sqlSession, FileInfoCacheMapper.class);
         cacheFileInfos.forEach(fileInfoCacheMapper::insertCache);
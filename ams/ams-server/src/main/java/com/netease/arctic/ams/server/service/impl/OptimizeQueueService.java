@@ -18,6 +18,7 @@
 
 package com.netease.arctic.ams.server.service.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netease.arctic.ams.api.BlockableOperation;
 import com.netease.arctic.ams.api.ErrorMessage;
 import com.netease.arctic.ams.api.InvalidObjectException;
@@ -27,6 +28,8 @@ import com.netease.arctic.ams.api.NoSuchObjectException;
 import com.netease.arctic.ams.api.OptimizeStatus;
 import com.netease.arctic.ams.api.OptimizeTask;
 import com.netease.arctic.ams.api.properties.OptimizeTaskProperties;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
 import com.netease.arctic.ams.server.config.ConfigFileProperties;
 import com.netease.arctic.ams.server.mapper.ContainerMetadataMapper;
 import com.netease.arctic.ams.server.mapper.OptimizeQueueMapper;
@@ -34,6 +37,7 @@ import com.netease.arctic.ams.server.model.BasicOptimizeTask;
 import com.netease.arctic.ams.server.model.Container;
 import com.netease.arctic.ams.server.model.OptimizeQueueItem;
 import com.netease.arctic.ams.server.model.OptimizeQueueMeta;
+import com.netease.arctic.ams.server.model.OptimizeQueueMetrics;
 import com.netease.arctic.ams.server.model.TableOptimizeRuntime;
 import com.netease.arctic.ams.server.model.TableQuotaInfo;
 import com.netease.arctic.ams.server.model.TableTaskHistory;
@@ -44,6 +48,7 @@ import com.netease.arctic.ams.server.optimize.MajorOptimizePlan;
 import com.netease.arctic.ams.server.optimize.MinorOptimizePlan;
 import com.netease.arctic.ams.server.optimize.OptimizePlanResult;
 import com.netease.arctic.ams.server.optimize.OptimizeTaskItem;
+import com.netease.arctic.ams.server.optimize.PartitionChangeTracker;
 import com.netease.arctic.ams.server.optimize.TableOptimizeItem;
 import com.netease.arctic.ams.server.service.IJDBCService;
 import com.netease.arctic.ams.server.service.ITableTaskHistoryService;
@@ -67,6 +72,7 @@ import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
@@ -79,21 +85,34 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -245,6 +264,7 @@ public class OptimizeQueueService extends IJDBCService {
         optimizeQueueMapper.deleteQueue(queueId);
 
         optimizeQueues.remove(queueId);
+        optimizeQueueWrapper.shutdown();
       } finally {
         optimizeQueueWrapper.unlock();
       }
@@ -286,6 +306,29 @@ public class OptimizeQueueService extends IJDBCService {
     return getQueue(queueName).getOptimizeQueueItem();
   }
 
+  /**
+   * Get planning metrics of all optimize queues.
+   *
+   * @return list of OptimizeQueueMetrics
+   */
+  public List<OptimizeQueueMetrics> getQueueMetrics() {
+    return new ArrayList<>(optimizeQueues.values()).stream()
+        .map(OptimizeQueueWrapper::getMetrics)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Get planning metrics of optimize queue.
+   *
+   * @param queueName queueName
+   * @return OptimizeQueueMetrics
+   * @throws InvalidObjectException when can't find queue
+   */
+  public OptimizeQueueMetrics getQueueMetrics(String queueName) throws InvalidObjectException {
+    Preconditions.checkNotNull(queueName, "queueName can't be null");
+    return getQueue(queueName).getMetrics();
+  }
+
   /**
    * Get tables of optimize queue.
    * @param queueName queueName
@@ -349,6 +392,24 @@ public class OptimizeQueueService extends IJDBCService {
     }
   }
 
+  public List<OptimizeTask> pollTasks(int queueId, JobId jobId, int maxTasks, long maxBytes, long waitTime)
+      throws NoSuchObjectException, TException {
+    try {
+      List<OptimizeTask> tasks = getQueue(queueId).poll(jobId, maxTasks, maxBytes, waitTime);
+      if (!tasks.isEmpty()) {
+        LOG.info("{} pollTasks success, {} tasks", jobId, tasks.size());
+      } else {
+        throw new NoSuchObjectException("no Optimize task in current queue: " + queueId);
+      }
+      return tasks;
+    } catch (Throwable t) {
+      if (!(t instanceof NoSuchObjectException)) {
+        LOG.error("failed to poll tasks", t);
+      }
+      throw t;
+    }
+  }
+
   private void validateRemoveQueue(OptimizeQueueWrapper queue) throws InvalidObjectException {
     if (!queue.isEmpty()) {
       throw new InvalidObjectException(
@@ -376,6 +437,7 @@ public class OptimizeQueueService extends IJDBCService {
     // Delete from all queues because the queue in which the task is running may differ from
     // the parameters in arcticTable Properties
     optimizeQueues.values().forEach(c -> c.releaseTable(tableIdentifier));
+    ServiceContainer.getPartitionChangeTracker().forget(tableIdentifier);
   }
 
   public void clearTasks(TableIdentifier tableIdentifier) {
@@ -419,6 +481,17 @@ public class OptimizeQueueService extends IJDBCService {
     private final long retryInterval = 1000;
 
     private SchedulePolicy schedulePolicy;
+    // plans tables of this queue in parallel, created by the first plan
+    private ThreadPoolExecutor planExecutor;
+    // the queue is removed, no more plans
+    private volatile boolean shutdown;
+    private final AtomicInteger planningTables = new AtomicInteger(0);
+    private final AtomicLong plannedTables = new AtomicLong(0);
+    private final AtomicLong totalPlanLatency = new AtomicLong(0);
+    private final AtomicLong maxPlanLatency = new AtomicLong(0);
+    private volatile long lastPlanLatency;
+    private volatile long lastRoundLatency;
+    private volatile long lastRoundEndTime;
 
     private OptimizeQueueWrapper(OptimizeQueueMeta optimizeQueue) {
       this.optimizeQueue = new OptimizeQueueItem(optimizeQueue);
@@ -430,7 +503,8 @@ public class OptimizeQueueService extends IJDBCService {
       return new OptimizeQueueWrapper(optimizeQueue);
     }
 
-    private void bindTable(TableIdentifier tableIdentifier) {
+    @VisibleForTesting
+    void bindTable(TableIdentifier tableIdentifier) {
       lock();
       try {
         tables.add(tableIdentifier);
@@ -453,7 +527,8 @@ public class OptimizeQueueService extends IJDBCService {
       }
     }
 
-    private void addIntoOptimizeQueue(OptimizeTaskItem task) throws InvalidObjectException {
+    @VisibleForTesting
+    void addIntoOptimizeQueue(OptimizeTaskItem task) throws InvalidObjectException {
       lock();
       try {
         if (!tables.contains(task.getTableIdentifier())) {
@@ -538,10 +613,68 @@ public class OptimizeQueueService extends IJDBCService {
         if (task == null) {
           return null;
         } 
-      } 
+      } else if (tasks.size() < readyTasksCapacity() && startTime - lastRoundEndTime >= retryInterval) {
+        // refill the ready tasks before they run out, so optimizers do not wait for a plan
+        tryPlanAsync(jobId, attemptId);
+      }
       return onExecuteOptimizeTask(task, jobId, attemptId);
     }
 
+    /**
+     * Poll tasks until maxTasks tasks or maxBytes bytes of files are polled, waiting only for the first one.
+     * Every task gets its own attempt id, returned in the task property {@link OptimizeTaskProperties#ATTEMPT_ID}.
+     */
+    public List<OptimizeTask> poll(JobId jobId, int maxTasks, long maxBytes, long waitTime) {
+      List<OptimizeTask> polled = new ArrayList<>();
+      String attemptId = newAttemptId();
+      OptimizeTask optimizeTask = poll(jobId, attemptId, waitTime);
+      if (optimizeTask == null) {
+        return polled;
+      }
+      polled.add(withAttemptId(optimizeTask, attemptId));
+      long polledBytes = sizeOfFiles(optimizeTask);
+      while (polled.size() < maxTasks && (maxBytes <= 0 || polledBytes < maxBytes)) {
+        OptimizeTaskItem task = pollValidTask();
+        if (task == null) {
+          break;
+        }
+        attemptId = newAttemptId();
+        try {
+          optimizeTask = onExecuteOptimizeTask(task, jobId, attemptId);
+        } catch (Exception e) {
+          // the task is back in the queue, return the tasks already executing
+          LOG.warn("{} failed to poll more tasks, return {} polled tasks", jobId, polled.size(), e);
+          break;
+        }
+        polled.add(withAttemptId(optimizeTask, attemptId));
+        polledBytes += sizeOfFiles(optimizeTask);
+      }
+      return polled;
+    }
+
+    private String newAttemptId() {
+      return String.valueOf(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+    }
+
+    private OptimizeTask withAttemptId(OptimizeTask task, String attemptId) {
+      // the copy shares the files with the task in the queue
+      OptimizeTask copy = new OptimizeTask(task);
+      if (copy.getProperties() == null) {
+        copy.setProperties(new HashMap<>());
+      }
+      copy.getProperties().put(OptimizeTaskProperties.ATTEMPT_ID, attemptId);
+      return copy;
+    }
+
+    private long sizeOfFiles(OptimizeTask task) {
+      return sizeOfFiles(task.getBaseFiles()) + sizeOfFiles(task.getInsertFiles()) +
+          sizeOfFiles(task.getDeleteFiles()) + sizeOfFiles(task.getPosDeleteFiles());
+    }
+
+    private long sizeOfFiles(List<ByteBuffer> files) {
+      return files == null ? 0 : files.stream().mapToLong(ByteBuffer::remaining).sum();
+    }
+
     private OptimizeTask onExecuteOptimizeTask(OptimizeTaskItem task, JobId jobId, String attemptId) {
       TableTaskHistory tableTaskHistory;
       try {
@@ -616,6 +749,9 @@ public class OptimizeQueueService extends IJDBCService {
     }
 
     private void tryPlanAsync(JobId jobId, String attemptId) {
+      if (shutdown) {
+        return;
+      }
       if (!planThreadStarted.compareAndSet(false, true)) {
         // a plan tread is working now
         return;
@@ -628,12 +764,14 @@ public class OptimizeQueueService extends IJDBCService {
           try {
             LOG.info("this plan started {}, {}", attemptId, jobId);
             List<OptimizeTaskItem> tasks = Collections.emptyList();
-            while (retry <= retryTime) {
+            while (retry <= retryTime && !shutdown) {
               LOG.debug("start get plan task retry {}", retry);
               retry++;
               long planStartTime = System.currentTimeMillis();
               tasks = plan(planStartTime);
-              if (CollectionUtils.isNotEmpty(tasks)) {
+              lastRoundLatency = System.currentTimeMillis() - planStartTime;
+              // retry only if optimizers are waiting for tasks
+              if (CollectionUtils.isNotEmpty(tasks) || !isEmpty()) {
                 break;
               }
 
@@ -657,13 +795,9 @@ public class OptimizeQueueService extends IJDBCService {
           } finally {
             LOG.info("this plan end {}, cost {} ms, retry {}",
                 attemptId, System.currentTimeMillis() - threadStartTime, retry);
+            lastRoundEndTime = System.currentTimeMillis();
             if (planThreadStarted.compareAndSet(true, false)) {
-              lock();
-              try {
-                planThreadCondition.signalAll();
-              } finally {
-                unlock();
-              }
+              signalTasksReady();
             }
           }
         });
@@ -676,6 +810,81 @@ public class OptimizeQueueService extends IJDBCService {
       }
     }
 
+    private void signalTasksReady() {
+      lock();
+      try {
+        planThreadCondition.signalAll();
+      } finally {
+        unlock();
+      }
+    }
+
+    private ExecutorService planExecutor() {
+      lock();
+      try {
+        Preconditions.checkState(!shutdown, "queue %s is removed, can't plan", queueName());
+        if (planExecutor == null) {
+          ThreadFactory planThreadFactory = new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("Optimize Plan Worker Queue-" + optimizeQueue.getOptimizeQueueMeta().getQueueId() + "-%d")
+              .build();
+          int parallelism = planParallelism();
+          planExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(), planThreadFactory);
+          // idle queues keep no plan threads
+          planExecutor.allowCoreThreadTimeOut(true);
+        }
+        return planExecutor;
+      } finally {
+        unlock();
+      }
+    }
+
+    @VisibleForTesting
+    void shutdown() {
+      lock();
+      try {
+        shutdown = true;
+        if (planExecutor != null) {
+          planExecutor.shutdownNow();
+          planExecutor = null;
+        }
+      } finally {
+        unlock();
+      }
+    }
+
+    private int planParallelism() {
+      return Math.max(1, ArcticMetaStore.conf.getInteger(ArcticMetaStoreConf.OPTIMIZE_PLAN_THREAD_POOL_SIZE));
+    }
+
+    private int readyTasksCapacity() {
+      return Math.max(1, ArcticMetaStore.conf.getInteger(ArcticMetaStoreConf.OPTIMIZE_READY_TASKS_CAPACITY));
+    }
+
+    private void recordPlanLatency(long latency) {
+      lastPlanLatency = latency;
+      plannedTables.incrementAndGet();
+      totalPlanLatency.addAndGet(latency);
+      maxPlanLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    public OptimizeQueueMetrics getMetrics() {
+      OptimizeQueueMetrics metrics = new OptimizeQueueMetrics();
+      metrics.setQueueId(optimizeQueue.getOptimizeQueueMeta().getQueueId());
+      metrics.setName(optimizeQueue.getOptimizeQueueMeta().getName());
+      metrics.setReadyTasks(size());
+      metrics.setReadyTasksCapacity(readyTasksCapacity());
+      metrics.setPlanningTables(planningTables.get());
+      metrics.setPlanParallelism(planParallelism());
+      long planned = plannedTables.get();
+      metrics.setPlannedTables(planned);
+      metrics.setLastPlanLatency(lastPlanLatency);
+      metrics.setAvgPlanLatency(planned == 0 ? 0 : totalPlanLatency.get() / planned);
+      metrics.setMaxPlanLatency(maxPlanLatency.get());
+      metrics.setLastRoundLatency(lastRoundLatency);
+      return metrics;
+    }
+
     private void insertTableTaskHistory(TableTaskHistory tableTaskHistory) {
       ITableTaskHistoryService tableTaskHistoryService = ServiceContainer.getTableTaskHistoryService();
       tableTaskHistoryService.insertTaskHistory(tableTaskHistory);
@@ -716,85 +925,173 @@ public class OptimizeQueueService extends IJDBCService {
       return optimizeQueue;
     }
 
+    /**
+     * Plan the tables of this queue in the order of the schedule policy by the plan pool, until the ready tasks
+     * reach the capacity. Optimizers waiting for tasks are signalled as soon as a table puts tasks into the queue.
+     *
+     * @return tasks put into the queue
+     */
     private List<OptimizeTaskItem> plan(long currentTime) {
       List<TableIdentifier> tableSort = schedulePolicy.schedule(new ArrayList<>(tables));
 
       if (LOG.isDebugEnabled()) {
         LOG.debug("get sort table {}", tableSort);
       }
-      for (TableIdentifier tableIdentifier : tableSort) {
+      PartitionChangeTracker changeTracker = ServiceContainer.getPartitionChangeTracker();
+      long fullPlanInterval = ArcticMetaStore.conf.getLong(ArcticMetaStoreConf.OPTIMIZE_FULL_PLAN_INTERVAL);
+      return planTables(tableSort,
+          tableIdentifier -> planTable(tableIdentifier, currentTime, changeTracker, fullPlanInterval));
+    }
+
+    /**
+     * Plan the tables in order by at most {@link #planParallelism()} tasks of the plan pool at a time, and stop
+     * submitting tables once the ready tasks reach {@link #readyTasksCapacity()}.
+     *
+     * @param tableSort tables in the order of the schedule policy
+     * @param tablePlanner plans a table and returns the tasks it put into the queue
+     * @return tasks put into the queue
+     */
+    @VisibleForTesting
+    List<OptimizeTaskItem> planTables(List<TableIdentifier> tableSort,
+                                      Function<TableIdentifier, List<OptimizeTaskItem>> tablePlanner) {
+      int parallelism = planParallelism();
+      int capacity = readyTasksCapacity();
+      CompletionService<List<OptimizeTaskItem>> completionService = new ExecutorCompletionService<>(planExecutor());
+
+      List<OptimizeTaskItem> plannedTasks = new ArrayList<>();
+      Iterator<TableIdentifier> tableIterator = tableSort.iterator();
+      int running = 0;
+      while (true) {
+        while (!shutdown && running < parallelism && tableIterator.hasNext() && tasks.size() < capacity) {
+          TableIdentifier tableIdentifier = tableIterator.next();
+          completionService.submit(() -> tablePlanner.apply(tableIdentifier));
+          running++;
+        }
+        if (running == 0) {
+          break;
+        }
         try {
-          TableOptimizeItem tableItem = ServiceContainer.getOptimizeService().getTableOptimizeItem(tableIdentifier);
-          ArcticTable arcticTable = tableItem.getArcticTable(true);
+          List<OptimizeTaskItem> tableTasks = completionService.take().get();
+          running--;
+          if (!tableTasks.isEmpty()) {
+            plannedTasks.addAll(tableTasks);
+            signalTasksReady();
+          }
+        } catch (InterruptedException e) {
+          LOG.warn("plan of queue {} was interrupted, {} tables still planning", queueName(), running);
+          Thread.currentThread().interrupt();
+          break;
+        } catch (ExecutionException e) {
+          running--;
+          LOG.error("plan of queue {} failed", queueName(), e.getCause());
+        }
+      }
+      return plannedTasks;
+    }
 
-          Map<String, String> properties = arcticTable.properties();
-          int queueId = ServiceContainer.getOptimizeQueueService().getQueueId(properties);
+    private List<OptimizeTaskItem> planTable(TableIdentifier tableIdentifier, long currentTime,
+                                             PartitionChangeTracker changeTracker, long fullPlanInterval) {
+      try {
+        TableOptimizeItem tableItem = ServiceContainer.getOptimizeService().getTableOptimizeItem(tableIdentifier);
+        ArcticTable arcticTable = tableItem.getArcticTable(false);
+        // commits of native iceberg tables are not reported to ams, they are always fully planned
+        boolean icebergFormat = ArcticTableUtil.isIcebergTableFormat(arcticTable);
+        PartitionChangeTracker.PlanScope planScope =
+            icebergFormat ? null : changeTracker.peek(tableIdentifier, fullPlanInterval);
+        // refresh the table only if it may be planned
+        if (planScope == null || !planScope.isEmpty()) {
+          arcticTable = tableItem.getArcticTable(true);
+        }
 
-          // queue was updated
-          if (optimizeQueue.getOptimizeQueueMeta().getQueueId() != queueId) {
-            releaseTable(tableIdentifier);
-            ServiceContainer.getOptimizeQueueService().getQueue(queueId).bindTable(tableIdentifier);
-            continue;
-          }
+        Map<String, String> properties = arcticTable.properties();
+        int queueId = ServiceContainer.getOptimizeQueueService().getQueueId(properties);
 
-          tableItem.checkTaskExecuteTimeout();
-          // if enable_optimize is false
-          if (!CompatiblePropertyUtil.propertyAsBoolean(properties, TableProperties.ENABLE_SELF_OPTIMIZING,
-              TableProperties.ENABLE_SELF_OPTIMIZING_DEFAULT)) {
-            LOG.debug("{} is not enable optimize continue", tableIdentifier);
-            continue;
-          }
+        // queue was updated
+        if (optimizeQueue.getOptimizeQueueMeta().getQueueId() != queueId) {
+          releaseTable(tableIdentifier);
+          ServiceContainer.getOptimizeQueueService().getQueue(queueId).bindTable(tableIdentifier);
+          return Collections.emptyList();
+        }
 
-          if (tableItem.optimizeRunning()) {
-            LOG.debug("{} is running continue", tableIdentifier);
+        tableItem.checkTaskExecuteTimeout();
+        // if enable_optimize is false
+        if (!CompatiblePropertyUtil.propertyAsBoolean(properties, TableProperties.ENABLE_SELF_OPTIMIZING,
+            TableProperties.ENABLE_SELF_OPTIMIZING_DEFAULT)) {
+          LOG.debug("{} is not enable optimize continue", tableIdentifier);
+          return Collections.emptyList();
+        }
 
-            // add failed tasks and retry
-            List<OptimizeTaskItem> toExecuteTasks = addTask(tableItem, Collections.emptyList());
-            if (!toExecuteTasks.isEmpty()) {
-              LOG.info("{} add {} failed tasks into queue and retry",
-                  tableItem.getTableIdentifier(), toExecuteTasks.size());
-              return toExecuteTasks;
-            } else {
-              continue;
-            }
-          }
+        if (tableItem.optimizeRunning()) {
+          LOG.debug("{} is running continue", tableIdentifier);
 
-          if (tableItem.getTableOptimizeRuntime().getOptimizeStatus() != TableOptimizeRuntime.OptimizeStatus.Pending) {
-            // only table in pending should plan
-            continue;
+          // add failed tasks and retry
+          List<OptimizeTaskItem> toExecuteTasks = addTask(tableItem, Collections.emptyList());
+          if (!toExecuteTasks.isEmpty()) {
+            LOG.info("{} add {} failed tasks into queue and retry",
+                tableItem.getTableIdentifier(), toExecuteTasks.size());
           }
+          return toExecuteTasks;
+        }
 
-          OptimizePlanResult optimizePlanResult = OptimizePlanResult.EMPTY;
-          if (tableItem.startPlanIfNot()) {
-            try {
-              if (ArcticTableUtil.isIcebergTableFormat(arcticTable)) {
-                optimizePlanResult = planNativeIcebergTable(tableItem, currentTime);
-              } else {
-                optimizePlanResult = planArcticTable(tableItem, currentTime);
-              }
-            } finally {
-              tableItem.finishPlan();
-            }
-          }
+        if (tableItem.getTableOptimizeRuntime().getOptimizeStatus() != TableOptimizeRuntime.OptimizeStatus.Pending) {
+          // only table in pending should plan
+          return Collections.emptyList();
+        }
 
-          if (!optimizePlanResult.isEmpty()) {
-            initTableOptimizeRuntime(tableItem, optimizePlanResult);
-            LOG.debug("{} after plan get {} tasks", tableItem.getTableIdentifier(),
-                optimizePlanResult.getOptimizeTasks().size());
+        if (planScope != null && planScope.isEmpty()) {
+          LOG.debug("{} not changed since last plan, continue", tableIdentifier);
+          return Collections.emptyList();
+        }
+
+        if (!icebergFormat && isOptimizeBlocked(tableIdentifier)) {
+          LOG.debug("{} optimize is blocked, continue", tableIdentifier);
+          return Collections.emptyList();
+        }
 
-            List<OptimizeTaskItem> toExecuteTasks = addTask(tableItem, optimizePlanResult.getOptimizeTasks());
-            if (!toExecuteTasks.isEmpty()) {
-              LOG.info("{} after plan put {} tasks into queue", tableItem.getTableIdentifier(), toExecuteTasks.size());
-              return toExecuteTasks;
+        OptimizePlanResult optimizePlanResult = OptimizePlanResult.EMPTY;
+        // the table may still be planned by the last round
+        if (tableItem.startPlanIfNot()) {
+          PartitionChangeTracker.PlanScope takenScope = null;
+          boolean planned = false;
+          long planStartTime = System.currentTimeMillis();
+          planningTables.incrementAndGet();
+          try {
+            if (icebergFormat) {
+              optimizePlanResult = planNativeIcebergTable(tableItem, currentTime);
             } else {
-              LOG.debug("{} after plan put no tasks into queue, try next table", tableItem.getTableIdentifier());
+              takenScope = changeTracker.take(tableIdentifier, fullPlanInterval);
+              LOG.debug("{} plan {}", tableIdentifier, takenScope.isFull() ? "all partitions" :
+                  takenScope.getPartitions().size() + " changed partitions");
+              optimizePlanResult = planArcticTable(tableItem, currentTime, takenScope.partitionsToPlan());
+            }
+            planned = true;
+          } finally {
+            planningTables.decrementAndGet();
+            recordPlanLatency(System.currentTimeMillis() - planStartTime);
+            tableItem.finishPlan();
+            // optimizing the partitions changes them again, so they are planned again after optimized
+            if (takenScope != null && (!planned || !optimizePlanResult.isEmpty())) {
+              changeTracker.restore(tableIdentifier, takenScope);
             }
           }
-        } catch (Throwable e) {
-          LOG.error(tableIdentifier + " plan failed, continue", e);
         }
-      }
 
+        if (!optimizePlanResult.isEmpty()) {
+          initTableOptimizeRuntime(tableItem, optimizePlanResult);
+          LOG.debug("{} after plan get {} tasks", tableItem.getTableIdentifier(),
+              optimizePlanResult.getOptimizeTasks().size());
+
+          List<OptimizeTaskItem> toExecuteTasks = addTask(tableItem, optimizePlanResult.getOptimizeTasks());
+          if (!toExecuteTasks.isEmpty()) {
+            LOG.info("{} after plan put {} tasks into queue", tableItem.getTableIdentifier(), toExecuteTasks.size());
+          } else {
+            LOG.debug("{} after plan put no tasks into queue", tableItem.getTableIdentifier());
+          }
+          return toExecuteTasks;
+        }
+      } catch (Throwable e) {
+        LOG.error(tableIdentifier + " plan failed, continue", e);
+      }
       return Collections.emptyList();
     }
 
@@ -832,7 +1129,8 @@ public class OptimizeQueueService extends IJDBCService {
       return optimizePlanResult;
     }
 
-    private OptimizePlanResult planArcticTable(TableOptimizeItem tableItem, long currentTime) {
+    private OptimizePlanResult planArcticTable(TableOptimizeItem tableItem, long currentTime,
+                                               Set<String> partitionsToPlan) {
       TableIdentifier tableIdentifier = tableItem.getArcticTable().id();
       int queueId = optimizeQueue.getOptimizeQueueMeta().getQueueId();
       
@@ -850,16 +1148,14 @@ public class OptimizeQueueService extends IJDBCService {
       } else {
         baseCurrentSnapshot = UnKeyedTableUtil.getCurrentSnapshot(arcticTable.asUnkeyedTable());
       }
-      if (isOptimizeBlocked(tableIdentifier)) {
-        LOG.debug("{} optimize is blocked, continue", tableIdentifier);
-        return OptimizePlanResult.EMPTY;
-      }
-      List<FileScanTask> baseFiles = tableItem.planBaseFiles(baseCurrentSnapshot);
+      // only the partitions to plan are scanned
+      List<FileScanTask> baseFiles = tableItem.planBaseFiles(baseCurrentSnapshot, partitionsToPlan);
 
       OptimizePlanResult optimizePlanResult = OptimizePlanResult.EMPTY;
       FullOptimizePlan fullPlan = tableItem.getFullPlan(queueId, currentTime, baseFiles, baseCurrentSnapshot);
       // full/major plan not check the table changed, since it will change the table itself
       if (fullPlan != null) {
+        fullPlan.setPartitionsToPlan(partitionsToPlan);
         optimizePlanResult = fullPlan.plan();
       }
 
@@ -868,6 +1164,7 @@ public class OptimizeQueueService extends IJDBCService {
         MajorOptimizePlan majorPlan =
             tableItem.getMajorPlan(queueId, currentTime, baseFiles, baseCurrentSnapshot);
         if (majorPlan != null) {
+          majorPlan.setPartitionsToPlan(partitionsToPlan);
           optimizePlanResult = majorPlan.plan();
         }
       }
@@ -880,8 +1177,9 @@ public class OptimizeQueueService extends IJDBCService {
         }
         MinorOptimizePlan minorPlan = tableItem.getMinorPlan(queueId, currentTime, baseFiles,
             baseCurrentSnapshot, changeCurrentSnapshot, partitionOptimizedSequence,
-            legacyPartitionMaxTransactionId);
+            legacyPartitionMaxTransactionId, partitionsToPlan);
         if (minorPlan != null) {
+          minorPlan.setPartitionsToPlan(partitionsToPlan);
           optimizePlanResult = minorPlan.plan();
         }
       }
@@ -19,6 +19,11 @@
 package com.netease.arctic.ams.server.service.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
+import com.netease.arctic.ams.server.config.ConfigOption;
 import com.netease.arctic.ams.server.service.IOrphanFilesCleanService;
 import com.netease.arctic.ams.server.service.ServiceContainer;
 import com.netease.arctic.ams.server.utils.CatalogUtil;
@@ -26,6 +31,7 @@ import com.netease.arctic.ams.server.utils.HiveLocationUtils;
 import com.netease.arctic.ams.server.utils.ScheduledTasks;
 import com.netease.arctic.ams.server.utils.ThreadPool;
 import com.netease.arctic.ams.server.utils.UnKeyedTableUtil;
+import com.netease.arctic.ams.server.utils.ValidFilesIndex;
 import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.catalog.CatalogLoader;
 import com.netease.arctic.io.ArcticFileIO;
@@ -37,11 +43,14 @@ import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.CompatiblePropertyUtil;
 import com.netease.arctic.utils.TableFileUtils;
 import org.apache.hadoop.fs.FileStatus;
-import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.ReachableFileUtil;
 import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.SnapshotSummary;
 import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.PropertyUtil;
+import org.apache.iceberg.util.Tasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,9 +58,19 @@ import java.io.File;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 public class OrphanFilesCleanService implements IOrphanFilesCleanService {
@@ -64,6 +83,11 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
 
   private static final long CHECK_INTERVAL = 7 * 24 * 60 * 60 * 1000;  // 7 days
 
+  private static final long MIN_EXPECTED_VALID_FILES = 1_000_000L;
+
+  // progress of the running or the last content files clean of every table
+  private static final Map<TableIdentifier, CleanProgress> CLEAN_PROGRESS = new ConcurrentHashMap<>();
+
   private ScheduledTasks<TableIdentifier, TableOrphanFileClean> cleanTasks;
 
   @Override
@@ -79,6 +103,7 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
         () -> CHECK_INTERVAL,
         TableOrphanFileClean::new,
         true);
+    CLEAN_PROGRESS.keySet().retainAll(tableIds);
     LOG.info("Schedule Orphan Cleaner finished with {} tasks", tableIds.size());
   }
 
@@ -122,23 +147,43 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
     }
   }
 
+  /**
+   * @return progress of the running or the last content files clean of the table, null if not cleaned yet
+   */
+  public static CleanProgress getCleanProgress(TableIdentifier tableIdentifier) {
+    return CLEAN_PROGRESS.get(tableIdentifier);
+  }
+
   public static void cleanContentFiles(ArcticTable arcticTable, long lastTime) {
+    CleanProgress progress = new CleanProgress();
+    CLEAN_PROGRESS.put(arcticTable.id(), progress);
     // For clean data files, should get valid files in the base store and the change store, so acquire in advance
     // to prevent repeated acquisition
-    Set<String> validFiles = getValidContentFiles(arcticTable);
-    if (arcticTable.isKeyedTable()) {
-      KeyedTable keyedArcticTable = arcticTable.asKeyedTable();
-      LOG.info("{} start clean content files of base store", arcticTable.id());
-      int deleteFilesCnt = clearInternalTableContentsFiles(keyedArcticTable.baseTable(), lastTime, validFiles);
-      LOG.info("{} total delete {} files from base store", arcticTable.id(), deleteFilesCnt);
-
-      LOG.info("{} start clean content files of change store", arcticTable.id());
-      deleteFilesCnt = clearInternalTableContentsFiles(keyedArcticTable.changeTable(), lastTime, validFiles);
-      LOG.info("{} total delete {} files from change store", arcticTable.id(), deleteFilesCnt);
-    } else {
-      LOG.info("{} start clean content files", arcticTable.id());
-      int deleteFilesCnt = clearInternalTableContentsFiles(arcticTable.asUnkeyedTable(), lastTime, validFiles);
-      LOG.info("{} total delete {} files", arcticTable.id(), deleteFilesCnt);
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(1, confValue(ArcticMetaStoreConf.ORPHAN_CLEAN_PARALLELISM)),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Orphan Files Clean Worker %d").build());
+    try (ValidFilesIndex validFiles = getValidContentFiles(arcticTable)) {
+      if (arcticTable.isKeyedTable()) {
+        KeyedTable keyedArcticTable = arcticTable.asKeyedTable();
+        LOG.info("{} start clean content files of base store", arcticTable.id());
+        int deleteFilesCnt = clearInternalTableContentsFiles(keyedArcticTable.baseTable(), lastTime, validFiles,
+            executor, progress);
+        LOG.info("{} total delete {} files from base store", arcticTable.id(), deleteFilesCnt);
+
+        LOG.info("{} start clean content files of change store", arcticTable.id());
+        deleteFilesCnt = clearInternalTableContentsFiles(keyedArcticTable.changeTable(), lastTime, validFiles,
+            executor, progress);
+        LOG.info("{} total delete {} files from change store", arcticTable.id(), deleteFilesCnt);
+      } else {
+        LOG.info("{} start clean content files", arcticTable.id());
+        int deleteFilesCnt = clearInternalTableContentsFiles(arcticTable.asUnkeyedTable(), lastTime, validFiles,
+            executor, progress);
+        LOG.info("{} total delete {} files", arcticTable.id(), deleteFilesCnt);
+      }
+    } finally {
+      executor.shutdownNow();
+      progress.finish();
+      LOG.info("{} finish clean content files, {}", arcticTable.id(), progress);
     }
   }
 
@@ -160,18 +205,15 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
   }
 
   private static int clearInternalTableContentsFiles(UnkeyedTable internalTable, long lastTime,
-                                                     Set<String> exclude) {
-    int deleteFilesCnt = 0;
+                                                     ValidFilesIndex validFiles, ExecutorService executor,
+                                                     CleanProgress progress) {
     String dataLocation = internalTable.location() + File.separator + DATA_FOLDER_NAME;
-    if (internalTable.io().exists(dataLocation)) {
-      for (FileStatus fileStatus : internalTable.io().list(dataLocation)) {
-        deleteFilesCnt += deleteInvalidContentFiles(internalTable.io(),
-            fileStatus,
-            lastTime,
-            exclude);
-      }
+    if (!internalTable.io().exists(dataLocation)) {
+      return 0;
     }
-    return deleteFilesCnt;
+    long deletedFilesBefore = progress.deletedFiles.get();
+    new ContentFilesWalker(internalTable, lastTime, validFiles, executor, progress).walk(dataLocation);
+    return (int) (progress.deletedFiles.get() - deletedFilesBefore);
   }
 
   private static int clearInternalTableMetadata(UnkeyedTable internalTable, long lastTime) {
@@ -211,56 +253,13 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
     return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).toString();
   }
 
-  private static int deleteInvalidContentFiles(ArcticFileIO io,
-                                               FileStatus fileStatus,
-                                               Long lastTime,
-                                               Set<String> exclude) {
-    String location = fileStatus.getPath().toString();
-    if (io.isDirectory(location)) {
-      if (!io.isEmptyDirectory(location)) {
-        LOG.info("start orphan files clean in {}", location);
-        int deleteFileCnt = 0;
-        for (FileStatus file : io.list(location)) {
-          deleteFileCnt += deleteInvalidContentFiles(io, file, lastTime, exclude);
-        }
-        LOG.info("delete {} files in {}", deleteFileCnt, location);
-
-        if (location.endsWith(METADATA_FOLDER_NAME) || location.endsWith(DATA_FOLDER_NAME)) {
-          return 0;
-        }
-        TableFileUtils.deleteEmptyDirectory(io, location, exclude);
-        return deleteFileCnt;
-      } else if (io.isEmptyDirectory(location) &&
-          fileStatus.getModificationTime() < lastTime) {
-        if (location.endsWith(METADATA_FOLDER_NAME) || location.endsWith(DATA_FOLDER_NAME)) {
-          return 0;
-        }
-
-        TableFileUtils.deleteEmptyDirectory(io, location, exclude);
-        LOG.info("delete empty dir : {}[{}]", location, formatTime(fileStatus.getModificationTime()));
-        return 0;
-      } else {
-        return 0;
-      }
-    } else {
-      if (!exclude.contains(TableFileUtils.getUriPath(location)) &&
-          !exclude.contains(TableFileUtils.getUriPath(new Path(location).getParent().toString())) &&
-          fileStatus.getModificationTime() < lastTime) {
-        io.deleteFile(location);
-        return 1;
-      }
-
-      return 0;
-    }
-  }
-
   private static int deleteInvalidMetadata(ArcticFileIO io,
                                            FileStatus fileStatus,
                                            Long lastTime,
                                            Set<String> exclude,
                                            Pattern excludeFileNameRegex) {
     String location = fileStatus.getPath().toString();
-    if (io.isDirectory(location)) {
+    if (fileStatus.isDirectory()) {
       LOG.warn("unexpected dir in metadata/, {}", location);
       return 0;
     } else {
@@ -309,28 +308,241 @@ public class OrphanFilesCleanService implements IOrphanFilesCleanService {
     return validFiles;
   }
 
-  private static Set<String> getValidContentFiles(ArcticTable arcticTable) {
-    Set<String> validFiles = new HashSet<>();
-    if (arcticTable.isKeyedTable()) {
-      Set<String> baseValidFiles = UnKeyedTableUtil.getAllContentFilePath(arcticTable.asKeyedTable().baseTable());
-      LOG.info("{} get {} valid files in the base store", arcticTable.id(), baseValidFiles.size());
-      Set<String> changeValidFiles = UnKeyedTableUtil.getAllContentFilePath(arcticTable.asKeyedTable().changeTable());
-      LOG.info("{} get {} valid files in the change store", arcticTable.id(), baseValidFiles.size());
-      validFiles.addAll(baseValidFiles);
-      validFiles.addAll(changeValidFiles);
-    } else {
-      Set<String> baseValidFiles = UnKeyedTableUtil.getAllContentFilePath(arcticTable.asUnkeyedTable());
-      validFiles.addAll(baseValidFiles);
+  private static ValidFilesIndex getValidContentFiles(ArcticTable arcticTable) {
+    List<UnkeyedTable> stores = arcticTable.isKeyedTable() ?
+        Lists.newArrayList(arcticTable.asKeyedTable().baseTable(), arcticTable.asKeyedTable().changeTable()) :
+        Collections.singletonList(arcticTable.asUnkeyedTable());
+    long expectedSize = 0;
+    for (UnkeyedTable store : stores) {
+      Snapshot snapshot = store.currentSnapshot();
+      if (snapshot != null) {
+        expectedSize += PropertyUtil.propertyAsLong(snapshot.summary(), SnapshotSummary.TOTAL_DATA_FILES_PROP, 0) +
+            PropertyUtil.propertyAsLong(snapshot.summary(), SnapshotSummary.TOTAL_DELETE_FILES_PROP, 0);
+      }
+    }
+    // files of expired snapshots are valid until they are deleted
+    ValidFilesIndex validFiles = new ValidFilesIndex(Math.max(expectedSize * 2, MIN_EXPECTED_VALID_FILES),
+        confValue(ArcticMetaStoreConf.ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE), null);
+    for (UnkeyedTable store : stores) {
+      long before = validFiles.size();
+      UnKeyedTableUtil.forEachContentFilePath(store, validFiles::add);
+      LOG.info("{} get {} valid files in {}", arcticTable.id(), validFiles.size() - before, store.id());
     }
-
-    LOG.info("{} get {} valid files", arcticTable.id(), validFiles.size());
 
     // add hive location to exclude
     Set<String> hiveValidLocations = HiveLocationUtils.getHiveLocation(arcticTable);
     LOG.info("{} get {} valid locations in the Hive", arcticTable.id(), hiveValidLocations.size());
-    validFiles.addAll(hiveValidLocations);
+    hiveValidLocations.forEach(validFiles::add);
+    validFiles.finishAdding();
+    LOG.info("{} get {} valid files and locations, {} of them spilled to disk", arcticTable.id(), validFiles.size(),
+        validFiles.spilledSize());
 
     return validFiles;
   }
 
+  private static <T> T confValue(ConfigOption<T> option) {
+    return ArcticMetaStore.conf == null ? option.defaultValue() : ArcticMetaStore.conf.get(option);
+  }
+
+  /**
+   * Progress of cleaning content files of a table.
+   */
+  public static class CleanProgress {
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong listedDirectories = new AtomicLong();
+    private final AtomicLong listedFiles = new AtomicLong();
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong deletedDirectories = new AtomicLong();
+    private volatile long finishTime = -1;
+
+    public long getListedDirectories() {
+      return listedDirectories.get();
+    }
+
+    public long getListedFiles() {
+      return listedFiles.get();
+    }
+
+    public long getDeletedFiles() {
+      return deletedFiles.get();
+    }
+
+    public long getDeletedDirectories() {
+      return deletedDirectories.get();
+    }
+
+    public boolean isFinished() {
+      return finishTime >= 0;
+    }
+
+    public long getDuration() {
+      return (isFinished() ? finishTime : System.currentTimeMillis()) - startTime;
+    }
+
+    private void finish() {
+      finishTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+      return "listed " + listedDirectories + " directories and " + listedFiles + " files, deleted " +
+          deletedFiles + " files and " + deletedDirectories + " directories in " + getDuration() + " ms";
+    }
+  }
+
+  /**
+   * Walk the directories level by level, the directories of a level are listed in parallel and the listed statuses
+   * are used to decide both orphan files and empty directories, so every directory is listed only once.
+   * Orphan files are deleted in batches after a level is listed, then empty directories are deleted bottom-up.
+   */
+  private static class ContentFilesWalker {
+    private final UnkeyedTable table;
+    private final ArcticFileIO io;
+    private final long lastTime;
+    private final ValidFilesIndex validFiles;
+    private final ExecutorService executor;
+    private final CleanProgress progress;
+    private final int deleteBatchSize;
+    // rate limiter of list and delete operations, null if not limited
+    private final RateLimiter rateLimiter;
+
+    ContentFilesWalker(UnkeyedTable table, long lastTime, ValidFilesIndex validFiles,
+                       ExecutorService executor, CleanProgress progress) {
+      this.table = table;
+      this.io = table.io();
+      this.lastTime = lastTime;
+      this.validFiles = validFiles;
+      this.executor = executor;
+      this.progress = progress;
+      this.deleteBatchSize = Math.max(1, confValue(ArcticMetaStoreConf.ORPHAN_CLEAN_DELETE_BATCH_SIZE));
+      int operationsPerSecond = confValue(ArcticMetaStoreConf.ORPHAN_CLEAN_NAMESPACE_OPERATIONS_PER_SECOND);
+      this.rateLimiter = operationsPerSecond > 0 ? RateLimiter.create(operationsPerSecond) : null;
+    }
+
+    void walk(String rootLocation) {
+      List<List<Directory>> levels = new ArrayList<>();
+      List<Directory> level = Collections.singletonList(new Directory(rootLocation, null, Long.MAX_VALUE));
+      while (!level.isEmpty()) {
+        levels.add(level);
+        Queue<Directory> subDirectories = new ConcurrentLinkedQueue<>();
+        Queue<OrphanFile> orphanFiles = new ConcurrentLinkedQueue<>();
+        Tasks.foreach(level)
+            .executeWith(executor)
+            .suppressFailureWhenFinished()
+            .onFailure((directory, e) -> LOG.warn("{} failed to list {}", table.id(), directory.location, e))
+            .run(directory -> list(directory, subDirectories, orphanFiles));
+
+        Tasks.foreach(Lists.partition(Lists.newArrayList(orphanFiles), deleteBatchSize))
+            .executeWith(executor)
+            .suppressFailureWhenFinished()
+            .onFailure((batch, e) -> LOG.warn("{} failed to delete orphan files", table.id(), e))
+            .run(this::deleteFiles);
+        LOG.info("{} clean orphan files at depth {}, {}", table.id(), levels.size(), progress);
+        level = Lists.newArrayList(subDirectories);
+      }
+
+      // the root directory is never deleted
+      for (int i = levels.size() - 1; i > 0; i--) {
+        Tasks.foreach(levels.get(i))
+            .executeWith(executor)
+            .suppressFailureWhenFinished()
+            .onFailure((directory, e) -> LOG.warn("{} failed to delete {}", table.id(), directory.location, e))
+            .run(this::deleteIfEmpty);
+      }
+    }
+
+    private void list(Directory directory, Queue<Directory> subDirectories, Queue<OrphanFile> orphanFiles) {
+      acquire(1);
+      List<FileStatus> statuses = io.list(directory.location);
+      progress.listedDirectories.incrementAndGet();
+      directory.listed(statuses.size());
+      String directoryPath = TableFileUtils.getUriPath(directory.location);
+      for (FileStatus status : statuses) {
+        String location = status.getPath().toString();
+        if (status.isDirectory()) {
+          subDirectories.add(new Directory(location, directory, status.getModificationTime()));
+          continue;
+        }
+        progress.listedFiles.incrementAndGet();
+        if (status.getModificationTime() < lastTime &&
+            !validFiles.contains(TableFileUtils.getUriPath(location)) &&
+            !validFiles.contains(directoryPath)) {
+          orphanFiles.add(new OrphanFile(location, directory));
+        }
+      }
+    }
+
+    private void deleteFiles(List<OrphanFile> batch) {
+      acquire(batch.size());
+      for (OrphanFile orphanFile : batch) {
+        io.deleteFile(orphanFile.location);
+        progress.deletedFiles.incrementAndGet();
+        orphanFile.directory.remainingChildren.decrementAndGet();
+      }
+    }
+
+    private void deleteIfEmpty(Directory directory) {
+      if (!directory.isListed() || directory.remainingChildren.get() > 0) {
+        return;
+      }
+      if (directory.location.endsWith(METADATA_FOLDER_NAME) || directory.location.endsWith(DATA_FOLDER_NAME)) {
+        return;
+      }
+      // an empty directory is deleted only if it is old enough, a directory emptied by the clean is always deleted
+      if (directory.listedChildren == 0 && directory.modificationTime >= lastTime) {
+        return;
+      }
+      if (validFiles.contains(TableFileUtils.getUriPath(directory.location)) ||
+          validFiles.contains(TableFileUtils.getUriPath(directory.parent.location))) {
+        return;
+      }
+      // check again as files may be written to it since it is listed
+      acquire(2);
+      if (io.isEmptyDirectory(directory.location)) {
+        io.deleteDirectoryRecursively(directory.location);
+        progress.deletedDirectories.incrementAndGet();
+        directory.parent.remainingChildren.decrementAndGet();
+        LOG.info("delete empty dir : {}[{}]", directory.location, formatTime(directory.modificationTime));
+      }
+    }
+
+    private void acquire(int permits) {
+      if (rateLimiter != null) {
+        rateLimiter.acquire(permits);
+      }
+    }
+  }
+
+  private static class Directory {
+    private final String location;
+    private final Directory parent;
+    private final long modificationTime;
+    private final AtomicInteger remainingChildren = new AtomicInteger();
+    private volatile int listedChildren = -1;
+
+    Directory(String location, Directory parent, long modificationTime) {
+      this.location = location;
+      this.parent = parent;
+      this.modificationTime = modificationTime;
+    }
+
+    void listed(int children) {
+      remainingChildren.set(children);
+      listedChildren = children;
+    }
+
+    boolean isListed() {
+      return listedChildren >= 0;
+    }
+  }
+
+  private static class OrphanFile {
+    private final String location;
+    private final Directory directory;
+
+    OrphanFile(String location, Directory directory) {
+      this.location = location;
+      this.directory = directory;
+    }
+  }
 }
@@ -18,8 +18,12 @@
 
 package com.netease.arctic.ams.server.service.impl;
 
+import com.netease.arctic.IcebergFileEntry;
+import com.netease.arctic.ams.api.Constants;
 import com.netease.arctic.ams.api.DataFileInfo;
 import com.netease.arctic.ams.api.NoSuchObjectException;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
 import com.netease.arctic.ams.server.optimize.TableOptimizeItem;
 import com.netease.arctic.ams.server.service.ITableExpireService;
 import com.netease.arctic.ams.server.service.ServiceContainer;
@@ -46,13 +50,18 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.PublicManifestEntries;
 import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -65,6 +74,7 @@ import java.util.stream.Collectors;
 public class TableExpireService implements ITableExpireService {
   private static final Logger LOG = LoggerFactory.getLogger(TableExpireService.class);
   private static final long EXPIRE_INTERVAL = 3600_000; // 1 hour
+  private static final int EXPIRE_CHANGE_FILES_BATCH_SIZE = 3000;
   /**
    * the same with org.apache.iceberg.flink.sink.IcebergFilesCommitter#MAX_COMMITTED_CHECKPOINT_ID
    */
@@ -157,10 +167,21 @@ public class TableExpireService implements ITableExpireService {
         LOG.info("{} base expire cost {} ms", arcticTable.id(), baseCleanedTime - startTime);
 
         // delete ttl files
-        List<DataFileInfo> changeDataFiles = ServiceContainer.getFileInfoCacheService()
-            .getChangeTableTTLDataFiles(keyedArcticTable.id().buildTableIdentifier(),
-                System.currentTimeMillis() - changeDataTTL);
-        deleteChangeFile(keyedArcticTable, changeDataFiles);
+        if (changeSnapshotsKeepTime >= changeDataTTL) {
+          expireChangeFiles(keyedArcticTable, System.currentTimeMillis() - changeDataTTL);
+        } else {
+          // change snapshots committed before the ttl point may be expired before their files, so commit time of
+          // change files is only known from the file cache
+          if (waitChangeFilesCached(changeTable)) {
+            List<DataFileInfo> changeDataFiles = ServiceContainer.getFileInfoCacheService()
+                .getChangeTableTTLDataFiles(keyedArcticTable.id().buildTableIdentifier(),
+                    System.currentTimeMillis() - changeDataTTL);
+            deleteChangeFile(keyedArcticTable, changeDataFiles);
+          } else {
+            LOG.warn("{} change files are not cached in {} ms, skip deleting ttl change files", arcticTable.id(),
+                ArcticMetaStore.conf.getLong(ArcticMetaStoreConf.FILE_CACHE_COMMIT_WAIT_TIMEOUT));
+          }
+        }
 
         // get valid files in the base store which shouldn't physically delete when expire the snapshot
         // in the change store
@@ -191,6 +212,28 @@ public class TableExpireService implements ITableExpireService {
     }
   }
 
+  /**
+   * The file cache is written in the background after commits, wait until it has cached the current snapshot of the
+   * change store before reading ttl files from it.
+   *
+   * @param changeTable -
+   * @return false if the current snapshot is not cached before timeout
+   */
+  private static boolean waitChangeFilesCached(UnkeyedTable changeTable) {
+    Snapshot currentSnapshot = changeTable.currentSnapshot();
+    if (currentSnapshot == null) {
+      return true;
+    }
+    try {
+      return ServiceContainer.getFileInfoCacheService().waitSnapshotCached(
+          changeTable.id().buildTableIdentifier(), Constants.INNER_TABLE_CHANGE, currentSnapshot.snapshotId(),
+          ArcticMetaStore.conf.getLong(ArcticMetaStoreConf.FILE_CACHE_COMMIT_WAIT_TIMEOUT));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
   /**
    * When committing a snapshot, Flink will write a checkpoint id into the snapshot summary.
    * The latest snapshot with checkpoint id should not be expired or the flink job can't recover from state.
@@ -294,6 +337,89 @@ public class TableExpireService implements ITableExpireService {
     ChangeFilesUtil.tryClearChangeFiles(keyedTable, changeDeleteFiles);
   }
 
+  /**
+   * Delete the change files committed before the ttl point whose sequence is not larger than the optimized
+   * sequence of their partition. Manifests of the change store are pruned by their sequence bounds, so only the
+   * manifests containing expired files are read and the files are deleted in batches while reading.
+   * <p>
+   * Files committed by change snapshots which are already expired are taken as committed before the ttl point, so
+   * change snapshots should be kept for at least the ttl of change data.
+   *
+   * @param keyedTable keyed table
+   * @param ttlPoint change files committed before this time are expired
+   */
+  public static void expireChangeFiles(KeyedTable keyedTable, long ttlPoint) {
+    UnkeyedTable changeTable = keyedTable.changeTable();
+    Snapshot changeSnapshot = changeTable.currentSnapshot();
+    if (changeSnapshot == null) {
+      return;
+    }
+    StructLikeMap<Long> partitionOptimizedSequence = TablePropertyUtil.getPartitionOptimizedSequence(keyedTable);
+    if (MapUtils.isEmpty(partitionOptimizedSequence)) {
+      LOG.info("table {} not contains max transaction id", keyedTable.id());
+      return;
+    }
+
+    // sequence numbers grow with commit time, so files with sequence not larger than the one of the latest
+    // snapshot committed before the ttl point are expired, and so are files added by expired snapshots, which have
+    // sequence smaller than all snapshots left
+    long ttlSequence = -1;
+    long minSnapshotSequence = Long.MAX_VALUE;
+    for (Snapshot snapshot : changeTable.snapshots()) {
+      minSnapshotSequence = Math.min(minSnapshotSequence, snapshot.sequenceNumber());
+      if (snapshot.timestampMillis() < ttlPoint) {
+        ttlSequence = Math.max(ttlSequence, snapshot.sequenceNumber());
+      }
+    }
+    ttlSequence = Math.max(ttlSequence, minSnapshotSequence - 1);
+    long maxOptimizedSequence = Collections.max(partitionOptimizedSequence.values());
+    long minOptimizedSequence = Collections.min(partitionOptimizedSequence.values());
+    long maxExpiredSequence = Math.min(ttlSequence, maxOptimizedSequence);
+    long coveredSequence = Math.min(ttlSequence, minOptimizedSequence);
+    boolean unpartitioned = keyedTable.baseTable().spec().isUnpartitioned();
+
+    List<DataFile> expiredFiles = new ArrayList<>();
+    int readManifests = 0;
+    int deletedFiles = 0;
+    for (ManifestFile manifest : changeSnapshot.dataManifests(changeTable.io())) {
+      if (!manifest.hasAddedFiles() && !manifest.hasExistingFiles()) {
+        continue;
+      }
+      // all entries of a manifest have sequence between the min sequence and the sequence of the manifest
+      if (manifest.minSequenceNumber() > maxExpiredSequence) {
+        continue;
+      }
+      boolean fullyCovered = manifest.sequenceNumber() <= coveredSequence;
+      readManifests++;
+      try (CloseableIterable<IcebergFileEntry> entries =
+               PublicManifestEntries.liveDataEntries(manifest, changeTable.io(), changeTable.specs())) {
+        for (IcebergFileEntry entry : entries) {
+          DataFile file = (DataFile) entry.getFile();
+          Long optimizedSequence = partitionOptimizedSequence.get(
+              unpartitioned ? TablePropertyUtil.EMPTY_STRUCT : file.partition());
+          if (optimizedSequence == null) {
+            continue;
+          }
+          if (fullyCovered ||
+              entry.getSequenceNumber() <= Math.min(ttlSequence, optimizedSequence)) {
+            expiredFiles.add(file);
+          }
+          if (expiredFiles.size() >= EXPIRE_CHANGE_FILES_BATCH_SIZE) {
+            ChangeFilesUtil.tryClearChangeFiles(keyedTable, expiredFiles);
+            deletedFiles += expiredFiles.size();
+            expiredFiles = new ArrayList<>();
+          }
+        }
+      } catch (IOException e) {
+        LOG.warn("{} failed to close manifest {}", keyedTable.id(), manifest.path(), e);
+      }
+    }
+    ChangeFilesUtil.tryClearChangeFiles(keyedTable, expiredFiles);
+    deletedFiles += expiredFiles.size();
+    LOG.info("{} read {} of {} change manifests, expire {} change files", keyedTable.id(), readManifests,
+        changeSnapshot.dataManifests(changeTable.io()).size(), deletedFiles);
+  }
+
   public static void expireSnapshots(UnkeyedTable arcticInternalTable,
                                      long olderThan,
                                      Set<String> exclude) {
@@ -24,15 +24,30 @@ import com.netease.arctic.scan.TableEntriesScan;
 import com.netease.arctic.utils.TableFileUtils;
 import org.apache.iceberg.FileContent;
 import org.apache.iceberg.MetadataTableType;
+import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.Table;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.expressions.Literal;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * TODO: It's better to refactor UnKeyedTableUtil to IcebergTableUtil.
@@ -40,6 +55,9 @@ import java.util.Set;
 public class UnKeyedTableUtil {
   private static final Logger LOG = LoggerFactory.getLogger(UnKeyedTableUtil.class);
 
+  // human string of null values of the identity partition fields
+  private static final String NULL_PARTITION_VALUE = "null";
+
   public static long getSnapshotId(Table internalTable) {
     internalTable.refresh();
     Snapshot currentSnapshot = internalTable.currentSnapshot();
@@ -57,19 +75,113 @@ public class UnKeyedTableUtil {
 
   public static Set<String> getAllContentFilePath(Table internalTable) {
     Set<String> validFilesPath = new HashSet<>();
+    forEachContentFilePath(internalTable, validFilesPath::add);
+    return validFilesPath;
+  }
+
+  /**
+   * Visit the paths without URI of the content files in all snapshots of the table, a path may be visited more
+   * than once.
+   */
+  public static void forEachContentFilePath(Table internalTable, Consumer<String> consumer) {
     TableEntriesScan entriesScan = TableEntriesScan.builder(internalTable)
         .includeFileContent(FileContent.DATA, FileContent.POSITION_DELETES, FileContent.EQUALITY_DELETES)
         .allEntries()
         .build();
     try (CloseableIterable<IcebergFileEntry> entries = entriesScan.entries()) {
       for (IcebergFileEntry entry : entries) {
-        validFilesPath.add(TableFileUtils.getUriPath(entry.getFile().path().toString()));
+        consumer.accept(TableFileUtils.getUriPath(entry.getFile().path().toString()));
       }
     } catch (IOException e) {
       LOG.error("close manifest file error", e);
     }
+  }
 
-    return validFilesPath;
+  /**
+   * Build a scan filter selecting the given partitions. Only the identity partition fields are pushed down, as an
+   * in-predicate of the values of each field on its source column, so the filter may select more partitions than the
+   * given ones and the planned files should still be checked by their partition paths.
+   *
+   * @param spec - partition spec of the table
+   * @param partitions - partition paths to select, all partitions are selected if null
+   * @return a filter selecting at least the given partitions
+   */
+  public static Expression partitionFilter(PartitionSpec spec, Set<String> partitions) {
+    if (partitions == null || spec.isUnpartitioned()) {
+      return Expressions.alwaysTrue();
+    }
+    if (partitions.isEmpty()) {
+      return Expressions.alwaysFalse();
+    }
+    List<PartitionField> fields = spec.fields();
+    Map<Integer, Set<String>> identityValues = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      if (fields.get(i).transform().isIdentity()) {
+        identityValues.put(i, new HashSet<>());
+      }
+    }
+    for (String partition : partitions) {
+      String[] values = partition.split("/", -1);
+      if (values.length != fields.size()) {
+        LOG.warn("{} is not a partition of spec {}, skip filtering partitions", partition, spec);
+        return Expressions.alwaysTrue();
+      }
+      identityValues.forEach((index, fieldValues) -> fieldValues.add(partitionValue(values[index])));
+    }
+
+    Expression filter = Expressions.alwaysTrue();
+    for (Map.Entry<Integer, Set<String>> entry : identityValues.entrySet()) {
+      Types.NestedField source = spec.schema().findField(fields.get(entry.getKey()).sourceId());
+      try {
+        filter = Expressions.and(filter, identityFilter(source, entry.getValue()));
+      } catch (RuntimeException e) {
+        // not pushing down the field only selects more partitions
+        LOG.warn("Failed to filter partitions by column {}, skip it", source.name(), e);
+      }
+    }
+    return filter;
+  }
+
+  private static String partitionValue(String fieldPath) {
+    String value = fieldPath.substring(fieldPath.indexOf('=') + 1);
+    try {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Expression identityFilter(Types.NestedField source, Set<String> humanValues) {
+    Type type = source.type();
+    Set<Object> values = new HashSet<>();
+    Expression filter = Expressions.alwaysFalse();
+    for (String humanValue : humanValues) {
+      if (NULL_PARTITION_VALUE.equals(humanValue)) {
+        filter = Expressions.isNull(source.name());
+        if (type.typeId() != Type.TypeID.STRING) {
+          continue;
+        }
+      }
+      values.add(identityValue(type, humanValue));
+    }
+    return values.isEmpty() ? filter : Expressions.or(filter, Expressions.in(source.name(), values));
+  }
+
+  private static Object identityValue(Type type, String humanValue) {
+    switch (type.typeId()) {
+      case STRING:
+        return humanValue;
+      case BOOLEAN:
+        return Boolean.valueOf(humanValue);
+      case INTEGER:
+        return Integer.valueOf(humanValue);
+      case LONG:
+        return Long.valueOf(humanValue);
+      default:
+        Literal<Object> literal = Literal.of(humanValue).to(type);
+        Preconditions.checkArgument(literal != null, "Unsupported partition value %s of %s", humanValue, type);
+        return literal.value();
+    }
   }
 
   private static String metadataTableName(String tableName, MetadataTableType type) {
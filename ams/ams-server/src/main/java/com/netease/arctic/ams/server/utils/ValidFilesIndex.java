@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.netease.arctic.utils.SerializationUtils;
+import com.netease.arctic.utils.map.BinarySpillableMap;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Set of valid file paths with bounded memory, used to find orphan files among millions of files.
+ * <p>
+ * Paths are kept in a {@link BinarySpillableMap}, which spills to a RocksDB sorted on disk once the memory limit is
+ * reached. A bloom filter in front of it answers most lookups of orphan files without touching the map, lookups
+ * the bloom filter can not rule out are verified against the map.
+ * <p>
+ * Paths are added by one thread, then {@link #finishAdding()} makes the index read only, and lookups of any number
+ * of threads go without locks, as neither the bloom filter nor the map is changed by a lookup.
+ */
+public class ValidFilesIndex implements Closeable {
+
+  private static final double BLOOM_FILTER_FPP = 0.01;
+  private static final byte[] PRESENT = new byte[0];
+
+  private final BloomFilter<CharSequence> bloomFilter;
+  private final BinarySpillableMap<String, byte[]> paths;
+  private long size;
+  // written after all paths are added, read before every lookup, so lookups see all the paths
+  private volatile boolean readOnly;
+
+  /**
+   * @param expectedSize expected number of paths, more paths raise the false positive rate of the bloom filter
+   * @param maxInMemorySizeInBytes max size of the paths kept in memory
+   * @param spillBaseDir base directory to spill paths to, use the default directory if null
+   */
+  public ValidFilesIndex(long expectedSize, long maxInMemorySizeInBytes, String spillBaseDir) {
+    this.bloomFilter = BloomFilter.create(
+        Funnels.stringFunnel(StandardCharsets.UTF_8), Math.max(expectedSize, 1), BLOOM_FILTER_FPP);
+    this.paths = new BinarySpillableMap<>(maxInMemorySizeInBytes, spillBaseDir,
+        new StringSerializer(), new BytesSerializer());
+  }
+
+  /**
+   * Not thread safe, all paths should be added by one thread before {@link #finishAdding()}.
+   */
+  public void add(String path) {
+    Preconditions.checkState(!readOnly, "Can't add paths after finishing adding");
+    if (!bloomFilter.mightContain(path) || paths.get(path) == null) {
+      paths.put(path, PRESENT);
+      bloomFilter.put(path);
+      size++;
+    }
+  }
+
+  /**
+   * Make the index read only, paths added before are visible to lookups of any thread after it.
+   */
+  public void finishAdding() {
+    readOnly = true;
+  }
+
+  /**
+   * Thread safe after {@link #finishAdding()}.
+   */
+  public boolean contains(String path) {
+    Preconditions.checkState(readOnly, "Can't look up paths before finishing adding");
+    return bloomFilter.mightContain(path) && paths.get(path) != null;
+  }
+
+  @VisibleForTesting
+  boolean mightContain(String path) {
+    return bloomFilter.mightContain(path);
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Number of paths spilled to disk, the rest are kept in memory.
+   */
+  public long spilledSize() {
+    return size - paths.getMemoryMapSize();
+  }
+
+  @Override
+  public void close() {
+    paths.close();
+  }
+
+  private static class StringSerializer implements SerializationUtils.SimpleSerializer<String> {
+
+    @Override
+    public byte[] serialize(String path) {
+      return path.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) {
+      return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static class BytesSerializer implements SerializationUtils.SimpleSerializer<byte[]> {
+
+    @Override
+    public byte[] serialize(byte[] bytes) {
+      return bytes;
+    }
+
+    @Override
+    public byte[] deserialize(byte[] bytes) {
+      return bytes;
+    }
+  }
+}
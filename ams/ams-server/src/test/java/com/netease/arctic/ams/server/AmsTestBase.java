@@ -38,6 +38,7 @@ import com.netease.arctic.ams.server.maintainer.command.TestShowCall;
 import com.netease.arctic.ams.server.maintainer.command.TestTableCall;
 import com.netease.arctic.ams.server.maintainer.command.TestUseCall;
 import com.netease.arctic.ams.server.optimize.OptimizeService;
+import com.netease.arctic.ams.server.optimize.PartitionChangeTrackerTest;
 import com.netease.arctic.ams.server.optimize.SupportHiveTestGroup;
 import com.netease.arctic.ams.server.optimize.TableOptimizeItemTest;
 import com.netease.arctic.ams.server.optimize.TestExpireFileCleanSupportIceberg;
@@ -70,6 +71,7 @@ import com.netease.arctic.ams.server.service.impl.OptimizeQueueService;
 import com.netease.arctic.ams.server.service.impl.OptimizerService;
 import com.netease.arctic.ams.server.service.impl.PlatformFileInfoService;
 import com.netease.arctic.ams.server.service.impl.TableBlockerService;
+import com.netease.arctic.ams.server.service.impl.TestOptimizeQueueService;
 import com.netease.arctic.ams.server.service.impl.TestTableBlockerService;
 import com.netease.arctic.ams.server.service.impl.TrashCleanServiceTest;
 import com.netease.arctic.ams.server.util.DerbyTestUtil;
@@ -142,6 +144,7 @@ import static org.powermock.api.mockito.PowerMockito.when;
     TestOrphanFileClean.class,
     TestFileInfoCacheService.class,
     TestTableBlockerService.class,
+    TestOptimizeQueueService.class,
     TrashCleanServiceTest.class,
     SupportHiveTestGroup.class,
     TestArcticTransactionService.class,
@@ -149,7 +152,8 @@ import static org.powermock.api.mockito.PowerMockito.when;
     UnKeyedTableUtilTest.class,
     TestOptimizeService.class,
     SequenceNumberFetcherTest.class,
-    TableOptimizeItemTest.class
+    TableOptimizeItemTest.class,
+    PartitionChangeTrackerTest.class
 })
 @PrepareForTest({
     CatalogLoader.class,
@@ -225,6 +229,8 @@ public class AmsTestBase {
         new com.netease.arctic.ams.server.config.Configuration();
     configuration.setString(ArcticMetaStoreConf.DB_TYPE, "derby");
     configuration.setString("arctic.ams.terminal.local.spark.sql.session.timeZone", "UTC");
+    // write file cache synchronously, so tests see the files as soon as they are committed
+    configuration.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_THREADS, 0);
     ArcticMetaStore.conf = configuration;
 
     //mock service
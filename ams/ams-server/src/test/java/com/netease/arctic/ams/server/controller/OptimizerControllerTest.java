@@ -22,11 +22,13 @@ import com.alibaba.fastjson.JSONObject;
 import com.google.common.collect.Maps;
 import com.netease.arctic.ams.api.MetaException;
 import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
 import com.netease.arctic.ams.server.config.ConfigFileProperties;
 import com.netease.arctic.ams.server.controller.response.OkResponse;
 import com.netease.arctic.ams.server.controller.response.Response;
 import com.netease.arctic.ams.server.model.Container;
 import com.netease.arctic.ams.server.model.OptimizeQueueMeta;
+import com.netease.arctic.ams.server.model.OptimizeQueueMetrics;
 import com.netease.arctic.ams.server.model.Optimizer;
 import com.netease.arctic.ams.server.model.TableTaskStatus;
 import com.netease.arctic.ams.server.service.ServiceContainer;
@@ -40,10 +42,12 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @Description: OptimizerController Test
@@ -129,6 +133,37 @@ public class OptimizerControllerTest {
     optimizerService.deleteOptimizerByName("test1");
   }
 
+  @Test
+  public void testGetOptimizerGroupMetrics() {
+    JavalinTest.test((app, client) -> {
+      app.get("/{optimizerGroup}/metrics", OptimizerController::getOptimizerGroupMetrics);
+      final okhttp3.Response resp = client.get("/testOptimizeGroup/metrics", x -> {});
+      OkResponse result = JSONObject.parseObject(resp.body().string(), OkResponse.class);
+      assert result.getCode() == 200;
+      List<OptimizeQueueMetrics> metrics =
+          JSONObject.parseArray(result.getResult().toString(), OptimizeQueueMetrics.class);
+      assert metrics.size() == 1;
+      assert metrics.get(0).getName().equals("testOptimizeGroup");
+      assert metrics.get(0).getReadyTasks() == 0;
+      assert metrics.get(0).getReadyTasksCapacity() ==
+          ArcticMetaStoreConf.OPTIMIZE_READY_TASKS_CAPACITY.defaultValue();
+      assert metrics.get(0).getPlanParallelism() ==
+          ArcticMetaStoreConf.OPTIMIZE_PLAN_THREAD_POOL_SIZE.defaultValue();
+
+      final okhttp3.Response allResp = client.get("/all/metrics", x -> {});
+      OkResponse allResult = JSONObject.parseObject(allResp.body().string(), OkResponse.class);
+      assert allResult.getCode() == 200;
+      assert JSONObject.parseArray(allResult.getResult().toString(), OptimizeQueueMetrics.class).stream()
+          .map(OptimizeQueueMetrics::getName)
+          .collect(Collectors.toSet())
+          .containsAll(Arrays.asList("testOptimizeGroup", "testOptimizeGroup2"));
+
+      final okhttp3.Response missingResp = client.get("/not_exist_group/metrics", x -> {});
+      Response missingResult = JSONObject.parseObject(missingResp.body().string(), Response.class);
+      assert missingResult.getCode() == 400;
+    });
+  }
+
   @Test
   public void testScaleOutOptimizer() {
     JavalinTest.test((app, client) -> {
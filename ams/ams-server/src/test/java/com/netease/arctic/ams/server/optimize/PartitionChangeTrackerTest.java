@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.optimize;
+
+import com.netease.arctic.ams.api.DataFile;
+import com.netease.arctic.ams.api.PartitionFieldData;
+import com.netease.arctic.ams.api.TableChange;
+import com.netease.arctic.ams.api.TableCommitMeta;
+import com.netease.arctic.table.TableIdentifier;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+public class PartitionChangeTrackerTest {
+  private static final TableIdentifier TABLE = TableIdentifier.of("catalog", "db", "table");
+  private static final long FULL_PLAN_INTERVAL = 3600000;
+
+  @Test
+  public void testPlanChangedPartitions() {
+    PartitionChangeTracker tracker = new PartitionChangeTracker();
+    // the first plan is always full
+    Assert.assertTrue(tracker.take(TABLE, FULL_PLAN_INTERVAL).isFull());
+    Assert.assertTrue(tracker.peek(TABLE, FULL_PLAN_INTERVAL).isEmpty());
+
+    tracker.onCommit(commit(file("2022-01-01 00", 10), file("2022-01-02 00", 20)));
+    tracker.onCommit(commit(file("2022-01-01 00", 30)));
+    PartitionChangeTracker.PlanScope scope = tracker.take(TABLE, FULL_PLAN_INTERVAL);
+    Assert.assertFalse(scope.isFull());
+    Assert.assertEquals(Sets.newHashSet("dt=2022-01-01+00", "dt=2022-01-02+00"), scope.partitionsToPlan());
+    PartitionChangeTracker.PartitionChanges changes = scope.getPartitions().get("dt=2022-01-01+00");
+    Assert.assertEquals(2, changes.getAddedFileCount());
+    Assert.assertEquals(40, changes.getAddedFileSize());
+    Assert.assertTrue(tracker.peek(TABLE, FULL_PLAN_INTERVAL).isEmpty());
+
+    // partitions restored are planned again
+    tracker.restore(TABLE, scope);
+    Assert.assertEquals(scope.partitionsToPlan(), tracker.take(TABLE, FULL_PLAN_INTERVAL).partitionsToPlan());
+  }
+
+  @Test
+  public void testFullPlan() {
+    PartitionChangeTracker tracker = new PartitionChangeTracker();
+    tracker.take(TABLE, FULL_PLAN_INTERVAL);
+
+    TableCommitMeta commit = commit();
+    commit.setProperties(new HashMap<>());
+    tracker.onCommit(commit);
+    Assert.assertTrue(tracker.take(TABLE, FULL_PLAN_INTERVAL).isFull());
+    Assert.assertFalse(tracker.take(TABLE, FULL_PLAN_INTERVAL).isFull());
+
+    // every plan is full if the full plan interval is not positive
+    Assert.assertTrue(tracker.take(TABLE, 0).isFull());
+
+    tracker.forget(TABLE);
+    Assert.assertTrue(tracker.peek(TABLE, FULL_PLAN_INTERVAL).isFull());
+  }
+
+  private static TableCommitMeta commit(DataFile... addFiles) {
+    TableChange change = new TableChange();
+    change.setInnerTable("base");
+    change.setAddFiles(Lists.newArrayList(addFiles));
+    TableCommitMeta commit = new TableCommitMeta();
+    commit.setTableIdentifier(TABLE.buildTableIdentifier());
+    commit.setCommitTime(System.currentTimeMillis());
+    commit.setChanges(Lists.newArrayList(change));
+    return commit;
+  }
+
+  private static DataFile file(String partitionValue, long size) {
+    DataFile file = new DataFile();
+    file.setFileSize(size);
+    file.setPartition(Lists.newArrayList(new PartitionFieldData("dt", partitionValue)));
+    return file;
+  }
+}
@@ -87,6 +87,56 @@ public class TestExpiredFileClean extends TableTestBase {
     Assert.assertEquals(2, currentDataFiles.size());
   }
 
+  @Test
+  public void testExpireChangeFilesByManifests() throws Exception {
+    List<DataFile> s1Files = insertChangeDataFiles(1);
+    List<StructLike> partitions =
+        new ArrayList<>(s1Files.stream().collect(Collectors.groupingBy(ContentFile::partition)).keySet());
+    Assert.assertEquals(2, partitions.size());
+
+    UpdatePartitionProperties updateProperties = testKeyedTable.baseTable().updatePartitionProperties(null);
+    updateProperties.set(partitions.get(0), TableProperties.PARTITION_OPTIMIZED_SEQUENCE, "3");
+    updateProperties.set(partitions.get(1), TableProperties.PARTITION_OPTIMIZED_SEQUENCE, "0");
+    updateProperties.commit();
+
+    // files committed after the ttl point are not expired
+    long ttlPoint = testKeyedTable.changeTable().currentSnapshot().timestampMillis();
+    TableExpireService.expireChangeFiles(testKeyedTable, ttlPoint);
+    Assert.assertEquals(4, Iterables.size(testKeyedTable.changeTable().newScan().planFiles()));
+
+    TableExpireService.expireChangeFiles(testKeyedTable, ttlPoint + 1);
+    List<DataFile> currentDataFiles = new ArrayList<>();
+    try (CloseableIterable<FileScanTask> fileScanTasks = testKeyedTable.changeTable().newScan().planFiles()) {
+      fileScanTasks.forEach(fileScanTask -> currentDataFiles.add(fileScanTask.file()));
+    }
+    Assert.assertEquals(2, currentDataFiles.size());
+  }
+
+  @Test
+  public void testExpireChangeFilesOfExpiredSnapshots() throws Exception {
+    List<DataFile> s1Files = insertChangeDataFiles(1);
+    Snapshot s1 = testKeyedTable.changeTable().currentSnapshot();
+    List<DataFile> s2Files = insertChangeDataFiles(2);
+    Snapshot s2 = testKeyedTable.changeTable().currentSnapshot();
+    List<StructLike> partitions =
+        new ArrayList<>(s1Files.stream().collect(Collectors.groupingBy(ContentFile::partition)).keySet());
+
+    UpdatePartitionProperties updateProperties = testKeyedTable.baseTable().updatePartitionProperties(null);
+    partitions.forEach(partition ->
+        updateProperties.set(partition, TableProperties.PARTITION_OPTIMIZED_SEQUENCE, "3"));
+    updateProperties.commit();
+    testKeyedTable.changeTable().expireSnapshots().expireSnapshotId(s1.snapshotId()).cleanExpiredFiles(false).commit();
+
+    // no snapshot left is committed before the ttl point, files of the expired snapshot are still expired
+    TableExpireService.expireChangeFiles(testKeyedTable, s2.timestampMillis());
+    Set<String> currentPaths = new HashSet<>();
+    try (CloseableIterable<FileScanTask> fileScanTasks = testKeyedTable.changeTable().newScan().planFiles()) {
+      fileScanTasks.forEach(fileScanTask -> currentPaths.add(fileScanTask.file().path().toString()));
+    }
+    Assert.assertEquals(s2Files.stream().map(file -> file.path().toString()).collect(Collectors.toSet()),
+        currentPaths);
+  }
+
   @Test
   public void testExpireTableFiles() throws Exception {
     List<DataFile> s1Files = insertChangeDataFiles(1);
@@ -20,6 +20,9 @@ package com.netease.arctic.ams.server.optimize;
 
 import com.netease.arctic.ams.api.DataFileInfo;
 import com.netease.arctic.ams.api.TableIdentifier;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
+import com.netease.arctic.ams.server.config.Configuration;
 import com.netease.arctic.ams.server.service.ServiceContainer;
 import com.netease.arctic.ams.server.service.impl.FileInfoCacheService;
 import com.netease.arctic.ams.server.service.impl.OrphanFilesCleanService;
@@ -49,6 +52,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -126,6 +130,38 @@ public class TestOrphanFileClean extends TestBaseOptimizeBase {
     }
   }
 
+  @Test
+  public void orphanDataFilesDeleteRateLimited() throws IOException {
+    String orphanFileDir = testKeyedTable.baseTable().location() +
+        File.separator + DATA_FOLDER_NAME + File.separator + "testLocation";
+    List<String> orphanFilePaths = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      String orphanFilePath = orphanFileDir + File.separator + "orphan-" + i + ".parquet";
+      testKeyedTable.io().newOutputFile(orphanFilePath).createOrOverwrite().close();
+      orphanFilePaths.add(orphanFilePath);
+    }
+
+    Configuration conf = ArcticMetaStore.conf;
+    ArcticMetaStore.conf = conf == null ? new Configuration() : new Configuration(conf);
+    ArcticMetaStore.conf.setInteger(ArcticMetaStoreConf.ORPHAN_CLEAN_DELETE_BATCH_SIZE, 5);
+    ArcticMetaStore.conf.setInteger(ArcticMetaStoreConf.ORPHAN_CLEAN_NAMESPACE_OPERATIONS_PER_SECOND, 20);
+    long startTime = System.currentTimeMillis();
+    try {
+      OrphanFilesCleanService.cleanContentFiles(testKeyedTable, System.currentTimeMillis() + 1000);
+    } finally {
+      ArcticMetaStore.conf = conf;
+    }
+    long duration = System.currentTimeMillis() - startTime;
+
+    for (String orphanFilePath : orphanFilePaths) {
+      Assert.assertFalse(testKeyedTable.io().exists(orphanFilePath));
+    }
+    Assert.assertFalse(testKeyedTable.io().exists(orphanFileDir));
+    Assert.assertEquals(40, OrphanFilesCleanService.getCleanProgress(testKeyedTable.id()).getDeletedFiles());
+    // every batch of 5 deletes waits for the permits of the operations before it, except the first one
+    Assert.assertTrue(duration >= (40 - 5) * 1000L / 20);
+  }
+
   @Test
   public void orphanChangeDataFileInBaseClean() throws IOException {
     GenericChangeTaskWriter writer = GenericTaskWriters.builderFor(testKeyedTable)
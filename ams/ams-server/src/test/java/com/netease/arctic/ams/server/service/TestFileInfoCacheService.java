@@ -27,13 +27,18 @@ import com.netease.arctic.ams.api.PartitionFieldData;
 import com.netease.arctic.ams.api.TableChange;
 import com.netease.arctic.ams.api.TableCommitMeta;
 import com.netease.arctic.ams.api.TableIdentifier;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
+import com.netease.arctic.ams.server.config.Configuration;
 import com.netease.arctic.ams.server.model.TransactionsOfTable;
+import com.netease.arctic.ams.server.service.impl.FileInfoCacheService;
 import com.netease.arctic.ams.server.util.TableUtil;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.table.UnkeyedTable;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.FileMetadata;
 import org.apache.iceberg.Snapshot;
@@ -43,12 +48,15 @@ import org.junit.Test;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static com.netease.arctic.ams.server.AmsTestBase.AMS_TEST_CATALOG_NAME;
 import static com.netease.arctic.ams.server.AmsTestBase.AMS_TEST_DB_NAME;
@@ -479,6 +487,106 @@ public class TestFileInfoCacheService extends TableTestBase {
     assertDataFile(dataFile1, commitTime, snapshotSequence1, ttlDataFiles.get(1));
   }
 
+  @Test
+  public void testAsyncCommitInOrder() throws Exception {
+    TableIdentifier tableIdentifier = new TableIdentifier(AMS_TEST_CATALOG_NAME, "test", "testAsyncCommitInOrder");
+    Configuration conf = ArcticMetaStore.conf;
+    conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_THREADS, 1);
+    // a small queue so committers have to wait for the worker
+    conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_QUEUE_CAPACITY, 2);
+    conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_BATCH_SIZE, 3);
+    FileInfoCacheService fileInfoCacheService = new FileInfoCacheService();
+    int commits = 20;
+    try {
+      // each commit is only cached if its parent is cached before it
+      for (int i = 0; i < commits; i++) {
+        fileInfoCacheService.commitCacheFileInfoAsync(genCommitMeta(tableIdentifier, i == 0 ? -1 : i, i + 1));
+      }
+    } finally {
+      conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_THREADS, 0);
+      conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_QUEUE_CAPACITY,
+          ArcticMetaStoreConf.FILE_CACHE_COMMIT_QUEUE_CAPACITY.defaultValue());
+      conf.setInteger(ArcticMetaStoreConf.FILE_CACHE_COMMIT_BATCH_SIZE,
+          ArcticMetaStoreConf.FILE_CACHE_COMMIT_BATCH_SIZE.defaultValue());
+    }
+
+    Assert.assertTrue(fileInfoCacheService.waitSnapshotCached(tableIdentifier, "base", commits, 30000));
+    Assert.assertEquals(commits, fileInfoCacheService.getTxExcludeOptimize(tableIdentifier).size());
+    Assert.assertEquals(commits, fileInfoCacheService.getOptimizeDatafiles(tableIdentifier, "base").size());
+    Assert.assertEquals(0, fileInfoCacheService.getPendingCommitCount());
+    Assert.assertEquals(0, fileInfoCacheService.getCommitLag());
+    Assert.assertEquals(0, fileInfoCacheService.getMetrics().getPendingCommits());
+  }
+
+  @Test
+  public void testSyncTaskRecoverLostCommits() throws Exception {
+    com.netease.arctic.table.TableIdentifier tableId =
+        com.netease.arctic.table.TableIdentifier.of(AMS_TEST_CATALOG_NAME, AMS_TEST_DB_NAME,
+            "file_sync_test_lost_commits");
+    UnkeyedTable table = catalog.newTableBuilder(tableId, TABLE_SCHEMA).withPartitionSpec(SPEC).create()
+        .asUnkeyedTable();
+    TableIdentifier identifier = tableId.buildTableIdentifier();
+    FileInfoCacheService fileInfoCacheService = ServiceContainer.getFileInfoCacheService();
+    table.newFastAppend().appendFile(FILE_A).commit();
+    Assert.assertTrue(fileInfoCacheService.waitSnapshotCached(identifier, "base",
+        table.currentSnapshot().snapshotId(), 30000));
+
+    // waiting commits are lost when the AMS stops, later commits are not cached without their parent
+    fileInfoCacheService.deleteTableCache(tableId);
+    table.newFastAppend().appendFile(FILE_B).commit();
+    long snapshotId = table.currentSnapshot().snapshotId();
+    Assert.assertFalse(fileInfoCacheService.waitSnapshotCached(identifier, "base", snapshotId, 100));
+    Assert.assertTrue(fileInfoCacheService.getCachedMaxTime(identifier, "base") <
+        System.currentTimeMillis() - ArcticMetaStore.conf.getLong(ArcticMetaStoreConf.TABLE_FILE_INFO_CACHE_INTERVAL));
+
+    // the sync task rebuilds the cache of the table from its snapshots
+    new FileInfoCacheService.SyncAndExpireFileCacheTask().doTask();
+    Assert.assertTrue(fileInfoCacheService.waitSnapshotCached(identifier, "base", snapshotId, 0));
+    Set<String> cachedPaths = fileInfoCacheService.getOptimizeDatafiles(identifier, "base").stream()
+        .map(DataFileInfo::getPath)
+        .collect(Collectors.toSet());
+    Assert.assertEquals(Sets.newHashSet(FILE_A.path().toString(), FILE_B.path().toString()), cachedPaths);
+  }
+
+  @Test
+  public void testCommitTablesInSeparateTransactions() {
+    TableIdentifier failedTable = new TableIdentifier(AMS_TEST_CATALOG_NAME, "test", "testCommitFailedTable");
+    TableIdentifier otherTable = new TableIdentifier(AMS_TEST_CATALOG_NAME, "test", "testCommitOtherTable");
+    TableCommitMeta failedMeta = genCommitMeta(failedTable, -1, 1L);
+    // the path is too long for the file cache, so the commit fails to be written
+    failedMeta.getChanges().get(0).getAddFiles().get(0).setPath("/tmp/" + StringUtils.repeat("a", 400) + ".file");
+    TableCommitMeta otherMeta = genCommitMeta(otherTable, -1, 1L);
+
+    ServiceContainer.getFileInfoCacheService().commitCacheFileInfos(Arrays.asList(failedMeta, otherMeta));
+
+    Assert.assertEquals(0, ServiceContainer.getFileInfoCacheService().getTxExcludeOptimize(failedTable).size());
+    Assert.assertEquals(1, ServiceContainer.getFileInfoCacheService().getTxExcludeOptimize(otherTable).size());
+    Assert.assertEquals(1,
+        ServiceContainer.getFileInfoCacheService().getOptimizeDatafiles(otherTable, "base").size());
+  }
+
+  private TableCommitMeta genCommitMeta(TableIdentifier tableIdentifier, long parentSnapshotId, long snapshotId) {
+    TableCommitMeta meta = new TableCommitMeta();
+    meta.setAction("append");
+    meta.setCommitTime(System.currentTimeMillis());
+    meta.setCommitMetaProducer(CommitMetaProducer.INGESTION);
+    meta.setTableIdentifier(tableIdentifier);
+    TableChange change = new TableChange();
+    change.setParentSnapshotId(parentSnapshotId);
+    change.setInnerTable("base");
+    List<DataFile> dataFiles = new ArrayList<>();
+    dataFiles.add(genDatafile());
+    change.setAddFiles(dataFiles);
+    change.setSnapshotId(snapshotId);
+    List<TableChange> changes = new ArrayList<>();
+    changes.add(change);
+    meta.setChanges(changes);
+    Map<String, String> properties = new HashMap<>();
+    properties.put(TableProperties.TABLE_EVENT_TIME_FIELD, "eventTime");
+    meta.setProperties(properties);
+    return meta;
+  }
+
   private void assertDataFile(DataFile file, long commitTime, long sequence, DataFileInfo dataFileInfo) {
     Assert.assertEquals(file.getPath().toString(), dataFileInfo.getPath());
     Assert.assertEquals("pt=2022-08-31", dataFileInfo.getPartition());
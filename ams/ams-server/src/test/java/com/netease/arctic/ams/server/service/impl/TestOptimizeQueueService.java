@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.service.impl;
+
+import com.netease.arctic.ams.api.OptimizeStatus;
+import com.netease.arctic.ams.api.OptimizeTaskId;
+import com.netease.arctic.ams.api.OptimizeType;
+import com.netease.arctic.ams.server.ArcticMetaStore;
+import com.netease.arctic.ams.server.config.ArcticMetaStoreConf;
+import com.netease.arctic.ams.server.config.ConfigFileProperties;
+import com.netease.arctic.ams.server.model.BasicOptimizeTask;
+import com.netease.arctic.ams.server.model.OptimizeQueueMeta;
+import com.netease.arctic.ams.server.model.OptimizeQueueMetrics;
+import com.netease.arctic.ams.server.model.OptimizeTaskRuntime;
+import com.netease.arctic.ams.server.optimize.OptimizeTaskItem;
+import com.netease.arctic.ams.server.service.impl.OptimizeQueueService.OptimizeQueueWrapper;
+import com.netease.arctic.table.TableIdentifier;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.netease.arctic.ams.server.AmsTestBase.AMS_TEST_CATALOG_NAME;
+
+public class TestOptimizeQueueService {
+
+  private static final int QUEUE_ID = 100;
+
+  private OptimizeQueueWrapper queue;
+
+  @Before
+  public void createQueue() {
+    OptimizeQueueMeta queueMeta = new OptimizeQueueMeta();
+    queueMeta.setQueueId(QUEUE_ID);
+    queueMeta.setName("test_plan_queue");
+    queueMeta.setContainer("test");
+    queueMeta.setSchedulingPolicy(ConfigFileProperties.OPTIMIZE_SCHEDULING_POLICY_QUOTA);
+    queueMeta.setProperties(new HashMap<>());
+    queue = OptimizeQueueWrapper.build(queueMeta);
+  }
+
+  @After
+  public void removeQueue() {
+    queue.shutdown();
+    ArcticMetaStore.conf.removeConfig(ArcticMetaStoreConf.OPTIMIZE_PLAN_THREAD_POOL_SIZE);
+    ArcticMetaStore.conf.removeConfig(ArcticMetaStoreConf.OPTIMIZE_READY_TASKS_CAPACITY);
+  }
+
+  @Test
+  public void testPlanTablesInParallel() {
+    ArcticMetaStore.conf.setInteger(ArcticMetaStoreConf.OPTIMIZE_PLAN_THREAD_POOL_SIZE, 3);
+    List<TableIdentifier> tables = bindTables(6);
+    // every table waits until 3 tables are planning, which never happens if they are planned one by one
+    CyclicBarrier planning = new CyclicBarrier(3);
+    AtomicInteger runningPlans = new AtomicInteger();
+    AtomicInteger maxRunningPlans = new AtomicInteger();
+    Set<TableIdentifier> plannedTables = ConcurrentHashMap.newKeySet();
+
+    List<OptimizeTaskItem> tasks = queue.planTables(tables, tableIdentifier -> {
+      maxRunningPlans.accumulateAndGet(runningPlans.incrementAndGet(), Math::max);
+      try {
+        planning.await(10, TimeUnit.SECONDS);
+      } catch (Exception e) {
+        throw new IllegalStateException("tables are not planned in parallel", e);
+      } finally {
+        runningPlans.decrementAndGet();
+      }
+      plannedTables.add(tableIdentifier);
+      return Collections.emptyList();
+    });
+
+    Assert.assertTrue(tasks.isEmpty());
+    Assert.assertEquals(3, maxRunningPlans.get());
+    Assert.assertEquals(tables.size(), plannedTables.size());
+  }
+
+  @Test
+  public void testStopPlanningAtReadyTasksCapacity() {
+    ArcticMetaStore.conf.setInteger(ArcticMetaStoreConf.OPTIMIZE_PLAN_THREAD_POOL_SIZE, 1);
+    ArcticMetaStore.conf.setInteger(ArcticMetaStoreConf.OPTIMIZE_READY_TASKS_CAPACITY, 2);
+    List<TableIdentifier> tables = bindTables(5);
+    List<TableIdentifier> plannedTables = Collections.synchronizedList(new ArrayList<>());
+
+    List<OptimizeTaskItem> tasks = queue.planTables(tables, tableIdentifier -> {
+      plannedTables.add(tableIdentifier);
+      return Collections.singletonList(addTask(tableIdentifier));
+    });
+
+    // tables are planned in the schedule order until 2 tasks are ready
+    Assert.assertEquals(tables.subList(0, 2), plannedTables);
+    Assert.assertEquals(2, tasks.size());
+    Assert.assertEquals(2, queue.size());
+
+    OptimizeQueueMetrics metrics = queue.getMetrics();
+    Assert.assertEquals(2, metrics.getReadyTasks());
+    Assert.assertEquals(2, metrics.getReadyTasksCapacity());
+    Assert.assertEquals(1, metrics.getPlanParallelism());
+    Assert.assertEquals(0, metrics.getPlanningTables());
+
+    // a full queue plans no table
+    plannedTables.clear();
+    Assert.assertTrue(queue.planTables(tables, tableIdentifier -> {
+      plannedTables.add(tableIdentifier);
+      return Collections.emptyList();
+    }).isEmpty());
+    Assert.assertTrue(plannedTables.isEmpty());
+  }
+
+  @Test
+  public void testRefusePlanAfterShutdown() {
+    List<TableIdentifier> tables = bindTables(1);
+    Assert.assertTrue(queue.planTables(tables, tableIdentifier -> Collections.emptyList()).isEmpty());
+
+    queue.shutdown();
+    Assert.assertThrows(IllegalStateException.class,
+        () -> queue.planTables(tables, tableIdentifier -> Collections.emptyList()));
+  }
+
+  private List<TableIdentifier> bindTables(int count) {
+    List<TableIdentifier> tables = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      TableIdentifier tableIdentifier = TableIdentifier.of(AMS_TEST_CATALOG_NAME, "test_plan_db", "table_" + i);
+      queue.bindTable(tableIdentifier);
+      tables.add(tableIdentifier);
+    }
+    return tables;
+  }
+
+  private OptimizeTaskItem addTask(TableIdentifier tableIdentifier) {
+    BasicOptimizeTask optimizeTask = new BasicOptimizeTask();
+    optimizeTask.setTaskId(new OptimizeTaskId(OptimizeType.Minor, UUID.randomUUID().toString()));
+    optimizeTask.setTableIdentifier(tableIdentifier.buildTableIdentifier());
+    optimizeTask.setQueueId(QUEUE_ID);
+    optimizeTask.setProperties(new HashMap<>());
+    OptimizeTaskRuntime optimizeRuntime = new OptimizeTaskRuntime(optimizeTask.getTaskId());
+    // a pending task of this queue is put into the queue as it is
+    optimizeRuntime.setStatus(OptimizeStatus.Pending);
+    OptimizeTaskItem task = new OptimizeTaskItem(optimizeTask, optimizeRuntime);
+    try {
+      queue.addIntoOptimizeQueue(task);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return task;
+  }
+}
@@ -39,7 +39,11 @@ import org.apache.iceberg.StructLike;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.Tables;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.InternalRecordWrapper;
 import org.apache.iceberg.data.Record;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.hadoop.HadoopTables;
 import org.apache.iceberg.io.WriteResult;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
@@ -47,13 +51,16 @@ import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Multimap;
 import org.apache.iceberg.relocated.com.google.common.collect.Multimaps;
+import org.apache.iceberg.types.Types;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -186,6 +193,43 @@ public class UnKeyedTableUtilTest extends TableTestBase {
     Assert.assertEquals(realPaths, allContentFilePath);
   }
 
+  @Test
+  public void testPartitionFilter() {
+    Schema schema = new Schema(
+        Types.NestedField.required(1, "id", Types.IntegerType.get()),
+        Types.NestedField.optional(2, "name", Types.StringType.get()),
+        Types.NestedField.required(3, "dt", Types.DateType.get()));
+    PartitionSpec spec = PartitionSpec.builderFor(schema).identity("name").identity("dt").bucket("id", 2).build();
+    Set<String> partitions = new HashSet<>(Arrays.asList(
+        "name=a/dt=2022-01-01/id_bucket=0",
+        "name=b%2Fc/dt=2022-01-02/id_bucket=1",
+        "name=null/dt=2022-01-01/id_bucket=0"));
+    Evaluator evaluator = new Evaluator(schema.asStruct(), UnKeyedTableUtil.partitionFilter(spec, partitions));
+    InternalRecordWrapper wrapper = new InternalRecordWrapper(schema.asStruct());
+
+    // the bucket field is not pushed down, the filter only selects rows by the identity fields
+    Assert.assertTrue(evaluator.eval(wrapper.wrap(record(schema, 1, "a", "2022-01-01"))));
+    Assert.assertTrue(evaluator.eval(wrapper.wrap(record(schema, 2, "a", "2022-01-01"))));
+    Assert.assertTrue(evaluator.eval(wrapper.wrap(record(schema, 1, "b/c", "2022-01-02"))));
+    Assert.assertTrue(evaluator.eval(wrapper.wrap(record(schema, 1, null, "2022-01-01"))));
+    Assert.assertFalse(evaluator.eval(wrapper.wrap(record(schema, 1, "a", "2022-01-03"))));
+    Assert.assertFalse(evaluator.eval(wrapper.wrap(record(schema, 1, "d", "2022-01-01"))));
+
+    Assert.assertEquals(Expressions.alwaysTrue(), UnKeyedTableUtil.partitionFilter(spec, null));
+    Assert.assertEquals(Expressions.alwaysFalse(), UnKeyedTableUtil.partitionFilter(spec, Collections.emptySet()));
+    PartitionSpec bucketSpec = PartitionSpec.builderFor(schema).bucket("id", 2).build();
+    Assert.assertEquals(Expressions.alwaysTrue(),
+        UnKeyedTableUtil.partitionFilter(bucketSpec, Collections.singleton("id_bucket=0")));
+  }
+
+  private static Record record(Schema schema, int id, String name, String dt) {
+    Record record = GenericRecord.create(schema);
+    record.setField("id", id);
+    record.setField("name", name);
+    record.setField("dt", LocalDate.parse(dt));
+    return record;
+  }
+
   private static List<DataFile> insertDataFiles(Table table, int length) throws IOException {
     StructLike partitionData = partitionData(table.schema(), table.spec(), getOpTime());
     DataFile result = writeNewDataFile(table, records(0, length, table.schema()), partitionData);
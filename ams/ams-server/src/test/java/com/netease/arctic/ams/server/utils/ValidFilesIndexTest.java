@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.ams.server.utils;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ValidFilesIndexTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testBloomFilterFalsePositive() throws Exception {
+    // the bloom filter sized for one path can not rule out most paths, so lookups are resolved by the map
+    try (ValidFilesIndex index = new ValidFilesIndex(1, 1024 * 1024, temp.newFolder().getPath())) {
+      for (int i = 0; i < 1000; i++) {
+        index.add(path(i));
+      }
+      index.finishAdding();
+
+      int falsePositives = 0;
+      for (int i = 1000; i < 2000; i++) {
+        if (index.mightContain(path(i))) {
+          falsePositives++;
+        }
+        Assert.assertFalse(index.contains(path(i)));
+      }
+      Assert.assertTrue(falsePositives > 0);
+      for (int i = 0; i < 1000; i++) {
+        Assert.assertTrue(index.contains(path(i)));
+      }
+    }
+  }
+
+  @Test
+  public void testSpillPaths() throws Exception {
+    try (ValidFilesIndex index = new ValidFilesIndex(10000, 16 * 1024, temp.newFolder().getPath())) {
+      for (int i = 0; i < 10000; i++) {
+        index.add(path(i));
+        // duplicated paths are counted once, whether they are kept in memory or on disk
+        index.add(path(i / 2));
+      }
+      index.finishAdding();
+
+      Assert.assertEquals(10000, index.size());
+      Assert.assertTrue(index.spilledSize() > 0);
+      Assert.assertTrue(index.spilledSize() < index.size());
+      for (int i = 0; i < 10000; i++) {
+        Assert.assertTrue(index.contains(path(i)));
+        Assert.assertFalse(index.contains(path(i + 10000)));
+      }
+    }
+  }
+
+  @Test
+  public void testFinishAdding() throws Exception {
+    try (ValidFilesIndex index = new ValidFilesIndex(1000, 1024 * 1024, temp.newFolder().getPath())) {
+      index.add(path(0));
+      Assert.assertThrows(IllegalStateException.class, () -> index.contains(path(0)));
+
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        for (int i = 1; i < 1000; i++) {
+          index.add(path(i));
+        }
+        index.finishAdding();
+        Assert.assertThrows(IllegalStateException.class, () -> index.add(path(1000)));
+
+        // paths added before finishing adding are visible to lookups of other threads
+        List<Future<Integer>> founds = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+          founds.add(executor.submit(() -> {
+            int found = 0;
+            for (int i = 0; i < 1100; i++) {
+              found += index.contains(path(i)) ? 1 : 0;
+            }
+            return found;
+          }));
+        }
+        for (Future<Integer> found : founds) {
+          Assert.assertEquals(1000, found.get().intValue());
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static String path(int i) {
+    return "/warehouse/db/table/base/data/op_time_day=2022-01-01/" + i + "-B-1-00000-0-0-00001.parquet";
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.netease.arctic.AmsClient;
+import com.netease.arctic.ams.api.CatalogMeta;
+import com.netease.arctic.ams.api.TableCommitMeta;
+import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableBuilder;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.blocker.TableBlockerManager;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.util.PropertyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ArcticCatalog} wrapper caching loaded tables, so tables loaded again share the {@link ArcticTable} with
+ * its table meta, file io and table operations instead of requesting AMS and reading metadata files every time.
+ * <p>
+ * A cached table is invalidated once the expiration interval passed since it was loaded, even if it is accessed all
+ * the time, when it is committed or refreshed through the client of this catalog, or when it is dropped or created
+ * through this catalog. Commits from other processes are seen after the cached table expires or is refreshed by
+ * the caller.
+ */
+public class CachingArcticCatalog implements ArcticCatalog {
+  private static final Logger LOG = LoggerFactory.getLogger(CachingArcticCatalog.class);
+
+  private final ArcticCatalog catalog;
+  private Cache<TableIdentifier, ArcticTable> tableCache;
+
+  public CachingArcticCatalog(ArcticCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  /**
+   * Check whether tables should be cached with the client side catalog properties.
+   *
+   * @param properties client side catalog properties
+   * @return true if the table cache is enabled
+   */
+  public static boolean cacheEnabled(Map<String, String> properties) {
+    return PropertyUtil.propertyAsBoolean(properties,
+        CatalogMetaProperties.TABLE_CACHE_ENABLED,
+        CatalogMetaProperties.TABLE_CACHE_ENABLED_DEFAULT);
+  }
+
+  @Override
+  public String name() {
+    return catalog.name();
+  }
+
+  @Override
+  public void initialize(AmsClient client, CatalogMeta meta, Map<String, String> properties) {
+    long expirationIntervalMs = PropertyUtil.propertyAsLong(properties,
+        CatalogMetaProperties.TABLE_CACHE_EXPIRATION_INTERVAL_MS,
+        CatalogMetaProperties.TABLE_CACHE_EXPIRATION_INTERVAL_MS_DEFAULT);
+    long maxSize = PropertyUtil.propertyAsLong(properties,
+        CatalogMetaProperties.TABLE_CACHE_MAX_SIZE,
+        CatalogMetaProperties.TABLE_CACHE_MAX_SIZE_DEFAULT);
+    this.tableCache = Caffeine.newBuilder()
+        .expireAfterWrite(expirationIntervalMs, TimeUnit.MILLISECONDS)
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+    catalog.initialize(invalidatingClient(client), meta, properties);
+  }
+
+  @Override
+  public List<String> listDatabases() {
+    return catalog.listDatabases();
+  }
+
+  @Override
+  public void createDatabase(String databaseName) {
+    catalog.createDatabase(databaseName);
+  }
+
+  @Override
+  public void dropDatabase(String databaseName) {
+    catalog.dropDatabase(databaseName);
+  }
+
+  @Override
+  public List<TableIdentifier> listTables(String database) {
+    return catalog.listTables(database);
+  }
+
+  @Override
+  public ArcticTable loadTable(TableIdentifier tableIdentifier) {
+    return tableCache.get(tableIdentifier, catalog::loadTable);
+  }
+
+  @Override
+  public boolean tableExists(TableIdentifier tableIdentifier) {
+    // tables dropped by other processes may still be cached
+    return catalog.tableExists(tableIdentifier);
+  }
+
+  @Override
+  public void renameTable(TableIdentifier from, String newTableName) {
+    catalog.renameTable(from, newTableName);
+    invalidateTable(from);
+  }
+
+  @Override
+  public boolean dropTable(TableIdentifier tableIdentifier, boolean purge) {
+    try {
+      return catalog.dropTable(tableIdentifier, purge);
+    } finally {
+      invalidateTable(tableIdentifier);
+    }
+  }
+
+  @Override
+  public TableBuilder newTableBuilder(TableIdentifier identifier, Schema schema) {
+    invalidateTable(identifier);
+    return catalog.newTableBuilder(identifier, schema);
+  }
+
+  @Override
+  public void refresh() {
+    catalog.refresh();
+    tableCache.invalidateAll();
+  }
+
+  @Override
+  public TableBlockerManager getTableBlockerManager(TableIdentifier tableIdentifier) {
+    return catalog.getTableBlockerManager(tableIdentifier);
+  }
+
+  @Override
+  public Map<String, String> properties() {
+    return catalog.properties();
+  }
+
+  /**
+   * @return the wrapped catalog
+   */
+  public ArcticCatalog getCatalog() {
+    return catalog;
+  }
+
+  /**
+   * @return hit and miss statistics of the table cache
+   */
+  public CacheStats cacheStats() {
+    return tableCache.stats();
+  }
+
+  public void invalidateTable(TableIdentifier tableIdentifier) {
+    tableCache.invalidate(tableIdentifier);
+  }
+
+  private AmsClient invalidatingClient(AmsClient client) {
+    return (AmsClient) Proxy.newProxyInstance(
+        AmsClient.class.getClassLoader(),
+        new Class<?>[] {AmsClient.class},
+        new InvalidatingHandler(client, this));
+  }
+
+  /**
+   * Invalidate the cached table after it is committed or refreshed through the client.
+   */
+  private static class InvalidatingHandler implements InvocationHandler, Serializable {
+    private final AmsClient client;
+    // the catalog is not needed any more once tables are serialized to other processes
+    private final transient CachingArcticCatalog cachingCatalog;
+
+    InvalidatingHandler(AmsClient client, CachingArcticCatalog cachingCatalog) {
+      this.client = client;
+      this.cachingCatalog = cachingCatalog;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result;
+      try {
+        result = method.invoke(client, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+      if (cachingCatalog != null) {
+        if ("tableCommit".equals(method.getName())) {
+          TableCommitMeta commitMeta = (TableCommitMeta) args[0];
+          invalidate(TableIdentifier.of(commitMeta.getTableIdentifier()));
+        } else if ("refreshTable".equals(method.getName())) {
+          invalidate(TableIdentifier.of((com.netease.arctic.ams.api.TableIdentifier) args[0]));
+        }
+      }
+      return result;
+    }
+
+    private void invalidate(TableIdentifier tableIdentifier) {
+      LOG.debug("invalidate cached table {}", tableIdentifier);
+      cachingCatalog.invalidateTable(tableIdentifier);
+    }
+  }
+}
@@ -143,6 +143,9 @@ public class CatalogLoader {
           throw new IllegalStateException("unsupported catalog type:" + type);
       }
       ArcticCatalog catalog = buildCatalog(catalogImpl);
+      if (CachingArcticCatalog.cacheEnabled(props)) {
+        catalog = new CachingArcticCatalog(catalog);
+      }
       catalog.initialize(client, catalogMeta, props);
       return catalog;
     } catch (NoSuchObjectException e1) {
@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.data.file;
+
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.SerializationUtils;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SortOrder;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ByteBuffers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoding of the file lists exchanged between AMS and optimizers.
+ * <p>
+ * The java encoding serializes every file into its own buffer. The compact encoding puts all files of a list into
+ * one buffer, which starts with a magic and a version and keeps the directories of paths, the file formats and the
+ * partition values of every spec in dictionaries shared by the files, and the sequence numbers as deltas.
+ * The compact encoding needs the partition specs of the table to decode files.
+ */
+public class ContentFilesCodec {
+
+  public static final String JAVA_ENCODING = "java";
+  public static final String COMPACT_ENCODING = "compact-v1";
+
+  // java serialization streams start with 0xACED, so they never start with the magic
+  private static final byte[] MAGIC = {'A', 'C', 'F', 'L'};
+  private static final byte VERSION = 1;
+
+  private static final int CONTENT_MASK = 0x03;
+  private static final int WITH_SEQUENCE = 0x04;
+  private static final int WITH_KEY_METADATA = 0x08;
+  private static final int WITH_SPLIT_OFFSETS = 0x10;
+  private static final int WITH_EQUALITY_IDS = 0x20;
+  private static final int WITH_SORT_ORDER = 0x40;
+
+  private ContentFilesCodec() {
+  }
+
+  /**
+   * @param encodings encodings separated by comma
+   * @return true if the compact encoding is one of the encodings
+   */
+  public static boolean supportsCompact(String encodings) {
+    return encodings != null && Arrays.stream(encodings.split(",")).anyMatch(e -> COMPACT_ENCODING.equals(e.trim()));
+  }
+
+  /**
+   * @return true if the files are in the compact encoding
+   */
+  public static boolean isCompact(List<ByteBuffer> files) {
+    if (files == null || files.size() != 1 || files.get(0).remaining() < MAGIC.length) {
+      return false;
+    }
+    ByteBuffer buffer = files.get(0);
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Specs of all the files of the table, by spec id.
+   *
+   * @throws IllegalArgumentException if the base and change table of a keyed table have different specs with the
+   *                                  same id, files can not be decoded by spec id then
+   */
+  public static Map<Integer, PartitionSpec> specsOf(ArcticTable table) {
+    if (table.isKeyedTable()) {
+      return mergeSpecs(table.asKeyedTable().baseTable().specs(), table.asKeyedTable().changeTable().specs());
+    }
+    return Maps.newHashMap(table.asUnkeyedTable().specs());
+  }
+
+  static Map<Integer, PartitionSpec> mergeSpecs(Map<Integer, PartitionSpec> baseSpecs,
+                                                Map<Integer, PartitionSpec> changeSpecs) {
+    Map<Integer, PartitionSpec> specs = Maps.newHashMap(baseSpecs);
+    changeSpecs.forEach((specId, spec) -> {
+      PartitionSpec baseSpec = specs.putIfAbsent(specId, spec);
+      Preconditions.checkArgument(baseSpec == null || baseSpec.compatibleWith(spec),
+          "Spec %s of the change table is different from the base table", specId);
+    });
+    return specs;
+  }
+
+  public static List<ByteBuffer> encode(List<? extends ContentFile<?>> files, String encoding,
+                                        Map<Integer, PartitionSpec> specs) {
+    if (COMPACT_ENCODING.equals(encoding)) {
+      return encodeCompact(files, specs);
+    }
+    List<ByteBuffer> buffers = Lists.newArrayListWithCapacity(files.size());
+    files.forEach(file -> buffers.add(SerializationUtils.toByteBuffer(file)));
+    return buffers;
+  }
+
+  /**
+   * Decode files of either encoding, files which are {@link ContentFileWithSequence} are decoded as such.
+   */
+  public static List<ContentFile<?>> decode(List<ByteBuffer> files, Map<Integer, PartitionSpec> specs) {
+    if (files == null) {
+      return Collections.emptyList();
+    }
+    if (isCompact(files)) {
+      return decodeCompact(files.get(0), specs);
+    }
+    List<ContentFile<?>> result = Lists.newArrayListWithCapacity(files.size());
+    files.forEach(file -> result.add(SerializationUtils.toContentFile(file)));
+    return result;
+  }
+
+  private static List<ByteBuffer> encodeCompact(List<? extends ContentFile<?>> files,
+                                                Map<Integer, PartitionSpec> specs) {
+    if (files.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Dictionary<String> strings = new Dictionary<>();
+    Dictionary<ByteBuffer> partitions = new Dictionary<>();
+    Output body = new Output();
+    long lastSequence = 0;
+    for (ContentFile<?> file : files) {
+      int flags = file.content().id();
+      boolean withSequence = file instanceof ContentFileWithSequence;
+      flags |= withSequence ? WITH_SEQUENCE : 0;
+      flags |= file.keyMetadata() != null ? WITH_KEY_METADATA : 0;
+      flags |= file.splitOffsets() != null ? WITH_SPLIT_OFFSETS : 0;
+      flags |= file.equalityFieldIds() != null ? WITH_EQUALITY_IDS : 0;
+      flags |= file.sortOrderId() != null ? WITH_SORT_ORDER : 0;
+      body.writeVarInt(flags);
+      if (withSequence) {
+        long sequence = ((ContentFileWithSequence<?>) file).getSequenceNumber();
+        body.writeVarLong(zigzag(sequence - lastSequence));
+        lastSequence = sequence;
+      }
+
+      String path = file.path().toString();
+      int nameStart = path.lastIndexOf('/') + 1;
+      body.writeVarInt(strings.indexOf(path.substring(0, nameStart)));
+      body.writeString(path.substring(nameStart));
+      body.writeVarInt(strings.indexOf(file.format().name()));
+      body.writeVarInt(partitions.indexOf(encodePartition(file, specs)));
+      body.writeVarLong(file.recordCount());
+      body.writeVarLong(file.fileSizeInBytes());
+
+      body.writeLongMap(file.columnSizes());
+      body.writeLongMap(file.valueCounts());
+      body.writeLongMap(file.nullValueCounts());
+      body.writeLongMap(file.nanValueCounts());
+      body.writeBytesMap(file.lowerBounds());
+      body.writeBytesMap(file.upperBounds());
+
+      if (file.keyMetadata() != null) {
+        body.writeBinary(ByteBuffers.toByteArray(file.keyMetadata()));
+      }
+      if (file.splitOffsets() != null) {
+        body.writeVarInt(file.splitOffsets().size());
+        file.splitOffsets().forEach(body::writeVarLong);
+      }
+      if (file.equalityFieldIds() != null) {
+        body.writeVarInt(file.equalityFieldIds().size());
+        file.equalityFieldIds().forEach(body::writeVarInt);
+      }
+      if (file.sortOrderId() != null) {
+        body.writeVarInt(file.sortOrderId());
+      }
+    }
+
+    Output output = new Output();
+    output.write(MAGIC, 0, MAGIC.length);
+    output.write(VERSION);
+    output.writeVarInt(strings.size());
+    strings.values().forEach(output::writeString);
+    output.writeVarInt(partitions.size());
+    partitions.values().forEach(partition -> output.writeBinary(ByteBuffers.toByteArray(partition)));
+    output.writeVarInt(files.size());
+    output.writeAll(body);
+    return Collections.singletonList(ByteBuffer.wrap(output.toByteArray()));
+  }
+
+  private static ByteBuffer encodePartition(ContentFile<?> file, Map<Integer, PartitionSpec> specs) {
+    PartitionSpec spec = specs.get(file.specId());
+    Preconditions.checkArgument(spec != null, "Unknown spec %s of file %s", file.specId(), file.path());
+    Output output = new Output();
+    output.writeVarInt(spec.specId());
+    StructLike partition = file.partition();
+    List<Types.NestedField> fields = spec.partitionType().fields();
+    for (int i = 0; i < fields.size(); i++) {
+      Type type = fields.get(i).type();
+      Object value = partition == null ? null : partition.get(i, Object.class);
+      if (value == null) {
+        output.writeVarInt(0);
+      } else {
+        byte[] bytes = ByteBuffers.toByteArray(Conversions.toByteBuffer(type, value));
+        output.writeVarInt(bytes.length + 1);
+        output.write(bytes, 0, bytes.length);
+      }
+    }
+    return ByteBuffer.wrap(output.toByteArray());
+  }
+
+  private static List<ContentFile<?>> decodeCompact(ByteBuffer buffer, Map<Integer, PartitionSpec> specs) {
+    Input input = new Input(buffer.duplicate());
+    input.skip(MAGIC.length);
+    byte version = input.readByte();
+    Preconditions.checkArgument(version == VERSION, "Unsupported version %s of compact file encoding", version);
+
+    String[] strings = new String[input.readVarInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = input.readString();
+    }
+    PartitionSpec[] partitionSpecs = new PartitionSpec[input.readVarInt()];
+    StructLike[] partitions = new StructLike[partitionSpecs.length];
+    for (int i = 0; i < partitions.length; i++) {
+      Input partitionInput = new Input(ByteBuffer.wrap(input.readBytes()));
+      int specId = partitionInput.readVarInt();
+      partitionSpecs[i] = specs.get(specId);
+      Preconditions.checkArgument(partitionSpecs[i] != null, "Unknown spec %s", specId);
+      partitions[i] = decodePartition(partitionSpecs[i], partitionInput);
+    }
+
+    int fileCount = input.readVarInt();
+    List<ContentFile<?>> files = Lists.newArrayListWithCapacity(fileCount);
+    Map<Integer, SortOrder> sortOrders = Maps.newHashMap();
+    long lastSequence = 0;
+    for (int i = 0; i < fileCount; i++) {
+      int flags = input.readVarInt();
+      Long sequence = null;
+      if ((flags & WITH_SEQUENCE) != 0) {
+        sequence = lastSequence + unzigzag(input.readVarLong());
+        lastSequence = sequence;
+      }
+      String path = strings[input.readVarInt()] + input.readString();
+      FileFormat format = FileFormat.valueOf(strings[input.readVarInt()]);
+      int partitionIndex = input.readVarInt();
+      PartitionSpec spec = partitionSpecs[partitionIndex];
+      long recordCount = input.readVarLong();
+      long fileSize = input.readVarLong();
+      Metrics metrics = new Metrics(recordCount, input.readLongMap(), input.readLongMap(), input.readLongMap(),
+          input.readLongMap(), input.readBytesMap(), input.readBytesMap());
+      ByteBuffer keyMetadata = (flags & WITH_KEY_METADATA) != 0 ? ByteBuffer.wrap(input.readBytes()) : null;
+      List<Long> splitOffsets = null;
+      if ((flags & WITH_SPLIT_OFFSETS) != 0) {
+        splitOffsets = Lists.newArrayList();
+        for (int n = input.readVarInt(); n > 0; n--) {
+          splitOffsets.add(input.readVarLong());
+        }
+      }
+      int[] equalityIds = null;
+      if ((flags & WITH_EQUALITY_IDS) != 0) {
+        equalityIds = new int[input.readVarInt()];
+        for (int n = 0; n < equalityIds.length; n++) {
+          equalityIds[n] = input.readVarInt();
+        }
+      }
+      SortOrder sortOrder = null;
+      if ((flags & WITH_SORT_ORDER) != 0) {
+        sortOrder = sortOrders.computeIfAbsent(input.readVarInt(), orderId -> sortOrderOf(orderId, spec.schema()));
+      }
+
+      ContentFile<?> file;
+      FileContent content = FileContent.values()[flags & CONTENT_MASK];
+      if (content == FileContent.DATA) {
+        DataFiles.Builder builder = DataFiles.builder(spec)
+            .withPath(path)
+            .withFormat(format)
+            .withFileSizeInBytes(fileSize)
+            .withMetrics(metrics)
+            .withSplitOffsets(splitOffsets)
+            .withEncryptionKeyMetadata(keyMetadata)
+            .withSortOrder(sortOrder);
+        if (spec.isPartitioned()) {
+          builder.withPartition(partitions[partitionIndex]);
+        }
+        file = builder.build();
+      } else {
+        FileMetadata.Builder builder = FileMetadata.deleteFileBuilder(spec)
+            .withPath(path)
+            .withFormat(format)
+            .withFileSizeInBytes(fileSize)
+            .withMetrics(metrics)
+            .withEncryptionKeyMetadata(keyMetadata)
+            .withSortOrder(sortOrder);
+        if (spec.isPartitioned()) {
+          builder.withPartition(partitions[partitionIndex]);
+        }
+        if (content == FileContent.EQUALITY_DELETES) {
+          builder.ofEqualityDeletes(equalityIds == null ? new int[0] : equalityIds);
+        } else {
+          builder.ofPositionDeletes();
+        }
+        file = builder.build();
+      }
+      files.add(sequence == null ? file : WrapFileWithSequenceNumberHelper.wrap(file, sequence));
+    }
+    return files;
+  }
+
+  private static StructLike decodePartition(PartitionSpec spec, Input input) {
+    List<Types.NestedField> fields = spec.partitionType().fields();
+    Object[] values = new Object[fields.size()];
+    for (int i = 0; i < values.length; i++) {
+      int length = input.readVarInt() - 1;
+      if (length >= 0) {
+        byte[] bytes = new byte[length];
+        input.read(bytes);
+        Type type = fields.get(i).type();
+        Object value = Conversions.fromByteBuffer(type, ByteBuffer.wrap(bytes));
+        // strings are decoded as char buffers
+        values[i] = type.typeId() == Type.TypeID.STRING ? value.toString() : value;
+      }
+    }
+    return new PartitionValues(values);
+  }
+
+  /**
+   * Files only keep the id of their sort order, the fields of the order are not encoded, so the order is built on
+   * the table schema of the spec by the first primitive column, which is valid for the schema whatever the order is.
+   */
+  private static SortOrder sortOrderOf(int orderId, Schema schema) {
+    if (orderId == 0) {
+      return SortOrder.unsorted();
+    }
+    Types.NestedField column = schema.columns().stream()
+        .filter(field -> field.type().isPrimitiveType())
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Can't decode sort order " + orderId + " of files of a table without primitive columns"));
+    return SortOrder.builderFor(schema).withOrderId(orderId).asc(column.name()).build();
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static class Dictionary<T> {
+    private final Map<T, Integer> indexes = Maps.newHashMap();
+    private final List<T> values = Lists.newArrayList();
+
+    int indexOf(T value) {
+      return indexes.computeIfAbsent(value, v -> {
+        values.add(v);
+        return values.size() - 1;
+      });
+    }
+
+    int size() {
+      return values.size();
+    }
+
+    List<T> values() {
+      return values;
+    }
+  }
+
+  private static class Output extends ByteArrayOutputStream {
+
+    void writeAll(Output other) {
+      write(other.buf, 0, other.count);
+    }
+
+    void writeVarInt(int value) {
+      writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeVarLong(long value) {
+      while ((value & ~0x7FL) != 0) {
+        write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      write((int) value);
+    }
+
+    void writeBinary(byte[] bytes) {
+      writeVarInt(bytes.length);
+      write(bytes, 0, bytes.length);
+    }
+
+    void writeString(String value) {
+      writeBinary(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeLongMap(Map<Integer, Long> map) {
+      if (map == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(map.size() + 1);
+      map.forEach((key, value) -> {
+        writeVarInt(key);
+        writeVarLong(zigzag(value));
+      });
+    }
+
+    void writeBytesMap(Map<Integer, ByteBuffer> map) {
+      if (map == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(map.size() + 1);
+      map.forEach((key, value) -> {
+        writeVarInt(key);
+        writeBinary(ByteBuffers.toByteArray(value));
+      });
+    }
+  }
+
+  private static class Input {
+    private final ByteBuffer buffer;
+
+    Input(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    void skip(int length) {
+      buffer.position(buffer.position() + length);
+    }
+
+    byte readByte() {
+      return buffer.get();
+    }
+
+    void read(byte[] bytes) {
+      buffer.get(bytes);
+    }
+
+    int readVarInt() {
+      return (int) readVarLong();
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = buffer.get();
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+
+    byte[] readBytes() {
+      byte[] bytes = new byte[readVarInt()];
+      buffer.get(bytes);
+      return bytes;
+    }
+
+    String readString() {
+      return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    Map<Integer, Long> readLongMap() {
+      int size = readVarInt() - 1;
+      if (size < 0) {
+        return null;
+      }
+      Map<Integer, Long> map = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        map.put(readVarInt(), unzigzag(readVarLong()));
+      }
+      return map;
+    }
+
+    Map<Integer, ByteBuffer> readBytesMap() {
+      int size = readVarInt() - 1;
+      if (size < 0) {
+        return null;
+      }
+      Map<Integer, ByteBuffer> map = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        map.put(readVarInt(), ByteBuffer.wrap(readBytes()));
+      }
+      return map;
+    }
+  }
+
+  private static class PartitionValues implements StructLike {
+    private final Object[] values;
+
+    PartitionValues(Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public <T> T get(int pos, Class<T> javaClass) {
+      return javaClass.cast(values[pos]);
+    }
+
+    @Override
+    public <T> void set(int pos, T value) {
+      values[pos] = value;
+    }
+  }
+}
@@ -25,6 +25,8 @@ import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.io.CloseableIterableWrapper;
 import com.netease.arctic.io.CloseablePredicate;
 import com.netease.arctic.scan.CombinedIcebergScanTask;
+import com.netease.arctic.utils.SerializationUtils;
+import com.netease.arctic.utils.map.PositionDeleteIndex;
 import com.netease.arctic.utils.map.StructLikeBaseMap;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.Accessor;
@@ -54,11 +56,9 @@ import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.Filter;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -84,7 +84,7 @@ public abstract class CombinedDeleteFilter<T> {
   private final Accessor<StructLike> dataTransactionIdAccessor;
   private final Set<String> pathSets;
   private final Schema deleteSchema;
-  private Map<String, Set<Long>> positionMap;
+  private PositionDeleteIndex positionIndex;
   // equity-field is primary key
   private Set<Integer> deleteIds = new HashSet<>();
   private CloseablePredicate<T> eqPredicate;
@@ -255,7 +255,8 @@ public abstract class CombinedDeleteFilter<T> {
 
     InternalRecordWrapper internalRecordWrapper = new InternalRecordWrapper(deleteSchema.asStruct());
 
-    StructLikeBaseMap<Long> structLikeMap = structLikeCollections.createStructLikeMap(pkSchema.asStruct());
+    StructLikeBaseMap<Long> structLikeMap = structLikeCollections.createStructLikeMap(pkSchema.asStruct(),
+        SerializationUtils.createLongSerializer());
 
     //init map
     try (CloseableIterable<RecordWithLsn> deletes = deleteRecords) {
@@ -324,33 +325,20 @@ public abstract class CombinedDeleteFilter<T> {
       return record -> false;
     }
 
-    // if there are fewer deletes than a reasonable number to keep in memory, use a set
-    if (positionMap == null) {
-      positionMap = new HashMap<>();
+    if (positionIndex == null) {
+      positionIndex = structLikeCollections.createPositionDeleteIndex(pathSets);
       List<CloseableIterable<Record>> deletes = Lists.transform(
           posDeletes,
           this::openPosDeletes);
       CloseableIterator<Record> iterator = CloseableIterable.concat(deletes).iterator();
       while (iterator.hasNext()) {
         Record deleteRecord = iterator.next();
-        String path = FILENAME_ACCESSOR.get(deleteRecord).toString();
-        if (!pathSets.contains(path)) {
-          continue;
-        }
-        Set<Long> posSet = positionMap.computeIfAbsent(path, k -> new HashSet<>());
-        posSet.add((Long) POSITION_ACCESSOR.get(deleteRecord));
+        positionIndex.delete((CharSequence) FILENAME_ACCESSOR.get(deleteRecord),
+            (Long) POSITION_ACCESSOR.get(deleteRecord));
       }
     }
 
-    return record -> {
-      Set<Long> posSet;
-      posSet = positionMap.get(filePath(record));
-
-      if (posSet == null) {
-        return false;
-      }
-      return posSet.contains(pos(record));
-    };
+    return record -> positionIndex.isDeleted(filePath(record), pos(record));
   }
 
   private CloseableIterable<T> applyPosDeletesBase(CloseableIterable<T> records, Predicate<T> predicate) {
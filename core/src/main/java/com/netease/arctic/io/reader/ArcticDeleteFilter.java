@@ -31,6 +31,8 @@ import com.netease.arctic.scan.KeyedTableScanTask;
 import com.netease.arctic.table.MetadataColumns;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.utils.NodeFilter;
+import com.netease.arctic.utils.SerializationUtils;
+import com.netease.arctic.utils.map.PositionDeleteIndex;
 import com.netease.arctic.utils.map.StructLikeBaseMap;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.Accessor;
@@ -57,7 +59,6 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -92,13 +93,13 @@ public abstract class ArcticDeleteFilter<T> {
   private final Schema deleteSchema;
   private final Filter<Record> deleteNodeFilter;
   private CloseablePredicate<T> eqPredicate;
-  private Map<String, Set<Long>> positionMap;
+  private PositionDeleteIndex positionIndex;
   private final Accessor<StructLike> posAccessor;
   private final Accessor<StructLike> filePathAccessor;
   private final Set<String> pathSets;
 
   private String currentDataPath;
-  private Set<Long> currentPosSet;
+  private PositionDeleteIndex.PositionSet currentPosSet;
 
   private StructLikeCollections structLikeCollections = StructLikeCollections.DEFAULT;
 
@@ -240,7 +241,8 @@ public abstract class ArcticDeleteFilter<T> {
     CloseableIterable<StructLike> structLikeIterable = CloseableIterable.transform(
             records, record -> new InternalRecordWrapper(deleteSchema.asStruct()).wrap(record));
 
-    StructLikeBaseMap<ChangedLsn> structLikeMap = structLikeCollections.createStructLikeMap(pkSchema.asStruct());
+    StructLikeBaseMap<ChangedLsn> structLikeMap = structLikeCollections.createStructLikeMap(pkSchema.asStruct(),
+        SerializationUtils.createChangedLsnSerializer());
     //init map
     try (CloseableIterable<StructLike> deletes = structLikeIterable) {
       Iterator<StructLike> it = getArcticFileIo() == null ? deletes.iterator()
@@ -330,38 +332,19 @@ public abstract class ArcticDeleteFilter<T> {
       return records;
     }
 
-    // if there are fewer deletes than a reasonable number to keep in memory, use a set
-    if (positionMap == null) {
-      positionMap = new HashMap<>();
-      List<CloseableIterable<Record>> deletes = Lists.transform(posDeletes, this::openPosDeletes);
-      CloseableIterator<Record> iterator = CloseableIterable.concat(deletes).iterator();
-      while (iterator.hasNext()) {
-        Record deleteRecord = iterator.next();
-        String path = FILENAME_ACCESSOR.get(deleteRecord).toString();
-        if (!pathSets.contains(path)) {
-          continue;
-        }
-        Set<Long> posSet = positionMap.get(path);
-        if (posSet == null) {
-          posSet = new HashSet<>();
-          positionMap.put(path, posSet);
-        }
-        posSet.add((Long) POSITION_ACCESSOR.get(deleteRecord));
-      }
-    }
-
+    PositionDeleteIndex positionIndex = positionIndex();
     Filter<T> filter = new Filter<T>() {
       @Override
       protected boolean shouldKeep(T item) {
 
-        Set<Long> posSet;
+        PositionDeleteIndex.PositionSet posSet;
         if (currentDataPath != null) {
           if (currentPosSet == null) {
-            currentPosSet = positionMap.get(currentDataPath);
+            currentPosSet = positionIndex.positions(currentDataPath);
           }
           posSet = currentPosSet;
         } else {
-          posSet = positionMap.get(filePath(item));
+          posSet = positionIndex.positions(filePath(item));
         }
 
         if (posSet == null) {
@@ -377,6 +360,41 @@ public abstract class ArcticDeleteFilter<T> {
     return filter.filter(records);
   }
 
+  /**
+   * @return the deleted positions of the data file set by {@link #setCurrentDataPath(String)}, null if no position of
+   * it is deleted
+   */
+  public PositionDeleteIndex.PositionSet currentPositionDeletes() {
+    if (posDeletes.isEmpty()) {
+      return null;
+    }
+    if (currentPosSet == null) {
+      currentPosSet = positionIndex().positions(currentDataPath);
+    }
+    return currentPosSet;
+  }
+
+  /**
+   * @return the estimated size of the loaded position deletes in bytes
+   */
+  public long positionDeletesSizeInBytes() {
+    return positionIndex == null ? 0 : positionIndex.sizeInBytes();
+  }
+
+  private PositionDeleteIndex positionIndex() {
+    if (positionIndex == null) {
+      positionIndex = structLikeCollections.createPositionDeleteIndex(pathSets);
+      List<CloseableIterable<Record>> deletes = Lists.transform(posDeletes, this::openPosDeletes);
+      CloseableIterator<Record> iterator = CloseableIterable.concat(deletes).iterator();
+      while (iterator.hasNext()) {
+        Record deleteRecord = iterator.next();
+        positionIndex.delete((CharSequence) FILENAME_ACCESSOR.get(deleteRecord),
+            (Long) POSITION_ACCESSOR.get(deleteRecord));
+      }
+    }
+    return positionIndex;
+  }
+
   private CloseableIterable<Record> openPosDeletes(DeleteFile file) {
     return openPositionDeletes(file, POS_DELETE_SCHEMA);
   }
@@ -23,12 +23,23 @@ import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import java.util.Arrays;
 
 import static com.netease.arctic.log.LogData.MAGIC_NUMBER;
+import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_FORMAT_BINARY;
+import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_FORMAT_JSON;
 
 /**
- * Log format version.
+ * Log format version, the version also decides the format of the actual value in a message.
  */
 public enum FormatVersion {
-  FORMAT_VERSION_V1(new MessageBytes().append(MAGIC_NUMBER).append((byte) 1).toBytes());
+  /**
+   * Actual values in JSON, see {@link LogDataJsonSerialization}.
+   */
+  FORMAT_VERSION_V1(new MessageBytes().append(MAGIC_NUMBER).append((byte) 1).toBytes(),
+      LOG_STORE_DATA_FORMAT_JSON),
+  /**
+   * Actual values in a compact binary format, see {@link LogDataBinarySerialization}.
+   */
+  FORMAT_VERSION_V2(new MessageBytes().append(MAGIC_NUMBER).append((byte) 2).toBytes(),
+      LOG_STORE_DATA_FORMAT_BINARY);
 
   /**
    * the version of log format, contains a fixed magic number and actual version number,
@@ -37,13 +48,15 @@ public enum FormatVersion {
   byte[] version;
   byte versionNum;
   byte[] magicNum;
+  String dataFormat;
 
-  FormatVersion(byte[] version) {
+  FormatVersion(byte[] version, String dataFormat) {
     Preconditions.checkArgument(null != version && version.length == 4,
         "format version is null or length is not equal to 4.");
     this.version = version;
     this.magicNum = Bytes.subByte(version, 0, 3);
     versionNum = Bytes.subByte(version, 3, 1)[0];
+    this.dataFormat = dataFormat;
   }
 
   public byte[] asBytes() {
@@ -58,6 +71,13 @@ public enum FormatVersion {
     return versionNum;
   }
 
+  /**
+   * @return the log store data format of the actual values in this version
+   */
+  public String getDataFormat() {
+    return dataFormat;
+  }
+
   public static FormatVersion fromBytes(byte[] data) {
     for (FormatVersion formatVersion : FormatVersion.values()) {
       byte[] expected = formatVersion.asBytes();
@@ -67,4 +87,13 @@ public enum FormatVersion {
     }
     return null;
   }
+
+  public static FormatVersion fromDataFormat(String dataFormat) {
+    for (FormatVersion formatVersion : FormatVersion.values()) {
+      if (formatVersion.dataFormat.equalsIgnoreCase(dataFormat)) {
+        return formatVersion;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported log store data format: " + dataFormat);
+  }
 }
@@ -24,6 +24,7 @@ import org.apache.iceberg.relocated.com.google.common.primitives.Longs;
 import org.apache.iceberg.types.Type;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 
 import static com.netease.arctic.utils.FlipUtil.convertToByte;
 
@@ -105,6 +106,14 @@ public interface LogData<T> {
 
   interface FieldGetterFactory<T> extends Serializable {
     FieldGetter<T> createFieldGetter(Type fieldType, int fieldPos);
+
+    /**
+     * Return the UTF-8 bytes of a string returned by the field getters, engines keeping strings as UTF-8 bytes could
+     * return them without decoding the string.
+     */
+    default byte[] getUtf8Bytes(Object string) {
+      return string.toString().getBytes(StandardCharsets.UTF_8);
+    }
   }
 
   /**
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.relocated.com.google.common.primitives.Longs;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.netease.arctic.log.LogDataBinarySerialization.FIXED32;
+import static com.netease.arctic.log.LogDataBinarySerialization.FIXED64;
+import static com.netease.arctic.log.LogDataBinarySerialization.HEADER_SIZE;
+import static com.netease.arctic.log.LogDataBinarySerialization.LENGTH_DELIMITED;
+import static com.netease.arctic.log.LogDataBinarySerialization.TAG_TYPE_BITS;
+import static com.netease.arctic.log.LogDataBinarySerialization.TAG_TYPE_MASK;
+import static com.netease.arctic.log.LogDataBinarySerialization.VARINT;
+import static com.netease.arctic.utils.FlipUtil.convertToBoolean;
+import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Deserialization that deserializes the bytes written by {@link LogDataBinarySerialization} into an instance of
+ * {@link LogData} through {@link LogData.Factory#create(Object, Object...)}.
+ * <p>
+ * Fields are matched by id with the schema of the reader, fields not in the schema are skipped and fields missing in
+ * the message are null. Integers, longs and floats are read as the types they are promoted to.
+ */
+public class LogDataBinaryDeserialization<T> implements LogDataDeserialization<T> {
+  private static final long serialVersionUID = 1L;
+
+  private final Schema schema;
+  private final LogData.Factory<T> factory;
+  private final LogArrayData.Factory arrayFactory;
+  private final LogMapData.Factory mapFactory;
+
+  private transient StructReader rowReader;
+
+  public LogDataBinaryDeserialization(
+      Schema schema,
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    this.schema = schema;
+    this.factory = factory;
+    this.arrayFactory = arrayFactory;
+    this.mapFactory = mapFactory;
+  }
+
+  @Override
+  public LogData<T> deserialize(byte[] message) {
+    checkArgument(message != null, "message is null.");
+    checkArgument(message.length >= HEADER_SIZE, "message is illegal.");
+    byte[] versionBytes = Arrays.copyOfRange(message, 0, 4);
+    byte[] upstreamIdBytes = Arrays.copyOfRange(message, 4, 8);
+    long epicNo = Longs.fromBytes(
+        message[8], message[9], message[10], message[11], message[12], message[13], message[14], message[15]);
+    boolean flip = convertToBoolean(message[16]);
+    byte changeActionByte = message[17];
+
+    if (flip) {
+      // we can ignore actual value which should be empty, when flip is true.
+      return factory.create(null, versionBytes, upstreamIdBytes, epicNo, true, changeActionByte);
+    }
+    if (rowReader == null) {
+      rowReader = new StructReader(schema.asStruct());
+    }
+    Input input = new Input(message, HEADER_SIZE);
+    T actualValue = rowReader.readFields(input, message.length);
+    return factory.create(actualValue, versionBytes, upstreamIdBytes, epicNo, false, changeActionByte);
+  }
+
+  private ValueReader createReader(Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, VARINT);
+          return in.readVarLong() != 0;
+        };
+      case INTEGER:
+      case DATE:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, VARINT);
+          return (int) unzigzag(in.readVarLong());
+        };
+      case LONG:
+      case TIME:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, VARINT);
+          return unzigzag(in.readVarLong());
+        };
+      case FLOAT:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, FIXED32);
+          return Float.intBitsToFloat(in.readFixed32());
+        };
+      case DOUBLE:
+        return (in, wireType) -> {
+          if (wireType == FIXED32) {
+            return (double) Float.intBitsToFloat(in.readFixed32());
+          }
+          checkWireType(type, wireType, FIXED64);
+          return Double.longBitsToDouble(in.readFixed64());
+        };
+      case TIMESTAMP:
+        boolean adjustToUTC = ((Types.TimestampType) type).shouldAdjustToUTC();
+        return (in, wireType) -> {
+          checkWireType(type, wireType, LENGTH_DELIMITED);
+          in.readVarLong();
+          long epochSecond = unzigzag(in.readVarLong());
+          int nanos = (int) in.readVarLong();
+          return adjustToUTC ? Instant.ofEpochSecond(epochSecond, nanos) :
+              LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        };
+      case STRING:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, LENGTH_DELIMITED);
+          int length = (int) in.readVarLong();
+          String value = new String(in.buffer, in.position, length, StandardCharsets.UTF_8);
+          in.position += length;
+          return value;
+        };
+      case UUID:
+      case FIXED:
+      case BINARY:
+        return (in, wireType) -> {
+          checkWireType(type, wireType, LENGTH_DELIMITED);
+          return in.readLengthDelimited();
+        };
+      case DECIMAL:
+        int scale = ((Types.DecimalType) type).scale();
+        return (in, wireType) -> {
+          checkWireType(type, wireType, LENGTH_DELIMITED);
+          return new BigDecimal(new BigInteger(in.readLengthDelimited()), scale);
+        };
+      case LIST:
+        return createListReader(type.asListType());
+      case MAP:
+        return createMapReader(type.asMapType());
+      case STRUCT:
+        StructReader structReader = new StructReader(type.asStructType());
+        return (in, wireType) -> {
+          checkWireType(type, wireType, LENGTH_DELIMITED);
+          int length = (int) in.readVarLong();
+          return structReader.readFields(in, in.position + length);
+        };
+      default:
+        throw new UnsupportedOperationException("Not Support to parse type: " + type);
+    }
+  }
+
+  private ValueReader createListReader(Types.ListType list) {
+    Type elementType = list.elementType();
+    ValueReader elementReader = createReader(elementType);
+    return (in, wireType) -> {
+      checkWireType(list, wireType, LENGTH_DELIMITED);
+      in.readVarLong();
+      int numElements = (int) in.readVarLong();
+      Object[] array = null;
+      for (int i = 0; i < numElements; i++) {
+        Object value = factory.convertIfNecessary(elementType, readElement(elementReader, in));
+        if (value != null) {
+          if (array == null) {
+            array = (Object[]) Array.newInstance(value.getClass(), numElements);
+          }
+          array[i] = value;
+        }
+      }
+      return arrayFactory.create(array == null ? new Object[numElements] : array);
+    };
+  }
+
+  private ValueReader createMapReader(Types.MapType map) {
+    Type keyType = map.keyType();
+    Type valueType = map.valueType();
+    ValueReader keyReader = createReader(keyType);
+    ValueReader valueReader = createReader(valueType);
+    return (in, wireType) -> {
+      checkWireType(map, wireType, LENGTH_DELIMITED);
+      in.readVarLong();
+      int numElements = (int) in.readVarLong();
+      Map<Object, Object> result = new HashMap<>();
+      for (int i = 0; i < numElements; i++) {
+        Object key = factory.convertIfNecessary(keyType, readElement(keyReader, in));
+        Object value = factory.convertIfNecessary(valueType, readElement(valueReader, in));
+        result.put(key, value);
+      }
+      return mapFactory.create(result);
+    };
+  }
+
+  private static Object readElement(ValueReader reader, Input in) {
+    int header = (int) in.readVarLong();
+    return header == 0 ? null : reader.read(in, header - 1);
+  }
+
+  private static void checkWireType(Type type, int wireType, int expected) {
+    if (wireType != expected) {
+      throw new IllegalStateException(
+          String.format("Can't read a value of wire type %d as %s, wire type %d is expected.", wireType, type,
+              expected));
+    }
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private interface ValueReader {
+    Object read(Input in, int wireType);
+  }
+
+  /**
+   * Reader of the fields of a struct, looking up the fields by id.
+   */
+  private class StructReader {
+    private final Type[] fieldTypes;
+    private final ValueReader[] readers;
+    private final int[] positionsById;
+
+    StructReader(Types.StructType struct) {
+      List<Types.NestedField> fields = struct.fields();
+      this.fieldTypes = new Type[fields.size()];
+      this.readers = new ValueReader[fields.size()];
+      int maxFieldId = fields.stream().mapToInt(Types.NestedField::fieldId).max().orElse(0);
+      this.positionsById = new int[maxFieldId + 1];
+      Arrays.fill(positionsById, -1);
+      for (int i = 0; i < fields.size(); i++) {
+        fieldTypes[i] = fields.get(i).type();
+        readers[i] = createReader(fieldTypes[i]);
+        positionsById[fields.get(i).fieldId()] = i;
+      }
+    }
+
+    T readFields(Input in, int limit) {
+      Object[] struct = new Object[fieldTypes.length];
+      while (in.position < limit) {
+        long tag = in.readVarLong();
+        long fieldId = tag >>> TAG_TYPE_BITS;
+        int wireType = (int) (tag & TAG_TYPE_MASK);
+        int pos = fieldId < positionsById.length ? positionsById[(int) fieldId] : -1;
+        if (pos < 0) {
+          in.skip(wireType);
+        } else {
+          struct[pos] = readers[pos].read(in, wireType);
+        }
+      }
+      return factory.createActualValue(struct, fieldTypes);
+    }
+  }
+
+  private static class Input {
+    private final byte[] buffer;
+    private int position;
+
+    Input(byte[] buffer, int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = buffer[position++];
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Malformed varint at position " + position);
+    }
+
+    int readFixed32() {
+      int value = 0;
+      for (int i = 0; i < 4; i++) {
+        value |= (buffer[position++] & 0xFF) << (i * 8);
+      }
+      return value;
+    }
+
+    long readFixed64() {
+      long value = 0;
+      for (int i = 0; i < 8; i++) {
+        value |= (long) (buffer[position++] & 0xFF) << (i * 8);
+      }
+      return value;
+    }
+
+    byte[] readLengthDelimited() {
+      int length = (int) readVarLong();
+      byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+      position += length;
+      return bytes;
+    }
+
+    void skip(int wireType) {
+      switch (wireType) {
+        case VARINT:
+          readVarLong();
+          break;
+        case FIXED32:
+          position += 4;
+          break;
+        case FIXED64:
+          position += 8;
+          break;
+        case LENGTH_DELIMITED:
+          int length = (int) readVarLong();
+          position += length;
+          break;
+        default:
+          throw new IllegalStateException("Unknown wire type " + wireType);
+      }
+    }
+  }
+}
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serialization that serializes an instance of {@link LogData} into compact binary bytes of
+ * {@link FormatVersion#FORMAT_VERSION_V2}.
+ * <p>
+ * The header is the same as the one of {@link LogDataJsonSerialization}. The actual value is written as its non-null
+ * fields, each one led by a tag of the field id and the wire type of the value, in the manner of protocol buffers:
+ * <ul>
+ *   <li>{@link #VARINT}: booleans, and integers, longs, dates and times in zigzag encoding</li>
+ *   <li>{@link #FIXED32} and {@link #FIXED64}: floats and doubles</li>
+ *   <li>{@link #LENGTH_DELIMITED}: UTF-8 strings, binaries, decimals as unscaled values, timestamps as epoch seconds
+ *   and nanos, and nested structs, lists and maps</li>
+ * </ul>
+ * Readers look up the fields by id and skip the ids they don't know, so the messages stay readable after the schema
+ * of the table evolves. The elements of lists and maps are led by their wire type plus one, or 0 if they are null.
+ * <p>
+ * The output buffer is reused by the messages, each message copies it only once.
+ */
+public class LogDataBinarySerialization<T> implements LogDataSerialization<T> {
+  private static final long serialVersionUID = 1L;
+
+  static final int VARINT = 0;
+  static final int FIXED64 = 1;
+  static final int LENGTH_DELIMITED = 2;
+  static final int FIXED32 = 5;
+  static final int TAG_TYPE_BITS = 3;
+  static final int TAG_TYPE_MASK = (1 << TAG_TYPE_BITS) - 1;
+  static final int HEADER_SIZE = 18;
+
+  private final Schema schema;
+  private final LogData.FieldGetterFactory<T> fieldGetterFactory;
+
+  private transient ValueWriter rowWriter;
+  private transient Output output;
+
+  public LogDataBinarySerialization(Schema schema, LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    this.schema = schema;
+    this.fieldGetterFactory = fieldGetterFactory;
+  }
+
+  @Override
+  public byte[] serialize(LogData<T> element) {
+    if (output == null) {
+      output = new Output();
+      rowWriter = createFieldsWriter(schema.asStruct());
+    }
+    output.reset();
+    // 4 bytes version + 4 bytes upstreamId + 8 bytes EpicNo + 1 byte flip + 1 byte rowKind + n bytes object data
+    output.writeBytes(FormatVersion.FORMAT_VERSION_V2.asBytes());
+    output.writeBytes(element.getUpstreamIdBytes());
+    output.writeBytes(element.getEpicNoBytes());
+    output.writeByte(element.getFlipByte());
+    output.writeByte(element.getChangeActionByte());
+
+    // would ignore serializing actual value if flip is true.
+    if (!element.getFlip()) {
+      try {
+        rowWriter.write(element.getActualValue(), output);
+      } catch (Throwable t) {
+        throw new RuntimeException("Could not serialize row '" + element + "'. ", t);
+      }
+    }
+    return output.toBytes();
+  }
+
+  static int wireType(Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+      case INTEGER:
+      case LONG:
+      case DATE:
+      case TIME:
+        return VARINT;
+      case FLOAT:
+        return FIXED32;
+      case DOUBLE:
+        return FIXED64;
+      default:
+        return LENGTH_DELIMITED;
+    }
+  }
+
+  private ValueWriter createFieldsWriter(Types.StructType struct) {
+    List<Types.NestedField> fields = struct.fields();
+    int fieldCount = fields.size();
+    long[] tags = new long[fieldCount];
+    ValueWriter[] writers = new ValueWriter[fieldCount];
+    LogData.FieldGetter<T>[] getters = new LogData.FieldGetter[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      Type type = fields.get(i).type();
+      tags[i] = ((long) fields.get(i).fieldId() << TAG_TYPE_BITS) | wireType(type);
+      writers[i] = createWriter(type);
+      getters[i] = fieldGetterFactory.createFieldGetter(type, i);
+    }
+    return (value, out) -> {
+      T row = (T) value;
+      for (int i = 0; i < fieldCount; i++) {
+        Object field = getters[i].getFieldOrNull(row, i);
+        if (field != null) {
+          out.writeVarLong(tags[i]);
+          writers[i].write(field, out);
+        }
+      }
+    };
+  }
+
+  private ValueWriter createWriter(Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return (value, out) -> out.writeVarLong((Boolean) value ? 1 : 0);
+      case INTEGER:
+      case LONG:
+      case DATE:
+      case TIME:
+        return (value, out) -> out.writeVarLong(zigzag(((Number) value).longValue()));
+      case FLOAT:
+        return (value, out) -> out.writeFixed32(Float.floatToIntBits(((Number) value).floatValue()));
+      case DOUBLE:
+        return (value, out) -> out.writeFixed64(Double.doubleToLongBits(((Number) value).doubleValue()));
+      case TIMESTAMP:
+        if (((Types.TimestampType) type).shouldAdjustToUTC()) {
+          return lengthDelimited((value, out) -> {
+            Instant instant = (Instant) value;
+            out.writeVarLong(zigzag(instant.getEpochSecond()));
+            out.writeVarLong(instant.getNano());
+          });
+        } else {
+          return lengthDelimited((value, out) -> {
+            LocalDateTime localDateTime = (LocalDateTime) value;
+            out.writeVarLong(zigzag(localDateTime.toEpochSecond(ZoneOffset.UTC)));
+            out.writeVarLong(localDateTime.getNano());
+          });
+        }
+      case STRING:
+        return (value, out) -> out.writeLengthDelimited(fieldGetterFactory.getUtf8Bytes(value));
+      case UUID:
+      case FIXED:
+      case BINARY:
+        return (value, out) -> out.writeLengthDelimited((byte[]) value);
+      case DECIMAL:
+        int scale = ((Types.DecimalType) type).scale();
+        return (value, out) -> {
+          BigDecimal decimal = (BigDecimal) value;
+          if (decimal.scale() != scale) {
+            decimal = decimal.setScale(scale, RoundingMode.HALF_UP);
+          }
+          out.writeLengthDelimited(decimal.unscaledValue().toByteArray());
+        };
+      case LIST:
+        return lengthDelimited(createListWriter(type.asListType()));
+      case MAP:
+        return lengthDelimited(createMapWriter(type.asMapType()));
+      case STRUCT:
+        return lengthDelimited(createFieldsWriter(type.asStructType()));
+      default:
+        throw new UnsupportedOperationException("Not Support to parse type: " + type);
+    }
+  }
+
+  private ValueWriter createListWriter(Types.ListType list) {
+    Types.NestedField elementField = list.field(list.elementId());
+    LogArrayData.ElementGetter elementGetter = LogArrayData.createElementGetter(elementField);
+    ValueWriter elementWriter = createElementWriter(elementField.type());
+    return (value, out) -> {
+      LogArrayData array = (LogArrayData) value;
+      int numElements = array.size();
+      out.writeVarLong(numElements);
+      for (int i = 0; i < numElements; i++) {
+        elementWriter.write(elementGetter.getElementOrNull(array, i), out);
+      }
+    };
+  }
+
+  private ValueWriter createMapWriter(Types.MapType map) {
+    Types.NestedField keyField = map.field(map.keyId());
+    Types.NestedField valueField = map.field(map.valueId());
+    LogArrayData.ElementGetter keyGetter = LogArrayData.createElementGetter(keyField);
+    LogArrayData.ElementGetter valueGetter = LogArrayData.createElementGetter(valueField);
+    ValueWriter keyWriter = createElementWriter(keyField.type());
+    ValueWriter valueWriter = createElementWriter(valueField.type());
+    return (value, out) -> {
+      LogMapData mapData = (LogMapData) value;
+      LogArrayData keyArray = mapData.keyArray();
+      LogArrayData valueArray = mapData.valueArray();
+      int numElements = mapData.size();
+      out.writeVarLong(numElements);
+      for (int i = 0; i < numElements; i++) {
+        keyWriter.write(keyGetter.getElementOrNull(keyArray, i), out);
+        valueWriter.write(valueGetter.getElementOrNull(valueArray, i), out);
+      }
+    };
+  }
+
+  private ValueWriter createElementWriter(Type type) {
+    int header = wireType(type) + 1;
+    ValueWriter writer = createWriter(type);
+    return (value, out) -> {
+      if (value == null) {
+        out.writeVarLong(0);
+      } else {
+        out.writeVarLong(header);
+        writer.write(value, out);
+      }
+    };
+  }
+
+  private static ValueWriter lengthDelimited(ValueWriter writer) {
+    return (value, out) -> {
+      int start = out.beginLengthDelimited();
+      writer.write(value, out);
+      out.endLengthDelimited(start);
+    };
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private interface ValueWriter {
+    void write(Object value, Output out);
+  }
+
+  /**
+   * Growable buffer of a message, reused by the messages.
+   */
+  private static class Output {
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    void reset() {
+      size = 0;
+    }
+
+    byte[] toBytes() {
+      return Arrays.copyOf(buffer, size);
+    }
+
+    void writeByte(byte value) {
+      ensureCapacity(1);
+      buffer[size++] = value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, size, bytes.length);
+      size += bytes.length;
+    }
+
+    void writeLengthDelimited(byte[] bytes) {
+      writeVarLong(bytes.length);
+      writeBytes(bytes);
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[size++] = (byte) value;
+    }
+
+    void writeFixed32(int value) {
+      ensureCapacity(4);
+      for (int i = 0; i < 4; i++) {
+        buffer[size++] = (byte) (value >>> (i * 8));
+      }
+    }
+
+    void writeFixed64(long value) {
+      ensureCapacity(8);
+      for (int i = 0; i < 8; i++) {
+        buffer[size++] = (byte) (value >>> (i * 8));
+      }
+    }
+
+    /**
+     * Reserve one byte for the length of a value of unknown length.
+     *
+     * @return the position of the reserved byte
+     */
+    int beginLengthDelimited() {
+      ensureCapacity(1);
+      return size++;
+    }
+
+    /**
+     * Write the length of the value written since {@link #beginLengthDelimited()}, the value is moved if the length
+     * takes more than one byte.
+     */
+    void endLengthDelimited(int start) {
+      int length = size - start - 1;
+      int lengthSize = varLongSize(length);
+      if (lengthSize > 1) {
+        ensureCapacity(lengthSize - 1);
+        System.arraycopy(buffer, start + 1, buffer, start + lengthSize, length);
+      }
+      int end = size + lengthSize - 1;
+      size = start;
+      writeVarLong(length);
+      size = end;
+    }
+
+    private static int varLongSize(long value) {
+      int bytes = 1;
+      while ((value & ~0x7FL) != 0) {
+        bytes++;
+        value >>>= 7;
+      }
+      return bytes;
+    }
+
+    private void ensureCapacity(int bytes) {
+      if (size + bytes > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+      }
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Deserialization that deserializes a message of the log store into an instance of {@link LogData}.
+ */
+public interface LogDataDeserialization<T> extends Serializable {
+
+  LogData<T> deserialize(byte[] message) throws IOException;
+
+  /**
+   * Create a deserialization reading the messages of all the format versions, so that the data format of a table
+   * could be changed while the messages written in the former format are still in the log store.
+   */
+  static <T> LogDataDeserialization<T> create(
+      Schema schema,
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    return new VersionedLogDataDeserialization<>(schema, factory, arrayFactory, mapFactory);
+  }
+}
@@ -23,12 +23,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.netease.arctic.log.LogData.FieldGetterFactory;
 import org.apache.iceberg.Schema;
 
-import java.io.Serializable;
-
 /**
  * Serialization that serializes an instance of {@link LogData} into a JSON bytes.
  */
-public class LogDataJsonSerialization<T> implements Serializable {
+public class LogDataJsonSerialization<T> implements LogDataSerialization<T> {
   private static final long serialVersionUID = 66420071549145794L;
   private transient LogDataToJsonConverters.LogDataToJsonConverter<T> logDataToJsonConverter;
 
@@ -57,6 +55,7 @@ public class LogDataJsonSerialization<T> implements Serializable {
     }
   }
 
+  @Override
   public byte[] serialize(LogData<T> element) {
     // 4 bytes version + 4 bytes upstreamId + 8 bytes EpicNo + 1 byte flip + 1 byte rowKind + n bytes object data
     MessageBytes messageBytes = new MessageBytes();
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+
+import java.io.IOException;
+
+import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Deserialization choosing the format of the actual value by the {@link FormatVersion} of each message.
+ */
+public class VersionedLogDataDeserialization<T> implements LogDataDeserialization<T> {
+  private static final long serialVersionUID = 1L;
+
+  private final LogDataJsonDeserialization<T> jsonDeserialization;
+  private final LogDataBinaryDeserialization<T> binaryDeserialization;
+
+  public VersionedLogDataDeserialization(
+      Schema schema,
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    this.jsonDeserialization = new LogDataJsonDeserialization<>(schema, factory, arrayFactory, mapFactory);
+    this.binaryDeserialization = new LogDataBinaryDeserialization<>(schema, factory, arrayFactory, mapFactory);
+  }
+
+  @Override
+  public LogData<T> deserialize(byte[] message) throws IOException {
+    checkArgument(message != null && message.length >= 4, "message is illegal.");
+    if (message[3] == FormatVersion.FORMAT_VERSION_V2.getVersionNum()) {
+      return binaryDeserialization.deserialize(message);
+    }
+    return jsonDeserialization.deserialize(message);
+  }
+}
@@ -18,6 +18,7 @@
 
 package com.netease.arctic.scan;
 
+import com.netease.arctic.data.DataFileType;
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.data.DefaultKeyedFile;
 import com.netease.arctic.scan.expressions.BasicPartitionEvaluator;
@@ -30,24 +31,37 @@ import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.base.Throwables;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.ListMultimap;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Multimaps;
 import org.apache.iceberg.util.BinPacking;
+import org.apache.iceberg.util.Pair;
 import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.Tasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -60,11 +74,11 @@ public class BasicKeyedTableScan implements KeyedTableScan {
 
   private final BasicKeyedTable table;
   List<NodeFileScanTask> splitTasks = new ArrayList<>();
-  private final Map<StructLike, List<NodeFileScanTask>> fileScanTasks = new HashMap<>();
   private final int lookBack;
   private final long openFileCost;
   private final long splitSize;
   private Expression expression;
+  private ExecutorService planExecutor;
 
   public BasicKeyedTableScan(BasicKeyedTable table) {
     this.table = table;
@@ -93,15 +107,28 @@ public class BasicKeyedTableScan implements KeyedTableScan {
     return this;
   }
 
+  @Override
+  public KeyedTableScan planWith(ExecutorService executorService) {
+    this.planExecutor = executorService;
+    return this;
+  }
+
   @Override
   public CloseableIterable<CombinedScanTask> planTasks() {
+    // change file, planned in the background while planning base files if there is an executor
+    Future<List<ArcticFileScanTask>> changeFileFuture = null;
+    if (table.primaryKeySpec().primaryKeyExisted() && planExecutor != null) {
+      changeFileFuture = planExecutor.submit(() -> Lists.newArrayList(planChangeFiles()));
+    }
+
     // base file
     CloseableIterable<ArcticFileScanTask> baseFileList;
     baseFileList = planBaseFiles();
 
-    // change file
     CloseableIterable<ArcticFileScanTask> changeFileList;
-    if (table.primaryKeySpec().primaryKeyExisted()) {
+    if (changeFileFuture != null) {
+      changeFileList = CloseableIterable.withNoopClose(getChangeFiles(changeFileFuture));
+    } else if (table.primaryKeySpec().primaryKeyExisted()) {
       changeFileList = planChangeFiles();
     } else {
       changeFileList = CloseableIterable.empty();
@@ -111,21 +138,60 @@ public class BasicKeyedTableScan implements KeyedTableScan {
     Map<StructLike, Collection<ArcticFileScanTask>> partitionedFiles =
         groupFilesByPartition(changeFileList, baseFileList);
     LOG.info("planning table {} need plan partition size {}", table.id(), partitionedFiles.size());
-    partitionedFiles.forEach(this::partitionPlan);
-    LOG.info("planning table {} partitionPlan end", table.id());
-    // 2.split node task (FileScanTask -> FileScanTask List)
-    split();
-    LOG.info("planning table {} split end", table.id());
+    List<Collection<ArcticFileScanTask>> partitions = Lists.newArrayList(partitionedFiles.values());
+    List<List<NodeFileScanTask>> partitionTasks = Lists.newArrayList(Collections.nCopies(partitions.size(), null));
+    // 2.plan and split node task of each partition (FileScanTask -> FileScanTask List)
+    Tasks.range(partitions.size())
+        .stopOnFailure()
+        .executeWith(planExecutor)
+        .run(i -> partitionTasks.set(i, split(partitionPlan(partitions.get(i)))));
+    partitionTasks.forEach(splitTasks::addAll);
+    LOG.info("planning table {} partitionPlan and split end", table.id());
     // 3.combine node task (FileScanTask List -> CombinedScanTask)
     return combineNode(CloseableIterable.withNoopClose(splitTasks),
         splitSize, lookBack, openFileCost);
   }
 
+  @Override
+  public CloseableIterable<NodeFileScanTask> planNodeTasks() {
+    CloseableIterable<ArcticFileScanTask> changeFileList = table.primaryKeySpec().primaryKeyExisted() ?
+        planChangeFiles() : CloseableIterable.empty();
+    Map<StructLike, Collection<ArcticFileScanTask>> partitionedChangeFiles =
+        groupFilesByPartition(changeFileList, CloseableIterable.empty());
+    Map<StructLike, NodeDeletes> deletesOfPartitions = new HashMap<>();
+    partitionedChangeFiles.forEach((partition, files) -> deletesOfPartitions.put(partition, NodeDeletes.of(files)));
+    LOG.info("planning table {} lazily with change files of {} partitions", table.id(), partitionedChangeFiles.size());
+
+    // tasks of insert files are planned partition by partition
+    Iterable<NodeFileScanTask> changeTasks = Iterables.concat(
+        Iterables.transform(partitionedChangeFiles.values(), files -> split(partitionPlan(files))));
+    CloseableIterable<ArcticFileScanTask> baseFiles = planBaseFiles();
+    CloseableIterable<NodeFileScanTask> baseTasks = CloseableIterable.combine(
+        () -> new BaseNodeTaskIterator(baseFiles.iterator(), deletesOfPartitions, splitSize, lookBack),
+        baseFiles);
+    return CloseableIterable.concat(Lists.newArrayList(CloseableIterable.withNoopClose(changeTasks), baseTasks));
+  }
+
+  private List<ArcticFileScanTask> getChangeFiles(Future<List<ArcticFileScanTask>> changeFileFuture) {
+    try {
+      return changeFileFuture.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while planning change files of " + table.id(), e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException("Failed to plan change files of " + table.id(), e.getCause());
+    }
+  }
+
   private CloseableIterable<ArcticFileScanTask> planBaseFiles() {
     TableScan scan = table.baseTable().newScan();
     if (this.expression != null) {
       scan = scan.filter(this.expression);
     }
+    if (planExecutor != null) {
+      scan = scan.planWith(planExecutor);
+    }
     CloseableIterable<FileScanTask> fileScanTasks = scan.planFiles();
     return CloseableIterable.transform(fileScanTasks,
         fileScanTask -> new BasicArcticFileScanTask(DefaultKeyedFile.parseBase(fileScanTask.file()),
@@ -146,24 +212,24 @@ public class BasicKeyedTableScan implements KeyedTableScan {
     return CloseableIterable.transform(changeTableScan.planFiles(), s -> (ArcticFileScanTask) s);
   }
 
-  private void split() {
-    fileScanTasks.forEach((structLike, fileScanTasks1) -> {
-      for (NodeFileScanTask task : fileScanTasks1) {
-        if (task.cost() <= splitSize) {
-          splitTasks.add(task);
-          continue;
-        }
-        if (task.dataTasks().size() < 2) {
-          splitTasks.add(task);
-          continue;
-        }
-        CloseableIterable<NodeFileScanTask> tasksIterable = splitNode(CloseableIterable.withNoopClose(task.dataTasks()),
-            task.arcticEquityDeletes(), splitSize, lookBack, openFileCost);
-        List<NodeFileScanTask> tasks =
-            Lists.newArrayList(tasksIterable);
-        splitTasks.addAll(tasks);
+  private List<NodeFileScanTask> split(List<NodeFileScanTask> fileScanTasks) {
+    List<NodeFileScanTask> splitTasks = new ArrayList<>();
+    for (NodeFileScanTask task : fileScanTasks) {
+      if (task.cost() <= splitSize) {
+        splitTasks.add(task);
+        continue;
       }
-    });
+      if (task.dataTasks().size() < 2) {
+        splitTasks.add(task);
+        continue;
+      }
+      CloseableIterable<NodeFileScanTask> tasksIterable = splitNode(CloseableIterable.withNoopClose(task.dataTasks()),
+          task.arcticEquityDeletes(), splitSize, lookBack, openFileCost);
+      List<NodeFileScanTask> tasks =
+          Lists.newArrayList(tasksIterable);
+      splitTasks.addAll(tasks);
+    }
+    return splitTasks;
   }
 
   public CloseableIterable<NodeFileScanTask> splitNode(
@@ -197,9 +263,10 @@ public class BasicKeyedTableScan implements KeyedTableScan {
   /**
    * Construct tree node task according to partition
    * 1. Put all files into the node they originally belonged to
-   * 2. Find all data nodes, traverse, and find the delete that intersects them
+   * 2. Find all data nodes, traverse, and add the deletes of their ancestor and descendant nodes, which are found
+   * by walking up the tree from every node instead of comparing all pairs of nodes
    */
-  private void partitionPlan(StructLike partition, Collection<ArcticFileScanTask> keyedTableTasks) {
+  static List<NodeFileScanTask> partitionPlan(Collection<ArcticFileScanTask> keyedTableTasks) {
     Map<DataTreeNode, NodeFileScanTask> nodeFileScanTaskMap = new HashMap<>();
     // planfiles() cannot guarantee the uniqueness of the file,
     // so Set<path> here is used to remove duplicate files
@@ -214,31 +281,138 @@ public class BasicKeyedTableScan implements KeyedTableScan {
       }
     });
 
+    NodeDeletes nodeDeletes = new NodeDeletes();
+    nodeFileScanTaskMap.forEach((treeNode, nodeFileScanTask) ->
+        nodeDeletes.add(treeNode, nodeFileScanTask.arcticEquityDeletes()));
+
+    List<NodeFileScanTask> fileScanTaskList = new ArrayList<>();
     nodeFileScanTaskMap.forEach((treeNode, nodeFileScanTask) -> {
       if (!nodeFileScanTask.isDataNode()) {
         return;
       }
+      nodeFileScanTask.addTasks(nodeDeletes.relatedDeletes(treeNode));
+      fileScanTaskList.add(nodeFileScanTask);
+    });
+    return fileScanTaskList;
+  }
 
-      nodeFileScanTaskMap.forEach((treeNode1, nodeFileScanTask1) -> {
-        if (!treeNode1.equals(treeNode) && (treeNode1.isSonOf(treeNode) || treeNode.isSonOf(treeNode1))) {
-          List<ArcticFileScanTask> deletes = nodeFileScanTask1.arcticEquityDeletes().stream()
-              .filter(file -> file.file().node().equals(treeNode1))
-              .collect(Collectors.toList());
+  /**
+   * Equality deletes of the nodes of a partition, the deletes of the ancestors and descendants of a node are found by
+   * walking up the tree from every node instead of comparing all pairs of nodes.
+   */
+  private static class NodeDeletes {
+    private final Map<DataTreeNode, List<ArcticFileScanTask>> nodeDeletes = new HashMap<>();
+    private final Map<DataTreeNode, List<ArcticFileScanTask>> descendantDeletes = new HashMap<>();
 
-          nodeFileScanTask.addTasks(deletes);
-        }
-      });
-    });
+    static NodeDeletes of(Collection<ArcticFileScanTask> files) {
+      Map<DataTreeNode, List<ArcticFileScanTask>> deletesOfNodes = new HashMap<>();
+      Set<String> pathSets = new HashSet<>();
+      files.stream()
+          .filter(task -> task.fileType() == DataFileType.EQ_DELETE_FILE)
+          .filter(task -> pathSets.add(task.file().path().toString()))
+          .forEach(task -> deletesOfNodes.computeIfAbsent(task.file().node(), node -> new ArrayList<>()).add(task));
+      NodeDeletes nodeDeletes = new NodeDeletes();
+      deletesOfNodes.forEach(nodeDeletes::add);
+      return nodeDeletes;
+    }
 
-    List<NodeFileScanTask> fileScanTaskList = new ArrayList<>();
-    nodeFileScanTaskMap.forEach((treeNode, nodeFileScanTask) -> {
-      if (!nodeFileScanTask.isDataNode()) {
+    void add(DataTreeNode treeNode, List<ArcticFileScanTask> deletes) {
+      if (deletes.isEmpty()) {
         return;
       }
-      fileScanTaskList.add(nodeFileScanTask);
-    });
+      nodeDeletes.put(treeNode, Lists.newArrayList(deletes));
+      for (DataTreeNode ancestor = treeNode; ancestor.mask() > 0; ) {
+        ancestor = ancestor.parent();
+        descendantDeletes.computeIfAbsent(ancestor, node -> new ArrayList<>()).addAll(deletes);
+      }
+    }
+
+    List<ArcticFileScanTask> ownDeletes(DataTreeNode treeNode) {
+      return nodeDeletes.getOrDefault(treeNode, Collections.emptyList());
+    }
+
+    /**
+     * @return deletes of the ancestors and the descendants of the node
+     */
+    List<ArcticFileScanTask> relatedDeletes(DataTreeNode treeNode) {
+      List<ArcticFileScanTask> deletes = new ArrayList<>();
+      for (DataTreeNode ancestor = treeNode; ancestor.mask() > 0; ) {
+        ancestor = ancestor.parent();
+        deletes.addAll(ownDeletes(ancestor));
+      }
+      deletes.addAll(descendantDeletes.getOrDefault(treeNode, Collections.emptyList()));
+      return deletes;
+    }
+  }
+
+  /**
+   * Packs base files into tasks of their partition and node while they are listed. Tasks of at most lookBack nodes
+   * are open at a time, a task is emitted once it reaches the split size or it is the oldest open task.
+   */
+  private static class BaseNodeTaskIterator implements Iterator<NodeFileScanTask> {
+    private static final NodeDeletes NO_DELETES = new NodeDeletes();
+
+    private final Iterator<ArcticFileScanTask> baseFiles;
+    private final Map<StructLike, NodeDeletes> deletesOfPartitions;
+    private final long splitSize;
+    private final int lookBack;
+    // planFiles() cannot guarantee the uniqueness of the file
+    private final Set<String> pathSets = new HashSet<>();
+    private final LinkedHashMap<Pair<StructLike, DataTreeNode>, NodeFileScanTask> openTasks = new LinkedHashMap<>();
+    private final Deque<NodeFileScanTask> readyTasks = new ArrayDeque<>();
 
-    fileScanTasks.put(partition, fileScanTaskList);
+    BaseNodeTaskIterator(Iterator<ArcticFileScanTask> baseFiles, Map<StructLike, NodeDeletes> deletesOfPartitions,
+                         long splitSize, int lookBack) {
+      this.baseFiles = baseFiles;
+      this.deletesOfPartitions = deletesOfPartitions;
+      this.splitSize = splitSize;
+      this.lookBack = Math.max(lookBack, 1);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (readyTasks.isEmpty() && baseFiles.hasNext()) {
+        addFile(baseFiles.next());
+      }
+      if (readyTasks.isEmpty() && !openTasks.isEmpty()) {
+        readyTasks.addAll(openTasks.values());
+        openTasks.clear();
+      }
+      return !readyTasks.isEmpty();
+    }
+
+    @Override
+    public NodeFileScanTask next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return readyTasks.poll();
+    }
+
+    private void addFile(ArcticFileScanTask file) {
+      if (!pathSets.add(file.file().path().toString())) {
+        return;
+      }
+      StructLike partition = file.file().partition();
+      DataTreeNode treeNode = file.file().node();
+      Pair<StructLike, DataTreeNode> key = Pair.of(partition, treeNode);
+      NodeFileScanTask task = openTasks.get(key);
+      if (task == null) {
+        task = new NodeFileScanTask(treeNode);
+        NodeDeletes nodeDeletes = deletesOfPartitions.getOrDefault(partition, NO_DELETES);
+        task.addTasks(nodeDeletes.ownDeletes(treeNode));
+        task.addTasks(nodeDeletes.relatedDeletes(treeNode));
+        openTasks.put(key, task);
+      }
+      task.addFile(file);
+      if (task.cost() >= splitSize) {
+        readyTasks.add(openTasks.remove(key));
+      } else if (openTasks.size() > lookBack) {
+        Iterator<NodeFileScanTask> eldest = openTasks.values().iterator();
+        readyTasks.add(eldest.next());
+        eldest.remove();
+      }
+    }
   }
 
   public Map<StructLike, Collection<ArcticFileScanTask>> groupFilesByPartition(
@@ -36,6 +36,7 @@ import org.apache.iceberg.Table;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.expressions.ResidualEvaluator;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.StructLikeMap;
 
@@ -51,6 +52,11 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
   private Expression dataFilter;
   private Long snapshotId;
   private boolean includeColumnStats;
+  private boolean caseSensitive = true;
+  private boolean ignoreResiduals;
+  private Schema projectedSchema;
+  private Collection<String> selectedColumns;
+  private ExecutorService planExecutor;
 
   public ChangeTableBasicIncrementalScan(ChangeTable table) {
     this.table = table;
@@ -78,13 +84,15 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
   }
 
   @Override
-  public TableScan project(Schema schema) {
-    throw new UnsupportedOperationException();
+  public ChangeTableIncrementalScan project(Schema schema) {
+    this.projectedSchema = schema;
+    return this;
   }
 
   @Override
-  public TableScan caseSensitive(boolean caseSensitive) {
-    throw new UnsupportedOperationException();
+  public ChangeTableIncrementalScan caseSensitive(boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+    return this;
   }
 
   @Override
@@ -94,8 +102,9 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
   }
 
   @Override
-  public TableScan select(Collection<String> columns) {
-    throw new UnsupportedOperationException();
+  public ChangeTableIncrementalScan select(Collection<String> columns) {
+    this.selectedColumns = columns;
+    return this;
   }
 
   @Override
@@ -114,13 +123,15 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
   }
 
   @Override
-  public TableScan ignoreResiduals() {
-    throw new UnsupportedOperationException();
+  public ChangeTableIncrementalScan ignoreResiduals() {
+    this.ignoreResiduals = true;
+    return this;
   }
 
   @Override
-  public TableScan planWith(ExecutorService executorService) {
-    throw new UnsupportedOperationException();
+  public ChangeTableIncrementalScan planWith(ExecutorService executorService) {
+    this.planExecutor = executorService;
+    return this;
   }
 
   @Override
@@ -153,10 +164,14 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
 
   @Override
   public CloseableIterable<FileScanTask> planFiles() {
+    ResidualEvaluator residuals = dataFilter == null ? null : ignoreResiduals ?
+        ResidualEvaluator.unpartitioned(Expressions.alwaysTrue()) :
+        ResidualEvaluator.of(table.spec(), dataFilter, caseSensitive);
     return CloseableIterable.transform(planFilesWithSequence(), fileWithSequence ->
         new BasicArcticFileScanTask(DefaultKeyedFile.parseChange(
             ((DataFile) fileWithSequence),
-            fileWithSequence.getSequenceNumber()), null, table.spec(), null)
+            fileWithSequence.getSequenceNumber()), null, table.spec(),
+            residuals == null ? null : residuals.residualFor(fileWithSequence.partition()))
     );
   }
 
@@ -176,6 +191,7 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
     TableEntriesScan.Builder builder = TableEntriesScan.builder(table)
         .withAliveEntry(true)
         .withDataFilter(dataFilter)
+        .caseSensitive(caseSensitive)
         .includeFileContent(FileContent.DATA);
     if (snapshotId != null) {
       builder.useSnapshot(snapshotId);
@@ -183,6 +199,9 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
     if (includeColumnStats) {
       builder.includeColumnStats();
     }
+    if (planExecutor != null) {
+      builder.planWith(planExecutor);
+    }
     TableEntriesScan manifestReader = builder.build();
 
     CloseableIterable<IcebergFileEntry> filteredEntry = CloseableIterable.filter(manifestReader.entries(), entry -> {
@@ -211,6 +230,13 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
 
   @Override
   public Schema schema() {
+    if (projectedSchema != null) {
+      return projectedSchema;
+    }
+    if (selectedColumns != null) {
+      return caseSensitive ? table.schema().select(selectedColumns) :
+          table.schema().caseInsensitiveSelect(selectedColumns);
+    }
     return table.schema();
   }
 
@@ -221,7 +247,7 @@ public class ChangeTableBasicIncrementalScan implements ChangeTableIncrementalSc
 
   @Override
   public boolean isCaseSensitive() {
-    throw new UnsupportedOperationException();
+    return caseSensitive;
   }
 
   @Override
@@ -21,6 +21,8 @@ package com.netease.arctic.scan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * API for configuring a {@link com.netease.arctic.table.KeyedTable} scan.
  */
@@ -34,6 +36,15 @@ public interface KeyedTableScan {
    */
   KeyedTableScan filter(Expression expr);
 
+  /**
+   * Plan with the executor: base and change files are planned concurrently, and the tasks of partitions are
+   * planned in parallel.
+   *
+   * @param executorService the executor to plan with
+   * @return scan based on this which plans with the executor
+   */
+  KeyedTableScan planWith(ExecutorService executorService);
+
   /**
    * Plan the {@link CombinedScanTask tasks} for this scan.
    *
@@ -41,4 +52,13 @@ public interface KeyedTableScan {
    */
   CloseableIterable<CombinedScanTask> planTasks();
 
+  /**
+   * Plan the {@link NodeFileScanTask tasks} for this scan lazily. Only the change files are planned up front, the
+   * base files are planned while iterating, so the first tasks are returned before all files of the table are
+   * listed. Tasks are not combined, and files of a node may be spread over several tasks.
+   *
+   * @return an Iterable of tasks for this scan
+   */
+  CloseableIterable<NodeFileScanTask> planNodeTasks();
+
 }
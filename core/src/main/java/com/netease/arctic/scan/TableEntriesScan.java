@@ -40,10 +40,13 @@ import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ParallelIterable;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -51,22 +54,30 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * API for configuring a scan to get the {@link IcebergFileEntry} of an Iceberg Table.
  */
 public class TableEntriesScan {
+  private static final List<String> STATLESS_DATA_FILE_FIELDS = ImmutableList.of(
+      DataFile.CONTENT.name(), DataFile.FILE_PATH.name(), DataFile.FILE_SIZE.name(),
+      DataFile.RECORD_COUNT.name(), DataFile.PARTITION_NAME);
+
   private final Table table;
   private final Long snapshotId;
   private final Expression dataFilter;
+  private final boolean caseSensitive;
   private final boolean aliveEntry;
   private final boolean allFileContent;
   private final boolean includeColumnStats;
   private final Set<FileContent> validFileContent;
   private final MetadataTableType metadataTableType;
   private final Schema schema;
+  private final ExecutorService executorService;
 
   private Table entriesTable;
+  private Schema lazyEntriesSchema;
   private InclusiveMetricsEvaluator lazyMetricsEvaluator = null;
   private Map<String, Integer> lazyIndexOfDataFileType;
   private Map<String, Integer> lazyIndexOfEntryType;
@@ -79,11 +90,13 @@ public class TableEntriesScan {
     private final Table table;
     private Long snapshotId;
     private Expression dataFilter;
+    private boolean caseSensitive = true;
     private boolean aliveEntry = true;
     private boolean includeColumnStats = false;
     private final Set<FileContent> fileContents = Sets.newHashSet();
     private Schema schema;
     private MetadataTableType metadataTableType = MetadataTableType.ENTRIES;
+    private ExecutorService executorService;
 
     public Builder(Table table) {
       this.table = table;
@@ -100,6 +113,17 @@ public class TableEntriesScan {
       return this;
     }
 
+    /**
+     * Set if the filter is bound case sensitive
+     *
+     * @param caseSensitive default is true
+     * @return this for chain
+     */
+    public Builder caseSensitive(boolean caseSensitive) {
+      this.caseSensitive = caseSensitive;
+      return this;
+    }
+
     /**
      * If only return the Existing, Add entries
      *
@@ -144,6 +168,24 @@ public class TableEntriesScan {
       return this;
     }
 
+    /**
+     * Read manifests in parallel with the executor, entries are returned in no particular order then
+     *
+     * @param executorService executor to read manifests with
+     * @return this for chain
+     */
+    public Builder planWith(ExecutorService executorService) {
+      this.executorService = executorService;
+      return this;
+    }
+
+    /**
+     * Set the schema of the entries table to read, column stats are not read by default unless they are
+     * needed by the filter or included
+     *
+     * @param schema schema of the entries table, which must contain the fields used to build entries
+     * @return this for chain
+     */
     public Builder project(Schema schema) {
       this.schema = schema;
       return this;
@@ -155,17 +197,18 @@ public class TableEntriesScan {
     }
 
     public TableEntriesScan build() {
-      return new TableEntriesScan(table, snapshotId, dataFilter, aliveEntry,
-          fileContents, includeColumnStats, schema, metadataTableType);
+      return new TableEntriesScan(table, snapshotId, dataFilter, caseSensitive, aliveEntry,
+          fileContents, includeColumnStats, schema, metadataTableType, executorService);
     }
   }
 
   private TableEntriesScan(
-      Table table, Long snapshotId, Expression dataFilter, boolean aliveEntry,
+      Table table, Long snapshotId, Expression dataFilter, boolean caseSensitive, boolean aliveEntry,
       Set<FileContent> validFileContent, boolean includeColumnStats,
-      Schema schema, MetadataTableType metadataTableType) {
+      Schema schema, MetadataTableType metadataTableType, ExecutorService executorService) {
     this.table = table;
     this.dataFilter = dataFilter;
+    this.caseSensitive = caseSensitive;
     this.aliveEntry = aliveEntry;
     this.allFileContent = validFileContent.containsAll(Arrays.asList(FileContent.values()));
     this.validFileContent = validFileContent;
@@ -173,43 +216,78 @@ public class TableEntriesScan {
     this.includeColumnStats = includeColumnStats;
     this.schema = schema;
     this.metadataTableType = metadataTableType;
+    this.executorService = executorService;
   }
 
   public CloseableIterable<IcebergFileEntry> entries() {
-    TableScan tableScan = getMetadataTable().newScan();
+    TableScan tableScan = getMetadataTable().newScan().project(entriesSchema());
     if (snapshotId != null) {
       tableScan = tableScan.useSnapshot(snapshotId);
     }
-    if (schema != null) {
-      tableScan = tableScan.project(schema);
-    }
     CloseableIterable<FileScanTask> manifestFileScanTasks = tableScan.planFiles();
 
-    CloseableIterable<StructLike> entries = CloseableIterable.concat(entriesOfManifest(manifestFileScanTasks));
-
-    CloseableIterable<IcebergFileEntry> allEntries =
-        CloseableIterable.transform(entries, (entry -> {
-          ManifestEntryFields.Status status =
-              ManifestEntryFields.Status.of(
-                  entry.get(entryFieldIndex(ManifestEntryFields.STATUS.name()), Integer.class));
-          StructLike fileRecord =
-              entry.get(entryFieldIndex(ManifestEntryFields.DATA_FILE_FIELD_NAME), StructLike.class);
-          FileContent fileContent =
-              getFileContent(fileRecord.get(dataFileFieldIndex(DataFile.CONTENT.name()), Integer.class));
-          if (shouldKeep(status, fileContent)) {
-            Long sequence = entry.get(entryFieldIndex(ManifestEntryFields.SEQUENCE_NUMBER.name()), Long.class);
-            Long snapshotId = entry.get(entryFieldIndex(ManifestEntryFields.SNAPSHOT_ID.name()), Long.class);
-            ContentFile<?> contentFile = buildContentFile(fileContent, fileRecord);
-            if (metricsEvaluator().eval(contentFile)) {
-              if (needMetrics() && !includeColumnStats) {
-                contentFile = (ContentFile<?>) contentFile.copyWithoutStats();
-              }
-              return new IcebergFileEntry(snapshotId, sequence, status, contentFile);
-            }
+    // initialize the lazy fields before entries are built by the workers
+    entryFieldIndex(ManifestEntryFields.STATUS.name());
+    dataFileFieldIndex(DataFile.CONTENT.name());
+    metricsEvaluator();
+
+    Iterable<CloseableIterable<IcebergFileEntry>> entriesOfManifests = Iterables.transform(manifestFileScanTasks,
+        task -> CloseableIterable.filter(
+            CloseableIterable.transform(((DataTask) task).rows(), this::buildEntry),
+            Objects::nonNull));
+    if (executorService != null) {
+      return new ParallelIterable<>(entriesOfManifests, executorService);
+    }
+    return CloseableIterable.concat(entriesOfManifests);
+  }
+
+  private IcebergFileEntry buildEntry(StructLike entry) {
+    ManifestEntryFields.Status status =
+        ManifestEntryFields.Status.of(
+            entry.get(entryFieldIndex(ManifestEntryFields.STATUS.name()), Integer.class));
+    StructLike fileRecord =
+        entry.get(entryFieldIndex(ManifestEntryFields.DATA_FILE_FIELD_NAME), StructLike.class);
+    FileContent fileContent =
+        getFileContent(fileRecord.get(dataFileFieldIndex(DataFile.CONTENT.name()), Integer.class));
+    if (shouldKeep(status, fileContent)) {
+      Long sequence = entry.get(entryFieldIndex(ManifestEntryFields.SEQUENCE_NUMBER.name()), Long.class);
+      Long snapshotId = entry.get(entryFieldIndex(ManifestEntryFields.SNAPSHOT_ID.name()), Long.class);
+      ContentFile<?> contentFile = buildContentFile(fileContent, fileRecord);
+      if (metricsEvaluator().eval(contentFile)) {
+        if (needMetrics() && !includeColumnStats) {
+          contentFile = (ContentFile<?>) contentFile.copyWithoutStats();
+        }
+        return new IcebergFileEntry(snapshotId, sequence, status, contentFile);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Schema of the entries table to read, without the column stats of files if they are not needed
+   */
+  private Schema entriesSchema() {
+    if (lazyEntriesSchema == null) {
+      Schema entriesTableSchema = getMetadataTable().schema();
+      if (schema != null) {
+        lazyEntriesSchema = schema;
+      } else if (needMetrics()) {
+        lazyEntriesSchema = entriesTableSchema;
+      } else {
+        List<String> columns = Lists.newArrayList(
+            ManifestEntryFields.STATUS.name(),
+            ManifestEntryFields.SNAPSHOT_ID.name(),
+            ManifestEntryFields.SEQUENCE_NUMBER.name());
+        for (String fileField : STATLESS_DATA_FILE_FIELDS) {
+          String column = ManifestEntryFields.DATA_FILE_FIELD_NAME + "." + fileField;
+          if (entriesTableSchema.findField(column) != null) {
+            columns.add(column);
           }
-          return null;
-        }));
-    return CloseableIterable.filter(allEntries, Objects::nonNull);
+        }
+        lazyEntriesSchema = entriesTableSchema.select(columns);
+      }
+    }
+    return lazyEntriesSchema;
   }
 
   private Table getMetadataTable() {
@@ -244,13 +322,6 @@ public class TableEntriesScan {
     return validFileContent != null && validFileContent.contains(fileContent);
   }
 
-  private Iterable<CloseableIterable<StructLike>> entriesOfManifest(CloseableIterable<FileScanTask> fileScanTasks) {
-    return Iterables.transform(fileScanTasks, task -> {
-      assert task != null;
-      return ((DataTask) task).rows();
-    });
-  }
-
   private ContentFile<?> buildContentFile(FileContent fileContent, StructLike fileRecord) {
     ContentFile<?> file;
     if (fileContent == FileContent.DATA) {
@@ -316,7 +387,7 @@ public class TableEntriesScan {
 
   private int entryFieldIndex(String fieldName) {
     if (lazyIndexOfEntryType == null) {
-      List<Types.NestedField> fields = getMetadataTable().schema().columns();
+      List<Types.NestedField> fields = entriesSchema().columns();
       Map<String, Integer> map = Maps.newHashMap();
       for (int i = 0; i < fields.size(); i++) {
         map.put(fields.get(i).name(), i);
@@ -329,7 +400,7 @@ public class TableEntriesScan {
   private int dataFileFieldIndex(String fieldName) {
     if (lazyIndexOfDataFileType == null) {
       List<Types.NestedField> fields =
-          getMetadataTable().schema().findType(ManifestEntryFields.DATA_FILE_FIELD_NAME).asStructType().fields();
+          entriesSchema().findType(ManifestEntryFields.DATA_FILE_FIELD_NAME).asStructType().fields();
       Map<String, Integer> map = Maps.newHashMap();
       for (int i = 0; i < fields.size(); i++) {
         map.put(fields.get(i).name(), i);
@@ -343,7 +414,7 @@ public class TableEntriesScan {
     if (lazyMetricsEvaluator == null) {
       if (dataFilter != null) {
         this.lazyMetricsEvaluator =
-            new InclusiveMetricsEvaluator(table.spec().schema(), dataFilter);
+            new InclusiveMetricsEvaluator(table.spec().schema(), dataFilter, caseSensitive);
       } else {
         this.lazyMetricsEvaluator = new AlwaysTrueEvaluator(table.spec().schema());
       }
@@ -33,6 +33,7 @@ import org.apache.iceberg.relocated.com.google.common.base.Strings;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.hash.Hashing;
 import org.apache.iceberg.relocated.com.google.common.io.ByteStreams;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sun.security.krb5.KrbException;
@@ -43,6 +44,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.net.MalformedURLException;
@@ -57,6 +59,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Stores hadoop config files for {@link ArcticTable}
@@ -114,8 +121,11 @@ public class TableMetaStore implements Serializable {
   private final String krbPrincipal;
   private final boolean disableAuth;
 
-  private transient Configuration configuration;
-  private transient UserGroupInformation ugi;
+  // published through volatile fields, so callers of doAs read them without holding the monitor
+  private transient volatile Configuration configuration;
+  private transient volatile UserGroupInformation ugi;
+  // time before which the kerberos ugi is used without checking the TGT, kept ahead by the background re-login
+  private transient volatile long nextReloginCheckTime;
   private transient Path confCachePath;
   private transient String authInformation;
 
@@ -126,6 +136,11 @@ public class TableMetaStore implements Serializable {
    */
   private static final Object lock = new Object();
 
+  private static final long RELOGIN_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+  private static final ScheduledExecutorService RELOGIN_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("table-meta-store-relogin-%d").build());
+
   public static final TableMetaStore EMPTY = TableMetaStore.builder()
       .withConfiguration(new Configuration()).buildForTest();
 
@@ -202,14 +217,35 @@ public class TableMetaStore implements Serializable {
     return hadoopUsername;
   }
 
-  public synchronized Configuration getConfiguration() {
-    if (configuration == null) {
-      configuration = buildConfiguration(this);
+  public Configuration getConfiguration() {
+    Configuration current = configuration;
+    if (current == null) {
+      synchronized (this) {
+        if (configuration == null) {
+          configuration = buildConfiguration(this);
+        }
+        current = configuration;
+      }
     }
-    return configuration;
+    return current;
   }
 
-  public synchronized UserGroupInformation getUGI() {
+  /**
+   * Get the ugi without locking once it is built. For kerberos, the TGT check and the re-construct check of a ugi
+   * changed by other logins are done by the background re-login every {@link #RELOGIN_INTERVAL}, callers skip them
+   * for up to 2 * {@link #RELOGIN_INTERVAL} after the last check, and check by themselves only if the background
+   * re-login falls behind.
+   */
+  public UserGroupInformation getUGI() {
+    UserGroupInformation current = ugi;
+    if (current != null &&
+        (!AUTH_METHOD_KERBEROS.equals(authMethod) || System.currentTimeMillis() < nextReloginCheckTime)) {
+      return current;
+    }
+    return loginOrRelogin();
+  }
+
+  private synchronized UserGroupInformation loginOrRelogin() {
     if (ugi == null) {
       try {
         if (TableMetaStore.AUTH_METHOD_SIMPLE.equals(authMethod)) {
@@ -227,6 +263,7 @@ public class TableMetaStore implements Serializable {
         } else if (TableMetaStore.AUTH_METHOD_KERBEROS.equals(authMethod)) {
           generateKrbConfPath();
           constructUgi();
+          scheduleRelogin(this);
         }
         LOG.info("Complete to build ugi {}", authInformation());
       } catch (IOException | KrbException e) {
@@ -308,9 +345,32 @@ public class TableMetaStore implements Serializable {
         }
       }
     }
+    // the background re-login checks every interval, callers check by themselves only if it falls behind
+    nextReloginCheckTime = System.currentTimeMillis() + 2 * RELOGIN_INTERVAL;
     return ugi;
   }
 
+  /**
+   * Check the TGT of the kerberos ugi in the background, so callers of {@link #doAs} do not wait for re-login.
+   * The task is cancelled once the meta store is collected.
+   */
+  private static void scheduleRelogin(TableMetaStore metaStore) {
+    WeakReference<TableMetaStore> reference = new WeakReference<>(metaStore);
+    AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
+    future.set(RELOGIN_EXECUTOR.scheduleWithFixedDelay(() -> {
+      TableMetaStore current = reference.get();
+      if (current == null) {
+        future.get().cancel(false);
+        return;
+      }
+      try {
+        current.loginOrRelogin();
+      } catch (Throwable t) {
+        LOG.warn("Fail to re-login {} in background", current.authInformation(), t);
+      }
+    }, RELOGIN_INTERVAL, RELOGIN_INTERVAL, TimeUnit.MILLISECONDS));
+  }
+
   private String authInformation() {
     if (authInformation == null) {
       StringBuilder stringBuilder = new StringBuilder();
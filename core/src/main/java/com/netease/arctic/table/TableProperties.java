@@ -270,6 +270,18 @@ public class TableProperties {
 
   public static final String SPLIT_OPEN_FILE_COST = org.apache.iceberg.TableProperties.SPLIT_OPEN_FILE_COST;
   public static final long SPLIT_OPEN_FILE_COST_DEFAULT = 4 * 1024 * 1024; // 4MB
+
+  public static final String READ_POS_DELETE_INDEX_TYPE = "read.pos-delete.index-type";
+  public static final String READ_POS_DELETE_INDEX_TYPE_BITMAP = "bitmap";
+  public static final String READ_POS_DELETE_INDEX_TYPE_SORTED_ARRAY = "sorted-array";
+  public static final String READ_POS_DELETE_INDEX_TYPE_HASH_SET = "hash-set";
+  public static final String READ_POS_DELETE_INDEX_TYPE_DEFAULT = READ_POS_DELETE_INDEX_TYPE_BITMAP;
+
+  public static final String READ_VECTORIZATION_ENABLED = "read.vectorization.enabled";
+  public static final boolean READ_VECTORIZATION_ENABLED_DEFAULT = false;
+
+  public static final String READ_VECTORIZATION_BATCH_SIZE = "read.vectorization.batch-size";
+  public static final int READ_VECTORIZATION_BATCH_SIZE_DEFAULT = 5000;
   /**
    * log store related properties
    */
@@ -288,7 +300,9 @@ public class TableProperties {
   public static final String LOG_STORE_MESSAGE_TOPIC = "log-store.topic";
 
   public static final String LOG_STORE_DATA_FORMAT = "log-store.data-format";
-  public static final String LOG_STORE_DATA_FORMAT_DEFAULT = "json";
+  public static final String LOG_STORE_DATA_FORMAT_JSON = "json";
+  public static final String LOG_STORE_DATA_FORMAT_BINARY = "binary";
+  public static final String LOG_STORE_DATA_FORMAT_DEFAULT = LOG_STORE_DATA_FORMAT_JSON;
 
   public static final String LOG_STORE_DATA_VERSION = "log-store.data-version";
   public static final String LOG_STORE_DATA_VERSION_DEFAULT = "v1";
@@ -22,9 +22,11 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.netease.arctic.data.ChangedLsn;
 import com.netease.arctic.data.file.ContentFileWithSequence;
 import com.netease.arctic.iceberg.optimize.StructLikeWrapper;
 import com.netease.arctic.iceberg.optimize.StructLikeWrapperFactory;
+import com.netease.arctic.utils.map.StructLikeKeyEncoder;
 import org.apache.avro.util.Utf8;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.StructLike;
@@ -115,11 +117,28 @@ public class SerializationUtils {
     return JavaSerializer.INSTANT;
   }
 
+  public static SimpleSerializer<Integer> createIntegerSerializer() {
+    return IntegerSerializer.INSTANCE;
+  }
+
+  public static SimpleSerializer<Long> createLongSerializer() {
+    return LongSerializer.INSTANCE;
+  }
+
+  public static SimpleSerializer<ChangedLsn> createChangedLsnSerializer() {
+    return ChangedLsnSerializer.INSTANCE;
+  }
+
   public static SimpleSerializer<StructLikeWrapper> createStructLikeWrapperSerializer(
       StructLikeWrapperFactory structLikeWrapperFactory) {
     return new StructLikeWrapperSerializer(structLikeWrapperFactory);
   }
 
+  public static SimpleSerializer<StructLikeWrapper> createBinaryStructLikeWrapperSerializer(
+      Types.StructType type, StructLikeWrapperFactory structLikeWrapperFactory) {
+    return new BinaryStructLikeWrapperSerializer(type, structLikeWrapperFactory);
+  }
+
   private static class KryoSerializerInstance implements Serializable {
     public static final int KRYO_SERIALIZER_INITIAL_BUFFER_SIZE = 1048576;
     private final Kryo kryo;
@@ -227,6 +246,96 @@ public class SerializationUtils {
     }
   }
 
+  /**
+   * Serializer of {@link StructLikeWrapper} by {@link StructLikeKeyEncoder}, equal keys are always serialized to
+   * equal bytes.
+   */
+  public static class BinaryStructLikeWrapperSerializer implements SimpleSerializer<StructLikeWrapper> {
+
+    private final StructLikeKeyEncoder encoder;
+    private final StructLikeWrapperFactory structLikeWrapperFactory;
+
+    public BinaryStructLikeWrapperSerializer(Types.StructType type, StructLikeWrapperFactory structLikeWrapperFactory) {
+      this.encoder = new StructLikeKeyEncoder(type);
+      this.structLikeWrapperFactory = structLikeWrapperFactory;
+    }
+
+    @Override
+    public byte[] serialize(StructLikeWrapper structLikeWrapper) {
+      checkNotNull(structLikeWrapper);
+      return encoder.encode(structLikeWrapper.get());
+    }
+
+    @Override
+    public StructLikeWrapper deserialize(byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+      return structLikeWrapperFactory.create().set(encoder.decode(bytes));
+    }
+  }
+
+  private static class IntegerSerializer implements SimpleSerializer<Integer> {
+
+    private static final IntegerSerializer INSTANCE = new IntegerSerializer();
+
+    @Override
+    public byte[] serialize(Integer value) {
+      checkNotNull(value);
+      return ByteBuffer.allocate(Integer.BYTES).putInt(0, value).array();
+    }
+
+    @Override
+    public Integer deserialize(byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+      return ByteBuffer.wrap(bytes).getInt();
+    }
+  }
+
+  private static class LongSerializer implements SimpleSerializer<Long> {
+
+    private static final LongSerializer INSTANCE = new LongSerializer();
+
+    @Override
+    public byte[] serialize(Long value) {
+      checkNotNull(value);
+      return ByteBuffer.allocate(Long.BYTES).putLong(0, value).array();
+    }
+
+    @Override
+    public Long deserialize(byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+      return ByteBuffer.wrap(bytes).getLong();
+    }
+  }
+
+  private static class ChangedLsnSerializer implements SimpleSerializer<ChangedLsn> {
+
+    private static final ChangedLsnSerializer INSTANCE = new ChangedLsnSerializer();
+
+    @Override
+    public byte[] serialize(ChangedLsn lsn) {
+      checkNotNull(lsn);
+      return ByteBuffer.allocate(2 * Long.BYTES)
+          .putLong(0, lsn.transactionId())
+          .putLong(Long.BYTES, lsn.fileOffset())
+          .array();
+    }
+
+    @Override
+    public ChangedLsn deserialize(byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      return ChangedLsn.of(buffer.getLong(0), buffer.getLong(Long.BYTES));
+    }
+  }
+
   public static class JavaSerializer<T extends Serializable> implements SimpleSerializer<T> {
 
     public static final JavaSerializer INSTANT = new JavaSerializer();
@@ -48,7 +48,8 @@ public class StructLikeSet implements Closeable {
   }
 
   private StructLikeSet(Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir) {
-    this.structLikeMap =  StructLikeSpillableMap.create(type, maxInMemorySizeInBytes, backendBaseDir);
+    this.structLikeMap = StructLikeSpillableMap.create(type, maxInMemorySizeInBytes, backendBaseDir,
+        SerializationUtils.createIntegerSerializer());
   }
 
   public boolean contains(StructLike key) {
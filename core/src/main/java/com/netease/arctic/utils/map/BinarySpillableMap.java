@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import com.netease.arctic.utils.SerializationUtils;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Spillable map keeping serialized entries in an {@link OffHeapBytesMap} and spilling them to RocksDB once the
+ * off-heap memory reaches the limit.
+ * <p>
+ * Keys are serialized once per operation and the same bytes are used by both tiers, so the key serializer must
+ * produce equal bytes for equal keys. An entry lives in memory as long as it is found there, a key put to memory
+ * may leave a stale copy on disk which is shadowed by the memory and removed with it.
+ */
+public class BinarySpillableMap<K, T> implements SimpleMap<K, T> {
+
+  private final long maxInMemorySizeInBytes;
+  private final String backendBaseDir;
+  private final SerializationUtils.SimpleSerializer<K> keySerializer;
+  private final SerializationUtils.SimpleSerializer<T> valueSerializer;
+  private final OffHeapBytesMap memoryMap = new OffHeapBytesMap();
+  private RocksDBBackend rocksDB;
+  private String columnFamily;
+  private long sizeOfFileOnDiskInBytes;
+
+  public BinarySpillableMap(long maxInMemorySizeInBytes,
+                            @Nullable String backendBaseDir,
+                            SerializationUtils.SimpleSerializer<K> keySerializer,
+                            SerializationUtils.SimpleSerializer<T> valueSerializer) {
+    this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
+    this.backendBaseDir = backendBaseDir;
+    this.keySerializer = keySerializer;
+    this.valueSerializer = valueSerializer;
+  }
+
+  /**
+   * Number of value bytes spilled to disk by this map.
+   */
+  public long getSizeOfFileOnDiskInBytes() {
+    return sizeOfFileOnDiskInBytes;
+  }
+
+  /**
+   * Number of entries in memory.
+   */
+  public int getMemoryMapSize() {
+    return memoryMap.size();
+  }
+
+  /**
+   * Exact off-heap memory allocated for the entries in memory.
+   */
+  public long getMemoryMapSpaceSize() {
+    return memoryMap.sizeInBytes();
+  }
+
+  @Override
+  public void put(K key, T value) {
+    byte[] keyBytes = keySerializer.serialize(key);
+    byte[] valueBytes = valueSerializer.serialize(value);
+    if (!memoryMap.tryPut(keyBytes, valueBytes, maxInMemorySizeInBytes)) {
+      memoryMap.delete(keyBytes);
+      if (rocksDB == null) {
+        rocksDB = RocksDBBackend.getOrCreateInstance(backendBaseDir);
+        columnFamily = UUID.randomUUID().toString();
+        rocksDB.addColumnFamily(columnFamily);
+      }
+      rocksDB.put(columnFamily, keyBytes, valueBytes);
+      sizeOfFileOnDiskInBytes += valueBytes.length;
+    }
+  }
+
+  @Override
+  public void delete(K key) {
+    byte[] keyBytes = keySerializer.serialize(key);
+    memoryMap.delete(keyBytes);
+    if (rocksDB != null) {
+      rocksDB.delete(columnFamily, keyBytes);
+    }
+  }
+
+  @Override
+  public T get(K key) {
+    byte[] keyBytes = keySerializer.serialize(key);
+    byte[] valueBytes = memoryMap.get(keyBytes);
+    if (valueBytes == null && rocksDB != null) {
+      valueBytes = rocksDB.get(columnFamily, keyBytes);
+    }
+    return valueSerializer.deserialize(valueBytes);
+  }
+
+  @Override
+  public void close() {
+    memoryMap.close();
+    if (rocksDB != null) {
+      rocksDB.dropColumnFamily(columnFamily);
+      rocksDB = null;
+    }
+  }
+}
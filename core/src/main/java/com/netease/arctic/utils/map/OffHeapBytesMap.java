@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Open-addressing hash map from binary keys to binary values, kept in direct memory.
+ * <p>
+ * Records are appended to direct pages as [key length, value length, key, value], the slot table holds the hash and
+ * the address of every record and is probed linearly. Records of removed entries and values replaced by ones of
+ * another length are left in the pages as garbage, the live records are copied to new pages once a put needs a new
+ * page while the garbage makes up half of the pages or the put would exceed the limit otherwise.
+ * {@link #sizeInBytes()} is the exact number of direct bytes allocated, and {@link #tryPut} refuses entries that
+ * would grow it beyond the given limit.
+ */
+public class OffHeapBytesMap {
+
+  private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+  private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MAX_CAPACITY = 1 << 27;
+  private static final int MIN_PAGE_BYTES = 4 << 10;
+  private static final int MAX_PAGE_BYTES = 1 << 20;
+  private static final long EMPTY = 0L;
+  private static final long REMOVED = -1L;
+
+  // address + 1 of the record in each slot, or EMPTY / REMOVED
+  private ByteBuffer slots;
+  private int capacity;
+  private int size;
+  private int removed;
+
+  private final List<ByteBuffer> pages = Lists.newArrayList();
+  private ByteBuffer currentPage;
+  private long sizeInBytes;
+  // bytes of the records in the pages that are no longer referenced
+  private long garbageBytes;
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Direct memory bytes allocated by this map.
+   */
+  public long sizeInBytes() {
+    return sizeInBytes;
+  }
+
+  /**
+   * Bytes of the removed or replaced records which are not reclaimed yet.
+   */
+  public long garbageBytes() {
+    return garbageBytes;
+  }
+
+  public boolean containsKey(byte[] key) {
+    return slots != null && findSlot(key, hash(key)) >= 0;
+  }
+
+  public byte[] get(byte[] key) {
+    if (slots == null) {
+      return null;
+    }
+    int slot = findSlot(key, hash(key));
+    if (slot < 0) {
+      return null;
+    }
+    long address = address(slot);
+    ByteBuffer page = pages.get(page(address));
+    int offset = offset(address);
+    int keyLength = page.getInt(offset);
+    byte[] value = new byte[page.getInt(offset + Integer.BYTES)];
+    read(page, offset + RECORD_HEADER_BYTES + keyLength, value);
+    return value;
+  }
+
+  /**
+   * Put the entry if the map stays within the size limit after it.
+   *
+   * @return false if the entry would grow the map beyond maxSizeInBytes, the map is left unchanged then
+   */
+  public boolean tryPut(byte[] key, byte[] value, long maxSizeInBytes) {
+    int hash = hash(key);
+    int slot = slots == null ? -1 : findSlot(key, hash);
+    if (slot >= 0) {
+      long address = address(slot);
+      ByteBuffer page = pages.get(page(address));
+      int offset = offset(address);
+      if (page.getInt(offset + Integer.BYTES) == value.length) {
+        write(page, offset + RECORD_HEADER_BYTES + key.length, value);
+        return true;
+      }
+    }
+
+    int recordBytes = RECORD_HEADER_BYTES + key.length + value.length;
+    // removed slots are dropped by rebuilding the table, at the same capacity if they make up the load
+    boolean rebuild = slot < 0 && (slots == null || size + removed + 1 > capacity / 4 * 3);
+    int newCapacity = rebuild ? capacityFor(size + 1) : capacity;
+    long growth = (long) (newCapacity - capacity) * SLOT_BYTES;
+    int newPageBytes = newPageBytesFor(recordBytes);
+    if (newPageBytes > 0 && garbageBytes > 0 &&
+        (sizeInBytes + growth + newPageBytes > maxSizeInBytes || garbageBytes * 2 >= pageBytes())) {
+      compact(recordBytes);
+      newPageBytes = newPageBytesFor(recordBytes);
+    }
+    if (sizeInBytes + growth + newPageBytes > maxSizeInBytes) {
+      return false;
+    }
+
+    if (rebuild) {
+      rebuild(newCapacity);
+    }
+    if (newPageBytes > 0) {
+      addPage(newPageBytes);
+    }
+    long address = ((long) (pages.size() - 1) << Integer.SIZE) | currentPage.position();
+    currentPage.putInt(key.length).putInt(value.length).put(key).put(value);
+
+    if (slot < 0) {
+      slot = insertSlot(hash);
+      size++;
+    } else {
+      garbageBytes += recordBytes(address(slot));
+    }
+    slots.putLong(slot * SLOT_BYTES, address + 1);
+    slots.putInt(slot * SLOT_BYTES + Long.BYTES, hash);
+    return true;
+  }
+
+  /**
+   * @return true if the key was in the map
+   */
+  public boolean delete(byte[] key) {
+    if (slots == null) {
+      return false;
+    }
+    int slot = findSlot(key, hash(key));
+    if (slot < 0) {
+      return false;
+    }
+    garbageBytes += recordBytes(address(slot));
+    slots.putLong(slot * SLOT_BYTES, REMOVED);
+    size--;
+    removed++;
+    return true;
+  }
+
+  /**
+   * Release all the memory, the direct buffers are freed once they are garbage collected.
+   */
+  public void close() {
+    slots = null;
+    pages.clear();
+    currentPage = null;
+    capacity = 0;
+    size = 0;
+    removed = 0;
+    sizeInBytes = 0;
+    garbageBytes = 0;
+  }
+
+  private int findSlot(byte[] key, int hash) {
+    int mask = capacity - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      long ref = slots.getLong(slot * SLOT_BYTES);
+      if (ref == EMPTY) {
+        return -1;
+      }
+      if (ref != REMOVED && slots.getInt(slot * SLOT_BYTES + Long.BYTES) == hash && keyEquals(ref - 1, key)) {
+        return slot;
+      }
+    }
+  }
+
+  private int insertSlot(int hash) {
+    int mask = capacity - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      long ref = slots.getLong(slot * SLOT_BYTES);
+      if (ref == EMPTY || ref == REMOVED) {
+        if (ref == REMOVED) {
+          removed--;
+        }
+        return slot;
+      }
+    }
+  }
+
+  private boolean keyEquals(long address, byte[] key) {
+    ByteBuffer page = pages.get(page(address));
+    int offset = offset(address);
+    if (page.getInt(offset) != key.length) {
+      return false;
+    }
+    int keyOffset = offset + RECORD_HEADER_BYTES;
+    for (int i = 0; i < key.length; i++) {
+      if (page.get(keyOffset + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void rebuild(int newCapacity) {
+    ByteBuffer oldSlots = slots;
+    int oldCapacity = capacity;
+    slots = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+    capacity = newCapacity;
+    removed = 0;
+    sizeInBytes += (long) (newCapacity - oldCapacity) * SLOT_BYTES;
+    for (int i = 0; i < oldCapacity; i++) {
+      long ref = oldSlots.getLong(i * SLOT_BYTES);
+      if (ref != EMPTY && ref != REMOVED) {
+        int hash = oldSlots.getInt(i * SLOT_BYTES + Long.BYTES);
+        int slot = insertSlot(hash);
+        slots.putLong(slot * SLOT_BYTES, ref);
+        slots.putInt(slot * SLOT_BYTES + Long.BYTES, hash);
+      }
+    }
+  }
+
+  /**
+   * Copy the live records to new pages, the old pages are freed once they are garbage collected.
+   *
+   * @param reservedBytes - bytes to keep free in the last page for the record to put next
+   */
+  private void compact(int reservedBytes) {
+    List<ByteBuffer> oldPages = Lists.newArrayList(pages);
+    long liveBytes = pageBytes() - garbageBytes;
+    pages.clear();
+    currentPage = null;
+    sizeInBytes = (long) capacity * SLOT_BYTES;
+    garbageBytes = 0;
+    if (liveBytes == 0) {
+      return;
+    }
+    addPage((int) Math.min(Math.max(liveBytes + reservedBytes, MIN_PAGE_BYTES), MAX_PAGE_BYTES));
+    for (int slot = 0; slot < capacity; slot++) {
+      long ref = slots.getLong(slot * SLOT_BYTES);
+      if (ref == EMPTY || ref == REMOVED) {
+        continue;
+      }
+      long oldAddress = ref - 1;
+      ByteBuffer record = oldPages.get(page(oldAddress)).duplicate();
+      record.position(offset(oldAddress));
+      record.limit(offset(oldAddress) + recordBytes(oldPages, oldAddress));
+      int newPageBytes = newPageBytesFor(record.remaining());
+      if (newPageBytes > 0) {
+        addPage(newPageBytes);
+      }
+      long address = ((long) (pages.size() - 1) << Integer.SIZE) | currentPage.position();
+      currentPage.put(record);
+      slots.putLong(slot * SLOT_BYTES, address + 1);
+    }
+  }
+
+  private void addPage(int pageBytes) {
+    currentPage = ByteBuffer.allocateDirect(pageBytes);
+    pages.add(currentPage);
+    sizeInBytes += pageBytes;
+  }
+
+  private int newPageBytesFor(int recordBytes) {
+    return currentPage != null && currentPage.remaining() >= recordBytes ? 0 : pageBytesFor(recordBytes);
+  }
+
+  private long pageBytes() {
+    return sizeInBytes - (long) capacity * SLOT_BYTES;
+  }
+
+  private int recordBytes(long address) {
+    return recordBytes(pages, address);
+  }
+
+  private static int recordBytes(List<ByteBuffer> pages, long address) {
+    ByteBuffer page = pages.get(page(address));
+    int offset = offset(address);
+    return RECORD_HEADER_BYTES + page.getInt(offset) + page.getInt(offset + Integer.BYTES);
+  }
+
+  private int capacityFor(int entries) {
+    int newCapacity = Math.max(INITIAL_CAPACITY, capacity);
+    while (entries > newCapacity / 4 * 3) {
+      Preconditions.checkState(newCapacity < MAX_CAPACITY, "Too many entries in off-heap map");
+      newCapacity <<= 1;
+    }
+    return newCapacity;
+  }
+
+  private int pageBytesFor(int recordBytes) {
+    int pageBytes = currentPage == null ? MIN_PAGE_BYTES : Math.min(currentPage.capacity() << 1, MAX_PAGE_BYTES);
+    return Math.max(pageBytes, recordBytes);
+  }
+
+  private long address(int slot) {
+    return slots.getLong(slot * SLOT_BYTES) - 1;
+  }
+
+  private static int page(long address) {
+    return (int) (address >>> Integer.SIZE);
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+  private static void read(ByteBuffer page, int offset, byte[] bytes) {
+    ByteBuffer duplicate = page.duplicate();
+    duplicate.position(offset);
+    duplicate.get(bytes);
+  }
+
+  private static void write(ByteBuffer page, int offset, byte[] bytes) {
+    ByteBuffer duplicate = page.duplicate();
+    duplicate.position(offset);
+    duplicate.put(bytes);
+  }
+
+  private static int hash(byte[] key) {
+    int hash = 1;
+    for (byte b : key) {
+      hash = 31 * hash + b;
+    }
+    // spread the bits as the slot is taken from the low bits
+    return hash ^ (hash >>> 16) ^ (hash >>> 8);
+  }
+}
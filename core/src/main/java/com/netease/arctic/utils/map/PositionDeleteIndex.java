@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of deleted row positions grouped by data file path.
+ * <p>
+ * Only positions of the data files given when creating the index are kept, and every path key is the instance
+ * passed in, so the index never holds a copy of the path read from the delete files.
+ */
+public class PositionDeleteIndex {
+
+  public static PositionDeleteIndex create(Type type, Collection<String> dataPaths) {
+    return new PositionDeleteIndex(type, dataPaths);
+  }
+
+  private final Type type;
+  private final Map<String, String> internedPaths;
+  private final Map<String, PositionSet> positions;
+
+  private PositionDeleteIndex(Type type, Collection<String> dataPaths) {
+    Preconditions.checkNotNull(type, "Position delete index type can not be null");
+    this.type = type;
+    this.internedPaths = Maps.newHashMapWithExpectedSize(dataPaths.size());
+    for (String path : dataPaths) {
+      internedPaths.put(path, path);
+    }
+    this.positions = Maps.newHashMap();
+  }
+
+  /**
+   * Mark the position of the data file as deleted, ignored if the data file is not in this index.
+   */
+  public void delete(CharSequence path, long position) {
+    String dataPath = internedPaths.get(path.toString());
+    if (dataPath == null) {
+      return;
+    }
+    positions.computeIfAbsent(dataPath, p -> type.newPositionSet()).add(position);
+  }
+
+  /**
+   * @return the deleted positions of the data file, null if no position of it is deleted
+   */
+  public PositionSet positions(String path) {
+    return positions.get(path);
+  }
+
+  public boolean isDeleted(String path, long position) {
+    PositionSet positionSet = positions.get(path);
+    return positionSet != null && positionSet.contains(position);
+  }
+
+  public boolean isEmpty() {
+    return positions.isEmpty();
+  }
+
+  /**
+   * @return the estimated size of the deleted positions in bytes
+   */
+  public long sizeInBytes() {
+    long size = 0;
+    for (PositionSet positionSet : positions.values()) {
+      size += positionSet.sizeInBytes();
+    }
+    return size;
+  }
+
+  public Type type() {
+    return type;
+  }
+
+  /**
+   * Set of deleted positions in one data file.
+   */
+  public interface PositionSet {
+
+    void add(long position);
+
+    boolean contains(long position);
+
+    /**
+     * @return the estimated size of the positions in bytes
+     */
+    long sizeInBytes();
+  }
+
+  public enum Type {
+    /**
+     * Boxed positions in a {@link HashSet}.
+     */
+    HASH_SET {
+      @Override
+      PositionSet newPositionSet() {
+        return new HashPositionSet();
+      }
+    },
+
+    /**
+     * Primitive positions in a sorted long array, looked up by binary search.
+     */
+    SORTED_ARRAY {
+      @Override
+      PositionSet newPositionSet() {
+        return new SortedArrayPositionSet();
+      }
+    },
+
+    /**
+     * Positions in a compressed roaring bitmap.
+     */
+    BITMAP {
+      @Override
+      PositionSet newPositionSet() {
+        return new BitmapPositionSet();
+      }
+    };
+
+    abstract PositionSet newPositionSet();
+
+    public static Type fromName(String name) {
+      Preconditions.checkArgument(name != null, "Position delete index type can not be null");
+      try {
+        return Type.valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown position delete index type: " + name, e);
+      }
+    }
+  }
+
+  private static class HashPositionSet implements PositionSet {
+
+    // a hash map node, a boxed long and a slot of the table
+    private static final long ENTRY_SIZE = 32 + 16 + 8;
+
+    private final Set<Long> positions = new HashSet<>();
+
+    @Override
+    public void add(long position) {
+      positions.add(position);
+    }
+
+    @Override
+    public boolean contains(long position) {
+      return positions.contains(position);
+    }
+
+    @Override
+    public long sizeInBytes() {
+      return positions.size() * ENTRY_SIZE;
+    }
+  }
+
+  /**
+   * Positions are appended unordered and sorted lazily on the first lookup after an append,
+   * position delete files are mostly written in order so this is usually a single pass.
+   */
+  private static class SortedArrayPositionSet implements PositionSet {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    private boolean sorted = true;
+
+    @Override
+    public void add(long position) {
+      if (size == positions.length) {
+        positions = Arrays.copyOf(positions, positions.length << 1);
+      }
+      if (sorted && size > 0 && positions[size - 1] > position) {
+        sorted = false;
+      }
+      positions[size++] = position;
+    }
+
+    @Override
+    public boolean contains(long position) {
+      if (!sorted) {
+        Arrays.sort(positions, 0, size);
+        sorted = true;
+      }
+      return Arrays.binarySearch(positions, 0, size, position) >= 0;
+    }
+
+    @Override
+    public long sizeInBytes() {
+      return (long) positions.length * Long.BYTES;
+    }
+  }
+
+  private static class BitmapPositionSet implements PositionSet {
+
+    private final Roaring64Bitmap positions = new Roaring64Bitmap();
+
+    @Override
+    public void add(long position) {
+      positions.addLong(position);
+    }
+
+    @Override
+    public boolean contains(long position) {
+      return positions.contains(position);
+    }
+
+    @Override
+    public long sizeInBytes() {
+      return positions.getLongSizeInBytes();
+    }
+  }
+}
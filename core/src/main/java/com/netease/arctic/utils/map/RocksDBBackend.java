@@ -23,17 +23,27 @@ import com.netease.arctic.utils.LocalFileUtils;
 import com.netease.arctic.utils.SerializationUtils;
 import org.apache.commons.lang.Validate;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.rocksdb.AbstractImmutableNativeReference;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.Env;
 import org.rocksdb.InfoLogLevel;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.SstFileManager;
 import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.rocksdb.WriteBufferManager;
+import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,49 +57,72 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * RocksDB instance shared by all the spilled maps of the process with the same base dir, every map has its own
+ * column family with its own options. The memtables of all the column families are charged to the block cache by a
+ * {@link WriteBufferManager}, so the memory of an instance is bounded by the block cache size plus the write buffer
+ * size, and disk usage by an optional quota, see {@link SpillConfig}.
+ */
 public class RocksDBBackend {
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBBackend.class);
   private static final String BACKEND_BASE_DIR = System.getProperty("java.io.tmpdir");
-  private static final ThreadLocal<RocksDBBackend> instance =
-          new ThreadLocal<>();
+  private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final Map<String, RocksDBBackend> instances = new ConcurrentHashMap<>();
+  private static volatile SpillConfig spillConfig = SpillConfig.DEFAULT;
+
+  public static final String METRIC_BYTES_WRITTEN = "spill.bytes-written";
+  public static final String METRIC_DISK_USAGE = "spill.disk-usage-bytes";
+  public static final String METRIC_BLOCK_CACHE_HIT = "spill.block-cache-hit";
+  public static final String METRIC_BLOCK_CACHE_MISS = "spill.block-cache-miss";
+  public static final String METRIC_STALL_MICROS = "spill.stall-micros";
+  public static final String METRIC_COLUMN_FAMILIES = "spill.column-families";
+  public static final String METRIC_MEMTABLE_SIZE = "spill.memtable-bytes";
 
   public static RocksDBBackend getOrCreateInstance() {
-    RocksDBBackend backend = instance.get();
-    if (backend == null) {
-      backend = create(BACKEND_BASE_DIR);
-      instance.set(backend);
-    }
-    if (backend.closed) {
-      backend = create(BACKEND_BASE_DIR);
-      instance.set(backend);
-    }
-    return backend;
+    return getOrCreateInstance(BACKEND_BASE_DIR);
   }
 
   public static RocksDBBackend getOrCreateInstance(@Nullable String backendBaseDir) {
-    if (backendBaseDir == null) {
-      return getOrCreateInstance();
-    }
-    RocksDBBackend backend = instance.get();
-    if (backend == null) {
-      backend = create(backendBaseDir);
-      instance.set(backend);
-    }
-    if (backend.closed) {
-      backend = create(backendBaseDir);
-      instance.set(backend);
+    String baseDir = backendBaseDir == null ? BACKEND_BASE_DIR : backendBaseDir;
+    return instances.compute(baseDir, (dir, backend) -> backend == null || backend.closed ? create(dir) : backend);
+  }
+
+  /**
+   * Set the config of instances created afterwards, instances already open keep their config.
+   */
+  public static void configure(SpillConfig config) {
+    Validate.isTrue(config != null, "spill config can not be null!");
+    spillConfig = config;
+  }
+
+  /**
+   * Metrics summed over all the open instances of the process.
+   */
+  public static Map<String, Long> allMetrics() {
+    Map<String, Long> metrics = Maps.newHashMap();
+    for (RocksDBBackend backend : instances.values()) {
+      backend.metrics().forEach((name, value) -> metrics.merge(name, value, Long::sum));
     }
-    return backend;
+    return metrics;
   }
 
-  private Map<String, ColumnFamilyHandle> handlesMap = new HashMap<>();
-  private Map<String, ColumnFamilyDescriptor> descriptorMap = new HashMap<>();
+  private Map<String, ColumnFamilyHandle> handlesMap = new ConcurrentHashMap<>();
+  private Map<String, ColumnFamilyDescriptor> descriptorMap = new ConcurrentHashMap<>();
   private RocksDB rocksDB;
-  private boolean closed = false;
+  private volatile boolean closed = false;
   private final String rocksDBBasePath;
-  private long totalBytesWritten;
+  private final AtomicLong totalBytesWritten = new AtomicLong();
+  private final SpillConfig config;
+  private Statistics statistics;
+  private Cache blockCache;
+  private WriteBufferManager writeBufferManager;
+  private BloomFilter bloomFilter;
+  private SstFileManager sstFileManager;
+  private WriteOptions writeOptions;
 
   private static RocksDBBackend create(@Nullable String backendBaseDir) {
     return new RocksDBBackend(backendBaseDir);
@@ -98,7 +131,7 @@ public class RocksDBBackend {
   private RocksDBBackend(@Nullable String backendBaseDir) {
     this.rocksDBBasePath = backendBaseDir == null ? UUID.randomUUID().toString() :
         String.format("%s/%s", backendBaseDir, UUID.randomUUID());
-    totalBytesWritten = 0L;
+    this.config = spillConfig;
     setup();
   }
 
@@ -110,8 +143,21 @@ public class RocksDBBackend {
       LOG.info("DELETING RocksDB instance persisted at " + rocksDBBasePath);
       LocalFileUtils.deleteDirectory(new File(rocksDBBasePath));
 
+      RocksDB.loadLibrary();
+      statistics = new Statistics();
+      // memtables take their memory from the block cache, flushed when the write buffer size is reached
+      blockCache = new LRUCache(config.blockCacheSize() + config.writeBufferSize());
+      writeBufferManager = new WriteBufferManager(config.writeBufferSize(), blockCache);
+      bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+      sstFileManager = new SstFileManager(Env.getDefault());
+      if (config.diskQuota() > 0) {
+        sstFileManager.setMaxAllowedSpaceUsage(config.diskQuota());
+      }
+      // spilled data is dropped with the process, so it is not worth a write ahead log
+      writeOptions = new WriteOptions().setDisableWAL(true);
       final DBOptions dbOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true)
-              .setWalDir(rocksDBBasePath).setStatsDumpPeriodSec(300).setStatistics(new Statistics());
+              .setWalDir(rocksDBBasePath).setStatsDumpPeriodSec(300).setStatistics(statistics)
+              .setWriteBufferManager(writeBufferManager).setSstFileManager(sstFileManager);
       dbOptions.setLogger(new org.rocksdb.Logger(dbOptions) {
         @Override
         protected void log(InfoLogLevel infoLogLevel, String logMsg) {
@@ -170,7 +216,19 @@ public class RocksDBBackend {
   }
 
   private ColumnFamilyDescriptor getColumnFamilyDescriptor(byte[] columnFamilyName) {
-    return new ColumnFamilyDescriptor(columnFamilyName, new ColumnFamilyOptions());
+    return new ColumnFamilyDescriptor(columnFamilyName, newColumnFamilyOptions());
+  }
+
+  /**
+   * Options of a single column family, closed when the column family is dropped.
+   */
+  private ColumnFamilyOptions newColumnFamilyOptions() {
+    return new ColumnFamilyOptions()
+        .setWriteBufferSize(config.columnFamilyWriteBufferSize())
+        .setTableFormatConfig(new BlockBasedTableConfig()
+            .setBlockCache(blockCache)
+            .setFilterPolicy(bloomFilter)
+            .setCacheIndexAndFilterBlocks(true));
   }
 
   /**
@@ -185,8 +243,9 @@ public class RocksDBBackend {
     try {
       Validate.isTrue(key != null && value != null,
               "values or keys in rocksdb can not be null!");
+      checkDiskQuota();
       byte[] payload = serializePayload(value);
-      rocksDB.put(handlesMap.get(columnFamilyName), SerializationUtils.serialize(key), payload);
+      rocksDB.put(handlesMap.get(columnFamilyName), writeOptions, SerializationUtils.serialize(key), payload);
     } catch (Exception e) {
       throw new ArcticIOException(e);
     }
@@ -206,7 +265,8 @@ public class RocksDBBackend {
       ColumnFamilyHandle cfHandler = handlesMap.get(columnFamilyName);
       Validate.isTrue(cfHandler != null, "column family " +
           columnFamilyName + " does not exists in rocksdb");
-      rocksDB.put(cfHandler, key, payload(value));
+      checkDiskQuota();
+      rocksDB.put(cfHandler, writeOptions, key, payload(value));
     } catch (Exception e) {
       throw new ArcticIOException(e);
     }
@@ -222,7 +282,7 @@ public class RocksDBBackend {
   public <K extends Serializable> void delete(String columnFamilyName, K key) {
     try {
       Validate.isTrue(key != null, "keys in rocksdb can not be null!");
-      rocksDB.delete(handlesMap.get(columnFamilyName), SerializationUtils.serialize(key));
+      rocksDB.delete(handlesMap.get(columnFamilyName), writeOptions, SerializationUtils.serialize(key));
     } catch (Exception e) {
       throw new ArcticIOException(e);
     }
@@ -237,7 +297,7 @@ public class RocksDBBackend {
   public void delete(String columnFamilyName, byte[] key) {
     try {
       Validate.isTrue(key != null, "keys in rocksdb can not be null!");
-      rocksDB.delete(handlesMap.get(columnFamilyName), key);
+      rocksDB.delete(handlesMap.get(columnFamilyName), writeOptions, key);
     } catch (Exception e) {
       throw new ArcticIOException(e);
     }
@@ -297,6 +357,17 @@ public class RocksDBBackend {
     return new ValueIterator(rocksDB.newIterator(handlesMap.get(columnFamilyName)));
   }
 
+  /**
+   * Return Iterator of values whose keys start with the prefix, in key order.
+   *
+   * @param columnFamilyName Column Family Name
+   * @param prefix Key prefix
+   */
+  public Iterator<byte[]> values(String columnFamilyName, byte[] prefix) {
+    Validate.isTrue(prefix != null, "prefix in rocksdb can not be null!");
+    return new ValueIterator(rocksDB.newIterator(handlesMap.get(columnFamilyName)), prefix);
+  }
+
   /**
    * Add a new column family to store.
    *
@@ -330,6 +401,7 @@ public class RocksDBBackend {
       try {
         rocksDB.dropColumnFamily(handle);
         handle.close();
+        descriptor.getOptions().close();
       } catch (RocksDBException e) {
         throw new ArcticIOException(e);
       }
@@ -342,16 +414,60 @@ public class RocksDBBackend {
     return new ArrayList<>(descriptorMap.values());
   }
 
+  /**
+   * Estimated number of keys in a column family, including keys overwritten or deleted but not compacted yet.
+   *
+   * @param columnFamilyName Column Family Name
+   */
+  public long estimateNumKeys(String columnFamilyName) {
+    Validate.isTrue(!closed);
+    ColumnFamilyHandle handle = handlesMap.get(columnFamilyName);
+    Validate.isTrue(handle != null, "Column family does not exist: ", columnFamilyName);
+    try {
+      return rocksDB.getLongProperty(handle, "rocksdb.estimate-num-keys");
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
+  /**
+   * Metrics of this instance, empty if it is closed.
+   */
+  public synchronized Map<String, Long> metrics() {
+    Map<String, Long> metrics = Maps.newHashMap();
+    if (!closed) {
+      metrics.put(METRIC_BYTES_WRITTEN, totalBytesWritten.get());
+      metrics.put(METRIC_DISK_USAGE, sstFileManager.getTotalSize());
+      metrics.put(METRIC_BLOCK_CACHE_HIT, statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT));
+      metrics.put(METRIC_BLOCK_CACHE_MISS, statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS));
+      metrics.put(METRIC_STALL_MICROS, statistics.getTickerCount(TickerType.STALL_MICROS));
+      metrics.put(METRIC_COLUMN_FAMILIES, (long) handlesMap.size());
+      try {
+        metrics.put(METRIC_MEMTABLE_SIZE, rocksDB.getAggregatedLongProperty("rocksdb.cur-size-all-mem-tables"));
+      } catch (RocksDBException e) {
+        LOG.warn("Failed to get the memtable size of RocksDB at {}", rocksDBBasePath, e);
+      }
+    }
+    return metrics;
+  }
+
   /**
    * Close the DAO object.
    */
-  public void close() {
+  public synchronized void close() {
     if (!closed) {
       closed = true;
       handlesMap.values().forEach(AbstractImmutableNativeReference::close);
       handlesMap.clear();
-      descriptorMap.clear();
       rocksDB.close();
+      descriptorMap.values().forEach(descriptor -> descriptor.getOptions().close());
+      descriptorMap.clear();
+      writeOptions.close();
+      sstFileManager.close();
+      writeBufferManager.close();
+      bloomFilter.close();
+      blockCache.close();
+      statistics.close();
       try {
         LocalFileUtils.deleteDirectory(new File(rocksDBBasePath));
       } catch (IOException e) {
@@ -365,20 +481,86 @@ public class RocksDBBackend {
   }
 
   public long getTotalBytesWritten() {
-    return totalBytesWritten;
+    return totalBytesWritten.get();
+  }
+
+  private void checkDiskQuota() {
+    if (config.diskQuota() > 0 && sstFileManager.isMaxAllowedSpaceReachedIncludingCompactions()) {
+      throw new ArcticIOException(String.format("Spill disk quota of %d bytes is reached by RocksDB at %s",
+          config.diskQuota(), rocksDBBasePath));
+    }
   }
 
   private byte[] serializePayload(Object value) throws IOException {
     byte[] payload = SerializationUtils.serialize(value);
-    totalBytesWritten += payload.length;
+    totalBytesWritten.addAndGet(payload.length);
     return payload;
   }
 
   private byte[] payload(byte[] value) {
-    totalBytesWritten += value.length;
+    totalBytesWritten.addAndGet(value.length);
     return value;
   }
 
+  /**
+   * Memory and disk limits of a RocksDB instance, sizes are in bytes.
+   */
+  public static class SpillConfig implements Serializable {
+
+    public static final long BLOCK_CACHE_SIZE_DEFAULT = 64L * 1024 * 1024;
+    public static final long WRITE_BUFFER_SIZE_DEFAULT = 256L * 1024 * 1024;
+    public static final long COLUMN_FAMILY_WRITE_BUFFER_SIZE_DEFAULT = 32L * 1024 * 1024;
+
+    public static final SpillConfig DEFAULT = new SpillConfig(BLOCK_CACHE_SIZE_DEFAULT, WRITE_BUFFER_SIZE_DEFAULT,
+        COLUMN_FAMILY_WRITE_BUFFER_SIZE_DEFAULT, 0L);
+
+    private final long blockCacheSize;
+    private final long writeBufferSize;
+    private final long columnFamilyWriteBufferSize;
+    private final long diskQuota;
+
+    /**
+     * @param blockCacheSize size of the block cache shared by all the column families
+     * @param writeBufferSize total size of the memtables of all the column families, charged to the block cache
+     * @param columnFamilyWriteBufferSize size of a single memtable of a column family
+     * @param diskQuota max size of the files on disk, unlimited if not positive
+     */
+    public SpillConfig(long blockCacheSize, long writeBufferSize, long columnFamilyWriteBufferSize, long diskQuota) {
+      Validate.isTrue(blockCacheSize > 0 && writeBufferSize > 0 && columnFamilyWriteBufferSize > 0,
+          "spill memory sizes must be positive!");
+      this.blockCacheSize = blockCacheSize;
+      this.writeBufferSize = writeBufferSize;
+      this.columnFamilyWriteBufferSize = Math.min(columnFamilyWriteBufferSize, writeBufferSize);
+      this.diskQuota = diskQuota;
+    }
+
+    public long blockCacheSize() {
+      return blockCacheSize;
+    }
+
+    public long writeBufferSize() {
+      return writeBufferSize;
+    }
+
+    public long columnFamilyWriteBufferSize() {
+      return columnFamilyWriteBufferSize;
+    }
+
+    public long diskQuota() {
+      return diskQuota;
+    }
+
+    @Override
+    public String toString() {
+      return "SpillConfig{" +
+          "blockCacheSize=" + blockCacheSize +
+          ", writeBufferSize=" + writeBufferSize +
+          ", columnFamilyWriteBufferSize=" + columnFamilyWriteBufferSize +
+          ", diskQuota=" + diskQuota +
+          '}';
+    }
+  }
+
   /**
    * {@link Iterator} wrapper for RocksDb Iterator {@link RocksIterator}.
    */
@@ -413,15 +595,35 @@ public class RocksDBBackend {
   private static class ValueIterator implements Iterator<byte[]> {
 
     private final RocksIterator iterator;
+    private final byte[] prefix;
 
     public ValueIterator(final RocksIterator iterator) {
       this.iterator = iterator;
+      this.prefix = null;
       iterator.seekToFirst();
     }
 
+    public ValueIterator(final RocksIterator iterator, byte[] prefix) {
+      this.iterator = iterator;
+      this.prefix = prefix;
+      iterator.seek(prefix);
+    }
+
     @Override
     public boolean hasNext() {
-      return iterator.isValid();
+      return iterator.isValid() && (prefix == null || startsWith(iterator.key(), prefix));
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+      if (key.length < prefix.length) {
+        return false;
+      }
+      for (int i = 0; i < prefix.length; i++) {
+        if (key[i] != prefix[i]) {
+          return false;
+        }
+      }
+      return true;
     }
 
     @Override
@@ -18,9 +18,12 @@
 
 package com.netease.arctic.utils.map;
 
+import com.netease.arctic.utils.SerializationUtils;
 import com.netease.arctic.utils.StructLikeSet;
 import org.apache.iceberg.types.Types;
 
+import java.util.Collection;
+
 public class StructLikeCollections {
 
   public static final StructLikeCollections DEFAULT = new StructLikeCollections(false, 0L);
@@ -28,6 +31,7 @@ public class StructLikeCollections {
   private final boolean enableSpillableMap;
   private final long maxInMemorySizeInBytes;
   private String backendBaseDir;
+  private PositionDeleteIndex.Type positionDeleteIndexType = PositionDeleteIndex.Type.BITMAP;
 
   public StructLikeCollections(boolean enableSpillableMap, long maxInMemorySizeInBytes) {
     this.enableSpillableMap = enableSpillableMap;
@@ -40,6 +44,13 @@ public class StructLikeCollections {
     this.backendBaseDir = backendBaseDir;
   }
 
+  public StructLikeCollections(
+      boolean enableSpillableMap, long maxInMemorySizeInBytes, String backendBaseDir,
+      PositionDeleteIndex.Type positionDeleteIndexType) {
+    this(enableSpillableMap, maxInMemorySizeInBytes, backendBaseDir);
+    this.positionDeleteIndexType = positionDeleteIndexType;
+  }
+
   public <T> StructLikeBaseMap<T> createStructLikeMap(Types.StructType type) {
     if (!enableSpillableMap) {
       return StructLikeMemoryMap.create(type);
@@ -48,6 +59,18 @@ public class StructLikeCollections {
     }
   }
 
+  /**
+   * Create a map serializing the values by the given serializer if it spills.
+   */
+  public <T> StructLikeBaseMap<T> createStructLikeMap(
+      Types.StructType type, SerializationUtils.SimpleSerializer<T> valueSerializer) {
+    if (!enableSpillableMap) {
+      return StructLikeMemoryMap.create(type);
+    } else {
+      return StructLikeSpillableMap.create(type, maxInMemorySizeInBytes, backendBaseDir, valueSerializer);
+    }
+  }
+
   public StructLikeSet createStructLikeSet(Types.StructType type) {
     if (!enableSpillableMap) {
       return StructLikeSet.createMemorySet(type);
@@ -55,4 +78,8 @@ public class StructLikeCollections {
       return StructLikeSet.createSpillableSet(type, maxInMemorySizeInBytes, backendBaseDir);
     }
   }
+
+  public PositionDeleteIndex createPositionDeleteIndex(Collection<String> dataPaths) {
+    return PositionDeleteIndex.create(positionDeleteIndexType, dataPaths);
+  }
 }
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.DateTimeUtil;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary encoder of keys driven by a flat {@link Types.StructType} of primitive fields.
+ * <p>
+ * Encoded keys compare byte-wise (unsigned) in the same order as the values, so they can be used for prefix and
+ * range scans in RocksDB:
+ * <ul>
+ *   <li>every field starts with a null marker, nulls first</li>
+ *   <li>numbers, dates, times and timestamps are fixed-width big-endian with the sign bit flipped</li>
+ *   <li>floats and doubles use their IEEE 754 bits, flipped so that negative values sort first</li>
+ *   <li>decimals are encoded as their unscaled value at the scale of the type</li>
+ *   <li>strings and binaries are escaped and terminated instead of length-prefixed, as a length prefix would
+ *   break the order of values with a common prefix; strings are ordered by their UTF-8 bytes</li>
+ * </ul>
+ * Values may use the internal representation of Iceberg, e.g. micros for timestamps, or the representation of
+ * generic records, e.g. {@link LocalDate} for dates, both are encoded to the same bytes. Decoded keys always use the
+ * internal representation.
+ */
+public class StructLikeKeyEncoder {
+
+  private static final byte NULL = 0x00;
+  private static final byte NOT_NULL = 0x01;
+  private static final byte ESCAPE = 0x00;
+  private static final byte ESCAPED_ZERO = (byte) 0xFF;
+  private static final byte TERMINATOR = 0x00;
+  private static final int DECIMAL_LONG_MAX_PRECISION = 18;
+  private static final int DECIMAL_BYTES = 16;
+
+  private final Type[] types;
+
+  public StructLikeKeyEncoder(Types.StructType type) {
+    Preconditions.checkArgument(supports(type), "Unsupported key type: %s", type);
+    List<Types.NestedField> fields = type.fields();
+    this.types = new Type[fields.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = fields.get(i).type();
+    }
+  }
+
+  /**
+   * Whether keys of the type can be encoded, only structs of primitive fields are supported.
+   */
+  public static boolean supports(Types.StructType type) {
+    for (Types.NestedField field : type.fields()) {
+      if (!field.type().isPrimitiveType()) {
+        return false;
+      }
+      if (field.type().typeId() == Type.TypeID.DECIMAL &&
+          ((Types.DecimalType) field.type()).precision() > 38) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public byte[] encode(StructLike key) {
+    Preconditions.checkArgument(key.size() == types.length,
+        "Key has %s fields but %s are expected", key.size(), types.length);
+    Output output = new Output();
+    for (int i = 0; i < types.length; i++) {
+      Object value = key.get(i, Object.class);
+      if (value == null) {
+        output.write(NULL);
+      } else {
+        output.write(NOT_NULL);
+        encodeValue(types[i], value, output);
+      }
+    }
+    return output.toByteArray();
+  }
+
+  public StructLike decode(byte[] bytes) {
+    ByteBuffer input = ByteBuffer.wrap(bytes);
+    Object[] values = new Object[types.length];
+    for (int i = 0; i < types.length; i++) {
+      if (input.get() != NULL) {
+        values[i] = decodeValue(types[i], input);
+      }
+    }
+    Preconditions.checkArgument(!input.hasRemaining(), "Unexpected bytes after the encoded key");
+    return new DecodedKey(values);
+  }
+
+  private static void encodeValue(Type type, Object value, Output output) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        output.write((Boolean) value ? (byte) 1 : (byte) 0);
+        break;
+      case INTEGER:
+        output.writeInt(((Number) value).intValue() ^ Integer.MIN_VALUE);
+        break;
+      case DATE:
+        output.writeInt(toDays(value) ^ Integer.MIN_VALUE);
+        break;
+      case LONG:
+        output.writeLong(((Number) value).longValue() ^ Long.MIN_VALUE);
+        break;
+      case TIME:
+        output.writeLong(toTimeMicros(value) ^ Long.MIN_VALUE);
+        break;
+      case TIMESTAMP:
+        output.writeLong(toTimestampMicros(value) ^ Long.MIN_VALUE);
+        break;
+      case FLOAT:
+        int floatBits = Float.floatToIntBits((Float) value);
+        output.writeInt(floatBits < 0 ? ~floatBits : floatBits ^ Integer.MIN_VALUE);
+        break;
+      case DOUBLE:
+        long doubleBits = Double.doubleToLongBits((Double) value);
+        output.writeLong(doubleBits < 0 ? ~doubleBits : doubleBits ^ Long.MIN_VALUE);
+        break;
+      case STRING:
+        output.writeEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+        break;
+      case BINARY:
+        output.writeEscaped(toByteArray(value));
+        break;
+      case FIXED:
+        output.write(toByteArray(value));
+        break;
+      case UUID:
+        UUID uuid = toUUID(value);
+        output.writeLong(uuid.getMostSignificantBits() ^ Long.MIN_VALUE);
+        output.writeLong(uuid.getLeastSignificantBits() ^ Long.MIN_VALUE);
+        break;
+      case DECIMAL:
+        encodeDecimal((Types.DecimalType) type, toDecimal(value), output);
+        break;
+      default:
+        throw new UnsupportedOperationException("Unsupported key type: " + type);
+    }
+  }
+
+  private static void encodeDecimal(Types.DecimalType type, BigDecimal value, Output output) {
+    BigInteger unscaled = value.setScale(type.scale(), RoundingMode.UNNECESSARY).unscaledValue();
+    if (type.precision() <= DECIMAL_LONG_MAX_PRECISION) {
+      output.writeLong(unscaled.longValueExact() ^ Long.MIN_VALUE);
+    } else {
+      byte[] bytes = unscaled.toByteArray();
+      byte[] fixed = new byte[DECIMAL_BYTES];
+      // sign extend the two's complement bytes to a fixed width
+      Arrays.fill(fixed, 0, DECIMAL_BYTES - bytes.length, unscaled.signum() < 0 ? (byte) 0xFF : 0);
+      System.arraycopy(bytes, 0, fixed, DECIMAL_BYTES - bytes.length, bytes.length);
+      fixed[0] ^= (byte) 0x80;
+      output.write(fixed);
+    }
+  }
+
+  private static Object decodeValue(Type type, ByteBuffer input) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return input.get() != 0;
+      case INTEGER:
+      case DATE:
+        return input.getInt() ^ Integer.MIN_VALUE;
+      case LONG:
+      case TIME:
+      case TIMESTAMP:
+        return input.getLong() ^ Long.MIN_VALUE;
+      case FLOAT:
+        int floatBits = input.getInt();
+        return Float.intBitsToFloat(floatBits < 0 ? floatBits ^ Integer.MIN_VALUE : ~floatBits);
+      case DOUBLE:
+        long doubleBits = input.getLong();
+        return Double.longBitsToDouble(doubleBits < 0 ? doubleBits ^ Long.MIN_VALUE : ~doubleBits);
+      case STRING:
+        return new String(readEscaped(input), StandardCharsets.UTF_8);
+      case BINARY:
+        return ByteBuffer.wrap(readEscaped(input));
+      case FIXED:
+        byte[] fixed = new byte[((Types.FixedType) type).length()];
+        input.get(fixed);
+        return ByteBuffer.wrap(fixed);
+      case UUID:
+        return new UUID(input.getLong() ^ Long.MIN_VALUE, input.getLong() ^ Long.MIN_VALUE);
+      case DECIMAL:
+        Types.DecimalType decimalType = (Types.DecimalType) type;
+        if (decimalType.precision() <= DECIMAL_LONG_MAX_PRECISION) {
+          return BigDecimal.valueOf(input.getLong() ^ Long.MIN_VALUE, decimalType.scale());
+        }
+        byte[] unscaled = new byte[DECIMAL_BYTES];
+        input.get(unscaled);
+        unscaled[0] ^= (byte) 0x80;
+        return new BigDecimal(new BigInteger(unscaled), decimalType.scale());
+      default:
+        throw new UnsupportedOperationException("Unsupported key type: " + type);
+    }
+  }
+
+  private static byte[] readEscaped(ByteBuffer input) {
+    Output output = new Output();
+    while (true) {
+      byte b = input.get();
+      if (b != ESCAPE) {
+        output.write(b);
+      } else if (input.get() == ESCAPED_ZERO) {
+        output.write((byte) 0);
+      } else {
+        return output.toByteArray();
+      }
+    }
+  }
+
+  private static byte[] toByteArray(Object value) {
+    if (value instanceof byte[]) {
+      return (byte[]) value;
+    }
+    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static int toDays(Object value) {
+    if (value instanceof LocalDate) {
+      return DateTimeUtil.daysFromDate((LocalDate) value);
+    }
+    return ((Number) value).intValue();
+  }
+
+  private static long toTimeMicros(Object value) {
+    if (value instanceof LocalTime) {
+      return DateTimeUtil.microsFromTime((LocalTime) value);
+    }
+    return ((Number) value).longValue();
+  }
+
+  private static long toTimestampMicros(Object value) {
+    if (value instanceof OffsetDateTime) {
+      return DateTimeUtil.microsFromTimestamptz((OffsetDateTime) value);
+    } else if (value instanceof LocalDateTime) {
+      return DateTimeUtil.microsFromTimestamp((LocalDateTime) value);
+    }
+    return ((Number) value).longValue();
+  }
+
+  private static BigDecimal toDecimal(Object value) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    return new BigDecimal(value.toString());
+  }
+
+  private static UUID toUUID(Object value) {
+    if (value instanceof UUID) {
+      return (UUID) value;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(toByteArray(value));
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  private static class Output {
+
+    private byte[] bytes = new byte[32];
+    private int size = 0;
+
+    void write(byte b) {
+      ensureCapacity(1);
+      bytes[size++] = b;
+    }
+
+    void write(byte[] b) {
+      ensureCapacity(b.length);
+      System.arraycopy(b, 0, bytes, size, b.length);
+      size += b.length;
+    }
+
+    void writeInt(int v) {
+      ensureCapacity(Integer.BYTES);
+      for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        bytes[size++] = (byte) (v >>> shift);
+      }
+    }
+
+    void writeLong(long v) {
+      ensureCapacity(Long.BYTES);
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        bytes[size++] = (byte) (v >>> shift);
+      }
+    }
+
+    void writeEscaped(byte[] b) {
+      for (byte value : b) {
+        write(value);
+        if (value == ESCAPE) {
+          write(ESCAPED_ZERO);
+        }
+      }
+      write(ESCAPE);
+      write(TERMINATOR);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int length) {
+      if (size + length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + length));
+      }
+    }
+  }
+
+  private static class DecodedKey implements StructLike {
+
+    private final Object[] values;
+
+    private DecodedKey(Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public <T> T get(int pos, Class<T> javaClass) {
+      return javaClass.cast(values[pos]);
+    }
+
+    @Override
+    public <T> void set(int pos, T value) {
+      throw new UnsupportedOperationException("Decoded key cannot be modified");
+    }
+  }
+}
@@ -32,17 +32,35 @@ public class StructLikeSpillableMap<T> extends StructLikeBaseMap<T> {
   public static <T> StructLikeSpillableMap<T> create(Types.StructType type,
                                                      Long maxInMemorySizeInBytes,
                                                      @Nullable String backendBaseDir) {
-    return new StructLikeSpillableMap<>(type, maxInMemorySizeInBytes, backendBaseDir);
+    return new StructLikeSpillableMap<>(type, maxInMemorySizeInBytes, backendBaseDir,
+        SerializationUtils.createJavaSimpleSerializer());
+  }
+
+  /**
+   * Create a map serializing the values by the given serializer instead of the java serialization.
+   */
+  public static <T> StructLikeSpillableMap<T> create(Types.StructType type,
+                                                     Long maxInMemorySizeInBytes,
+                                                     @Nullable String backendBaseDir,
+                                                     SerializationUtils.SimpleSerializer<T> valueSerializer) {
+    return new StructLikeSpillableMap<>(type, maxInMemorySizeInBytes, backendBaseDir, valueSerializer);
   }
 
   private final SimpleMap<StructLikeWrapper, T> wrapperMap;
 
-  private StructLikeSpillableMap(Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir) {
+  private StructLikeSpillableMap(Types.StructType type, Long maxInMemorySizeInBytes, @Nullable String backendBaseDir,
+                                 SerializationUtils.SimpleSerializer<T> valueSerializer) {
     super(type);
-    this.wrapperMap = new SimpleSpillableMap<>(maxInMemorySizeInBytes, backendBaseDir,
-        SerializationUtils.createStructLikeWrapperSerializer(structLikeWrapperFactory),
-        SerializationUtils.createJavaSimpleSerializer(),
-        new StructLikeWrapperSizeEstimator(), new DefaultSizeEstimator<>());
+    if (StructLikeKeyEncoder.supports(type)) {
+      this.wrapperMap = new BinarySpillableMap<>(maxInMemorySizeInBytes, backendBaseDir,
+          SerializationUtils.createBinaryStructLikeWrapperSerializer(type, structLikeWrapperFactory),
+          valueSerializer);
+    } else {
+      this.wrapperMap = new SimpleSpillableMap<>(maxInMemorySizeInBytes, backendBaseDir,
+          SerializationUtils.createStructLikeWrapperSerializer(structLikeWrapperFactory),
+          valueSerializer,
+          new StructLikeWrapperSizeEstimator(), new DefaultSizeEstimator<>());
+    }
   }
 
   @Override
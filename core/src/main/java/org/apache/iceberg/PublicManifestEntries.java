@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iceberg;
+
+import com.netease.arctic.IcebergFileEntry;
+import com.netease.arctic.utils.ManifestEntryFields;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+
+import java.util.Map;
+
+/**
+ * Read the live entries of a single data manifest with their sequence numbers, which are not exposed by
+ * {@link ManifestReader}, so a caller can prune manifests by {@link ManifestFile} before reading any of them.
+ */
+public class PublicManifestEntries {
+
+  private PublicManifestEntries() {
+  }
+
+  /**
+   * @param manifest data manifest to read
+   * @param io file io to read the manifest with
+   * @param specsById partition specs of the table
+   * @return live entries of the manifest, files are copied without column stats
+   */
+  public static CloseableIterable<IcebergFileEntry> liveDataEntries(ManifestFile manifest, FileIO io,
+                                                                    Map<Integer, PartitionSpec> specsById) {
+    ManifestReader<DataFile> reader = ManifestFiles.read(manifest, io, specsById);
+    // entries are reused by the reader, so copy them
+    return CloseableIterable.transform(reader.liveEntries(), entry -> new IcebergFileEntry(
+        entry.snapshotId(),
+        entry.dataSequenceNumber(),
+        ManifestEntryFields.Status.of(entry.status().id()),
+        entry.file().copyWithoutStats()));
+  }
+}
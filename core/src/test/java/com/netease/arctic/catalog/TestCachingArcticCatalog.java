@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.catalog;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
+import com.netease.arctic.ams.api.properties.TableFormat;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCachingArcticCatalog extends CatalogTestBase {
+
+  private static final long EXPIRATION_INTERVAL_MS = 1000;
+
+  private CachingArcticCatalog cachingCatalog;
+
+  public TestCachingArcticCatalog() {
+    super(new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG));
+  }
+
+  @Before
+  public void createTable() {
+    cachingCatalog = (CachingArcticCatalog) CatalogLoader.load(getCatalogUrl(),
+        ImmutableMap.of(CatalogMetaProperties.TABLE_CACHE_ENABLED, "true",
+            CatalogMetaProperties.TABLE_CACHE_EXPIRATION_INTERVAL_MS, String.valueOf(EXPIRATION_INTERVAL_MS)));
+    cachingCatalog.createDatabase(TableTestHelper.TEST_DB_NAME);
+    cachingCatalog.newTableBuilder(TableTestHelper.TEST_TABLE_ID, BasicTableTestHelper.TABLE_SCHEMA).create();
+  }
+
+  @After
+  public void dropTable() {
+    cachingCatalog.dropTable(TableTestHelper.TEST_TABLE_ID, true);
+    cachingCatalog.dropDatabase(TableTestHelper.TEST_DB_NAME);
+  }
+
+  @Test
+  public void testLoadCachedTable() {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertSame(table, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+    Assert.assertEquals(1, cachingCatalog.cacheStats().missCount());
+    Assert.assertEquals(1, cachingCatalog.cacheStats().hitCount());
+  }
+
+  @Test
+  public void testInvalidateCommittedTable() {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    table.updateProperties().set("test.key", "test.value").commit();
+
+    ArcticTable reloadedTable = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertNotSame(table, reloadedTable);
+    Assert.assertEquals("test.value", reloadedTable.properties().get("test.key"));
+  }
+
+  @Test
+  public void testInvalidateDroppedTable() {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    cachingCatalog.dropTable(TableTestHelper.TEST_TABLE_ID, true);
+    Assert.assertFalse(cachingCatalog.tableExists(TableTestHelper.TEST_TABLE_ID));
+
+    cachingCatalog.newTableBuilder(TableTestHelper.TEST_TABLE_ID, BasicTableTestHelper.TABLE_SCHEMA).create();
+    Assert.assertNotSame(table, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+  }
+
+  @Test
+  public void testExpireAccessedTable() throws InterruptedException {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    long loadTime = System.currentTimeMillis();
+    // a table accessed all the time still expires after the interval since it is loaded
+    while (System.currentTimeMillis() - loadTime <= EXPIRATION_INTERVAL_MS) {
+      cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+      Thread.sleep(EXPIRATION_INTERVAL_MS / 10);
+    }
+    Assert.assertNotSame(table, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+  }
+
+  @Test
+  public void testTableDroppedByOtherCatalog() {
+    cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    cachingCatalog.getCatalog().dropTable(TableTestHelper.TEST_TABLE_ID, true);
+    Assert.assertFalse(cachingCatalog.tableExists(TableTestHelper.TEST_TABLE_ID));
+    cachingCatalog.newTableBuilder(TableTestHelper.TEST_TABLE_ID, BasicTableTestHelper.TABLE_SCHEMA).create();
+  }
+}
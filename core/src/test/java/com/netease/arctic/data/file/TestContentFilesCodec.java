@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.data.file;
+
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SortOrder;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+public class TestContentFilesCodec {
+
+  private static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "id", Types.IntegerType.get()),
+      Types.NestedField.required(2, "name", Types.StringType.get()),
+      Types.NestedField.required(3, "op_time", Types.TimestampType.withoutZone())
+  );
+
+  private static final PartitionSpec UNPARTITIONED = PartitionSpec.builderFor(SCHEMA).withSpecId(0).build();
+  private static final PartitionSpec DAY_SPEC = PartitionSpec.builderFor(SCHEMA).withSpecId(1)
+      .day("op_time").identity("name").build();
+  private static final Map<Integer, PartitionSpec> SPECS = ImmutableMap.of(0, UNPARTITIONED, 1, DAY_SPEC);
+
+  @Test
+  public void testRoundTrip() {
+    List<ContentFile<?>> files = Lists.newArrayList();
+    for (int i = 0; i < 20; i++) {
+      files.add(WrapFileWithSequenceNumberHelper.wrap(dataFile(DAY_SPEC, i), 10 + i / 3));
+    }
+    files.add(dataFile(UNPARTITIONED, 20));
+    files.add(WrapFileWithSequenceNumberHelper.wrap(FileMetadata.deleteFileBuilder(DAY_SPEC)
+        .ofEqualityDeletes(1, 2)
+        .withPath("/warehouse/db/table/data/op_time_day=2022-01-01/name=a/eq-delete.parquet")
+        .withPartitionPath("op_time_day=2022-01-01/name=a")
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(100)
+        .withRecordCount(3)
+        .build(), 5));
+    files.add(WrapFileWithSequenceNumberHelper.wrap(FileMetadata.deleteFileBuilder(UNPARTITIONED)
+        .ofPositionDeletes()
+        .withPath("/warehouse/db/table/data/pos-delete.avro")
+        .withFormat(FileFormat.AVRO)
+        .withFileSizeInBytes(50)
+        .withRecordCount(2)
+        .build(), 3));
+
+    List<ByteBuffer> encoded = ContentFilesCodec.encode(files, ContentFilesCodec.COMPACT_ENCODING, SPECS);
+    Assert.assertTrue(ContentFilesCodec.isCompact(encoded));
+    List<ContentFile<?>> decoded = ContentFilesCodec.decode(encoded, SPECS);
+    Assert.assertEquals(files.size(), decoded.size());
+    for (int i = 0; i < files.size(); i++) {
+      assertFileEquals(files.get(i), decoded.get(i));
+    }
+  }
+
+  @Test
+  public void testSortOrderIds() {
+    SortOrder sortOrder = SortOrder.builderFor(SCHEMA).withOrderId(3).desc("op_time").asc("name").build();
+    List<ContentFile<?>> files = Lists.newArrayList(
+        dataFile(DAY_SPEC, 1),
+        DataFiles.builder(DAY_SPEC).copy(dataFile(DAY_SPEC, 2)).withSortOrder(SortOrder.unsorted()).build(),
+        DataFiles.builder(DAY_SPEC).copy(dataFile(DAY_SPEC, 3)).withSortOrder(sortOrder).build(),
+        DataFiles.builder(UNPARTITIONED).copy(dataFile(UNPARTITIONED, 4)).withSortOrder(sortOrder).build());
+
+    List<ContentFile<?>> decoded = ContentFilesCodec.decode(
+        ContentFilesCodec.encode(files, ContentFilesCodec.COMPACT_ENCODING, SPECS), SPECS);
+    Assert.assertEquals(files.get(0).sortOrderId(), decoded.get(0).sortOrderId());
+    Assert.assertEquals(0, decoded.get(1).sortOrderId().intValue());
+    Assert.assertEquals(3, decoded.get(2).sortOrderId().intValue());
+    Assert.assertEquals(3, decoded.get(3).sortOrderId().intValue());
+  }
+
+  @Test
+  public void testJavaEncoding() {
+    List<ContentFile<?>> files = Lists.newArrayList(
+        WrapFileWithSequenceNumberHelper.wrap(dataFile(DAY_SPEC, 1), 1),
+        WrapFileWithSequenceNumberHelper.wrap(dataFile(DAY_SPEC, 2), 2));
+    List<ByteBuffer> encoded = ContentFilesCodec.encode(files, ContentFilesCodec.JAVA_ENCODING, SPECS);
+    Assert.assertEquals(2, encoded.size());
+    Assert.assertFalse(ContentFilesCodec.isCompact(encoded));
+    List<ContentFile<?>> decoded = ContentFilesCodec.decode(encoded, SPECS);
+    for (int i = 0; i < files.size(); i++) {
+      assertFileEquals(files.get(i), decoded.get(i));
+    }
+    // unknown encodings fall back to java serialization
+    Assert.assertFalse(ContentFilesCodec.isCompact(ContentFilesCodec.encode(files, null, SPECS)));
+  }
+
+  @Test
+  public void testCompactIsSmaller() {
+    List<ContentFile<?>> files = Lists.newArrayList();
+    for (int i = 0; i < 100; i++) {
+      files.add(WrapFileWithSequenceNumberHelper.wrap(dataFile(DAY_SPEC, i), 100 + i));
+    }
+    int javaSize = ContentFilesCodec.encode(files, ContentFilesCodec.JAVA_ENCODING, SPECS).stream()
+        .mapToInt(ByteBuffer::remaining).sum();
+    int compactSize = ContentFilesCodec.encode(files, ContentFilesCodec.COMPACT_ENCODING, SPECS).get(0).remaining();
+    Assert.assertTrue(compactSize * 10 < javaSize);
+  }
+
+  @Test
+  public void testMergeSpecs() {
+    PartitionSpec changeDaySpec = PartitionSpec.builderFor(SCHEMA).withSpecId(1)
+        .day("op_time").identity("name").build();
+    Map<Integer, PartitionSpec> specs = ContentFilesCodec.mergeSpecs(
+        ImmutableMap.of(0, UNPARTITIONED), ImmutableMap.of(0, UNPARTITIONED, 1, changeDaySpec));
+    Assert.assertEquals(2, specs.size());
+    Assert.assertTrue(specs.get(1).compatibleWith(DAY_SPEC));
+
+    PartitionSpec changeIdentitySpec = PartitionSpec.builderFor(SCHEMA).withSpecId(1).identity("id").build();
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> ContentFilesCodec.mergeSpecs(SPECS, ImmutableMap.of(1, changeIdentitySpec)));
+  }
+
+  @Test
+  public void testSupportsCompact() {
+    Assert.assertTrue(ContentFilesCodec.supportsCompact(ContentFilesCodec.COMPACT_ENCODING));
+    Assert.assertTrue(ContentFilesCodec.supportsCompact("java, " + ContentFilesCodec.COMPACT_ENCODING));
+    Assert.assertFalse(ContentFilesCodec.supportsCompact(ContentFilesCodec.JAVA_ENCODING));
+    Assert.assertFalse(ContentFilesCodec.supportsCompact(null));
+  }
+
+  private static DataFile dataFile(PartitionSpec spec, int i) {
+    DataFiles.Builder builder = DataFiles.builder(spec)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(1000 + i)
+        .withSplitOffsets(Lists.newArrayList(4L))
+        .withMetrics(new Metrics(10L + i,
+            ImmutableMap.of(1, 40L, 2, 80L),
+            ImmutableMap.of(1, 10L + i, 2, 10L + i),
+            ImmutableMap.of(1, 0L, 2, 1L),
+            null,
+            ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), i)),
+            ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), i + 10))));
+    if (spec.isPartitioned()) {
+      String partitionPath = "op_time_day=2022-01-0" + (i % 3 + 1) + "/name=" + (char) ('a' + i % 2);
+      builder.withPartitionPath(partitionPath)
+          .withPath("/warehouse/db/table/data/" + partitionPath + "/" + i + "-B-" + i + "-00000-0-0.parquet");
+    } else {
+      builder.withPath("/warehouse/db/table/data/" + i + "-B-" + i + "-00000-0-0.parquet");
+    }
+    return builder.build();
+  }
+
+  private static void assertFileEquals(ContentFile<?> expected, ContentFile<?> actual) {
+    Assert.assertEquals(expected.content(), actual.content());
+    Assert.assertEquals(expected.path().toString(), actual.path().toString());
+    Assert.assertEquals(expected.format(), actual.format());
+    Assert.assertEquals(expected.specId(), actual.specId());
+    Assert.assertEquals(expected.partition().size(), actual.partition().size());
+    for (int i = 0; i < expected.partition().size(); i++) {
+      Assert.assertEquals(expected.partition().get(i, Object.class), actual.partition().get(i, Object.class));
+    }
+    Assert.assertEquals(expected.recordCount(), actual.recordCount());
+    Assert.assertEquals(expected.fileSizeInBytes(), actual.fileSizeInBytes());
+    Assert.assertEquals(expected.columnSizes(), actual.columnSizes());
+    Assert.assertEquals(expected.valueCounts(), actual.valueCounts());
+    Assert.assertEquals(expected.nullValueCounts(), actual.nullValueCounts());
+    Assert.assertEquals(expected.nanValueCounts(), actual.nanValueCounts());
+    Assert.assertEquals(expected.lowerBounds(), actual.lowerBounds());
+    Assert.assertEquals(expected.upperBounds(), actual.upperBounds());
+    Assert.assertEquals(expected.splitOffsets(), actual.splitOffsets());
+    Assert.assertEquals(expected.equalityFieldIds(), actual.equalityFieldIds());
+    Assert.assertEquals(expected.sortOrderId(), actual.sortOrderId());
+    Assert.assertEquals(expected instanceof ContentFileWithSequence, actual instanceof ContentFileWithSequence);
+    if (expected instanceof ContentFileWithSequence) {
+      Assert.assertEquals(((ContentFileWithSequence<?>) expected).getSequenceNumber(),
+          ((ContentFileWithSequence<?>) actual).getSequenceNumber());
+    }
+  }
+}
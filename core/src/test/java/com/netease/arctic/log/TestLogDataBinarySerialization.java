@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.utils.IdGenerator;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestLogDataBinarySerialization extends FormatTestBase {
+
+  @Test
+  public void testLogDataSerialize() throws IOException {
+    LogData<UserPojo> logData = createLogData(FormatVersion.FORMAT_VERSION_V2, false);
+
+    LogDataSerialization<UserPojo> serialization =
+        LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory);
+    Assert.assertTrue(serialization instanceof LogDataBinarySerialization);
+    byte[] bytes = serialization.serialize(logData);
+    assertArrayEquals(FormatVersion.FORMAT_VERSION_V2.asBytes(), Bytes.subByte(bytes, 0, 4));
+
+    byte[] jsonBytes = new LogDataJsonSerialization<>(userSchema, fieldGetterFactory).serialize(logData);
+    Assert.assertTrue(bytes.length < jsonBytes.length);
+
+    LogDataBinaryDeserialization<UserPojo> deserialization =
+        new LogDataBinaryDeserialization<>(userSchema, factory, arrayFactory, mapFactory);
+    check(logData, deserialization.deserialize(bytes));
+    // the buffer is reused by the following messages
+    check(logData, deserialization.deserialize(serialization.serialize(logData)));
+  }
+
+  @Test
+  public void testDeserializeMixedVersions() throws IOException {
+    LogDataDeserialization<UserPojo> deserialization =
+        LogDataDeserialization.create(userSchema, factory, arrayFactory, mapFactory);
+
+    byte[] jsonBytes = new LogDataJsonSerialization<>(userSchema, fieldGetterFactory)
+        .serialize(createLogData(FormatVersion.FORMAT_VERSION_V1, false));
+    byte[] binaryBytes = new LogDataBinarySerialization<>(userSchema, fieldGetterFactory)
+        .serialize(createLogData(FormatVersion.FORMAT_VERSION_V2, false));
+    assertEquals(
+        deserialization.deserialize(jsonBytes).getActualValue().toString(),
+        deserialization.deserialize(binaryBytes).getActualValue().toString());
+
+    LogData<UserPojo> flip = createLogData(FormatVersion.FORMAT_VERSION_V2, true);
+    LogData<UserPojo> result = deserialization.deserialize(
+        new LogDataBinarySerialization<>(userSchema, fieldGetterFactory).serialize(flip));
+    Assert.assertTrue(result.getFlip());
+    assertNull(result.getActualValue());
+  }
+
+  @Test
+  public void testDeserializeWithEvolvedSchema() throws IOException {
+    Schema writeSchema = new Schema(
+        Types.NestedField.optional(1, "f_int", Types.IntegerType.get()),
+        Types.NestedField.optional(2, "f_float", Types.FloatType.get()),
+        Types.NestedField.optional(3, "f_dropped", Types.StringType.get()));
+    Schema readSchema = new Schema(
+        Types.NestedField.optional(4, "f_added", Types.StringType.get()),
+        Types.NestedField.optional(2, "f_float", Types.DoubleType.get()),
+        Types.NestedField.optional(1, "f_int", Types.LongType.get()));
+    UserPojo userPojo = new UserPojo();
+    userPojo.objects = new Object[] {-1, 1.5f, "dropped"};
+    LogData<UserPojo> logData = new LogDataUser(
+        FormatVersion.FORMAT_VERSION_V2.asBytes(),
+        IdGenerator.generateUpstreamId(),
+        1L,
+        false,
+        ChangeAction.INSERT,
+        userPojo);
+
+    byte[] bytes = new LogDataBinarySerialization<>(writeSchema, fieldGetterFactory).serialize(logData);
+    LogData<UserPojo> result =
+        new LogDataBinaryDeserialization<>(readSchema, factory, arrayFactory, mapFactory).deserialize(bytes);
+    assertEquals("UserPojo = [null, 1.5, -1]", result.getActualValue().toString());
+  }
+
+  private LogData<UserPojo> createLogData(FormatVersion version, boolean flip) {
+    UserPojo subUserPojo = new UserPojo();
+    subUserPojo.objects = new Object[] {false, 2, 987654321L};
+    UserPojo userPojo = new UserPojo();
+    userPojo.objects = new Object[] {
+        true,
+        -1,
+        123456789L,
+        subUserPojo,
+        123.45f, 123.456789d,
+        (int) LocalDate.of(2022, 11, 11).toEpochDay(),
+        LocalTime.of(13, 23, 23, 98766545).toNanoOfDay(),
+        LocalDateTime.of(2022, 12, 12, 13, 14, 14, 987654234),
+        Instant.parse("2022-12-13T13:33:44.98765432Z"),
+        "ssss_string",
+        new byte[] {1},
+        new byte[] {'1'},
+        new byte[] {2},
+        new BigDecimal("111.11111"),
+        new GenericArrayData(new Long[] {123L, 234L, null, 345L}, 4, false),
+        new GenericArrayData(new Integer[] {123, 234, 0, 345}, 4, false),
+        new GenericArrayData(new UserPojo[] {subUserPojo}, 1, false),
+        new GenericMapData(new HashMap<Long, String>() {
+          {
+            put(1123L, "Str_123");
+            put(1124L, "Str_123");
+          }
+        })
+    };
+    return new LogDataUser(
+        version.asBytes(),
+        IdGenerator.generateUpstreamId(),
+        123455L,
+        flip,
+        ChangeAction.INSERT,
+        flip ? null : userPojo
+    );
+  }
+
+  private void check(LogData<UserPojo> expected, LogData<UserPojo> actual) {
+    assertArrayEquals(expected.getVersionBytes(), actual.getVersionBytes());
+    assertArrayEquals(expected.getUpstreamIdBytes(), actual.getUpstreamIdBytes());
+    assertEquals(expected.getEpicNo(), actual.getEpicNo());
+    assertEquals(expected.getFlip(), actual.getFlip());
+    assertEquals(expected.getChangeActionByte(), actual.getChangeActionByte());
+    assertEquals(expected.getActualValue().toString(), actual.getActualValue().toString());
+  }
+}
@@ -23,11 +23,16 @@ import com.netease.arctic.data.file.FileNameGenerator;
 import com.netease.arctic.io.TableDataTestBase;
 import com.netease.arctic.utils.ArcticDataFiles;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.StructLikeMap;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class TestChangeTableBasicIncrementalScan extends TableDataTestBase {
 
   @Test
@@ -39,6 +44,33 @@ public class TestChangeTableBasicIncrementalScan extends TableDataTestBase {
     assertFiles(files, 3, 1, 2);
   }
 
+  @Test
+  public void testIncrementalScanWithExecutor() {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      ChangeTableIncrementalScan changeTableIncrementalScan =
+          getArcticTable().asKeyedTable().changeTable().newChangeScan();
+      changeTableIncrementalScan.planWith(executorService);
+      CloseableIterable<ContentFileWithSequence<?>> files = changeTableIncrementalScan.planFilesWithSequence();
+
+      assertFiles(files, 3, 1, 2);
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  public void testIncrementalScanProjection() {
+    TableScan scan = getArcticTable().asKeyedTable().changeTable().newChangeScan()
+        .caseSensitive(false)
+        .select(Collections.singletonList("ID"))
+        .ignoreResiduals();
+
+    Assert.assertFalse(scan.isCaseSensitive());
+    Assert.assertEquals(1, scan.schema().columns().size());
+    Assert.assertEquals("id", scan.schema().columns().get(0).name());
+  }
+
   @Test
   public void testIncrementalScanFrom() {
     StructLikeMap<Long> fromSequence = StructLikeMap.create(getArcticTable().spec().partitionType());
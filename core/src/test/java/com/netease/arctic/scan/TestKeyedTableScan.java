@@ -34,7 +34,13 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 public class TestKeyedTableScan extends TableDataTestBase {
 
@@ -46,8 +52,54 @@ public class TestKeyedTableScan extends TableDataTestBase {
     assertFileCount(6, 2, 1);
   }
 
+  @Test
+  public void testScanWithExecutor() throws IOException {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      writeInsertFileIntoBaseStore();
+      assertFileCount(getArcticTable().asKeyedTable().newScan().planWith(executorService), 6, 2, 1);
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  public void testPlanNodeTasks() throws IOException {
+    writeInsertFileIntoBaseStore();
+    Map<String, Set<String>> deletesOfFiles = new HashMap<>();
+    try (CloseableIterable<CombinedScanTask> combinedScanTasks = getArcticTable().asKeyedTable().newScan()
+        .planTasks()) {
+      combinedScanTasks.forEach(combinedScanTask -> combinedScanTask.tasks().forEach(task ->
+          deletesOfFiles.putAll(deletesOfFiles(task))));
+    }
+
+    Map<String, Set<String>> lazyDeletesOfFiles = new HashMap<>();
+    try (CloseableIterable<NodeFileScanTask> nodeTasks = getArcticTable().asKeyedTable().newScan()
+        .planNodeTasks()) {
+      nodeTasks.forEach(task -> deletesOfFiles(task).forEach((path, deletes) ->
+          Assert.assertNull("file is planned twice", lazyDeletesOfFiles.put(path, deletes))));
+    }
+    // every data file is planned with the same equality deletes
+    Assert.assertEquals(8, deletesOfFiles.size());
+    Assert.assertEquals(deletesOfFiles, lazyDeletesOfFiles);
+  }
+
+  private static Map<String, Set<String>> deletesOfFiles(KeyedTableScanTask task) {
+    Set<String> deletes = task.arcticEquityDeletes().stream()
+        .map(deleteTask -> deleteTask.file().path().toString())
+        .collect(Collectors.toSet());
+    Map<String, Set<String>> deletesOfFiles = new HashMap<>();
+    task.dataTasks().forEach(dataTask -> deletesOfFiles.put(dataTask.file().path().toString(), deletes));
+    return deletesOfFiles;
+  }
+
   private void assertFileCount(int baseFileCnt, int insertFileCnt, int equDeleteFileCnt) throws IOException {
-    CloseableIterable<CombinedScanTask> combinedScanTasks = getArcticTable().asKeyedTable().newScan().planTasks();
+    assertFileCount(getArcticTable().asKeyedTable().newScan(), baseFileCnt, insertFileCnt, equDeleteFileCnt);
+  }
+
+  private void assertFileCount(
+      KeyedTableScan scan, int baseFileCnt, int insertFileCnt, int equDeleteFileCnt) throws IOException {
+    CloseableIterable<CombinedScanTask> combinedScanTasks = scan.planTasks();
     final List<ArcticFileScanTask> allBaseTasks = new ArrayList<>();
     final List<ArcticFileScanTask> allInsertTasks = new ArrayList<>();
     final List<ArcticFileScanTask> allEquDeleteTasks = new ArrayList<>();
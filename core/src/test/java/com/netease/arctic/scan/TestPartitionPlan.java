@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.scan;
+
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compare node planning of a partition with the pairwise planning it replaced, on synthetic files spread over
+ * nodes of different masks. The time of both is logged as a planning benchmark.
+ */
+public class TestPartitionPlan {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TestPartitionPlan.class);
+
+  @Test
+  public void testDeletesOfAncestorsAndDescendants() {
+    List<ArcticFileScanTask> tasks = Lists.newArrayList(
+        baseTask(DataTreeNode.of(1, 0), 1),
+        baseTask(DataTreeNode.of(3, 1), 2),
+        deleteTask(DataTreeNode.of(0, 0), 3),
+        deleteTask(DataTreeNode.of(3, 0), 4),
+        deleteTask(DataTreeNode.of(7, 6), 5),
+        deleteTask(DataTreeNode.of(7, 5), 6));
+    Map<DataTreeNode, Set<Long>> deletes = deletesOfNodes(BasicKeyedTableScan.partitionPlan(tasks));
+
+    Assert.assertEquals(2, deletes.size());
+    // node (1, 0) covers (3, 0), (7, 6) but not (7, 5)
+    Assert.assertEquals(transactionIds(3, 4, 5), deletes.get(DataTreeNode.of(1, 0)));
+    Assert.assertEquals(transactionIds(3, 6), deletes.get(DataTreeNode.of(3, 1)));
+  }
+
+  @Test
+  public void testSameAsPairwisePlan() {
+    Random random = new Random(0);
+    List<ArcticFileScanTask> tasks = Lists.newArrayList();
+    for (int i = 0; i < 2000; i++) {
+      long mask = (1L << random.nextInt(8)) - 1;
+      DataTreeNode node = DataTreeNode.of(mask, (long) random.nextInt((int) mask + 1));
+      tasks.add(random.nextInt(3) == 0 ? deleteTask(node, i + 1) : baseTask(node, i + 1));
+    }
+
+    long start = System.nanoTime();
+    Map<DataTreeNode, Set<Long>> expected = deletesOfNodes(pairwisePlan(tasks));
+    long pairwiseNanos = System.nanoTime() - start;
+    start = System.nanoTime();
+    Map<DataTreeNode, Set<Long>> actual = deletesOfNodes(BasicKeyedTableScan.partitionPlan(tasks));
+    long indexedNanos = System.nanoTime() - start;
+    LOG.info("plan {} files of partition, pairwise {} ms, indexed {} ms",
+        tasks.size(), pairwiseNanos / 1_000_000, indexedNanos / 1_000_000);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  /**
+   * The planning of nodes before deletes were indexed, comparing every pair of nodes.
+   */
+  private static List<NodeFileScanTask> pairwisePlan(List<ArcticFileScanTask> tasks) {
+    Map<DataTreeNode, NodeFileScanTask> nodeTasks = new HashMap<>();
+    tasks.forEach(task -> nodeTasks.computeIfAbsent(task.file().node(), NodeFileScanTask::new).addFile(task));
+    Map<DataTreeNode, List<ArcticFileScanTask>> nodeDeletes = Maps.newHashMap();
+    nodeTasks.forEach((node, task) -> nodeDeletes.put(node, Lists.newArrayList(task.arcticEquityDeletes())));
+
+    List<NodeFileScanTask> result = Lists.newArrayList();
+    nodeTasks.forEach((node, task) -> {
+      if (!task.isDataNode()) {
+        return;
+      }
+      nodeDeletes.forEach((node1, deletes) -> {
+        if (!node1.equals(node) && (node1.isSonOf(node) || node.isSonOf(node1))) {
+          task.addTasks(deletes);
+        }
+      });
+      result.add(task);
+    });
+    return result;
+  }
+
+  private static Map<DataTreeNode, Set<Long>> deletesOfNodes(List<NodeFileScanTask> nodeTasks) {
+    Map<DataTreeNode, Set<Long>> deletes = Maps.newHashMap();
+    nodeTasks.forEach(task -> deletes.put(task.treeNode(), task.arcticEquityDeletes().stream()
+        .map(delete -> delete.file().transactionId()).collect(Collectors.toSet())));
+    return deletes;
+  }
+
+  private static Set<Long> transactionIds(long... transactionIds) {
+    return Arrays.stream(transactionIds).boxed().collect(Collectors.toSet());
+  }
+
+  private static ArcticFileScanTask baseTask(DataTreeNode node, long transactionId) {
+    return new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseBase(dataFile(node, "B", transactionId)), null, PartitionSpec.unpartitioned());
+  }
+
+  private static ArcticFileScanTask deleteTask(DataTreeNode node, long transactionId) {
+    return new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseChange(dataFile(node, "ED", transactionId), transactionId), null,
+        PartitionSpec.unpartitioned());
+  }
+
+  private static DataFile dataFile(DataTreeNode node, String type, long transactionId) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath(String.format("/table/%d-%s-%d-00000-0-%010d.parquet",
+            node.getId(), type, transactionId, transactionId))
+        .withFileSizeInBytes(10)
+        .withRecordCount(2)
+        .build();
+  }
+}
@@ -42,6 +42,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class TestTableEntriesScan extends TableDataTestBase {
 
@@ -143,6 +145,29 @@ public class TestTableEntriesScan extends TableDataTestBase {
     Assert.assertEquals(2, cnt);
   }
 
+  @Test
+  public void testScanEntriesWithExecutor() {
+    Table changeTable = getArcticTable().asKeyedTable().changeTable();
+    Map<String, Entry> expectedEntries = getExpectedCurrentEntries(changeTable);
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      TableEntriesScan dataFileScan = TableEntriesScan.builder(changeTable)
+          .includeFileContent(FileContent.DATA)
+          .planWith(executorService)
+          .build();
+      int cnt = 0;
+      for (IcebergFileEntry entry : dataFileScan.entries()) {
+        cnt++;
+        assertEntry(expectedEntries, entry);
+        // column stats are not read if not needed
+        Assert.assertNull(entry.getFile().lowerBounds());
+      }
+      Assert.assertEquals(3, cnt);
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
   private List<DataFile> writeIntoBase() throws IOException {
     long transactionId = getArcticTable().asKeyedTable().beginTransaction("");
     GenericBaseTaskWriter writer = GenericTaskWriters.builderFor(getArcticTable().asKeyedTable())
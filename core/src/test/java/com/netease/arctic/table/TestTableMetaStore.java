@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.table;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestTableMetaStore {
+
+  private static final int THREADS = 8;
+
+  private TableMetaStore metaStore;
+  private UserGroupInformation ugi;
+
+  @Before
+  public void initMetaStore() throws Exception {
+    metaStore = TableMetaStore.builder()
+        .withKrbAuth(new byte[0], new byte[0], "test@EXAMPLE.COM")
+        .withConfiguration(new Configuration())
+        .buildForTest();
+    // a logged in kerberos ugi, which is not checked by callers until the next re-login check time
+    ugi = UserGroupInformation.createRemoteUser("test");
+    setField("ugi", ugi);
+    setField("nextReloginCheckTime", System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10));
+  }
+
+  @Test
+  public void testDoAsDuringRelogin() throws Exception {
+    CountDownLatch reloginStarted = new CountDownLatch(1);
+    CountDownLatch doAsFinished = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // re-login holds the monitor of the meta store until doAs finishes
+      Future<?> relogin = executor.submit(() -> {
+        synchronized (metaStore) {
+          reloginStarted.countDown();
+          doAsFinished.await();
+        }
+        return null;
+      });
+      reloginStarted.await();
+
+      Future<String> doAs = executor.submit(() -> metaStore.doAs(
+          () -> UserGroupInformation.getCurrentUser().getUserName()));
+      Assert.assertEquals("test", doAs.get(10, TimeUnit.SECONDS));
+      Assert.assertSame(ugi, metaStore.getUGI());
+      doAsFinished.countDown();
+      relogin.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDoAsThroughputDuringRelogin() throws Exception {
+    // doAs of the meta store against doAs serialized by the monitor, as it was before reading the ugi without locks
+    long lockFreeCalls = doAsCalls(false);
+    long lockedCalls = doAsCalls(true);
+    Assert.assertTrue("lock free calls " + lockFreeCalls + " should be more than locked calls " + lockedCalls,
+        lockFreeCalls > lockedCalls);
+  }
+
+  /**
+   * Number of doAs calls of several threads in a second, while a re-login holds the monitor half of the time.
+   */
+  private long doAsCalls(boolean locked) throws Exception {
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicLong calls = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> {
+        while (running.get()) {
+          synchronized (metaStore) {
+            Thread.sleep(10);
+          }
+          Thread.sleep(10);
+        }
+        return null;
+      }));
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          while (running.get()) {
+            if (locked) {
+              synchronized (metaStore) {
+                metaStore.doAs(() -> fileSystemCall(calls));
+              }
+            } else {
+              metaStore.doAs(() -> fileSystemCall(calls));
+            }
+          }
+          return null;
+        }));
+      }
+      Thread.sleep(1000);
+      running.set(false);
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return calls.get();
+  }
+
+  private static long fileSystemCall(AtomicLong calls) throws InterruptedException {
+    // a call to the file system in doAs takes about a millisecond
+    Thread.sleep(1);
+    return calls.incrementAndGet();
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = TableMetaStore.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(metaStore, value);
+  }
+}
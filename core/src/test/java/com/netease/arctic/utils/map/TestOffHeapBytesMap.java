@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+public class TestOffHeapBytesMap {
+
+  @Test
+  public void testPutGetDelete() {
+    OffHeapBytesMap map = new OffHeapBytesMap();
+    Map<String, byte[]> expected = Maps.newHashMap();
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      String key = "key-" + random.nextInt(10000);
+      if (random.nextInt(4) == 0) {
+        Assert.assertEquals(expected.remove(key) != null, map.delete(bytes(key)));
+      } else {
+        byte[] value = new byte[random.nextInt(16)];
+        random.nextBytes(value);
+        Assert.assertTrue(map.tryPut(bytes(key), value, Long.MAX_VALUE));
+        expected.put(key, value);
+      }
+    }
+
+    Assert.assertEquals(expected.size(), map.size());
+    for (int i = 0; i < 10000; i++) {
+      String key = "key-" + i;
+      Assert.assertArrayEquals(expected.get(key), map.get(bytes(key)));
+      Assert.assertEquals(expected.containsKey(key), map.containsKey(bytes(key)));
+    }
+    map.close();
+    Assert.assertEquals(0, map.sizeInBytes());
+    Assert.assertNull(map.get(bytes("key-0")));
+  }
+
+  @Test
+  public void testSizeLimit() {
+    long limit = 64 * 1024;
+    OffHeapBytesMap map = new OffHeapBytesMap();
+    int count = 0;
+    while (map.tryPut(bytes("key-" + count), new byte[8], limit)) {
+      Assert.assertTrue(map.sizeInBytes() <= limit);
+      count++;
+    }
+    Assert.assertEquals(count, map.size());
+    Assert.assertTrue(count > 0);
+    // replacing a value of the same length does not allocate
+    long sizeInBytes = map.sizeInBytes();
+    Assert.assertTrue(map.tryPut(bytes("key-0"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, limit));
+    Assert.assertEquals(sizeInBytes, map.sizeInBytes());
+    Assert.assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, map.get(bytes("key-0")));
+    Assert.assertFalse(map.tryPut(bytes("key-" + count), new byte[8], limit));
+    Assert.assertNull(map.get(bytes("key-" + count)));
+  }
+
+  @Test
+  public void testReclaimReplacedAndRemoved() {
+    long limit = 64 * 1024;
+    OffHeapBytesMap map = new OffHeapBytesMap();
+    Map<String, byte[]> expected = Maps.newHashMap();
+    Random random = new Random(0);
+    // the records of replaced and removed values add up to many times the limit
+    for (int i = 0; i < 100000; i++) {
+      String key = "key-" + random.nextInt(100);
+      if (random.nextInt(4) == 0) {
+        Assert.assertEquals(expected.remove(key) != null, map.delete(bytes(key)));
+      } else {
+        byte[] value = new byte[100 + random.nextInt(16)];
+        random.nextBytes(value);
+        Assert.assertTrue(map.tryPut(bytes(key), value, limit));
+        expected.put(key, value);
+      }
+      Assert.assertTrue(map.sizeInBytes() <= limit);
+    }
+
+    Assert.assertEquals(expected.size(), map.size());
+    for (int i = 0; i < 100; i++) {
+      String key = "key-" + i;
+      Assert.assertArrayEquals(expected.get(key), map.get(bytes(key)));
+    }
+    Assert.assertTrue(map.garbageBytes() < map.sizeInBytes());
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
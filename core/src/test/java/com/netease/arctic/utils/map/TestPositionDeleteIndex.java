@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+@RunWith(Parameterized.class)
+public class TestPositionDeleteIndex {
+
+  private static final String FILE_A = "hdfs://arctic/table/data/file-a.parquet";
+  private static final String FILE_B = "hdfs://arctic/table/data/file-b.parquet";
+  private static final String FILE_C = "hdfs://arctic/table/data/file-c.parquet";
+
+  private final PositionDeleteIndex.Type type;
+
+  public TestPositionDeleteIndex(PositionDeleteIndex.Type type) {
+    this.type = type;
+  }
+
+  @Parameterized.Parameters(name = "type = {0}")
+  public static Object[] parameters() {
+    return PositionDeleteIndex.Type.values();
+  }
+
+  @Test
+  public void testDeleteAndLookup() {
+    PositionDeleteIndex index = PositionDeleteIndex.create(type, Lists.newArrayList(FILE_A, FILE_B));
+    Assert.assertTrue(index.isEmpty());
+
+    Random random = new Random(0);
+    Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 10000; i++) {
+      long pos = random.nextInt(100000);
+      expected.add(pos);
+      index.delete(FILE_A, pos);
+    }
+    // positions beyond the int range
+    index.delete(FILE_A, Integer.MAX_VALUE + 10L);
+    expected.add(Integer.MAX_VALUE + 10L);
+
+    for (long pos = 0; pos < 100000; pos++) {
+      Assert.assertEquals(expected.contains(pos), index.isDeleted(FILE_A, pos));
+    }
+    Assert.assertTrue(index.isDeleted(FILE_A, Integer.MAX_VALUE + 10L));
+    Assert.assertNull(index.positions(FILE_B));
+    Assert.assertFalse(index.isDeleted(FILE_B, 0));
+  }
+
+  @Test
+  public void testIgnoreUnknownDataFile() {
+    PositionDeleteIndex index = PositionDeleteIndex.create(type, Lists.newArrayList(FILE_A));
+    index.delete(FILE_C, 1);
+    Assert.assertTrue(index.isEmpty());
+    Assert.assertFalse(index.isDeleted(FILE_C, 1));
+  }
+
+  @Test
+  public void testDeleteAfterLookup() {
+    PositionDeleteIndex index = PositionDeleteIndex.create(type, Lists.newArrayList(FILE_A));
+    index.delete(new StringBuilder(FILE_A), 10);
+    Assert.assertTrue(index.isDeleted(FILE_A, 10));
+    List<Long> positions = Lists.newArrayList(7L, 3L, 10L, 5L);
+    positions.forEach(pos -> index.delete(FILE_A, pos));
+    for (long pos = 0; pos < 12; pos++) {
+      Assert.assertEquals(positions.contains(pos), index.isDeleted(FILE_A, pos));
+    }
+  }
+
+  @Test
+  public void testSizeInBytes() {
+    PositionDeleteIndex index = PositionDeleteIndex.create(type, Lists.newArrayList(FILE_A, FILE_B));
+    Assert.assertEquals(0, index.sizeInBytes());
+    for (long pos = 0; pos < 1000; pos++) {
+      index.delete(FILE_A, pos);
+    }
+    long sizeOfOneFile = index.sizeInBytes();
+    Assert.assertTrue(sizeOfOneFile > 0);
+    for (long pos = 0; pos < 1000; pos++) {
+      index.delete(FILE_B, pos);
+    }
+    Assert.assertEquals(2 * sizeOfOneFile, index.sizeInBytes());
+  }
+
+  @Test
+  public void testTypeFromName() {
+    Assert.assertEquals(PositionDeleteIndex.Type.BITMAP, PositionDeleteIndex.Type.fromName("bitmap"));
+    Assert.assertEquals(PositionDeleteIndex.Type.SORTED_ARRAY, PositionDeleteIndex.Type.fromName("sorted-array"));
+    Assert.assertEquals(PositionDeleteIndex.Type.HASH_SET, PositionDeleteIndex.Type.fromName("HASH_SET"));
+    Assert.assertThrows(IllegalArgumentException.class, () -> PositionDeleteIndex.Type.fromName("unknown"));
+  }
+}
@@ -6,11 +6,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public class TestRocksDBBackend {
 
@@ -85,6 +87,72 @@ public class TestRocksDBBackend {
     rocksDBBackend.dropColumnFamily(CF_NAME);
   }
 
+  @Test
+  public void testPrefixIterator() {
+    RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
+    rocksDBBackend.addColumnFamily(CF_NAME);
+    rocksDBBackend.put(CF_NAME, "a1".getBytes(), "v1".getBytes());
+    rocksDBBackend.put(CF_NAME, "b1".getBytes(), "v2".getBytes());
+    rocksDBBackend.put(CF_NAME, "b2".getBytes(), "v3".getBytes());
+    rocksDBBackend.put(CF_NAME, "c1".getBytes(), "v4".getBytes());
+    Iterator<byte[]> values = rocksDBBackend.values(CF_NAME, "b".getBytes());
+    List<String> valueList = new ArrayList<>();
+    values.forEachRemaining(value -> valueList.add(new String(value)));
+    Assert.assertEquals(Arrays.asList("v2", "v3"), valueList);
+    rocksDBBackend.dropColumnFamily(CF_NAME);
+  }
+
+  @Test
+  public void testSharedInstanceAndMetrics() throws Exception {
+    RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
+    RocksDBBackend[] otherThreadBackend = new RocksDBBackend[1];
+    Thread thread = new Thread(() -> otherThreadBackend[0] = RocksDBBackend.getOrCreateInstance());
+    thread.start();
+    thread.join();
+    Assert.assertSame(rocksDBBackend, otherThreadBackend[0]);
+
+    rocksDBBackend.addColumnFamily(CF_NAME);
+    long bytesWritten = RocksDBBackend.allMetrics().get(RocksDBBackend.METRIC_BYTES_WRITTEN);
+    rocksDBBackend.put(CF_NAME, "key".getBytes(), "value".getBytes());
+    Map<String, Long> metrics = RocksDBBackend.allMetrics();
+    Assert.assertEquals(bytesWritten + 5, (long) metrics.get(RocksDBBackend.METRIC_BYTES_WRITTEN));
+    Assert.assertTrue(metrics.get(RocksDBBackend.METRIC_COLUMN_FAMILIES) >= 2);
+    Assert.assertTrue(metrics.containsKey(RocksDBBackend.METRIC_BLOCK_CACHE_HIT));
+    Assert.assertTrue(metrics.containsKey(RocksDBBackend.METRIC_STALL_MICROS));
+    rocksDBBackend.dropColumnFamily(CF_NAME);
+  }
+
+  @Test
+  public void testBoundMemtablesOfColumnFamilies() throws Exception {
+    long megabytes = 1024 * 1024;
+    RocksDBBackend.configure(new RocksDBBackend.SpillConfig(megabytes, megabytes, megabytes, 0));
+    File baseDir = Files.createTempDirectory("test-rocksdb").toFile();
+    RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance(baseDir.getAbsolutePath());
+    try {
+      // every column family stays below its own write buffer size, only the shared write buffer size flushes them
+      byte[] value = new byte[1024];
+      for (int cf = 0; cf < 8; cf++) {
+        rocksDBBackend.addColumnFamily(CF_NAME + cf);
+        for (int i = 0; i < 800; i++) {
+          rocksDBBackend.put(CF_NAME + cf, (cf + "-" + i).getBytes(), value);
+        }
+      }
+      long memtableSize = Long.MAX_VALUE;
+      for (int retry = 0; retry < 50 && memtableSize > 3 * megabytes; retry++) {
+        Thread.sleep(100);
+        memtableSize = rocksDBBackend.metrics().get(RocksDBBackend.METRIC_MEMTABLE_SIZE);
+      }
+      Assert.assertTrue("memtables take " + memtableSize + " bytes", memtableSize <= 3 * megabytes);
+      for (int cf = 0; cf < 8; cf++) {
+        Assert.assertArrayEquals(value, rocksDBBackend.get(CF_NAME + cf, (cf + "-0").getBytes()));
+        rocksDBBackend.dropColumnFamily(CF_NAME + cf);
+      }
+    } finally {
+      rocksDBBackend.close();
+      RocksDBBackend.configure(RocksDBBackend.SpillConfig.DEFAULT);
+    }
+  }
+
   @Test
   public void testClose() {
     RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.apache.avro.util.Utf8;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.DateTimeUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+public class TestStructLikeKeyEncoder {
+
+  private static final Types.StructType KEY_TYPE = Types.StructType.of(
+      Types.NestedField.optional(1, "str", Types.StringType.get()),
+      Types.NestedField.optional(2, "long", Types.LongType.get()),
+      Types.NestedField.optional(3, "int", Types.IntegerType.get()),
+      Types.NestedField.optional(4, "double", Types.DoubleType.get()),
+      Types.NestedField.optional(5, "float", Types.FloatType.get()),
+      Types.NestedField.optional(6, "decimal", Types.DecimalType.of(9, 2)),
+      Types.NestedField.optional(7, "wide_decimal", Types.DecimalType.of(38, 4)),
+      Types.NestedField.optional(8, "binary", Types.BinaryType.get()),
+      Types.NestedField.optional(9, "uuid", Types.UUIDType.get()),
+      Types.NestedField.optional(10, "bool", Types.BooleanType.get()),
+      Types.NestedField.optional(11, "ts", Types.TimestampType.withZone()),
+      Types.NestedField.optional(12, "ts_ntz", Types.TimestampType.withoutZone()),
+      Types.NestedField.optional(13, "date", Types.DateType.get()),
+      Types.NestedField.optional(14, "time", Types.TimeType.get()),
+      Types.NestedField.optional(15, "fixed", Types.FixedType.ofLength(2)));
+
+  private static final String[] STRINGS = {"", "a", "a\0", "a\0b", "ab", "b", "\0"};
+  private static final double[] DOUBLES = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 2.5, Double.NaN};
+  private static final float[] FLOATS = {-1.5f, -0.0f, 0.0f, 2.5f, Float.NaN};
+
+  private final Random random = new Random(0);
+
+  @Test
+  public void testOrderPreserving() {
+    StructLikeKeyEncoder encoder = new StructLikeKeyEncoder(KEY_TYPE);
+    Comparator<StructLike> comparator = Comparators.forType(KEY_TYPE);
+    List<StructLike> keys = Lists.newArrayList();
+    for (int i = 0; i < 2000; i++) {
+      keys.add(randomKey());
+    }
+
+    for (StructLike left : keys) {
+      for (int i = 0; i < 10; i++) {
+        StructLike right = keys.get(random.nextInt(keys.size()));
+        Assert.assertEquals(
+            Integer.signum(comparator.compare(left, right)),
+            Integer.signum(compareUnsigned(encoder.encode(left), encoder.encode(right))));
+      }
+    }
+  }
+
+  @Test
+  public void testEncodeDecode() {
+    StructLikeKeyEncoder encoder = new StructLikeKeyEncoder(KEY_TYPE);
+    Comparator<StructLike> comparator = Comparators.forType(KEY_TYPE);
+    for (int i = 0; i < 1000; i++) {
+      StructLike key = randomKey();
+      Assert.assertEquals(0, comparator.compare(key, encoder.decode(encoder.encode(key))));
+    }
+  }
+
+  @Test
+  public void testEqualKeysOfDifferentClasses() {
+    Types.StructType type = Types.StructType.of(Types.NestedField.required(1, "str", Types.StringType.get()));
+    StructLikeKeyEncoder encoder = new StructLikeKeyEncoder(type);
+    GenericRecord string = GenericRecord.create(type);
+    string.set(0, "key");
+    GenericRecord utf8 = GenericRecord.create(type);
+    utf8.set(0, new Utf8("key"));
+    Assert.assertArrayEquals(encoder.encode(string), encoder.encode(utf8));
+  }
+
+  @Test
+  public void testGenericValues() {
+    Types.StructType type = Types.StructType.of(
+        Types.NestedField.required(1, "date", Types.DateType.get()),
+        Types.NestedField.required(2, "time", Types.TimeType.get()),
+        Types.NestedField.required(3, "ts", Types.TimestampType.withoutZone()),
+        Types.NestedField.required(4, "ts_tz", Types.TimestampType.withZone()),
+        Types.NestedField.required(5, "decimal", Types.DecimalType.of(9, 2)),
+        Types.NestedField.required(6, "fixed", Types.FixedType.ofLength(3)),
+        Types.NestedField.required(7, "uuid", Types.UUIDType.get()));
+    StructLikeKeyEncoder encoder = new StructLikeKeyEncoder(type);
+    LocalDate date = LocalDate.of(1969, 12, 31);
+    LocalTime time = LocalTime.of(12, 30, 1, 1000);
+    LocalDateTime timestamp = LocalDateTime.of(2022, 1, 1, 12, 0, 0, 1000);
+    OffsetDateTime timestampTz = OffsetDateTime.of(timestamp, ZoneOffset.ofHours(8));
+    UUID uuid = new UUID(1, -1);
+
+    GenericRecord generic = GenericRecord.create(type);
+    generic.set(0, date);
+    generic.set(1, time);
+    generic.set(2, timestamp);
+    generic.set(3, timestampTz);
+    generic.set(4, new BigDecimal("1.5"));
+    generic.set(5, new byte[] {1, 0, 2});
+    generic.set(6, uuid);
+
+    GenericRecord internal = GenericRecord.create(type);
+    internal.set(0, DateTimeUtil.daysFromDate(date));
+    internal.set(1, DateTimeUtil.microsFromTime(time));
+    internal.set(2, DateTimeUtil.microsFromTimestamp(timestamp));
+    internal.set(3, DateTimeUtil.microsFromTimestamptz(timestampTz));
+    internal.set(4, new BigDecimal("1.50"));
+    internal.set(5, ByteBuffer.wrap(new byte[] {1, 0, 2}));
+    internal.set(6, ByteBuffer.allocate(16).putLong(1).putLong(-1).flip());
+
+    byte[] encoded = encoder.encode(generic);
+    Assert.assertArrayEquals(encoded, encoder.encode(internal));
+    StructLike decoded = encoder.decode(encoded);
+    Assert.assertEquals(DateTimeUtil.daysFromDate(date), (int) decoded.get(0, Integer.class));
+    Assert.assertEquals(DateTimeUtil.microsFromTime(time), (long) decoded.get(1, Long.class));
+    Assert.assertEquals(DateTimeUtil.microsFromTimestamp(timestamp), (long) decoded.get(2, Long.class));
+    Assert.assertEquals(DateTimeUtil.microsFromTimestamptz(timestampTz), (long) decoded.get(3, Long.class));
+    Assert.assertEquals(new BigDecimal("1.50"), decoded.get(4, BigDecimal.class));
+    Assert.assertEquals(ByteBuffer.wrap(new byte[] {1, 0, 2}), decoded.get(5, ByteBuffer.class));
+    Assert.assertEquals(uuid, decoded.get(6, UUID.class));
+
+    // generic values keep the order of their internal values
+    GenericRecord earlier = GenericRecord.create(type);
+    for (int i = 0; i < type.fields().size(); i++) {
+      earlier.set(i, generic.get(i));
+    }
+    earlier.set(0, date.minusDays(1));
+    Assert.assertTrue(compareUnsigned(encoder.encode(earlier), encoded) < 0);
+    earlier.set(0, date);
+    earlier.set(3, timestampTz.withOffsetSameLocal(ZoneOffset.ofHours(9)));
+    Assert.assertTrue(compareUnsigned(encoder.encode(earlier), encoded) < 0);
+  }
+
+  @Test
+  public void testSupports() {
+    Assert.assertTrue(StructLikeKeyEncoder.supports(KEY_TYPE));
+    Assert.assertFalse(StructLikeKeyEncoder.supports(Types.StructType.of(
+        Types.NestedField.required(1, "list", Types.ListType.ofRequired(2, Types.IntegerType.get())))));
+  }
+
+  private StructLike randomKey() {
+    GenericRecord key = GenericRecord.create(KEY_TYPE);
+    key.set(0, nullOr(STRINGS[random.nextInt(STRINGS.length)]));
+    key.set(1, nullOr((long) (random.nextInt(5) - 2) * (random.nextBoolean() ? Long.MAX_VALUE / 3 : 1)));
+    key.set(2, nullOr(random.nextInt(5) - 2));
+    key.set(3, nullOr(DOUBLES[random.nextInt(DOUBLES.length)]));
+    key.set(4, nullOr(FLOATS[random.nextInt(FLOATS.length)]));
+    key.set(5, nullOr(BigDecimal.valueOf(random.nextInt(2000) - 1000, 2)));
+    key.set(6, nullOr(new BigDecimal(new BigInteger(100, random).subtract(BigInteger.ONE.shiftLeft(99)), 4)));
+    key.set(7, nullOr(ByteBuffer.wrap(new byte[] {(byte) (random.nextInt(3) - 1), (byte) random.nextInt(2)})));
+    key.set(8, nullOr(new UUID(random.nextInt(3) - 1, random.nextInt(3) - 1)));
+    key.set(9, nullOr(random.nextBoolean()));
+    key.set(10, nullOr(random.nextLong()));
+    key.set(11, nullOr(random.nextLong()));
+    key.set(12, nullOr(random.nextInt()));
+    key.set(13, nullOr((long) random.nextInt(Integer.MAX_VALUE)));
+    key.set(14, nullOr(ByteBuffer.wrap(new byte[] {(byte) (random.nextInt(3) - 1), (byte) random.nextInt(2)})));
+    return key;
+  }
+
+  private <T> T nullOr(T value) {
+    return random.nextInt(8) == 0 ? null : value;
+  }
+
+  private static int compareUnsigned(byte[] left, byte[] right) {
+    for (int i = 0; i < Math.min(left.length, right.length); i++) {
+      int compare = Integer.compare(left[i] & 0xFF, right[i] & 0xFF);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(left.length, right.length);
+  }
+}
@@ -2,6 +2,7 @@ package com.netease.arctic.utils.map;
 
 import com.netease.arctic.data.ChangedLsn;
 import com.netease.arctic.iceberg.optimize.StructProjection;
+import com.netease.arctic.utils.SerializationUtils;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.types.Types;
@@ -47,6 +48,30 @@ public class TestStructLikeMap {
     testMap(StructLikeSpillableMap.create(PK_SCHEMA.asStruct(), 10L, null));
   }
 
+  @Test
+  public void testSpillableMapInMemory() throws IOException {
+    testMap(StructLikeSpillableMap.create(PK_SCHEMA.asStruct(), 1024L * 1024, null));
+  }
+
+  @Test
+  public void testSpillableMapWithValueSerializer() throws IOException {
+    testMap(StructLikeSpillableMap.create(PK_SCHEMA.asStruct(), 10L, null,
+        SerializationUtils.createChangedLsnSerializer()));
+  }
+
+  @Test
+  public void testValueSerializers() {
+    SerializationUtils.SimpleSerializer<ChangedLsn> lsnSerializer = SerializationUtils.createChangedLsnSerializer();
+    Assert.assertEquals(ChangedLsn.of(Long.MAX_VALUE, -1),
+        lsnSerializer.deserialize(lsnSerializer.serialize(ChangedLsn.of(Long.MAX_VALUE, -1))));
+    SerializationUtils.SimpleSerializer<Long> longSerializer = SerializationUtils.createLongSerializer();
+    Assert.assertEquals(Long.MIN_VALUE, (long) longSerializer.deserialize(longSerializer.serialize(Long.MIN_VALUE)));
+    Assert.assertEquals(Long.BYTES, longSerializer.serialize(1L).length);
+    SerializationUtils.SimpleSerializer<Integer> intSerializer = SerializationUtils.createIntegerSerializer();
+    Assert.assertEquals(-2, (int) intSerializer.deserialize(intSerializer.serialize(-2)));
+    Assert.assertNull(intSerializer.deserialize(null));
+  }
+
   private void testMap(StructLikeBaseMap<ChangedLsn> actualMap) throws IOException {
     StructLikeMap<ChangedLsn> expectedMap = StructLikeMap.create(PK_SCHEMA.asStruct());
     long count = 100;
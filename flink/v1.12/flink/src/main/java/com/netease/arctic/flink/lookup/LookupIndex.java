@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.utils.map.RocksDBBackend;
+import com.netease.arctic.utils.map.StructLikeKeyEncoder;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.iceberg.flink.RowDataWrapper;
+import org.apache.iceberg.types.Types;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Index of the rows of a keyed table by their primary key, kept in a column family of the local RocksDB with an
+ * on-heap LRU cache in front of it.
+ * <p>
+ * Keys are encoded by {@link StructLikeKeyEncoder} and rows by {@link RowDataSerializer}. Keys not found in the
+ * index are cached too, so that the lookups of missing keys don't reach RocksDB again. Writes invalidate the cached
+ * entry of their key. The index is thread safe, so it can be refreshed while it is looked up.
+ */
+public class LookupIndex implements Closeable {
+
+  private final RocksDBBackend rocksDB;
+  private final String columnFamily = UUID.randomUUID().toString();
+  private final RowData.FieldGetter[] keyGetters;
+  private final RowDataWrapper keyWrapper;
+  private final StructLikeKeyEncoder keyEncoder;
+  private final RowDataSerializer rowSerializer;
+  private final DataOutputSerializer output = new DataOutputSerializer(256);
+  private final DataInputDeserializer input = new DataInputDeserializer();
+  private final Map<ByteBuffer, Optional<RowData>> cache;
+  private long lookups;
+  private long cacheHits;
+  private boolean closed;
+
+  /**
+   * @param rowType       type of the indexed rows
+   * @param rowStruct     iceberg struct of the indexed rows
+   * @param keyIndices    positions of the key fields in the rows, in the order of the keys to look up
+   * @param cacheMaxRows  max number of rows cached on heap, 0 disables the cache
+   * @param rocksDBPath   local directory of RocksDB, the default one if null
+   */
+  public LookupIndex(RowType rowType, Types.StructType rowStruct, int[] keyIndices, long cacheMaxRows,
+                     @Nullable String rocksDBPath) {
+    LogicalType[] keyTypes = new LogicalType[keyIndices.length];
+    Types.NestedField[] keyFields = new Types.NestedField[keyIndices.length];
+    this.keyGetters = new RowData.FieldGetter[keyIndices.length];
+    for (int i = 0; i < keyIndices.length; i++) {
+      keyTypes[i] = rowType.getTypeAt(keyIndices[i]);
+      keyFields[i] = rowStruct.fields().get(keyIndices[i]);
+      keyGetters[i] = RowData.createFieldGetter(keyTypes[i], keyIndices[i]);
+    }
+    Types.StructType keyStruct = Types.StructType.of(keyFields);
+    this.keyWrapper = new RowDataWrapper(RowType.of(keyTypes), keyStruct);
+    this.keyEncoder = new StructLikeKeyEncoder(keyStruct);
+    this.rowSerializer = new RowDataSerializer(rowType);
+    this.cache = new LinkedHashMap<ByteBuffer, Optional<RowData>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Optional<RowData>> eldest) {
+        return size() > cacheMaxRows;
+      }
+    };
+    this.rocksDB = RocksDBBackend.getOrCreateInstance(rocksDBPath);
+    rocksDB.addColumnFamily(columnFamily);
+  }
+
+  /**
+   * Put a row into the index, replacing the row with the same key.
+   */
+  public synchronized void put(RowData row) {
+    byte[] key = encodeKey(keyOf(row));
+    cache.remove(ByteBuffer.wrap(key));
+    try {
+      output.clear();
+      rowSerializer.serialize(row, output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    rocksDB.put(columnFamily, key, output.getCopyOfBuffer());
+  }
+
+  /**
+   * Delete the row with the same key as the row from the index.
+   */
+  public synchronized void delete(RowData row) {
+    byte[] key = encodeKey(keyOf(row));
+    cache.remove(ByteBuffer.wrap(key));
+    rocksDB.delete(columnFamily, key);
+  }
+
+  /**
+   * @param key key fields in the order of the key indices
+   * @return the row of the key, null if it is not in the index
+   */
+  @Nullable
+  public synchronized RowData get(RowData key) {
+    lookups++;
+    ByteBuffer cacheKey = ByteBuffer.wrap(encodeKey(key));
+    Optional<RowData> cached = cache.get(cacheKey);
+    if (cached != null) {
+      cacheHits++;
+      return cached.orElse(null);
+    }
+    byte[] value = rocksDB.get(columnFamily, cacheKey.array());
+    RowData row = value == null ? null : deserialize(value);
+    cache.put(cacheKey, Optional.ofNullable(row));
+    return row;
+  }
+
+  public synchronized double cacheHitRate() {
+    return lookups == 0 ? 0 : (double) cacheHits / lookups;
+  }
+
+  /**
+   * Estimated number of keys in the index, 0 after the index is closed.
+   */
+  public synchronized long size() {
+    if (closed) {
+      return 0;
+    }
+    return rocksDB.estimateNumKeys(columnFamily);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    cache.clear();
+    rocksDB.dropColumnFamily(columnFamily);
+  }
+
+  private RowData keyOf(RowData row) {
+    GenericRowData key = new GenericRowData(keyGetters.length);
+    for (int i = 0; i < keyGetters.length; i++) {
+      key.setField(i, keyGetters[i].getFieldOrNull(row));
+    }
+    return key;
+  }
+
+  private byte[] encodeKey(RowData key) {
+    return keyEncoder.encode(keyWrapper.wrap(key));
+  }
+
+  private RowData deserialize(byte[] value) {
+    input.setBuffer(value);
+    try {
+      return rowSerializer.deserialize(input);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
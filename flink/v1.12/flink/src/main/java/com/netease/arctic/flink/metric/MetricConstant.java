@@ -32,5 +32,29 @@ public class MetricConstant {
    * The end time of arctic table's initialization when it used as build table in temporal join.
    */
   public static final String TEMPORAL_TABLE_INITIALIZATION_END_TIMESTAMP = "temporalTableInitializationEndTimestamp";
+  /**
+   * The ratio of lookups served by the cache of the lookup index.
+   */
+  public static final String LOOKUP_CACHE_HIT_RATE = "lookupCacheHitRate";
+  /**
+   * The estimated number of keys in the lookup index.
+   */
+  public static final String LOOKUP_INDEX_SIZE = "lookupIndexSize";
+  /**
+   * Milliseconds since the lookup index last caught up with the table.
+   */
+  public static final String LOOKUP_REFRESH_LAG = "lookupRefreshLag";
+  /**
+   * The number of splits assigned to a subtask but not fetched by it yet.
+   */
+  public static final String PENDING_SPLITS = "pendingSplits";
+  /**
+   * The estimated bytes of the splits assigned to a subtask but not fetched by it yet.
+   */
+  public static final String PENDING_SPLIT_BYTES = "pendingSplitBytes";
+  /**
+   * The estimated records of the splits assigned to a subtask but not fetched by it yet.
+   */
+  public static final String PENDING_SPLIT_RECORDS = "pendingSplitRecords";
 
 }
@@ -94,12 +94,12 @@ public class ArcticSource<T> implements Source<T, ArcticSplit, ArcticSourceEnumS
       SplitEnumeratorContext<ArcticSplit> enumContext, ArcticSourceEnumState enumState) {
     SplitAssigner splitAssigner;
     if (enumState == null) {
-      splitAssigner = new ShuffleSplitAssigner(enumContext);
+      splitAssigner = new ShuffleSplitAssigner(enumContext, scanContext.splitAssignMode());
     } else {
       LOG.info("Arctic source restored {} splits from state for table {}",
           enumState.pendingSplits().size(), tableName);
       splitAssigner = new ShuffleSplitAssigner(enumContext, enumState.pendingSplits(),
-          enumState.shuffleSplitRelation());
+          enumState.shuffleSplitRelation(), scanContext.splitAssignMode());
     }
 
     if (scanContext.isStreaming()) {
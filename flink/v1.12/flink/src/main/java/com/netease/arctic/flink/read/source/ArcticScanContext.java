@@ -34,6 +34,9 @@ import java.util.Objects;
 
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_READ_FILE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ARCTIC_READ_MODE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_SPLIT_ASSIGN_MODE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_SPLIT_ASSIGN_MODE_HASH;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_SPLIT_ASSIGN_MODE_WEIGHTED;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_STARTUP_MODE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_STARTUP_MODE_EARLIEST;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_STARTUP_MODE_LATEST;
@@ -47,6 +50,7 @@ public class ArcticScanContext extends ScanContext implements Serializable {
   private static final long serialVersionUID = 1L;
 
   private final String scanStartupMode;
+  private final String splitAssignMode;
 
   protected ArcticScanContext(
       boolean caseSensitive,
@@ -69,7 +73,8 @@ public class ArcticScanContext extends ScanContext implements Serializable {
       boolean exposeLocality,
       Integer planParallelism,
       int maxPlanningSnapshotCount,
-      String scanStartupMode) {
+      String scanStartupMode,
+      String splitAssignMode) {
     super(caseSensitive,
         snapshotId,
         startingStrategy,
@@ -91,6 +96,7 @@ public class ArcticScanContext extends ScanContext implements Serializable {
         planParallelism,
         maxPlanningSnapshotCount);
     this.scanStartupMode = scanStartupMode;
+    this.splitAssignMode = splitAssignMode;
   }
 
   public boolean caseSensitive() {
@@ -157,6 +163,10 @@ public class ArcticScanContext extends ScanContext implements Serializable {
     return scanStartupMode;
   }
 
+  public String splitAssignMode() {
+    return splitAssignMode;
+  }
+
   public static class Builder {
     private boolean caseSensitive = CASE_SENSITIVE.defaultValue();
     private Long snapshotId = SNAPSHOT_ID.defaultValue();
@@ -179,6 +189,7 @@ public class ArcticScanContext extends ScanContext implements Serializable {
         FlinkConfigOptions.TABLE_EXEC_ICEBERG_WORKER_POOL_SIZE.defaultValue();
     private int maxPlanningSnapshotCount = MAX_PLANNING_SNAPSHOT_COUNT.defaultValue();
     private String scanStartupMode;
+    private String splitAssignMode = SCAN_SPLIT_ASSIGN_MODE.defaultValue();
     private boolean includeColumnStats = INCLUDE_COLUMN_STATS.defaultValue();
 
     private Builder() {
@@ -284,6 +295,11 @@ public class ArcticScanContext extends ScanContext implements Serializable {
       return this;
     }
 
+    public Builder splitAssignMode(String splitAssignMode) {
+      this.splitAssignMode = splitAssignMode;
+      return this;
+    }
+
     public Builder includeColumnStats(boolean newIncludeColumnStats) {
       this.includeColumnStats = newIncludeColumnStats;
       return this;
@@ -307,6 +323,7 @@ public class ArcticScanContext extends ScanContext implements Serializable {
           .monitorInterval(config.get(MONITOR_INTERVAL))
           .nameMapping(properties.get(DEFAULT_NAME_MAPPING))
           .scanStartupMode(properties.get(SCAN_STARTUP_MODE.key()))
+          .splitAssignMode(config.get(SCAN_SPLIT_ASSIGN_MODE))
           .includeColumnStats(config.get(INCLUDE_COLUMN_STATS))
           .maxPlanningSnapshotCount(config.get(MAX_PLANNING_SNAPSHOT_COUNT));
     }
@@ -322,6 +339,11 @@ public class ArcticScanContext extends ScanContext implements Serializable {
               Objects.equals(scanStartupMode, SCAN_STARTUP_MODE_LATEST),
           String.format("only support %s, %s when %s is %s",
               SCAN_STARTUP_MODE_EARLIEST, SCAN_STARTUP_MODE_LATEST, ARCTIC_READ_MODE, ARCTIC_READ_FILE));
+      splitAssignMode = splitAssignMode == null ? SCAN_SPLIT_ASSIGN_MODE_HASH : splitAssignMode.toLowerCase();
+      Preconditions.checkArgument(Objects.equals(splitAssignMode, SCAN_SPLIT_ASSIGN_MODE_HASH) ||
+              Objects.equals(splitAssignMode, SCAN_SPLIT_ASSIGN_MODE_WEIGHTED),
+          String.format("only support %s, %s for %s",
+              SCAN_SPLIT_ASSIGN_MODE_HASH, SCAN_SPLIT_ASSIGN_MODE_WEIGHTED, SCAN_SPLIT_ASSIGN_MODE.key()));
       return new ArcticScanContext(
           caseSensitive,
           snapshotId,
@@ -343,7 +365,8 @@ public class ArcticScanContext extends ScanContext implements Serializable {
           exposeLocality,
           planParallelism,
           maxPlanningSnapshotCount,
-          scanStartupMode);
+          scanStartupMode,
+          splitAssignMode);
     }
   }
 }
@@ -23,7 +23,7 @@ import com.netease.arctic.flink.read.source.log.LogSourceHelper;
 import com.netease.arctic.flink.shuffle.LogRecordV1;
 import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonDeserialization;
+import com.netease.arctic.log.LogDataDeserialization;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.kafka.source.reader.deserializer.KafkaRecordDeserializer;
 import org.apache.flink.table.data.RowData;
@@ -89,7 +89,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader<RowD
 
   private static final Logger LOG = LoggerFactory.getLogger(LogKafkaPartitionSplitReader.class);
 
-  private final LogDataJsonDeserialization<RowData> logDataJsonDeserialization;
+  private final LogDataDeserialization<RowData> logDataDeserialization;
   private final LogSourceHelper logReadHelper;
   private final boolean logRetractionEnable;
   private final boolean logConsumerAppendOnly;
@@ -102,7 +102,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader<RowD
                                       String logConsumerChangelogMode) {
     super(props, deserializationSchema, subtaskId);
 
-    this.logDataJsonDeserialization = new LogDataJsonDeserialization<>(
+    this.logDataDeserialization = LogDataDeserialization.create(
         schema,
         LogRecordV1.factory,
         LogRecordV1.arrayFactory,
@@ -199,7 +199,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader<RowD
               "Can't deserialize arctic log queue message due to it does not contain magic number.");
         }
 
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(value);
+        LogData<RowData> logData = logDataDeserialization.deserialize(value);
         if (!logData.getFlip() && filterByRowKind(logData.getActualValue())) {
           LOG.info(
               "filter the rowData, because of logConsumerAppendOnly is true, and rowData={}.",
@@ -273,7 +273,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader<RowD
           finishRetract.add(tp);
           break;
         }
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(r.value());
+        LogData<RowData> logData = logDataDeserialization.deserialize(r.value());
 
         if (!Objects.equals(logData.getUpstreamId(), retractingInfo.getUpstreamId()) ||
             logData.getEpicNo() <= retractingInfo.getEpicNo()) {
@@ -22,7 +22,7 @@ import com.netease.arctic.flink.read.source.log.LogSourceHelper;
 import com.netease.arctic.flink.shuffle.LogRecordV1;
 import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonDeserialization;
+import com.netease.arctic.log.LogDataDeserialization;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.time.Deadline;
 import org.apache.flink.connector.base.source.reader.RecordsBySplits;
@@ -56,7 +56,7 @@ import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOG_CON
 public class LogPulsarOrderedPartitionSplitReader extends PulsarOrderedPartitionSplitReader<RowData> {
   private static final Logger LOG = LoggerFactory.getLogger(LogPulsarOrderedPartitionSplitReader.class);
 
-  private final LogDataJsonDeserialization<RowData> logDataJsonDeserialization;
+  private final LogDataDeserialization<RowData> logDataDeserialization;
   private final boolean logRetractionEnable;
   private final boolean logConsumerAppendOnly;
 
@@ -71,7 +71,7 @@ public class LogPulsarOrderedPartitionSplitReader extends PulsarOrderedPartition
       String logConsumerChangelogMode) {
     super(pulsarClient, pulsarAdmin, sourceConfiguration, deserializationSchema);
 
-    this.logDataJsonDeserialization = new LogDataJsonDeserialization<>(
+    this.logDataDeserialization = LogDataDeserialization.create(
         schema,
         LogRecordV1.factory,
         LogRecordV1.arrayFactory,
@@ -106,7 +106,7 @@ public class LogPulsarOrderedPartitionSplitReader extends PulsarOrderedPartition
           break;
         }
         // ---- copy from org.apache.flink.connector.pulsar.source.reader.split.PulsarPartitionSplitReaderBase end ----
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(message.getData());
+        LogData<RowData> logData = logDataDeserialization.deserialize(message.getData());
         if (!logData.getFlip() && filterByRowKind(logData.getActualValue())) {
           LOG.debug(
               "filter the rowData, because of logConsumerAppendOnly is true, and rowData={}.",
@@ -18,31 +18,42 @@
 
 package com.netease.arctic.flink.table;
 
+import com.netease.arctic.flink.lookup.ArcticLookupFunction;
 import com.netease.arctic.table.ArcticTable;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.table.api.TableSchema;
+import org.apache.flink.table.api.ValidationException;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DataStreamScanProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.connector.source.TableFunctionProvider;
 import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsWatermarkPushDown;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.types.DataType;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Flink table api that generates source operators.
  */
-public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushDown,
+public class ArcticDynamicSource implements ScanTableSource, LookupTableSource, SupportsFilterPushDown,
     SupportsProjectionPushDown, SupportsLimitPushDown, SupportsWatermarkPushDown {
 
   public static final Logger LOG = LoggerFactory.getLogger(ArcticDynamicSource.class);
@@ -52,6 +63,9 @@ public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushD
   private final ScanTableSource arcticDynamicSource;
   private final ArcticTable arcticTable;
   private final Map<String, String> properties;
+  private final ArcticTableLoader tableLoader;
+  private final TableSchema tableSchema;
+  private int[] projectedFields;
 
   @Nullable
   protected WatermarkStrategy<RowData> watermarkStrategy;
@@ -61,15 +75,21 @@ public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushD
    * @param arcticDynamicSource underlying source
    * @param arcticTable         arcticTable
    * @param properties          With all ArcticTable properties and sql options
+   * @param tableLoader         loader of arcticTable, used by lookups
+   * @param tableSchema         physical schema of the table
    */
   public ArcticDynamicSource(String tableName,
                              ScanTableSource arcticDynamicSource,
                              ArcticTable arcticTable,
-                             Map<String, String> properties) {
+                             Map<String, String> properties,
+                             ArcticTableLoader tableLoader,
+                             TableSchema tableSchema) {
     this.tableName = tableName;
     this.arcticDynamicSource = arcticDynamicSource;
     this.arcticTable = arcticTable;
     this.properties = properties;
+    this.tableLoader = tableLoader;
+    this.tableSchema = tableSchema;
   }
 
   @Override
@@ -87,9 +107,37 @@ public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushD
     return origin;
   }
 
+  @Override
+  public LookupRuntimeProvider getLookupRuntimeProvider(LookupContext context) {
+    if (!arcticTable.isKeyedTable()) {
+      throw new ValidationException(
+          String.format("Lookup join is only supported on keyed tables, but %s has no primary key.", tableName));
+    }
+    String[] fieldNames = getProjectedSchema().getFieldNames();
+    int[] keyIndices = new int[context.getKeys().length];
+    Set<String> keyNames = new HashSet<>();
+    for (int i = 0; i < keyIndices.length; i++) {
+      int[] key = context.getKeys()[i];
+      Preconditions.checkArgument(key.length == 1, "Don't support nested lookup keys now.");
+      keyIndices[i] = key[0];
+      keyNames.add(fieldNames[key[0]]);
+    }
+    Set<String> primaryKeys = new HashSet<>(arcticTable.asKeyedTable().primaryKeySpec().fieldNames());
+    if (!keyNames.equals(primaryKeys) || keyNames.size() != keyIndices.length) {
+      throw new ValidationException(String.format(
+          "Lookup join on %s must be by exactly its primary key %s, but the lookup keys are %s.",
+          tableName, primaryKeys, keyNames));
+    }
+    Schema projectedSchema = FlinkSchemaUtil.convert(arcticTable.schema(), getProjectedSchema());
+    return TableFunctionProvider.of(new ArcticLookupFunction(tableLoader, projectedSchema, keyIndices, properties));
+  }
+
   @Override
   public DynamicTableSource copy() {
-    return new ArcticDynamicSource(tableName, arcticDynamicSource, arcticTable, properties);
+    ArcticDynamicSource copy =
+        new ArcticDynamicSource(tableName, arcticDynamicSource, arcticTable, properties, tableLoader, tableSchema);
+    copy.projectedFields = projectedFields;
+    return copy;
   }
 
   @Override
@@ -122,6 +170,7 @@ public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushD
           projectedField.length == 1,
           "Don't support nested projection now.");
     }
+    this.projectedFields = Arrays.stream(projectedFields).mapToInt(field -> field[0]).toArray();
 
     if (arcticDynamicSource instanceof SupportsProjectionPushDown) {
       ((SupportsProjectionPushDown) arcticDynamicSource).applyProjection(projectedFields);
@@ -141,4 +190,15 @@ public class ArcticDynamicSource implements ScanTableSource, SupportsFilterPushD
       ((SupportsWatermarkPushDown) arcticDynamicSource).applyWatermark(watermarkStrategy);
     }
   }
+
+  private TableSchema getProjectedSchema() {
+    if (projectedFields == null) {
+      return tableSchema;
+    }
+    String[] fieldNames = tableSchema.getFieldNames();
+    DataType[] fieldTypes = tableSchema.getFieldDataTypes();
+    return TableSchema.builder().fields(
+        Arrays.stream(projectedFields).mapToObj(i -> fieldNames[i]).toArray(String[]::new),
+        Arrays.stream(projectedFields).mapToObj(i -> fieldTypes[i]).toArray(DataType[]::new)).build();
+  }
 }
\ No newline at end of file
@@ -169,8 +169,8 @@ public class DynamicTableFactory implements DynamicTableSourceFactory, DynamicTa
         arcticDynamicSource = createLogSource(arcticTable, context, confWithAll);
     }
 
-    return new ArcticDynamicSource(
-        identifier.getObjectName(), arcticDynamicSource, arcticTable, arcticTable.properties());
+    return new ArcticDynamicSource(identifier.getObjectName(), arcticDynamicSource, arcticTable,
+        arcticTable.properties(), tableLoader, tableSchema);
   }
 
   @Override
@@ -223,6 +223,7 @@ public class DynamicTableFactory implements DynamicTableSourceFactory, DynamicTa
     options.add(PROPS_GROUP_ID);
     options.add(SCAN_STARTUP_MODE);
     options.add(SCAN_STARTUP_TIMESTAMP_MILLIS);
+    options.add(ArcticValidator.SCAN_SPLIT_ASSIGN_MODE);
     options.add(SINK_PARTITIONER);
     options.add(ArcticValidator.ARCTIC_CATALOG);
     options.add(ArcticValidator.ARCTIC_TABLE);
@@ -230,6 +231,9 @@ public class DynamicTableFactory implements DynamicTableSourceFactory, DynamicTa
     options.add(ArcticValidator.DIM_TABLE_ENABLE);
     options.add(METASTORE_URL_OPTION);
     options.add(ArcticValidator.ARCTIC_LOG_KAFKA_COMPATIBLE_ENABLE);
+    options.add(ArcticValidator.LOOKUP_CACHE_MAX_ROWS);
+    options.add(ArcticValidator.LOOKUP_RELOADING_INTERVAL);
+    options.add(ArcticValidator.LOOKUP_ROCKSDB_PATH);
     return options;
   }
 
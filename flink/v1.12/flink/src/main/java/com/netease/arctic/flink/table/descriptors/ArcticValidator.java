@@ -79,6 +79,10 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
   public static final String SCAN_STARTUP_MODE_LATEST = "latest";
   public static final String SCAN_STARTUP_MODE_TIMESTAMP = "timestamp";
 
+  // file scan split assign mode
+  public static final String SCAN_SPLIT_ASSIGN_MODE_HASH = "hash";
+  public static final String SCAN_SPLIT_ASSIGN_MODE_WEIGHTED = "weighted";
+
   public static final ConfigOption<Boolean> ARCTIC_LOG_CONSISTENCY_GUARANTEE_ENABLE =
       ConfigOptions.key("log-store.consistency-guarantee.enabled")
           .booleanType()
@@ -142,6 +146,15 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
           .withDescription(
               "Optional timestamp used in case of \"timestamp\" startup mode");
 
+  public static final ConfigOption<String> SCAN_SPLIT_ASSIGN_MODE = ConfigOptions
+      .key("scan.split-assign.mode")
+      .stringType()
+      .defaultValue(SCAN_SPLIT_ASSIGN_MODE_HASH)
+      .withDescription("Optional mode to assign the splits of arctic source to the subtasks, valid values are" +
+          " \"hash\" or \"weighted\". A partition and tree node is always read by the same subtask, \"hash\"" +
+          " assigns new partitions and tree nodes to the subtasks round-robin, \"weighted\" assigns them to the" +
+          " subtask with the least estimated bytes and records assigned so far.");
+
   public static final ConfigOption<Boolean> SUBMIT_EMPTY_SNAPSHOTS = ConfigOptions
       .key("submit.empty.snapshots")
       .booleanType()
@@ -217,6 +230,27 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
       .withDescription("Mark the time to start double writing (the logstore of arctic table catches up with the" +
           " historical data).");
 
+  public static final ConfigOption<Long> LOOKUP_CACHE_MAX_ROWS =
+      ConfigOptions.key("lookup.cache.max-rows")
+          .longType()
+          .defaultValue(10000L)
+          .withDescription("The max number of rows cached on heap in front of the lookup index of an Arctic" +
+              " keyed table, keys not found in the table are cached as well. 0 disables the cache.");
+
+  public static final ConfigOption<Duration> LOOKUP_RELOADING_INTERVAL =
+      ConfigOptions.key("lookup.reloading.interval")
+          .durationType()
+          .defaultValue(Duration.ofSeconds(10))
+          .withDescription("The interval to follow the change snapshots of an Arctic keyed table into the lookup" +
+              " index, the index is refreshed in the background.");
+
+  public static final ConfigOption<String> LOOKUP_ROCKSDB_PATH =
+      ConfigOptions.key("lookup.rocksdb.path")
+          .stringType()
+          .noDefaultValue()
+          .withDescription("The local directory of the RocksDB holding the lookup index of an Arctic keyed" +
+              " table, the temporary directory of the JVM is used by default.");
+
   @Override
   public void validate(DescriptorProperties properties) {
     String emitMode = properties.getString(ARCTIC_EMIT_MODE.key());
@@ -24,7 +24,7 @@ import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.write.ArcticLogWriter;
 import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
@@ -74,9 +74,9 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
 
   private GlobalFlipCommitter flipCommitter;
   private final LogData.FieldGetterFactory<RowData> fieldGetterFactory;
-  protected transient LogDataJsonSerialization<RowData> logDataJsonSerialization;
+  protected transient LogDataSerialization<RowData> logDataSerialization;
 
-  protected FormatVersion logVersion = FormatVersion.FORMAT_VERSION_V1;
+  protected final FormatVersion logVersion;
   protected byte[] jobIdentify;
   // start from 1L, epicNo is similar to checkpoint id.
   protected long epicNo = 1L;
@@ -90,7 +90,8 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
       LogMsgFactory<RowData> factory,
       LogData.FieldGetterFactory<RowData> fieldGetterFactory,
       byte[] jobId,
-      ShuffleHelper helper) {
+      ShuffleHelper helper,
+      FormatVersion logVersion) {
     this.schema = schema;
     this.producerConfig = checkNotNull(producerConfig);
     this.topic = checkNotNull(topic);
@@ -98,6 +99,7 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
     this.fieldGetterFactory = fieldGetterFactory;
     this.jobIdentify = jobId;
     this.helper = helper;
+    this.logVersion = checkNotNull(logVersion);
   }
 
   @Override
@@ -136,7 +138,8 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
                 factory,
                 producerConfig,
                 topic,
-                helper));
+                helper,
+                logVersion));
     int parallelism = getRuntimeContext().getNumberOfParallelSubtasks();
 
     if (context.isRestored() && parallelismSame(parallelism)) {
@@ -166,7 +169,8 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
       hiddenLogJobIdentifyState.add(new String(jobIdentify, 0, jobIdentify.length, StandardCharsets.UTF_8));
     }
 
-    logDataJsonSerialization = new LogDataJsonSerialization<>(
+    logDataSerialization = LogDataSerialization.create(
+        logVersion,
         checkNotNull(schema),
         checkNotNull(fieldGetterFactory));
 
@@ -174,7 +178,7 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
         factory.createProducer(
             producerConfig,
             topic,
-            logDataJsonSerialization,
+            logDataSerialization,
             helper);
 
     parallelismState.clear();
@@ -19,8 +19,9 @@
 package com.netease.arctic.flink.write.hidden;
 
 import com.netease.arctic.flink.shuffle.ShuffleHelper;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 import org.apache.flink.table.data.RowData;
@@ -79,7 +80,7 @@ public class GlobalFlipCommitter {
   static class FlipCommitFunction implements AggregateFunction<CommitRequest, LogGlobalState, Long> {
     private static final long serialVersionUID = 6399278898504357412L;
     private final int numberOfTasks;
-    private final LogDataJsonSerialization<RowData> logDataJsonSerialization;
+    private final LogDataSerialization<RowData> logDataSerialization;
     private final LogMsgFactory<RowData> factory;
     private final Properties producerConfig;
     private final String topic;
@@ -93,10 +94,12 @@ public class GlobalFlipCommitter {
         LogMsgFactory<RowData> factory,
         Properties producerConfig,
         String topic,
-        ShuffleHelper helper) {
+        ShuffleHelper helper,
+        FormatVersion logVersion) {
       this.numberOfTasks = numberOfTasks;
       this.factory = checkNotNull(factory);
-      this.logDataJsonSerialization = new LogDataJsonSerialization<>(
+      this.logDataSerialization = LogDataSerialization.create(
+          checkNotNull(logVersion),
           checkNotNull(schema),
           checkNotNull(fieldGetterFactory)
       );
@@ -152,7 +155,7 @@ public class GlobalFlipCommitter {
             factory.createProducer(
                 producerConfig,
                 topic,
-                logDataJsonSerialization,
+                logDataSerialization,
                 helper);
         producer.open();
       }
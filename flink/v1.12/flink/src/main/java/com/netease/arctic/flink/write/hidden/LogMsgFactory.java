@@ -20,7 +20,7 @@ package com.netease.arctic.flink.write.hidden;
 
 import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 
@@ -37,7 +37,7 @@ public interface LogMsgFactory<T> extends Serializable {
   Producer<T> createProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ShuffleHelper helper);
 
   Consumer<T> createConsumer();
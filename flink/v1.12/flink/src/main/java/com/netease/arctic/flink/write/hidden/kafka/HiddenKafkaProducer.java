@@ -21,7 +21,7 @@ package com.netease.arctic.flink.write.hidden.kafka;
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaErrorCode;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaException;
 import org.apache.flink.streaming.connectors.kafka.internals.FlinkKafkaInternalProducer;
@@ -56,7 +56,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
 
   private final String topic;
 
-  private final LogDataJsonSerialization<T> logDataJsonSerialization;
+  private final LogDataSerialization<T> logDataSerialization;
 
   /**
    * The callback than handles error propagation or logging callbacks.
@@ -78,11 +78,11 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   public HiddenKafkaProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ArcticLogPartitioner<T> arcticLogPartitioner) {
     this.producerConfig = producerConfig;
     this.topic = topic;
-    this.logDataJsonSerialization = logDataJsonSerialization;
+    this.logDataSerialization = logDataSerialization;
     this.arcticLogPartitioner = arcticLogPartitioner;
   }
 
@@ -104,7 +104,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   @Override
   public void send(LogData<T> logData) throws Exception {
     checkErroneous();
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
     Integer partition = arcticLogPartitioner.partition(logData, partitions);
     ProducerRecord<byte[], byte[]> producerRecord =
         new ProducerRecord<>(topic, partition, null, null, message);
@@ -114,7 +114,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   @Override
   public void sendToAllPartitions(LogData<T> logData) throws Exception {
     checkErroneous();
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
     List<ProducerRecord<byte[], byte[]>> recordList =
         partitions.stream()
             .map(i -> new ProducerRecord<byte[], byte[]>(topic, i, null, null, message))
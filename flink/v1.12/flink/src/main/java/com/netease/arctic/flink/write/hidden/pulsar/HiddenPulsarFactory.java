@@ -21,7 +21,7 @@ package com.netease.arctic.flink.write.hidden.pulsar;
 import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.connector.pulsar.sink.config.SinkConfiguration;
 
 import java.util.Properties;
@@ -42,7 +42,7 @@ public class HiddenPulsarFactory<T> implements LogMsgFactory<T> {
   public Producer<T> createProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ShuffleHelper helper) {
     checkNotNull(topic);
     SinkConfiguration conf = toSinkConf(producerConfig);
@@ -50,7 +50,7 @@ public class HiddenPulsarFactory<T> implements LogMsgFactory<T> {
     return new HiddenPulsarProducer<>(
         conf,
         topic,
-        logDataJsonSerialization,
+        logDataSerialization,
         new ArcticLogPartitioner<>(
             helper
         ));
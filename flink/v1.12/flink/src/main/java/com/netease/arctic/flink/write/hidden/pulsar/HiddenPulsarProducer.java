@@ -22,7 +22,7 @@ import com.google.common.collect.Lists;
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.connector.pulsar.common.config.PulsarClientFactory;
 import org.apache.flink.connector.pulsar.sink.config.SinkConfiguration;
@@ -55,7 +55,7 @@ public class HiddenPulsarProducer<T> implements LogMsgFactory.Producer<T> {
    */
   protected final SinkConfiguration configuration;
 
-  private final LogDataJsonSerialization<T> logDataJsonSerialization;
+  private final LogDataSerialization<T> logDataSerialization;
 
   private transient TopicProducerRegister producerRegister;
   private transient PulsarClient pulsarClient;
@@ -67,10 +67,10 @@ public class HiddenPulsarProducer<T> implements LogMsgFactory.Producer<T> {
   public HiddenPulsarProducer(
       SinkConfiguration configuration,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ArcticLogPartitioner<T> arcticLogPartitioner) {
     this.configuration = configuration;
-    this.logDataJsonSerialization = logDataJsonSerialization;
+    this.logDataSerialization = logDataSerialization;
     this.arcticLogPartitioner = arcticLogPartitioner;
     this.metadataListener = new TopicMetadataListener(Lists.newArrayList(topic));
   }
@@ -93,7 +93,7 @@ public class HiddenPulsarProducer<T> implements LogMsgFactory.Producer<T> {
 
   @Override
   public void send(LogData<T> logData) throws Exception {
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
 
     List<String> availableTopics = metadataListener.availableTopics();
     String topicPartition = arcticLogPartitioner.partition(logData, availableTopics);
@@ -124,7 +124,7 @@ public class HiddenPulsarProducer<T> implements LogMsgFactory.Producer<T> {
 
   @Override
   public void sendToAllPartitions(LogData<T> logData) throws Exception {
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
     List<String> availableTopics = metadataListener.availableTopics();
 
     LOG.info("sending {} partitions with flip message={}.", availableTopics.size(), logData);
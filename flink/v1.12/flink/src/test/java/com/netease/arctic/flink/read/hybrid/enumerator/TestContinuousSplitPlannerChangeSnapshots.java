@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.read.hybrid.enumerator;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.properties.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
+import com.netease.arctic.flink.read.hybrid.split.ChangelogSplit;
+import com.netease.arctic.flink.table.ArcticTableLoader;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.types.RowKind;
+import org.apache.iceberg.io.TaskWriter;
+import org.apache.iceberg.io.WriteResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TestContinuousSplitPlannerChangeSnapshots extends TestContinuousSplitPlannerImpl {
+
+  public TestContinuousSplitPlannerChangeSnapshots() {
+    super(new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG),
+      new BasicTableTestHelper(true, true));
+  }
+
+  @Test
+  public void testPlanSnapshotsBetweenPolls() throws IOException {
+    ContinuousSplitPlannerImpl planner = newPlanner();
+    ArcticEnumeratorOffset offset = planner.planSplits(null).toOffset();
+
+    Set<String> addedFiles = new HashSet<>();
+    for (int i = 0; i < 3; i++) {
+      addedFiles.addAll(writeChange(10 + i));
+    }
+    ContinuousEnumerationResult result = planner.planSplits(offset);
+    Assert.assertEquals(addedFiles, filesOf(result));
+    Assert.assertEquals(currentChangeSnapshotId(), result.toOffset().changeSnapshotId().longValue());
+
+    // nothing is planned again without new snapshots
+    Assert.assertTrue(planner.planSplits(result.toOffset()).isEmpty());
+    Set<String> nextFiles = writeChange(20);
+    Assert.assertEquals(nextFiles, filesOf(planner.planSplits(result.toOffset())));
+  }
+
+  @Test
+  public void testPlanLiveFilesAfterExpiringParent() throws IOException {
+    ContinuousSplitPlannerImpl planner = newPlanner();
+    ArcticEnumeratorOffset offset = planner.planSplits(null).toOffset();
+
+    Set<String> addedFiles = new HashSet<>(writeChange(10));
+    long expiredSnapshotId = currentChangeSnapshotId();
+    addedFiles.addAll(writeChange(11));
+    testKeyedTable.changeTable().expireSnapshots()
+        .expireSnapshotId(expiredSnapshotId)
+        .cleanExpiredFiles(false)
+        .commit();
+
+    // the chain from the current snapshot is broken, the live files added after the offset are planned
+    Assert.assertEquals(addedFiles, filesOf(planner.planSplits(offset)));
+  }
+
+  @Test
+  public void testPlanLiveFilesAfterRollback() throws IOException {
+    ContinuousSplitPlannerImpl planner = newPlanner();
+    long rollbackSnapshotId = planner.planSplits(null).toOffset().changeSnapshotId();
+    writeChange(10);
+    ArcticEnumeratorOffset offset = ArcticEnumeratorOffset.of(currentChangeSnapshotId(), null);
+
+    testKeyedTable.changeTable().manageSnapshots().rollbackTo(rollbackSnapshotId).commit();
+    Set<String> addedFiles = writeChange(11);
+
+    // the offset snapshot is not an ancestor of the current snapshot any more
+    Assert.assertEquals(addedFiles, filesOf(planner.planSplits(offset)));
+  }
+
+  @Test
+  public void testEvictCachedSnapshots() throws IOException {
+    ContinuousSplitPlannerImpl planner = newPlanner();
+    ArcticEnumeratorOffset offset = planner.planSplits(null).toOffset();
+
+    Set<String> addedFiles = new HashSet<>(writeChange(10));
+    long firstSnapshotId = currentChangeSnapshotId();
+    for (int i = 1; i < ContinuousSplitPlannerImpl.MAX_CACHED_SNAPSHOTS + 2; i++) {
+      addedFiles.addAll(writeChange(10 + i));
+    }
+    Assert.assertEquals(addedFiles, filesOf(planner.planSplits(offset)));
+
+    Set<Long> cachedSnapshotIds = planner.cachedSnapshotIds();
+    Assert.assertEquals(ContinuousSplitPlannerImpl.MAX_CACHED_SNAPSHOTS, cachedSnapshotIds.size());
+    Assert.assertFalse(cachedSnapshotIds.contains(firstSnapshotId));
+    Assert.assertTrue(cachedSnapshotIds.contains(currentChangeSnapshotId()));
+  }
+
+  private ContinuousSplitPlannerImpl newPlanner() {
+    return new ContinuousSplitPlannerImpl(ArcticTableLoader.of(TableTestHelper.TEST_TABLE_ID, catalogBuilder));
+  }
+
+  private Set<String> writeChange(int id) throws IOException {
+    TaskWriter<RowData> taskWriter = createTaskWriter(false);
+    taskWriter.write(GenericRowData.ofKind(
+        RowKind.INSERT, id, StringData.fromString("name" + id), ldt.toEpochSecond(ZoneOffset.UTC),
+        TimestampData.fromLocalDateTime(ldt)));
+    WriteResult result = taskWriter.complete();
+    commit(testKeyedTable, result, false);
+    return Arrays.stream(result.dataFiles()).map(file -> file.path().toString()).collect(Collectors.toSet());
+  }
+
+  private long currentChangeSnapshotId() {
+    testKeyedTable.changeTable().refresh();
+    return testKeyedTable.changeTable().currentSnapshot().snapshotId();
+  }
+
+  private static Set<String> filesOf(ContinuousEnumerationResult result) {
+    Set<String> files = new HashSet<>();
+    for (ArcticSplit split : result.splits()) {
+      ChangelogSplit changelogSplit = split.asChangelogSplit();
+      changelogSplit.insertTasks().forEach(task -> files.add(task.file().path().toString()));
+      changelogSplit.deleteTasks().forEach(task -> files.add(task.file().path().toString()));
+    }
+    return files;
+  }
+}
@@ -34,6 +34,7 @@ import com.netease.arctic.flink.util.TestGlobalAggregateManager;
 import com.netease.arctic.flink.util.kafka.KafkaTestBase;
 import com.netease.arctic.flink.write.hidden.kafka.HiddenKafkaFactory;
 import com.netease.arctic.io.DataTestHelpers;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogDataJsonDeserialization;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.utils.IdGenerator;
@@ -313,6 +314,7 @@ public class TestAutomaticLogWriter extends FlinkTestBase {
             LogRecordV1.fieldGetterFactory,
             jobId,
             ShuffleHelper.EMPTY,
+            FormatVersion.FORMAT_VERSION_V1,
             tableLoader,
             writeLogstoreWatermarkGap);
 
@@ -31,6 +31,7 @@ import com.netease.arctic.flink.util.pulsar.PulsarTestEnvironment;
 import com.netease.arctic.flink.util.pulsar.runtime.PulsarRuntime;
 import com.netease.arctic.flink.write.hidden.kafka.HiddenKafkaFactory;
 import com.netease.arctic.flink.write.hidden.pulsar.HiddenPulsarFactory;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogDataJsonDeserialization;
 import com.netease.arctic.utils.IdGenerator;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
@@ -575,7 +576,8 @@ public class TestHiddenLogOperators {
             logMsgFactory,
             LogRecordV1.fieldGetterFactory,
             jobId,
-            ShuffleHelper.EMPTY
+            ShuffleHelper.EMPTY,
+            FormatVersion.FORMAT_VERSION_V1
         );
 
     TestOneInputStreamOperatorIntern<RowData, RowData> harness =
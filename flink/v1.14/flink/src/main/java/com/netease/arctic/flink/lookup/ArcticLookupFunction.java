@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.flink.read.hybrid.enumerator.ArcticEnumeratorOffset;
+import com.netease.arctic.flink.read.hybrid.enumerator.ContinuousEnumerationResult;
+import com.netease.arctic.flink.read.hybrid.enumerator.ContinuousSplitPlanner;
+import com.netease.arctic.flink.read.hybrid.enumerator.ContinuousSplitPlannerImpl;
+import com.netease.arctic.flink.read.hybrid.reader.RowDataReaderFunction;
+import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
+import com.netease.arctic.flink.read.source.ArcticScanContext;
+import com.netease.arctic.flink.read.source.DataIterator;
+import com.netease.arctic.flink.table.ArcticTableLoader;
+import com.netease.arctic.flink.table.descriptors.ArcticValidator;
+import com.netease.arctic.table.KeyedTable;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.netease.arctic.flink.metric.MetricConstant.LOOKUP_CACHE_HIT_RATE;
+import static com.netease.arctic.flink.metric.MetricConstant.LOOKUP_INDEX_SIZE;
+import static com.netease.arctic.flink.metric.MetricConstant.LOOKUP_REFRESH_LAG;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_MAX_ROWS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ROCKSDB_PATH;
+import static com.netease.arctic.flink.util.ArcticUtils.loadArcticTable;
+
+/**
+ * Lookup function of an Arctic keyed table joined by its primary key.
+ * <p>
+ * The rows of the table are loaded into a {@link LookupIndex} when the function is opened, by reading the splits
+ * planned by {@link ContinuousSplitPlannerImpl} for a full scan. After that the index follows the change snapshots
+ * of the table with the splits planned from the last offset, applying inserts and update afters as puts and deletes
+ * and update befores as deletes. The index is refreshed by a background thread every reloading interval, so the
+ * lookups don't wait for the change files to be read, but they may see a change snapshot partially applied. A failed
+ * refresh fails the following lookup.
+ */
+public class ArcticLookupFunction extends TableFunction<RowData> {
+  private static final long serialVersionUID = 1L;
+  private static final Logger LOG = LoggerFactory.getLogger(ArcticLookupFunction.class);
+
+  private final ArcticTableLoader loader;
+  private final Schema projectedSchema;
+  private final int[] keyIndices;
+  private final Map<String, String> properties;
+
+  private transient RowDataReaderFunction readerFunction;
+  private transient ContinuousSplitPlanner splitPlanner;
+  private transient ArcticEnumeratorOffset offset;
+  private transient LookupIndex index;
+  private transient ScheduledExecutorService refreshExecutor;
+  private transient volatile long lastRefreshTime;
+  private transient volatile Throwable refreshFailure;
+
+  /**
+   * @param loader          loader of the keyed table
+   * @param projectedSchema schema of the rows produced by the lookups
+   * @param keyIndices      positions of the lookup keys in the produced rows, they must be the primary key fields
+   * @param properties      table properties and sql options
+   */
+  public ArcticLookupFunction(ArcticTableLoader loader, Schema projectedSchema, int[] keyIndices,
+                              Map<String, String> properties) {
+    this.loader = loader;
+    this.projectedSchema = projectedSchema;
+    this.keyIndices = keyIndices;
+    this.properties = new HashMap<>(properties);
+  }
+
+  @Override
+  public void open(FunctionContext context) throws Exception {
+    KeyedTable table = loadArcticTable(loader).asKeyedTable();
+    Configuration config = ArcticValidator.asConfiguration(properties);
+    ArcticScanContext scanContext = ArcticScanContext.arcticBuilder()
+        .fromProperties(properties)
+        .project(projectedSchema)
+        .build();
+    this.readerFunction = new RowDataReaderFunction(
+        config,
+        table.schema(),
+        projectedSchema,
+        table.primaryKeySpec(),
+        scanContext.nameMapping(),
+        scanContext.caseSensitive(),
+        table.io());
+    this.splitPlanner = new ContinuousSplitPlannerImpl(loader);
+    this.index = new LookupIndex(
+        FlinkSchemaUtil.convert(projectedSchema),
+        projectedSchema.asStruct(),
+        keyIndices,
+        config.get(LOOKUP_CACHE_MAX_ROWS),
+        config.get(LOOKUP_ROCKSDB_PATH));
+    MetricGroup metricGroup = context.getMetricGroup();
+    metricGroup.gauge(LOOKUP_CACHE_HIT_RATE, index::cacheHitRate);
+    metricGroup.gauge(LOOKUP_INDEX_SIZE, index::size);
+    metricGroup.gauge(LOOKUP_REFRESH_LAG, () -> System.currentTimeMillis() - lastRefreshTime);
+
+    long start = System.currentTimeMillis();
+    refresh();
+    LOG.info("Loaded the lookup index of table {} in {} ms, about {} keys.",
+        table.id(), System.currentTimeMillis() - start, index.size());
+
+    long reloadIntervalMs = config.get(LOOKUP_RELOADING_INTERVAL).toMillis();
+    this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("arctic-lookup-refresh-%d")
+        .setDaemon(true)
+        .build());
+    refreshExecutor.scheduleWithFixedDelay(this::refreshInBackground, reloadIntervalMs, reloadIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  public void eval(Object... keys) {
+    Throwable failure = refreshFailure;
+    if (failure != null) {
+      throw new FlinkRuntimeException("Failed to refresh the lookup index", failure);
+    }
+    RowData row = index.get(GenericRowData.of(keys));
+    if (row != null) {
+      collect(row);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+      if (!refreshExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("The refresh of the lookup index is not finished in 1 minute after it is interrupted.");
+      }
+    }
+    if (index != null) {
+      index.close();
+    }
+    if (splitPlanner != null) {
+      splitPlanner.close();
+    }
+  }
+
+  private void refreshInBackground() {
+    if (refreshFailure != null) {
+      return;
+    }
+    try {
+      refresh();
+    } catch (Throwable t) {
+      LOG.error("Failed to refresh the lookup index.", t);
+      refreshFailure = t;
+    }
+  }
+
+  private void refresh() {
+    long now = System.currentTimeMillis();
+    ContinuousEnumerationResult result = splitPlanner.planSplits(offset);
+    // splits are planned in the order they should be applied
+    List<ArcticSplit> splits = new ArrayList<>(result.splits());
+    Collections.sort(splits);
+    splits.forEach(this::apply);
+    if (!result.toOffset().isEmpty()) {
+      offset = result.toOffset();
+    }
+    if (!splits.isEmpty()) {
+      LOG.info("Applied {} splits to the lookup index, latest offset {}.", splits.size(), offset);
+    }
+    lastRefreshTime = now;
+  }
+
+  private void apply(ArcticSplit split) {
+    try (DataIterator<RowData> iterator = readerFunction.createDataIterator(split)) {
+      while (iterator.hasNext()) {
+        RowData row = iterator.next();
+        switch (row.getRowKind()) {
+          case INSERT:
+          case UPDATE_AFTER:
+            index.put(row);
+            break;
+          case DELETE:
+          case UPDATE_BEFORE:
+            index.delete(row);
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown row kind " + row.getRowKind());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
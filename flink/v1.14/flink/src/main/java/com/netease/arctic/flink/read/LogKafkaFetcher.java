@@ -21,7 +21,7 @@ package com.netease.arctic.flink.read;
 import com.netease.arctic.flink.read.internals.KafkaFetcher;
 import com.netease.arctic.flink.shuffle.LogRecordV1;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonDeserialization;
+import com.netease.arctic.log.LogDataDeserialization;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
@@ -62,7 +62,7 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 @Deprecated
 public class LogKafkaFetcher extends KafkaFetcher<RowData> {
   private static final Logger LOG = LoggerFactory.getLogger(LogKafkaFetcher.class);
-  private final LogDataJsonDeserialization<RowData> logDataJsonDeserialization;
+  private final LogDataDeserialization<RowData> logDataDeserialization;
   private final LogReadHelper logReadHelper;
   private final boolean logRetractionEnable;
   LogKafkaConsumerThread<RowData> logKafkaConsumerThread;
@@ -109,7 +109,7 @@ public class LogKafkaFetcher extends KafkaFetcher<RowData> {
         handover,
         logKafkaConsumerThread,
         unassignedPartitionsQueue);
-    this.logDataJsonDeserialization = new LogDataJsonDeserialization<>(
+    this.logDataDeserialization = LogDataDeserialization.create(
         schema,
         LogRecordV1.factory,
         LogRecordV1.arrayFactory,
@@ -134,7 +134,7 @@ public class LogKafkaFetcher extends KafkaFetcher<RowData> {
             "Can't deserialize arctic log queue message due to it does not contain magic number.");
       } else {
         // new format version
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(record.value());
+        LogData<RowData> logData = logDataDeserialization.deserialize(record.value());
         if (!logData.getFlip() && filterByRowKind(logData.getActualValue())) {
           LOG.info(
               "filter the rowData, because of logConsumerAppendOnly is true, and rowData={}.",
@@ -19,20 +19,30 @@
 
 package com.netease.arctic.flink.read.hybrid.enumerator;
 
+import com.netease.arctic.IcebergFileEntry;
 import com.netease.arctic.flink.read.FlinkSplitPlanner;
 import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
 import com.netease.arctic.flink.table.ArcticTableLoader;
 import com.netease.arctic.scan.TableEntriesScan;
 import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.utils.ManifestEntryFields;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.iceberg.FileContent;
 import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.netease.arctic.flink.read.FlinkSplitPlanner.planChangeTable;
@@ -47,9 +57,19 @@ import static com.netease.arctic.flink.util.ArcticUtils.loadArcticTable;
 public class ContinuousSplitPlannerImpl implements ContinuousSplitPlanner {
   private static final Logger LOG = LoggerFactory.getLogger(ContinuousSplitPlannerImpl.class);
 
+  static final int MAX_CACHED_SNAPSHOTS = 32;
+
   private transient KeyedTable table;
   private final ArcticTableLoader loader;
   private static final AtomicInteger splitCount = new AtomicInteger();
+  // files added and removed by the change snapshots already read, in case they are planned again
+  private final Map<Long, SnapshotChanges> snapshotChanges =
+      new LinkedHashMap<Long, SnapshotChanges>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SnapshotChanges> eldest) {
+          return size() > MAX_CACHED_SNAPSHOTS;
+        }
+      };
 
   public ContinuousSplitPlannerImpl(ArcticTableLoader loader) {
     this.loader = loader;
@@ -77,19 +97,12 @@ public class ContinuousSplitPlannerImpl implements ContinuousSplitPlanner {
     Snapshot changeSnapshot = table.changeTable().currentSnapshot();
     if (changeSnapshot != null && changeSnapshot.snapshotId() != fromChangeSnapshotId) {
       long snapshotId = changeSnapshot.snapshotId();
-      TableEntriesScan entriesScan = TableEntriesScan.builder(table.changeTable())
-          .useSnapshot(snapshotId)
-          .includeFileContent(FileContent.DATA)
-          .build();
-
-      Long fromSequence = null;
-      if (fromChangeSnapshotId != Long.MIN_VALUE) {
-        Snapshot snapshot = table.changeTable().snapshot(fromChangeSnapshotId);
-        fromSequence = snapshot.sequenceNumber();
+      List<ArcticSplit> arcticChangeSplit = planAddedFiles(fromChangeSnapshotId, changeSnapshot);
+      if (arcticChangeSplit == null) {
+        LOG.info("Change snapshots from {} to {} are not all available, scan all change files of table {}.",
+            fromChangeSnapshotId, snapshotId, table.id());
+        arcticChangeSplit = planLiveFiles(fromChangeSnapshotId, snapshotId);
       }
-
-      List<ArcticSplit> arcticChangeSplit =
-          planChangeTable(entriesScan, fromSequence, table.changeTable().spec(), splitCount);
       return new ContinuousEnumerationResult(
           arcticChangeSplit,
           lastPosition,
@@ -98,6 +111,59 @@ public class ContinuousSplitPlannerImpl implements ContinuousSplitPlanner {
     return ContinuousEnumerationResult.EMPTY;
   }
 
+  /**
+   * Plan the change files added by the snapshots after fromSnapshotId, reading only the manifests written by
+   * these snapshots. Files removed again before the current snapshot are skipped.
+   *
+   * @return null if the snapshots from fromSnapshotId to the current snapshot are not a complete chain, as after
+   * expiring or rolling back snapshots
+   */
+  private List<ArcticSplit> planAddedFiles(long fromSnapshotId, Snapshot currentSnapshot) {
+    if (fromSnapshotId == EARLIEST_SNAPSHOT_ID) {
+      return null;
+    }
+    List<Snapshot> snapshots = new ArrayList<>();
+    Snapshot snapshot = currentSnapshot;
+    while (snapshot.snapshotId() != fromSnapshotId) {
+      snapshots.add(snapshot);
+      Long parentId = snapshot.parentId();
+      snapshot = parentId == null ? null : table.changeTable().snapshot(parentId);
+      if (snapshot == null) {
+        return null;
+      }
+    }
+    Collections.reverse(snapshots);
+
+    Map<String, IcebergFileEntry> addedFiles = new LinkedHashMap<>();
+    for (Snapshot changeSnapshot : snapshots) {
+      SnapshotChanges changes = snapshotChanges.computeIfAbsent(changeSnapshot.snapshotId(),
+          id -> SnapshotChanges.of(changeSnapshot, table.changeTable().io()));
+      changes.removedFiles.forEach(addedFiles::remove);
+      changes.addedFiles.forEach(entry -> addedFiles.put(entry.getFile().path().toString(), entry));
+    }
+    return planChangeTable(
+        CloseableIterable.withNoopClose(addedFiles.values()), null, table.changeTable().spec(), splitCount);
+  }
+
+  @VisibleForTesting
+  Set<Long> cachedSnapshotIds() {
+    return snapshotChanges.keySet();
+  }
+
+  private List<ArcticSplit> planLiveFiles(long fromSnapshotId, long snapshotId) {
+    TableEntriesScan entriesScan = TableEntriesScan.builder(table.changeTable())
+        .useSnapshot(snapshotId)
+        .includeFileContent(FileContent.DATA)
+        .build();
+
+    Long fromSequence = null;
+    if (fromSnapshotId != EARLIEST_SNAPSHOT_ID) {
+      Snapshot snapshot = table.changeTable().snapshot(fromSnapshotId);
+      fromSequence = snapshot.sequenceNumber();
+    }
+    return planChangeTable(entriesScan, fromSequence, table.changeTable().spec(), splitCount);
+  }
+
   private ContinuousEnumerationResult discoverInitialSplits() {
     Snapshot changeSnapshot = table.changeTable().currentSnapshot();
     List<ArcticSplit> arcticSplits = FlinkSplitPlanner.planFullTable(table, splitCount);
@@ -113,4 +179,18 @@ public class ContinuousSplitPlannerImpl implements ContinuousSplitPlanner {
         null,
         ArcticEnumeratorOffset.of(changeStartSnapshotId, null));
   }
+
+  private static class SnapshotChanges {
+    private final List<IcebergFileEntry> addedFiles = new ArrayList<>();
+    private final List<String> removedFiles = new ArrayList<>();
+
+    static SnapshotChanges of(Snapshot snapshot, FileIO io) {
+      SnapshotChanges changes = new SnapshotChanges();
+      // files added by a snapshot inherit its sequence number
+      snapshot.addedDataFiles(io).forEach(file -> changes.addedFiles.add(new IcebergFileEntry(
+          snapshot.snapshotId(), snapshot.sequenceNumber(), ManifestEntryFields.Status.ADDED, file)));
+      snapshot.removedDataFiles(io).forEach(file -> changes.removedFiles.add(file.path().toString()));
+      return changes;
+    }
+  }
 }
@@ -27,6 +27,7 @@ import com.netease.arctic.flink.write.ArcticLogWriter;
 import com.netease.arctic.flink.write.AutomaticLogWriter;
 import com.netease.arctic.flink.write.hidden.HiddenLogWriter;
 import com.netease.arctic.flink.write.hidden.kafka.HiddenKafkaFactory;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.table.TableProperties;
@@ -56,6 +57,8 @@ import java.util.stream.Collectors;
 import static com.netease.arctic.flink.util.CompatibleFlinkPropertyUtil.fetchLogstorePrefixProperties;
 import static com.netease.arctic.table.TableProperties.ENABLE_LOG_STORE;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_ADDRESS;
+import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_FORMAT;
+import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_FORMAT_DEFAULT;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_VERSION;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_VERSION_DEFAULT;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_MESSAGE_TOPIC;
@@ -130,6 +133,7 @@ public class ArcticUtils {
    * only when {@link ArcticValidator#ARCTIC_EMIT_MODE} contains {@link ArcticValidator#ARCTIC_EMIT_FILE}
    * and enable {@link TableProperties#ENABLE_LOG_STORE}
    * create logWriter according to {@link TableProperties#LOG_STORE_DATA_VERSION}
+   * and {@link TableProperties#LOG_STORE_DATA_FORMAT}
    *
    * @param properties        arctic table properties
    * @param producerConfig
@@ -161,6 +165,8 @@ public class ArcticUtils {
 
     String version = properties.getOrDefault(LOG_STORE_DATA_VERSION, LOG_STORE_DATA_VERSION_DEFAULT);
     if (LOG_STORE_DATA_VERSION_DEFAULT.equals(version)) {
+      FormatVersion logVersion = FormatVersion.fromDataFormat(
+          properties.getOrDefault(LOG_STORE_DATA_FORMAT, LOG_STORE_DATA_FORMAT_DEFAULT));
       if (arcticEmitMode.equals(ArcticValidator.ARCTIC_EMIT_AUTO)) {
         LOG.info("arctic emit mode is auto, and we will build automatic log writer: AutomaticLogWriter(v1)");
         return new AutomaticLogWriter(
@@ -171,6 +177,7 @@ public class ArcticUtils {
             LogRecordV1.fieldGetterFactory,
             IdGenerator.generateUpstreamId(),
             helper,
+            logVersion,
             tableLoader,
             watermarkWriteGap
         );
@@ -184,7 +191,8 @@ public class ArcticUtils {
           new HiddenKafkaFactory<>(),
           LogRecordV1.fieldGetterFactory,
           IdGenerator.generateUpstreamId(),
-          helper);
+          helper,
+          logVersion);
     }
     throw new UnsupportedOperationException("don't support log version '" + version +
         "'. only support 'v1' or empty");
@@ -24,6 +24,7 @@ import com.netease.arctic.flink.read.hybrid.reader.RowDataReaderFunction;
 import com.netease.arctic.flink.read.hybrid.reader.TestRowDataReaderFunction;
 import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
 import com.netease.arctic.flink.read.source.DataIterator;
+import com.netease.arctic.scan.ArcticFileScanTask;
 import org.apache.flink.api.connector.source.ReaderInfo;
 import org.apache.flink.api.connector.source.SourceEvent;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
@@ -38,7 +39,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -46,6 +50,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_SPLIT_ASSIGN_MODE_WEIGHTED;
+
 public class TestShuffleSplitAssigner extends TestRowDataReaderFunction {
   private static final Logger LOG = LoggerFactory.getLogger(TestShuffleSplitAssigner.class);
 
@@ -91,6 +97,51 @@ public class TestShuffleSplitAssigner extends TestRowDataReaderFunction {
     Assert.assertEquals(splitList.size(), actual.size());
   }
 
+  @Test
+  public void testWeightedMultiParallelism() {
+    int totalParallelism = 3;
+    ShuffleSplitAssigner shuffleSplitAssigner = new ShuffleSplitAssigner(
+        new InternalSplitEnumeratorContext(totalParallelism), SCAN_SPLIT_ASSIGN_MODE_WEIGHTED);
+
+    List<ArcticSplit> splitList = FlinkSplitPlanner.planFullTable(testKeyedTable, new AtomicInteger());
+    shuffleSplitAssigner.onDiscoveredSplits(splitList);
+    // splits discovered later keep going to the subtasks of their partitions and tree nodes
+    shuffleSplitAssigner.onDiscoveredSplits(splitList);
+
+    Map<String, Integer> subtaskOfKey = new HashMap<>();
+    Map<String, Long> bytesOfKey = new HashMap<>();
+    long[] bytesOfSubtask = new long[totalParallelism];
+    int actualSplitNum = 0;
+    for (int subtaskId = 0; subtaskId < totalParallelism; subtaskId++) {
+      Split splitOpt = shuffleSplitAssigner.getNext(subtaskId);
+      while (splitOpt.isAvailable()) {
+        ArcticSplit split = splitOpt.split();
+        String key = partitionAndTreeNode(split);
+        Assert.assertEquals(Integer.valueOf(subtaskId), subtaskOfKey.getOrDefault(key, subtaskId));
+        subtaskOfKey.put(key, subtaskId);
+        long bytes = ShuffleSplitAssigner.estimatedBytes(split);
+        bytesOfKey.merge(key, bytes, Long::sum);
+        bytesOfSubtask[subtaskId] += bytes;
+        actualSplitNum++;
+        splitOpt = shuffleSplitAssigner.getNext(subtaskId);
+      }
+    }
+
+    Assert.assertEquals(splitList.size() * 2, actualSplitNum);
+    LOG.info("estimated bytes of the subtasks {}.", Arrays.toString(bytesOfSubtask));
+
+    // each partition and tree node goes to the least loaded subtask, heaviest first, and the later splits double
+    // every subtask, so no subtask is ahead of another by more than the heaviest partition and tree node
+    long maxKeyBytes = Collections.max(bytesOfKey.values());
+    long maxBytes = Arrays.stream(bytesOfSubtask).max().getAsLong();
+    long minBytes = Arrays.stream(bytesOfSubtask).min().getAsLong();
+    long avgBytes = Arrays.stream(bytesOfSubtask).sum() / totalParallelism;
+    Assert.assertTrue(String.format("subtask bytes %s differ by more than %d", Arrays.toString(bytesOfSubtask),
+        maxKeyBytes), maxBytes - minBytes <= maxKeyBytes);
+    Assert.assertTrue(String.format("subtask bytes %s exceed the average %d by more than %d",
+        Arrays.toString(bytesOfSubtask), avgBytes, maxKeyBytes), maxBytes <= avgBytes + maxKeyBytes);
+  }
+
   @Test
   public void testTreeNodeMaskUpdate() {
     ShuffleSplitAssigner shuffleSplitAssigner = instanceSplitAssigner(3);
@@ -191,6 +242,17 @@ public class TestShuffleSplitAssigner extends TestRowDataReaderFunction {
     assertArrayEquals(array, actual);
   }
 
+  private static String partitionAndTreeNode(ArcticSplit split) {
+    List<ArcticFileScanTask> tasks = new ArrayList<>();
+    if (split.isChangelogSplit()) {
+      tasks.addAll(split.asChangelogSplit().insertTasks());
+      tasks.addAll(split.asChangelogSplit().deleteTasks());
+    } else {
+      tasks.addAll(split.asSnapshotSplit().insertTasks());
+    }
+    return tasks.get(0).file().partition() + "-" + split.dataTreeNode();
+  }
+
   protected ShuffleSplitAssigner instanceSplitAssigner(int parallelism) {
     SplitEnumeratorContext<ArcticSplit> splitEnumeratorContext = new InternalSplitEnumeratorContext(parallelism);
     return new ShuffleSplitAssigner(splitEnumeratorContext);
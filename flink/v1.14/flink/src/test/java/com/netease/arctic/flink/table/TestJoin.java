@@ -19,13 +19,19 @@
 package com.netease.arctic.flink.table;
 
 import com.netease.arctic.flink.FlinkTestBase;
+import com.netease.arctic.flink.lookup.ArcticLookupFunction;
+import com.netease.arctic.flink.metric.MetricConstant;
+import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.flink.util.ArcticUtils;
 import com.netease.arctic.flink.util.DataUtil;
 import com.netease.arctic.flink.util.TestUtil;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.TableIdentifier;
 import org.apache.flink.api.common.JobStatus;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.api.common.functions.util.ListCollector;
 import org.apache.flink.api.common.time.Deadline;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.runtime.testutils.CommonTestUtils;
 import org.apache.flink.shaded.guava30.com.google.common.collect.Lists;
 import org.apache.flink.table.api.DataTypes;
@@ -34,6 +40,7 @@ import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.Row;
 import org.apache.flink.types.RowKind;
@@ -44,6 +51,8 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +80,11 @@ public class TestJoin extends FlinkTestBase {
 
   private static final String DB = PK_TABLE_ID.getDatabase();
   private static final String TABLE = "test_keyed";
+  private static final RowType LOOKUP_ROW_TYPE = (RowType) TableSchema.builder()
+      .field("info", DataTypes.INT())
+      .field("id", DataTypes.BIGINT())
+      .field("name", DataTypes.STRING())
+      .build().toRowDataType().getLogicalType();
 
   public void before() throws Exception {
     super.before();
@@ -224,6 +238,135 @@ public class TestJoin extends FlinkTestBase {
     Assert.assertEquals(DataUtil.toRowSet(expected), actual);
   }
 
+  @Test(timeout = 180000)
+  public void testProcTimeLookupJoin() throws Exception {
+    getEnv().getCheckpointConfig().disableCheckpointing();
+    List<Object[]> data = new LinkedList<>();
+    data.add(new Object[]{RowKind.INSERT, 1L, "a"});
+    data.add(new Object[]{RowKind.INSERT, 2L, "b"});
+    data.add(new Object[]{RowKind.INSERT, 3L, "c"});
+    data.add(new Object[]{RowKind.INSERT, 4L, "d"});
+    data.add(new Object[]{RowKind.INSERT, 5L, "e"});
+    data.add(new Object[]{RowKind.INSERT, 6L, "f"});
+    data.add(new Object[]{RowKind.INSERT, 8L, "g"});
+    String id = registerData(DataUtil.toRowList(data));
+    sql("CREATE TABLE `user` (id bigint, name string, proc as PROCTIME()) " +
+        "with (" +
+        " 'connector' = 'values'," +
+        " 'bounded' = 'false'," +
+        " 'data-id' = '" + id + "' " +
+        " )");
+    // the base and change files committed before the job starts are loaded into the lookup index
+    createLookupTable();
+
+    TableResult result = exec("select u.name, u.id, dim.info, dim.name dname from `user` as u left join " +
+        "arcticCatalog.%s.%s for system_time as of u.proc as dim on u.id = dim.id", DB, TABLE);
+
+    CommonTestUtils.waitForJobStatus(result.getJobClient().get(), Lists.newArrayList(JobStatus.RUNNING),
+        Deadline.fromNow(Duration.ofSeconds(30)));
+    Set<Row> actual = new HashSet<>();
+    try (CloseableIterator<Row> iterator = result.collect()) {
+      for (Object[] datum : data) {
+        Row row = iterator.next();
+        actual.add(row);
+      }
+    }
+    result.getJobClient().ifPresent(TestUtil::cancelJob);
+
+    List<Object[]> expected = new LinkedList<>();
+    expected.add(new Object[]{"a", 1L, 123, "a"});
+    expected.add(new Object[]{"b", 2L, 324, "b"});
+    expected.add(new Object[]{"c", 3L, null, null});
+    expected.add(new Object[]{"d", 4L, 463, "d"});
+    expected.add(new Object[]{"e", 5L, 324, "john"});
+    expected.add(new Object[]{"f", 6L, 324, "lily"});
+    expected.add(new Object[]{"g", 8L, null, null});
+    Assert.assertEquals(DataUtil.toRowSet(expected), actual);
+  }
+
+  @Test(timeout = 180000)
+  public void testLookupFunctionFollowsChanges() throws Exception {
+    KeyedTable keyedTable = createLookupTable();
+    Map<String, String> properties = new HashMap<>(keyedTable.properties());
+    properties.put(ArcticValidator.LOOKUP_RELOADING_INTERVAL.key(), "100ms");
+    properties.put(ArcticValidator.LOOKUP_ROCKSDB_PATH.key(), tempFolder.newFolder().getAbsolutePath());
+    ArcticTableLoader loader = ArcticTableLoader.of(TableIdentifier.of(TEST_CATALOG_NAME, DB, TABLE), catalogBuilder);
+    ArcticLookupFunction function = new ArcticLookupFunction(loader, keyedTable.schema(), new int[]{1}, properties);
+    RuntimeContext runtimeContext = Mockito.mock(RuntimeContext.class, Mockito.RETURNS_DEEP_STUBS);
+    List<RowData> collected = new ArrayList<>();
+    function.setCollector(new ListCollector<>(collected));
+    function.open(new FunctionContext(runtimeContext));
+    try {
+      assertLookup(function, collected, 1L, 123, "a");
+      assertLookup(function, collected, 3L, null, null);
+      assertLookup(function, collected, 5L, 324, "john");
+
+      // the changes committed after the function is opened are applied in the background
+      TaskWriter<RowData> taskWriter = createKeyedTaskWriter(keyedTable, LOOKUP_ROW_TYPE, false);
+      taskWriter.write(GenericRowData.ofKind(RowKind.INSERT, 789, 7L, StringData.fromString("tom")));
+      taskWriter.write(GenericRowData.ofKind(RowKind.DELETE, 324, 5L, StringData.fromString("john")));
+      commit(keyedTable, taskWriter.complete(), false);
+      long deadline = System.currentTimeMillis() + 60000;
+      while ((lookup(function, collected, 7L) == null || lookup(function, collected, 5L) != null) &&
+          System.currentTimeMillis() < deadline) {
+        Thread.sleep(100);
+      }
+      assertLookup(function, collected, 7L, 789, "tom");
+      assertLookup(function, collected, 5L, null, null);
+      assertLookup(function, collected, 1L, 123, "a");
+    } finally {
+      function.close();
+    }
+
+    // gauges are still reported after the function is closed
+    ArgumentCaptor<String> names = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<Gauge> gauges = ArgumentCaptor.forClass(Gauge.class);
+    Mockito.verify(runtimeContext.getMetricGroup(), Mockito.atLeastOnce()).gauge(names.capture(), gauges.capture());
+    int indexSize = names.getAllValues().indexOf(MetricConstant.LOOKUP_INDEX_SIZE);
+    Assert.assertEquals(0L, gauges.getAllValues().get(indexSize).getValue());
+  }
+
+  private KeyedTable createLookupTable() throws IOException {
+    sql(String.format("CREATE CATALOG arcticCatalog WITH %s", toWithClause(props)));
+    Map<String, String> tableProperties = new HashMap<>();
+    tableProperties.put(LOCATION, tableDir.getAbsolutePath() + "/" + TABLE);
+    String table = String.format("arcticCatalog.%s.%s", DB, TABLE);
+    sql(String.format("CREATE TABLE IF NOT EXISTS %s (" +
+        " info int, id bigint, name STRING" +
+        ", PRIMARY KEY (id) NOT ENFORCED) WITH %s", table, toWithClause(tableProperties)));
+
+    KeyedTable keyedTable = (KeyedTable) ArcticUtils.loadArcticTable(
+        ArcticTableLoader.of(TableIdentifier.of(TEST_CATALOG_NAME, DB, TABLE), catalogBuilder));
+    TaskWriter<RowData> taskWriter = createKeyedTaskWriter(keyedTable, LOOKUP_ROW_TYPE, true);
+    taskWriter.write(GenericRowData.ofKind(RowKind.INSERT, 123, 1L, StringData.fromString("a")));
+    taskWriter.write(GenericRowData.ofKind(RowKind.INSERT, 324, 2L, StringData.fromString("b")));
+    taskWriter.write(GenericRowData.ofKind(RowKind.INSERT, 456, 3L, StringData.fromString("c")));
+    taskWriter.write(GenericRowData.ofKind(RowKind.INSERT, 463, 4L, StringData.fromString("d")));
+    commit(keyedTable, taskWriter.complete(), true);
+    writeChange(keyedTable, LOOKUP_ROW_TYPE);
+    return keyedTable;
+  }
+
+  private static RowData lookup(ArcticLookupFunction function, List<RowData> collected, long id) {
+    collected.clear();
+    function.eval(id);
+    Assert.assertTrue(collected.size() <= 1);
+    return collected.isEmpty() ? null : collected.get(0);
+  }
+
+  private static void assertLookup(ArcticLookupFunction function, List<RowData> collected, long id,
+                                   Integer info, String name) {
+    RowData row = lookup(function, collected, id);
+    if (info == null) {
+      Assert.assertNull(row);
+      return;
+    }
+    Assert.assertNotNull(row);
+    Assert.assertEquals((int) info, row.getInt(0));
+    Assert.assertEquals(id, row.getLong(1));
+    Assert.assertEquals(name, row.getString(2).toString());
+  }
+
   private void writeChange(KeyedTable keyedTable, RowType rowType) {
     TaskWriter<RowData> taskWriter = createKeyedTaskWriter(keyedTable, rowType, false);
     List<RowData> data = new ArrayList<RowData>() {{
@@ -39,6 +39,7 @@ import com.netease.arctic.flink.util.DataUtil;
 import com.netease.arctic.flink.util.TestOneInputStreamOperatorIntern;
 import com.netease.arctic.flink.util.TestGlobalAggregateManager;
 import com.netease.arctic.flink.write.hidden.kafka.HiddenKafkaFactory;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogDataJsonDeserialization;
 import com.netease.arctic.utils.IdGenerator;
 import org.apache.iceberg.Schema;
@@ -303,6 +304,7 @@ public class TestAutomaticLogWriter extends FlinkTestBase {
             LogRecordV1.fieldGetterFactory,
             jobId,
             ShuffleHelper.EMPTY,
+            FormatVersion.FORMAT_VERSION_V1,
             tableLoader,
             writeLogstoreWatermarkGap);
 
@@ -24,6 +24,7 @@ import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.util.TestOneInputStreamOperatorIntern;
 import com.netease.arctic.flink.util.TestGlobalAggregateManager;
 import com.netease.arctic.flink.write.hidden.HiddenLogWriter;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogDataJsonDeserialization;
 import com.netease.arctic.utils.IdGenerator;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
@@ -458,7 +459,8 @@ public class TestHiddenLogOperators {
             new HiddenKafkaFactory<>(),
             LogRecordV1.fieldGetterFactory,
             jobId,
-            ShuffleHelper.EMPTY
+            ShuffleHelper.EMPTY,
+            FormatVersion.FORMAT_VERSION_V1
         );
 
     TestOneInputStreamOperatorIntern<RowData, RowData> harness =
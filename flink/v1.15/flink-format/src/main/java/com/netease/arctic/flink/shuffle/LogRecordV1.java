@@ -340,6 +340,15 @@ public class LogRecordV1 implements LogData<RowData>, Serializable {
             return fieldGetter.getFieldOrNull(row,fieldPos);
           };
         }
+
+        @Override
+        public byte[] getUtf8Bytes(Object string) {
+          // StringData is usually backed by UTF-8 bytes already, no need to decode and encode it again.
+          if (string instanceof StringData) {
+            return ((StringData) string).toBytes();
+          }
+          return LogData.FieldGetterFactory.super.getUtf8Bytes(string);
+        }
       };
 
   public static LogData.Factory<RowData> factory = new Factory<RowData>() {
@@ -77,8 +77,11 @@ public class FlinkSplitPlanner {
 
   public static List<ArcticSplit> planChangeTable(TableEntriesScan tableEntriesScan, Long fromSequence,
                                                   PartitionSpec spec, AtomicInteger splitCount) {
-    CloseableIterable<IcebergFileEntry> entries = tableEntriesScan.entries();
+    return planChangeTable(tableEntriesScan.entries(), fromSequence, spec, splitCount);
+  }
 
+  public static List<ArcticSplit> planChangeTable(CloseableIterable<IcebergFileEntry> entries, Long fromSequence,
+                                                  PartitionSpec spec, AtomicInteger splitCount) {
     BaseAndChangeTask baseAndChangeTask = BaseAndChangeTask.ofIceberg(entries, spec, fromSequence);
 
     return planChangeTable(baseAndChangeTask.transactionTasks(), splitCount);
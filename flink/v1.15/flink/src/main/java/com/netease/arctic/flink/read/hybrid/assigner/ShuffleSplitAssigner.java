@@ -24,6 +24,7 @@ import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
 import com.netease.arctic.flink.read.hybrid.split.ArcticSplitState;
 import com.netease.arctic.scan.ArcticFileScanTask;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,11 +42,24 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import static com.netease.arctic.flink.metric.MetricConstant.PENDING_SPLITS;
+import static com.netease.arctic.flink.metric.MetricConstant.PENDING_SPLIT_BYTES;
+import static com.netease.arctic.flink.metric.MetricConstant.PENDING_SPLIT_RECORDS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.SCAN_SPLIT_ASSIGN_MODE_WEIGHTED;
+
 /**
  * According to Mark,Index TreeNodes and subtaskId assigning a split to special subtask to read.
+ * <p>
+ * A partition and tree node is always assigned to the same subtask to keep the ordering of its records. In the
+ * {@link com.netease.arctic.flink.table.descriptors.ArcticValidator#SCAN_SPLIT_ASSIGN_MODE_HASH} mode the subtask
+ * of a new partition and tree node is chosen round-robin. In the
+ * {@link com.netease.arctic.flink.table.descriptors.ArcticValidator#SCAN_SPLIT_ASSIGN_MODE_WEIGHTED} mode it is the
+ * subtask with the least bytes and records assigned so far, the new partitions and tree nodes of the discovered
+ * splits are bin-packed from the heaviest to the lightest.
  */
 public class ShuffleSplitAssigner implements SplitAssigner {
   private static final Logger LOG = LoggerFactory.getLogger(ShuffleSplitAssigner.class);
@@ -65,24 +81,47 @@ public class ShuffleSplitAssigner implements SplitAssigner {
    */
   private final Map<Integer, PriorityBlockingQueue<ArcticSplit>> subtaskSplitMap;
 
+  private final boolean weighted;
+  /**
+   * Key is subtaskId, Value is the load assigned to the subtask and its backlog.
+   */
+  private final Map<Integer, SubtaskLoad> subtaskLoadMap;
+
   private CompletableFuture<Void> availableFuture;
 
 
   public ShuffleSplitAssigner(
       SplitEnumeratorContext<ArcticSplit> enumeratorContext) {
+    this(enumeratorContext, null);
+  }
+
+  public ShuffleSplitAssigner(
+      SplitEnumeratorContext<ArcticSplit> enumeratorContext, String assignMode) {
     this.enumeratorContext = enumeratorContext;
     this.totalParallelism = enumeratorContext.currentParallelism();
     this.partitionIndexSubtaskMap = new ConcurrentHashMap<>();
     this.subtaskSplitMap = new ConcurrentHashMap<>();
+    this.weighted = SCAN_SPLIT_ASSIGN_MODE_WEIGHTED.equals(assignMode);
+    this.subtaskLoadMap = new ConcurrentHashMap<>();
+    registerMetrics();
   }
 
   public ShuffleSplitAssigner(
       SplitEnumeratorContext<ArcticSplit> enumeratorContext, Collection<ArcticSplitState> splitStates,
       long[] shuffleSplitRelation) {
+    this(enumeratorContext, splitStates, shuffleSplitRelation, null);
+  }
+
+  public ShuffleSplitAssigner(
+      SplitEnumeratorContext<ArcticSplit> enumeratorContext, Collection<ArcticSplitState> splitStates,
+      long[] shuffleSplitRelation, String assignMode) {
     this.enumeratorContext = enumeratorContext;
     this.partitionIndexSubtaskMap = new ConcurrentHashMap<>();
     this.subtaskSplitMap = new ConcurrentHashMap<>();
+    this.weighted = SCAN_SPLIT_ASSIGN_MODE_WEIGHTED.equals(assignMode);
+    this.subtaskLoadMap = new ConcurrentHashMap<>();
     deserializePartitionIndex(shuffleSplitRelation);
+    registerMetrics();
     splitStates.forEach(state -> onDiscoveredSplits(Collections.singleton(state.toSourceSplit())));
   }
 
@@ -119,6 +158,7 @@ public class ShuffleSplitAssigner implements SplitAssigner {
       } else {
         LOG.info("get next arctic split taskIndex {}, totalSplitNum {}, arcticSplit {}.",
             arcticSplit.taskIndex(), totalSplitNum, arcticSplit);
+        subtaskLoad(subTaskId).removePending(arcticSplit);
         return Optional.of(arcticSplit);
       }
     } else {
@@ -129,7 +169,11 @@ public class ShuffleSplitAssigner implements SplitAssigner {
 
   @Override
   public void onDiscoveredSplits(Collection<ArcticSplit> splits) {
-    splits.forEach(this::putArcticIntoQueue);
+    if (weighted) {
+      putArcticIntoQueueWeighted(splits);
+    } else {
+      splits.forEach(this::putArcticIntoQueue);
+    }
     // only complete pending future if new splits are discovered
     completeAvailableFuturesIfNeeded();
   }
@@ -151,16 +195,113 @@ public class ShuffleSplitAssigner implements SplitAssigner {
       LOG.info("partition = {}, (mask, index) = ({}, {}), subtaskId = {}",
           file.partition().toString(), node.mask(), node.index(), subtaskId);
 
-      PriorityBlockingQueue<ArcticSplit> queue = subtaskSplitMap.getOrDefault(subtaskId, new PriorityBlockingQueue<>());
       ArcticSplit copiedSplit = split.copy();
       copiedSplit.modifyTreeNode(node);
-      LOG.info("put split into queue: {}", copiedSplit);
-      queue.add(copiedSplit);
-      totalSplitNum = totalSplitNum + 1;
-      subtaskSplitMap.put(subtaskId, queue);
+      putIntoQueue(subtaskId, copiedSplit);
     }
   }
 
+  /**
+   * Put the splits into the queues of the subtasks, the partitions and tree nodes seen the first time are assigned
+   * from the heaviest to the subtasks with the least load, so that the initial splits are bin-packed.
+   */
+  void putArcticIntoQueueWeighted(Collection<ArcticSplit> splits) {
+    Map<Long, List<ArcticSplit>> splitsByKey = new LinkedHashMap<>();
+    Map<Long, long[]> newKeyWeights = new LinkedHashMap<>();
+    for (ArcticSplit split : splits) {
+      List<DataTreeNode> exactlyTreeNodes = getExactlyTreeNodes(split);
+      PrimaryKeyedFile file = findAnyFileInArcticSplit(split);
+      for (DataTreeNode node : exactlyTreeNodes) {
+        long partitionIndexKey = Math.abs(file.partition().toString().hashCode() + node.index());
+        ArcticSplit copiedSplit = split.copy();
+        copiedSplit.modifyTreeNode(node);
+        splitsByKey.computeIfAbsent(partitionIndexKey, key -> new ArrayList<>()).add(copiedSplit);
+        if (!partitionIndexSubtaskMap.containsKey(partitionIndexKey)) {
+          long[] weight = newKeyWeights.computeIfAbsent(partitionIndexKey, key -> new long[2]);
+          weight[0] += estimatedBytes(copiedSplit);
+          weight[1] += estimatedRecords(copiedSplit);
+        }
+      }
+    }
+
+    newKeyWeights.entrySet().stream()
+        .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> entry) -> entry.getValue()[0])
+            .thenComparingLong(entry -> entry.getValue()[1]).reversed())
+        .forEach(entry -> {
+          int subtaskId = leastLoadedSubtask();
+          partitionIndexSubtaskMap.put(entry.getKey(), subtaskId);
+          subtaskLoad(subtaskId).assign(entry.getValue()[0], entry.getValue()[1]);
+          LOG.info("partition and tree node key = {}, estimated bytes = {}, estimated records = {}, subtaskId = {}",
+              entry.getKey(), entry.getValue()[0], entry.getValue()[1], subtaskId);
+        });
+
+    splitsByKey.forEach((partitionIndexKey, keySplits) -> {
+      int subtaskId = partitionIndexSubtaskMap.get(partitionIndexKey);
+      for (ArcticSplit split : keySplits) {
+        if (!newKeyWeights.containsKey(partitionIndexKey)) {
+          subtaskLoad(subtaskId).assign(estimatedBytes(split), estimatedRecords(split));
+        }
+        putIntoQueue(subtaskId, split);
+      }
+    });
+  }
+
+  private void putIntoQueue(int subtaskId, ArcticSplit split) {
+    PriorityBlockingQueue<ArcticSplit> queue = subtaskSplitMap.getOrDefault(subtaskId, new PriorityBlockingQueue<>());
+    LOG.info("put split into queue: {}", split);
+    queue.add(split);
+    totalSplitNum = totalSplitNum + 1;
+    subtaskSplitMap.put(subtaskId, queue);
+    subtaskLoad(subtaskId).addPending(split);
+  }
+
+  private int leastLoadedSubtask() {
+    int leastLoaded = 0;
+    for (int subtaskId = 1; subtaskId < totalParallelism; subtaskId++) {
+      if (subtaskLoad(subtaskId).compareTo(subtaskLoad(leastLoaded)) < 0) {
+        leastLoaded = subtaskId;
+      }
+    }
+    return leastLoaded;
+  }
+
+  private SubtaskLoad subtaskLoad(int subtaskId) {
+    return subtaskLoadMap.computeIfAbsent(subtaskId, id -> new SubtaskLoad());
+  }
+
+  private void registerMetrics() {
+    MetricGroup metricGroup = enumeratorContext.metricGroup();
+    if (metricGroup == null) {
+      return;
+    }
+    for (int subtaskId = 0; subtaskId < totalParallelism; subtaskId++) {
+      SubtaskLoad load = subtaskLoad(subtaskId);
+      MetricGroup subtaskGroup = metricGroup.addGroup("subtask", String.valueOf(subtaskId));
+      subtaskGroup.gauge(PENDING_SPLITS, load.pendingSplits::get);
+      subtaskGroup.gauge(PENDING_SPLIT_BYTES, load.pendingBytes::get);
+      subtaskGroup.gauge(PENDING_SPLIT_RECORDS, load.pendingRecords::get);
+    }
+  }
+
+  static long estimatedBytes(ArcticSplit split) {
+    return arcticFileScanTasks(split).stream().mapToLong(ArcticFileScanTask::length).sum();
+  }
+
+  static long estimatedRecords(ArcticSplit split) {
+    return arcticFileScanTasks(split).stream().mapToLong(task -> task.file().recordCount()).sum();
+  }
+
+  private static List<ArcticFileScanTask> arcticFileScanTasks(ArcticSplit split) {
+    List<ArcticFileScanTask> tasks = new ArrayList<>();
+    if (split.isChangelogSplit()) {
+      tasks.addAll(split.asChangelogSplit().insertTasks());
+      tasks.addAll(split.asChangelogSplit().deleteTasks());
+    } else if (split.isSnapshotSplit()) {
+      tasks.addAll(split.asSnapshotSplit().insertTasks());
+    }
+    return tasks;
+  }
+
   @Override
   public Collection<ArcticSplitState> state() {
     List<ArcticSplitState> arcticSplitStates = new ArrayList<>();
@@ -197,6 +338,7 @@ public class ShuffleSplitAssigner implements SplitAssigner {
   public void close() throws IOException {
     subtaskSplitMap.clear();
     partitionIndexSubtaskMap.clear();
+    subtaskLoadMap.clear();
   }
 
   public long[] serializePartitionIndex() {
@@ -301,4 +443,38 @@ public class ShuffleSplitAssigner implements SplitAssigner {
     }
     availableFuture = null;
   }
+
+  /**
+   * The bytes and records assigned to a subtask, and the splits of them not polled yet by the subtask.
+   */
+  private static class SubtaskLoad implements Comparable<SubtaskLoad> {
+    private final AtomicLong assignedBytes = new AtomicLong();
+    private final AtomicLong assignedRecords = new AtomicLong();
+    private final AtomicLong pendingSplits = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong pendingRecords = new AtomicLong();
+
+    void assign(long bytes, long records) {
+      assignedBytes.addAndGet(bytes);
+      assignedRecords.addAndGet(records);
+    }
+
+    void addPending(ArcticSplit split) {
+      pendingSplits.incrementAndGet();
+      pendingBytes.addAndGet(estimatedBytes(split));
+      pendingRecords.addAndGet(estimatedRecords(split));
+    }
+
+    void removePending(ArcticSplit split) {
+      pendingSplits.decrementAndGet();
+      pendingBytes.addAndGet(-estimatedBytes(split));
+      pendingRecords.addAndGet(-estimatedRecords(split));
+    }
+
+    @Override
+    public int compareTo(SubtaskLoad that) {
+      int result = Long.compare(assignedBytes.get(), that.assignedBytes.get());
+      return result != 0 ? result : Long.compare(assignedRecords.get(), that.assignedRecords.get());
+    }
+  }
 }
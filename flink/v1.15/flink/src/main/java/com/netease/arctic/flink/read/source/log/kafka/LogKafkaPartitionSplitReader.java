@@ -23,7 +23,7 @@ import com.netease.arctic.flink.read.source.log.LogSourceHelper;
 import com.netease.arctic.flink.shuffle.LogRecordV1;
 import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonDeserialization;
+import com.netease.arctic.log.LogDataDeserialization;
 import org.apache.flink.api.connector.source.SourceReaderContext;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 import org.apache.flink.connector.kafka.source.metrics.KafkaSourceReaderMetrics;
@@ -90,7 +90,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
 
   private static final Logger LOG = LoggerFactory.getLogger(LogKafkaPartitionSplitReader.class);
 
-  private final LogDataJsonDeserialization<RowData> logDataJsonDeserialization;
+  private final LogDataDeserialization<RowData> logDataDeserialization;
   private final LogSourceHelper logReadHelper;
   private final boolean logRetractionEnable;
   private final boolean logConsumerAppendOnly;
@@ -103,7 +103,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
                                       String logConsumerChangelogMode) {
     super(props, context, kafkaSourceReaderMetrics);
 
-    this.logDataJsonDeserialization = new LogDataJsonDeserialization<>(
+    this.logDataDeserialization = LogDataDeserialization.create(
         schema,
         LogRecordV1.factory,
         LogRecordV1.arrayFactory,
@@ -208,7 +208,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
               "Can't deserialize arctic log queue message due to it does not contain magic number.");
         }
 
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(value);
+        LogData<RowData> logData = logDataDeserialization.deserialize(value);
         if (!logData.getFlip() && filterByRowKind(logData.getActualValue())) {
           LOG.info(
               "filter the rowData, because of logConsumerAppendOnly is true, and rowData={}.",
@@ -282,7 +282,7 @@ public class LogKafkaPartitionSplitReader extends KafkaPartitionSplitReader {
           finishRetract.add(tp);
           break;
         }
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(r.value());
+        LogData<RowData> logData = logDataDeserialization.deserialize(r.value());
 
         if (!Objects.equals(logData.getUpstreamId(), retractingInfo.getUpstreamId()) ||
             logData.getEpicNo() <= retractingInfo.getEpicNo()) {
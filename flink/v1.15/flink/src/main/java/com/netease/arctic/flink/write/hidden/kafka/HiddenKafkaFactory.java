@@ -21,7 +21,7 @@ package com.netease.arctic.flink.write.hidden.kafka;
 import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 
 import java.util.Properties;
 
@@ -37,13 +37,13 @@ public class HiddenKafkaFactory<T> implements LogMsgFactory<T> {
   public Producer<T> createProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ShuffleHelper helper) {
     checkNotNull(topic);
     return new HiddenKafkaProducer<>(
         producerConfig,
         topic,
-        logDataJsonSerialization,
+        logDataSerialization,
         new ArcticLogPartitioner<>(
             helper
         ));
@@ -55,6 +55,29 @@ public class OptimizerConfig implements Serializable {
   @Option(name = "-rp", aliases = "--rock-base-path", usage = "rocks db base path")
   private String rocksDBBasePath;
 
+  @Option(name = "-sbc", aliases = "--spill-block-cache-size",
+      usage = "rocks db block cache size shared by all spilled maps of the process(MB)")
+  private long spillBlockCacheSize = 64; // 64 M
+
+  @Option(name = "-swb", aliases = "--spill-write-buffer-size",
+      usage = "rocks db write buffer size shared by all spilled maps of the process(MB)")
+  private long spillWriteBufferSize = 256; // 256 M
+
+  @Option(name = "-sdq", aliases = "--spill-disk-quota", usage = "rocks db disk quota(MB), unlimited if not positive")
+  private long spillDiskQuota = 0;
+
+  @Option(name = "-pmb", aliases = "--prefetch-max-bytes",
+      usage = "max byte size of task files prefetched from ams at once(MB), unlimited if not positive")
+  private long prefetchMaxBytes = 64; // 64 M
+
+  @Option(name = "-pwt", aliases = "--poll-wait-time",
+      usage = "time to wait in ams for tasks on each poll (ms), return at once if not positive")
+  private long pollWaitTime = 0;
+
+  @Option(name = "-tp", aliases = "--task-parallel",
+      usage = "max threads to rewrite a single optimize task, the spill map memory is shared by these threads")
+  private int taskParallel = 1;
+
   public OptimizerConfig() {
   }
 
@@ -143,6 +166,54 @@ public class OptimizerConfig implements Serializable {
     this.rocksDBBasePath = rocksDBBasePath;
   }
 
+  public long getSpillBlockCacheSize() {
+    return spillBlockCacheSize;
+  }
+
+  public void setSpillBlockCacheSize(long spillBlockCacheSize) {
+    this.spillBlockCacheSize = spillBlockCacheSize;
+  }
+
+  public long getSpillWriteBufferSize() {
+    return spillWriteBufferSize;
+  }
+
+  public void setSpillWriteBufferSize(long spillWriteBufferSize) {
+    this.spillWriteBufferSize = spillWriteBufferSize;
+  }
+
+  public long getSpillDiskQuota() {
+    return spillDiskQuota;
+  }
+
+  public void setSpillDiskQuota(long spillDiskQuota) {
+    this.spillDiskQuota = spillDiskQuota;
+  }
+
+  public long getPrefetchMaxBytes() {
+    return prefetchMaxBytes;
+  }
+
+  public void setPrefetchMaxBytes(long prefetchMaxBytes) {
+    this.prefetchMaxBytes = prefetchMaxBytes;
+  }
+
+  public long getPollWaitTime() {
+    return pollWaitTime;
+  }
+
+  public void setPollWaitTime(long pollWaitTime) {
+    this.pollWaitTime = pollWaitTime;
+  }
+
+  public int getTaskParallel() {
+    return taskParallel;
+  }
+
+  public void setTaskParallel(int taskParallel) {
+    this.taskParallel = taskParallel;
+  }
+
   @Override
   public String toString() {
     return "OptimizerConfig{" +
@@ -154,6 +225,12 @@ public class OptimizerConfig implements Serializable {
         ", enableSpillMap='" + enableSpillMap + '\'' +
         ", maxInMemorySize=" + maxInMemorySize +
         ", rocksDBBasePath='" + rocksDBBasePath + '\'' +
+        ", spillBlockCacheSize=" + spillBlockCacheSize +
+        ", spillWriteBufferSize=" + spillWriteBufferSize +
+        ", spillDiskQuota=" + spillDiskQuota +
+        ", prefetchMaxBytes=" + prefetchMaxBytes +
+        ", pollWaitTime=" + pollWaitTime +
+        ", taskParallel=" + taskParallel +
         '}';
   }
 
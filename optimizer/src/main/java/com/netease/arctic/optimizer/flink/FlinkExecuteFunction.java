@@ -23,6 +23,7 @@ import com.netease.arctic.optimizer.OptimizerConfig;
 import com.netease.arctic.optimizer.TaskWrapper;
 import com.netease.arctic.optimizer.operator.BaseTaskExecutor;
 import com.netease.arctic.optimizer.util.CircularArray;
+import com.netease.arctic.optimizer.util.OptimizerUtil;
 import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.Meter;
@@ -122,6 +123,7 @@ public class FlinkExecuteFunction extends ProcessFunction<TaskWrapper, OptimizeT
   @Override
   public void open(Configuration parameters) throws Exception {
     super.open(parameters);
+    OptimizerUtil.configureSpill(config);
     ExecutionConfig.GlobalJobParameters globalJobParameters =
         getRuntimeContext().getExecutionConfig().getGlobalJobParameters();
 
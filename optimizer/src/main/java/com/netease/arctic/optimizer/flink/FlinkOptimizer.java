@@ -88,6 +88,9 @@ public class FlinkOptimizer implements StatefulOptimizer {
     Boolean enableSpillMap = groupProperties.getBoolean(OptimizerProperties.SPILLABLE_MAP_ENABLE);
     String backendBaseDir = groupProperties.getString(OptimizerProperties.SPILLABLE_MAP_DIR);
     Long maxDeleteMemorySize = groupProperties.getLong(OptimizerProperties.SPILLABLE_MEMORY_LIMIT);
+    Long blockCacheSize = groupProperties.getLong(OptimizerProperties.SPILLABLE_BLOCK_CACHE_SIZE);
+    Long writeBufferSize = groupProperties.getLong(OptimizerProperties.SPILLABLE_WRITE_BUFFER_SIZE);
+    Long diskQuota = groupProperties.getLong(OptimizerProperties.SPILLABLE_DISK_QUOTA);
     String spillMapCmd = "";
     if (enableSpillMap != null) {
       spillMapCmd = spillMapCmd + " -es " + enableSpillMap;
@@ -98,6 +101,15 @@ public class FlinkOptimizer implements StatefulOptimizer {
     if (maxDeleteMemorySize != null) {
       spillMapCmd = spillMapCmd + " -mm " + maxDeleteMemorySize;
     }
+    if (blockCacheSize != null) {
+      spillMapCmd = spillMapCmd + " -sbc " + blockCacheSize;
+    }
+    if (writeBufferSize != null) {
+      spillMapCmd = spillMapCmd + " -swb " + writeBufferSize;
+    }
+    if (diskQuota != null) {
+      spillMapCmd = spillMapCmd + " -sdq " + diskQuota;
+    }
 
     // add compact execute config
     String arcticHome = systemInfo.getString(OptimizerProperties.ARCTIC_HOME);
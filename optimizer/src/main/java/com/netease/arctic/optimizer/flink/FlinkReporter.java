@@ -74,6 +74,7 @@ public class FlinkReporter extends AbstractStreamOperator<Void>
           } catch (Exception e) {
             LOG.error("failed to get joId, ignore", e);
           }
+          state.putAll(BaseToucher.spillMetricsState());
           toucher.touch(state);
         } catch (InterruptedException t) {
           break;
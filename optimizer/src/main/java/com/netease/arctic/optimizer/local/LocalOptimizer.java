@@ -31,6 +31,7 @@ import com.netease.arctic.optimizer.operator.BaseTaskReporter;
 import com.netease.arctic.optimizer.operator.BaseToucher;
 import com.netease.arctic.optimizer.operator.DefaultOperatorFactory;
 import com.netease.arctic.optimizer.operator.OperatorFactory;
+import com.netease.arctic.optimizer.operator.TaskPrefetchQueue;
 import com.netease.arctic.optimizer.util.OptimizerUtil;
 import org.kohsuke.args4j.CmdLineException;
 import org.slf4j.Logger;
@@ -44,7 +45,6 @@ import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
@@ -60,8 +60,6 @@ public class LocalOptimizer implements StatefulOptimizer {
 
   private OptimizerConfig config;
 
-  private Semaphore pollTaskSemaphore;
-
   private Consumer consumer;
 
   private Map<String, String> properties;
@@ -102,6 +100,9 @@ public class LocalOptimizer implements StatefulOptimizer {
     Boolean enableSpillMap = groupProperties.getBoolean(OptimizerProperties.SPILLABLE_MAP_ENABLE);
     String backendBaseDir = groupProperties.getString(OptimizerProperties.SPILLABLE_MAP_DIR);
     Long maxDeleteMemorySize = groupProperties.getLong(OptimizerProperties.SPILLABLE_MEMORY_LIMIT);
+    Long blockCacheSize = groupProperties.getLong(OptimizerProperties.SPILLABLE_BLOCK_CACHE_SIZE);
+    Long writeBufferSize = groupProperties.getLong(OptimizerProperties.SPILLABLE_WRITE_BUFFER_SIZE);
+    Long diskQuota = groupProperties.getLong(OptimizerProperties.SPILLABLE_DISK_QUOTA);
     String spillMapCmd = "";
     if (enableSpillMap != null) {
       spillMapCmd = spillMapCmd + " -es " + enableSpillMap;
@@ -112,6 +113,15 @@ public class LocalOptimizer implements StatefulOptimizer {
     if (maxDeleteMemorySize != null) {
       spillMapCmd = spillMapCmd + " -mm " + maxDeleteMemorySize;
     }
+    if (blockCacheSize != null) {
+      spillMapCmd = spillMapCmd + " -sbc " + blockCacheSize;
+    }
+    if (writeBufferSize != null) {
+      spillMapCmd = spillMapCmd + " -swb " + writeBufferSize;
+    }
+    if (diskQuota != null) {
+      spillMapCmd = spillMapCmd + " -sdq " + diskQuota;
+    }
 
     // add compact execute config
     String amsUrl;
@@ -199,8 +209,8 @@ public class LocalOptimizer implements StatefulOptimizer {
       throw new IllegalArgumentException("already init");
     }
     this.config = config;
+    OptimizerUtil.configureSpill(config);
     this.consumer = new Consumer();
-    this.pollTaskSemaphore = new Semaphore(1);
 
     ThreadFactory executorFactory = new ThreadFactoryBuilder().setDaemon(false)
         .setNameFormat("Executor %d").build();
@@ -212,11 +222,18 @@ public class LocalOptimizer implements StatefulOptimizer {
         Executors.newScheduledThreadPool(config.getExecutorParallel(), toucherFactory);
 
     toucherService.scheduleAtFixedRate(new Toucher(), 3000, config.getHeartBeat(), TimeUnit.MILLISECONDS);
-    executeThreadPool.execute(new Executor());
+    for (int i = 0; i < config.getExecutorParallel(); i++) {
+      executeThreadPool.execute(new Executor());
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(this::release, "LocalOptimizer release"));
   }
 
   public void release() {
     this.stopped = true;
+    if (consumer != null) {
+      // give the prefetched tasks back before interrupting the executors
+      consumer.close();
+    }
     if (executeThreadPool != null) {
       executeThreadPool.shutdownNow();
     }
@@ -237,23 +254,28 @@ public class LocalOptimizer implements StatefulOptimizer {
 
   private class Consumer {
 
-    private final BaseTaskConsumer baseTaskConsumer;
+    private final TaskPrefetchQueue prefetchQueue;
 
     public Consumer() {
-      this.baseTaskConsumer = operatorFactory.buildTaskConsumer(config);
+      BaseTaskConsumer baseTaskConsumer = operatorFactory.buildTaskConsumer(config);
+      this.prefetchQueue = new TaskPrefetchQueue(baseTaskConsumer, config.getExecutorParallel(),
+          config.getPrefetchMaxBytes() * 1024 * 1024);
     }
 
     public TaskWrapper pollTask() throws InterruptedException {
       while (!stopped) {
         try {
-          TaskWrapper task = baseTaskConsumer.pollTask(0);
+          TaskWrapper task = prefetchQueue.poll(config.getPollWaitTime());
           if (task != null) {
-            LOG.info("poll task {}", task);
+            LOG.info("poll task {}, {} tasks prefetched", task, prefetchQueue.size());
             return task;
           } else {
-            LOG.info("poll no task and wait for {} ms", POLL_INTERVAL);
-            Thread.sleep(POLL_INTERVAL);
+            long interval = Math.max(0, POLL_INTERVAL - config.getPollWaitTime());
+            LOG.info("poll no task and wait for {} ms", interval);
+            Thread.sleep(interval);
           }
+        } catch (InterruptedException e) {
+          throw e;
         } catch (Throwable e) {
           if (stopped) {
             break;
@@ -264,6 +286,10 @@ public class LocalOptimizer implements StatefulOptimizer {
       }
       return null;
     }
+
+    public void close() {
+      prefetchQueue.close();
+    }
   }
 
   private class Executor implements Runnable {
@@ -281,15 +307,10 @@ public class LocalOptimizer implements StatefulOptimizer {
     public void run() {
       while (!stopped) {
         try {
-          TaskWrapper task;
-          pollTaskSemaphore.acquire();
-          try {
-            task = consumer.pollTask();
-            if (task == null) {
-              continue;
-            }
-          } finally {
-            pollTaskSemaphore.release();
+          // executors poll through the shared prefetch queue, which polls tasks only for idle executors
+          TaskWrapper task = consumer.pollTask();
+          if (task == null) {
+            continue;
           }
           LOG.info("get task to execute {}", task.getTask().getTaskId());
           OptimizeTaskStat result = baseTaskExecutor.execute(task);
@@ -322,6 +343,7 @@ public class LocalOptimizer implements StatefulOptimizer {
       String processId = runtimeMXBean.getName().split("@")[0];
       Map<String, String> state = new HashMap<>();
       state.put(STATE_JOB_ID, processId);
+      state.putAll(BaseToucher.spillMetricsState());
       boolean success = toucher.touch(state);
       LOG.info("touch {}", success ? "success" : "failed");
     }
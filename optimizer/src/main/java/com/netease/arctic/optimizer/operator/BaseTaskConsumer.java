@@ -22,15 +22,23 @@ import com.netease.arctic.ams.api.JobId;
 import com.netease.arctic.ams.api.JobType;
 import com.netease.arctic.ams.api.NoSuchObjectException;
 import com.netease.arctic.ams.api.OptimizeManager;
+import com.netease.arctic.ams.api.OptimizeStatus;
 import com.netease.arctic.ams.api.OptimizeTask;
+import com.netease.arctic.ams.api.OptimizeTaskStat;
 import com.netease.arctic.ams.api.client.OptimizeManagerClientPools;
+import com.netease.arctic.ams.api.properties.OptimizeTaskProperties;
 import com.netease.arctic.optimizer.OptimizerConfig;
 import com.netease.arctic.optimizer.TaskWrapper;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -43,6 +51,8 @@ public class BaseTaskConsumer implements Serializable {
 
   private final OptimizerConfig config;
   private final JobId jobId;
+  // false once Ams is found not supporting to poll tasks in batch
+  private volatile boolean batchPollSupported = true;
 
   public BaseTaskConsumer(OptimizerConfig config) {
     this.config = config;
@@ -71,6 +81,63 @@ public class BaseTaskConsumer implements Serializable {
     return task == null ? null : new TaskWrapper(task, attemptId);
   }
 
+  /**
+   * poll at most maxTasks tasks or maxBytes bytes of files from Ams with timeout, the timeout is only for the first
+   * task. Poll a single task if Ams does not support to poll tasks in batch.
+   *
+   * @return - return an empty list if got no task
+   */
+  public List<TaskWrapper> pollTasks(int maxTasks, long maxBytes, long timeout) throws TException {
+    if (!batchPollSupported) {
+      TaskWrapper task = pollTask(timeout);
+      return task == null ? Collections.emptyList() : Collections.singletonList(task);
+    }
+    List<OptimizeTask> tasks;
+    try {
+      OptimizeManager.Iface optimizeManager = OptimizeManagerClientPools.getClient(config.getAmsUrl());
+      tasks = optimizeManager.pollTasks(config.getQueueId(), jobId, maxTasks, maxBytes, timeout);
+    } catch (NoSuchObjectException e) {
+      return Collections.emptyList();
+    } catch (TApplicationException e) {
+      if (e.getType() != TApplicationException.UNKNOWN_METHOD) {
+        throw e;
+      }
+      LOG.warn("Ams does not support to poll tasks in batch, poll tasks one by one");
+      batchPollSupported = false;
+      return pollTasks(maxTasks, maxBytes, timeout);
+    }
+    List<TaskWrapper> taskWrappers = new ArrayList<>(tasks.size());
+    for (OptimizeTask task : tasks) {
+      int attemptId = Integer.parseInt(task.getProperties().get(OptimizeTaskProperties.ATTEMPT_ID));
+      taskWrappers.add(new TaskWrapper(task, attemptId));
+    }
+    return taskWrappers;
+  }
+
+  /**
+   * give polled tasks which are not started back to Ams, so they are executed by other optimizers at once instead
+   * of after they are timeout. Tasks failed to give back are left to timeout.
+   */
+  public void returnTasks(Collection<TaskWrapper> tasks) {
+    for (TaskWrapper task : tasks) {
+      OptimizeTaskStat optimizeTaskStat = new OptimizeTaskStat();
+      optimizeTaskStat.setJobId(jobId);
+      optimizeTaskStat.setTableIdentifier(task.getTask().getTableIdentifier());
+      optimizeTaskStat.setAttemptId(task.getAttemptId() + "");
+      optimizeTaskStat.setTaskId(task.getTask().getTaskId());
+      optimizeTaskStat.setStatus(OptimizeStatus.Pending);
+      optimizeTaskStat.setFiles(Collections.emptyList());
+      optimizeTaskStat.setReportTime(System.currentTimeMillis());
+      try {
+        OptimizeManager.Iface optimizeManager = OptimizeManagerClientPools.getClient(config.getAmsUrl());
+        optimizeManager.reportOptimizeResult(optimizeTaskStat);
+        LOG.info("return task {}", task.getTask().getTaskId());
+      } catch (Throwable t) {
+        LOG.warn("failed to return task {}, leave it to timeout", task.getTask().getTaskId(), t);
+      }
+    }
+  }
+
   private OptimizeTask pollTask(int attemptId, long timeout) throws TException {
     try {
       OptimizeManager.Iface optimizeManager = OptimizeManagerClientPools.getClient(config.getAmsUrl());
@@ -31,6 +31,7 @@ import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.catalog.CatalogLoader;
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.data.file.ContentFileWithSequence;
+import com.netease.arctic.data.file.ContentFilesCodec;
 import com.netease.arctic.optimizer.OptimizerConfig;
 import com.netease.arctic.optimizer.TaskWrapper;
 import com.netease.arctic.optimizer.operator.executor.Executor;
@@ -41,14 +42,15 @@ import com.netease.arctic.optimizer.operator.executor.TableIdentificationInfo;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.utils.ArcticTableUtil;
-import com.netease.arctic.utils.SerializationUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -197,28 +199,12 @@ public class BaseTaskExecutor implements Serializable {
   }
 
   private NodeTask constructTask(ArcticTable table, OptimizeTask task, int attemptId) {
-    NodeTask nodeTask;
-    if (ArcticTableUtil.isIcebergTableFormat(table)) {
-      List<ContentFileWithSequence<?>> base =
-          task.getBaseFiles().stream().map(SerializationUtils::toIcebergContentFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> insert =
-          task.getInsertFiles().stream().map(SerializationUtils::toIcebergContentFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> eqDelete =
-          task.getDeleteFiles().stream().map(SerializationUtils::toIcebergContentFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> posDelete =
-          task.getPosDeleteFiles().stream().map(SerializationUtils::toIcebergContentFile).collect(Collectors.toList());
-      nodeTask = new NodeTask(base, insert, eqDelete, posDelete, false);
-    } else {
-      List<ContentFileWithSequence<?>> base =
-          task.getBaseFiles().stream().map(SerializationUtils::toInternalTableFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> insert =
-          task.getInsertFiles().stream().map(SerializationUtils::toInternalTableFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> eqDelete =
-          task.getDeleteFiles().stream().map(SerializationUtils::toInternalTableFile).collect(Collectors.toList());
-      List<ContentFileWithSequence<?>> posDelete =
-          task.getPosDeleteFiles().stream().map(SerializationUtils::toInternalTableFile).collect(Collectors.toList());
-      nodeTask = new NodeTask(base, insert, eqDelete, posDelete, true);
-    }
+    Map<Integer, PartitionSpec> specs = ContentFilesCodec.specsOf(table);
+    List<ContentFileWithSequence<?>> base = toFiles(task.getBaseFiles(), specs);
+    List<ContentFileWithSequence<?>> insert = toFiles(task.getInsertFiles(), specs);
+    List<ContentFileWithSequence<?>> eqDelete = toFiles(task.getDeleteFiles(), specs);
+    List<ContentFileWithSequence<?>> posDelete = toFiles(task.getPosDeleteFiles(), specs);
+    NodeTask nodeTask = new NodeTask(base, insert, eqDelete, posDelete, !ArcticTableUtil.isIcebergTableFormat(table));
 
     if (nodeTask.files().size() > 0) {
       nodeTask.setPartition(nodeTask.files().get(0).partition());
@@ -244,6 +230,8 @@ public class BaseTaskExecutor implements Serializable {
         throw new IllegalStateException("check file cnt error");
       }
 
+      nodeTask.setFileEncoding(properties.get(OptimizeTaskProperties.FILE_ENCODING));
+
       String customHiveSubdirectory = properties.get(OptimizeTaskProperties.CUSTOM_HIVE_SUB_DIRECTORY);
       nodeTask.setCustomHiveSubdirectory(customHiveSubdirectory);
 
@@ -255,6 +243,15 @@ public class BaseTaskExecutor implements Serializable {
     return nodeTask;
   }
 
+  /**
+   * Files of the task, either in the compact encoding or java serialized one by one.
+   */
+  private static List<ContentFileWithSequence<?>> toFiles(List<ByteBuffer> files, Map<Integer, PartitionSpec> specs) {
+    return ContentFilesCodec.decode(files, specs).stream()
+        .map(file -> (ContentFileWithSequence<?>) file)
+        .collect(Collectors.toList());
+  }
+
   public interface ExecuteListener {
     default void onTaskStart(Iterable<ContentFile<?>> inputFiles) {
     }
@@ -21,7 +21,10 @@ package com.netease.arctic.optimizer.operator;
 import com.netease.arctic.ams.api.OptimizeManager;
 import com.netease.arctic.ams.api.OptimizerStateReport;
 import com.netease.arctic.ams.api.client.OptimizeManagerClientPools;
+import com.netease.arctic.ams.api.properties.OptimizeTaskProperties;
+import com.netease.arctic.data.file.ContentFilesCodec;
 import com.netease.arctic.optimizer.OptimizerConfig;
+import com.netease.arctic.utils.map.RocksDBBackend;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +36,7 @@ import java.util.Map;
  * Report Optimizer State.
  */
 public class BaseToucher implements Serializable {
+  public static final String STATE_SPILL_BLOCK_CACHE_HIT_RATE = "spill.block-cache-hit-rate";
   private static final Logger LOG = LoggerFactory.getLogger(BaseToucher.class);
   private static final Map<String, String> EMPTY_STATE = Maps.newHashMap();
 
@@ -51,25 +55,42 @@ public class BaseToucher implements Serializable {
   }
 
   /**
-   * Report state, with optimizerId.
+   * Report state, with optimizerId and the file encodings supported by this optimizer.
    * @param state -
    * @return true if success
    */
   public boolean touch(Map<String, String> state) {
     try {
-      if (state == null) {
-        state = EMPTY_STATE;
-      }
+      Map<String, String> reportState = state == null ? Maps.newHashMap() : Maps.newHashMap(state);
+      reportState.put(OptimizeTaskProperties.SUPPORTED_FILE_ENCODINGS, ContentFilesCodec.COMPACT_ENCODING);
       OptimizeManager.Iface client = OptimizeManagerClientPools.getClient(config.getAmsUrl());
       OptimizerStateReport report = new OptimizerStateReport();
       report.optimizerId = Long.parseLong(config.getOptimizerId());
-      report.optimizerState = state;
+      report.optimizerState = reportState;
       client.reportOptimizerState(report);
-      LOG.info("touch {}", state);
+      LOG.info("touch {}", reportState);
       return true;
     } catch (Throwable t) {
       LOG.error("touch error", t);
       return false;
     }
   }
+
+  /**
+   * Metrics of the RocksDB instances spilled to by this process, to be reported as optimizer state.
+   */
+  public static Map<String, String> spillMetricsState() {
+    Map<String, String> state = Maps.newHashMap();
+    Map<String, Long> metrics = RocksDBBackend.allMetrics();
+    if (metrics.isEmpty()) {
+      return state;
+    }
+    metrics.forEach((name, value) -> state.put(name, String.valueOf(value)));
+    long hit = metrics.getOrDefault(RocksDBBackend.METRIC_BLOCK_CACHE_HIT, 0L);
+    long miss = metrics.getOrDefault(RocksDBBackend.METRIC_BLOCK_CACHE_MISS, 0L);
+    if (hit + miss > 0) {
+      state.put(STATE_SPILL_BLOCK_CACHE_HIT_RATE, String.format("%.4f", (double) hit / (hit + miss)));
+    }
+    return state;
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizer.operator;
+
+import com.netease.arctic.optimizer.TaskWrapper;
+import org.apache.thrift.TException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Tasks polled from Ams in batch for idle executors.
+ * <p>
+ * Executors waiting for tasks are counted as idle, one of them polls a batch of at most as many tasks as idle
+ * executors from Ams, and the others wait for the batch instead of polling by themselves. Ams marks tasks as
+ * executing once they are polled, so tasks are only polled for executors waiting to take them, and are not kept
+ * in the queue until they timeout. The poll request to Ams is sent without holding the lock of the queue. Tasks left
+ * in the queue when it is closed are given back to Ams.
+ */
+public class TaskPrefetchQueue {
+
+  private final BaseTaskConsumer taskConsumer;
+  private final int capacity;
+  private final long maxBytes;
+  private final Deque<TaskWrapper> tasks = new ArrayDeque<>();
+  private int idleExecutors;
+  private boolean polling;
+  private boolean closed;
+
+  /**
+   * @param capacity max number of tasks polled at once, usually the parallelism of the optimizer
+   * @param maxBytes max bytes of files of tasks polled at once, unlimited if not positive
+   */
+  public TaskPrefetchQueue(BaseTaskConsumer taskConsumer, int capacity, long maxBytes) {
+    this.taskConsumer = taskConsumer;
+    this.capacity = Math.max(1, capacity);
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * take a polled task, or poll a batch of tasks for idle executors from Ams with timeout if there is none.
+   *
+   * @return - return null if got no task or the queue is closed
+   */
+  public TaskWrapper poll(long timeout) throws TException, InterruptedException {
+    int maxTasks;
+    synchronized (this) {
+      idleExecutors++;
+      try {
+        // wait for the batch polled by another executor, and do not poll again if it is taken up
+        boolean waited = false;
+        while (!closed && tasks.isEmpty() && polling) {
+          wait();
+          waited = true;
+        }
+        if (closed || !tasks.isEmpty() || waited) {
+          return tasks.poll();
+        }
+        polling = true;
+        maxTasks = Math.min(idleExecutors, capacity);
+      } finally {
+        idleExecutors--;
+      }
+    }
+
+    List<TaskWrapper> polledTasks;
+    try {
+      polledTasks = taskConsumer.pollTasks(maxTasks, maxBytes, timeout);
+    } catch (Throwable t) {
+      synchronized (this) {
+        polling = false;
+        notifyAll();
+      }
+      throw t;
+    }
+
+    TaskWrapper task;
+    List<TaskWrapper> unstarted = Collections.emptyList();
+    synchronized (this) {
+      polling = false;
+      tasks.addAll(polledTasks);
+      task = tasks.poll();
+      if (closed) {
+        unstarted = drain(task);
+        task = null;
+      }
+      notifyAll();
+    }
+    if (!unstarted.isEmpty()) {
+      taskConsumer.returnTasks(unstarted);
+    }
+    return task;
+  }
+
+  public synchronized int size() {
+    return tasks.size();
+  }
+
+  /**
+   * close the queue and give the polled tasks not taken by executors back to Ams.
+   */
+  public void close() {
+    List<TaskWrapper> unstarted;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      unstarted = drain(null);
+      notifyAll();
+    }
+    if (!unstarted.isEmpty()) {
+      taskConsumer.returnTasks(unstarted);
+    }
+  }
+
+  private List<TaskWrapper> drain(TaskWrapper taken) {
+    List<TaskWrapper> unstarted = new ArrayList<>(tasks);
+    if (taken != null) {
+      unstarted.add(taken);
+    }
+    tasks.clear();
+    return unstarted;
+  }
+}
@@ -24,30 +24,42 @@ import com.netease.arctic.ams.api.OptimizeStatus;
 import com.netease.arctic.ams.api.OptimizeTaskStat;
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.data.file.ContentFilesCodec;
 import com.netease.arctic.data.file.FileNameGenerator;
 import com.netease.arctic.optimizer.OptimizerConfig;
 import com.netease.arctic.optimizer.exception.TimeoutException;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableProperties;
-import com.netease.arctic.utils.SerializationUtils;
+import com.netease.arctic.utils.map.PositionDeleteIndex;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.iceberg.util.PropertyUtil;
+import org.apache.iceberg.util.Tasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 public abstract class AbstractExecutor implements Executor {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractExecutor.class);
   protected static final int SAMPLE_DATA_INTERVAL = 100000;
+  // every group rewritten in parallel leaves a file smaller than the target size behind, so a group should be large
+  // enough to fill this many target files
+  protected static final int MIN_TARGET_FILES_PER_GROUP = 4;
 
   protected final NodeTask task;
   protected final ArcticTable table;
@@ -62,8 +74,14 @@ public abstract class AbstractExecutor implements Executor {
     this.table = table;
     this.startTime = startTime;
     this.config = config;
-    this.structLikeCollections = new StructLikeCollections(Boolean.parseBoolean(config.getEnableSpillMap()),
-          config.getMaxInMemorySize() * 1024 * 1024, config.getRocksDBBasePath());
+    this.structLikeCollections = newStructLikeCollections(config.getMaxInMemorySize() * 1024 * 1024);
+  }
+
+  private StructLikeCollections newStructLikeCollections(long maxInMemorySizeInBytes) {
+    return new StructLikeCollections(Boolean.parseBoolean(config.getEnableSpillMap()),
+        maxInMemorySizeInBytes, config.getRocksDBBasePath(),
+        PositionDeleteIndex.Type.fromName(PropertyUtil.propertyAsString(table.properties(),
+            TableProperties.READ_POS_DELETE_INDEX_TYPE, TableProperties.READ_POS_DELETE_INDEX_TYPE_DEFAULT)));
   }
 
   protected Map<DataTreeNode, List<PrimaryKeyedFile>> groupDataFilesByNode(List<PrimaryKeyedFile> dataFiles) {
@@ -86,13 +104,84 @@ public abstract class AbstractExecutor implements Executor {
     return 0;
   }
 
+  /**
+   * Rewrite groups of the task in parallel with at most task parallel threads, groups share the memory of spill maps
+   * of the task, so each group is rewritten with its own {@link StructLikeCollections}.
+   *
+   * @param groups groups of the task to rewrite
+   * @param rewriter rewrite a group to target files
+   * @return target files of all groups, in the order of the groups
+   */
+  protected <G, F> List<F> rewriteInParallel(List<G> groups, GroupRewriter<G, F> rewriter) throws Exception {
+    int parallelism = Math.max(1, Math.min(groups.size(), config.getTaskParallel()));
+    StructLikeCollections groupCollections =
+        newStructLikeCollections(config.getMaxInMemorySize() * 1024 * 1024 / parallelism);
+    LOG.info("task {} of {} rewrite {} groups with {} threads", task.getTaskId(), task.getTableIdentifier(),
+        groups.size(), parallelism);
+
+    List<List<F>> groupTargetFiles = new ArrayList<>(Collections.nCopies(groups.size(), null));
+    ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Optimize Rewrite Worker %d").build());
+    try {
+      Tasks.range(groups.size())
+          .executeWith(executorService)
+          .stopOnFailure()
+          .throwFailureWhenFinished()
+          .run(i -> groupTargetFiles.set(i, table.io().doAs(() ->
+              rewriter.rewrite(groups.get(i), groupCollections))), Exception.class);
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    return groupTargetFiles.stream().flatMap(List::stream).collect(Collectors.toList());
+  }
+
+  /**
+   * Split files into at most task parallel groups of similar size, each group fills at least
+   * {@link #MIN_TARGET_FILES_PER_GROUP} target files, so files smaller than that are not split.
+   */
+  protected <T> List<List<T>> splitBySize(List<T> files, ToLongFunction<T> sizeOf) {
+    long totalSize = files.stream().mapToLong(sizeOf).sum();
+    long groupCountBySize = totalSize / (MIN_TARGET_FILES_PER_GROUP * targetFileSize());
+    int groupCount = (int) Math.max(1, Math.min(Math.min(files.size(), config.getTaskParallel()), groupCountBySize));
+    List<List<T>> groups = new ArrayList<>();
+    long[] groupSizes = new long[groupCount];
+    for (int i = 0; i < groupCount; i++) {
+      groups.add(new ArrayList<>());
+    }
+    List<T> sortedFiles = new ArrayList<>(files);
+    sortedFiles.sort(Comparator.comparingLong(sizeOf).reversed());
+    for (T file : sortedFiles) {
+      int smallest = 0;
+      for (int i = 1; i < groupCount; i++) {
+        if (groupSizes[i] < groupSizes[smallest]) {
+          smallest = i;
+        }
+      }
+      groups.get(smallest).add(file);
+      groupSizes[smallest] += sizeOf.applyAsLong(file);
+    }
+    return groups;
+  }
+
+  protected long targetFileSize() {
+    return PropertyUtil.propertyAsLong(table.properties(), TableProperties.SELF_OPTIMIZING_TARGET_SIZE,
+        TableProperties.SELF_OPTIMIZING_TARGET_SIZE_DEFAULT);
+  }
+
+  protected interface GroupRewriter<G, F> {
+    List<F> rewrite(G group, StructLikeCollections structLikeCollections) throws Exception;
+  }
+
   protected OptimizeTaskResult buildOptimizeResult(Iterable<? extends ContentFile<?>> targetFiles) {
     long totalFileSize = 0;
-    List<ByteBuffer> baseFileBytesList = new ArrayList<>();
+    List<ContentFile<?>> files = new ArrayList<>();
     for (ContentFile<?> targetFile : targetFiles) {
       totalFileSize += targetFile.fileSizeInBytes();
-      baseFileBytesList.add(SerializationUtils.toByteBuffer(targetFile));
+      files.add(targetFile);
     }
+    List<ByteBuffer> baseFileBytesList =
+        ContentFilesCodec.encode(files, task.getFileEncoding(), ContentFilesCodec.specsOf(table));
     JobId jobId = new JobId();
     jobId.setId(config.getOptimizerId());
     jobId.setType(JobType.Optimize);
@@ -26,6 +26,7 @@ import com.netease.arctic.io.writer.IcebergFanoutPosDeleteWriter;
 import com.netease.arctic.optimizer.OptimizerConfig;
 import com.netease.arctic.scan.CombinedIcebergScanTask;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileFormat;
@@ -72,8 +73,14 @@ public class IcebergExecutor extends AbstractExecutor {
       // optimize iceberg delete files only in minor process
       targetFiles = table.io().doAs(this::optimizeDeleteFiles);
     } else {
-      // optimize iceberg data files.
-      targetFiles = table.io().doAs(this::optimizeDataFiles);
+      // optimize iceberg data files, groups of data files are rewritten in parallel if task parallel is set.
+      List<DataFileWithSequence> dataFiles = task.allIcebergDataFiles();
+      List<List<DataFileWithSequence>> fileGroups = splitBySize(dataFiles, DataFileWithSequence::fileSizeInBytes);
+      if (fileGroups.size() > 1) {
+        targetFiles = rewriteInParallel(fileGroups, this::optimizeDataFiles);
+      } else {
+        targetFiles = table.io().doAs(() -> optimizeDataFiles(dataFiles, structLikeCollections));
+      }
     }
 
     return buildOptimizeResult(targetFiles);
@@ -126,12 +133,17 @@ public class IcebergExecutor extends AbstractExecutor {
   }
 
   private CombinedIcebergScanTask buildIcebergScanTask() {
-    return new CombinedIcebergScanTask(task.allIcebergDataFiles().toArray(new DataFileWithSequence[0]),
+    return buildIcebergScanTask(task.allIcebergDataFiles());
+  }
+
+  private CombinedIcebergScanTask buildIcebergScanTask(List<DataFileWithSequence> dataFiles) {
+    return new CombinedIcebergScanTask(dataFiles.toArray(new DataFileWithSequence[0]),
         task.allIcebergDeleteFiles().toArray(new DeleteFileWithSequence[0]),
         table.spec(), task.getPartition());
   }
 
-  private List<? extends ContentFile<?>> optimizeDataFiles() throws Exception {
+  private List<DataFile> optimizeDataFiles(List<DataFileWithSequence> dataFiles,
+                                          StructLikeCollections structLikeCollections) throws Exception {
     List<DataFile> result = Lists.newArrayList();
     GenericCombinedIcebergDataReader icebergDataReader = new GenericCombinedIcebergDataReader(
         table.io(), table.schema(), table.schema(), table.properties().get(TableProperties.DEFAULT_NAME_MAPPING),
@@ -152,7 +164,7 @@ public class IcebergExecutor extends AbstractExecutor {
         .newDataWriter(outputFile, FileFormat.valueOf(formatAsString.toUpperCase()), task.getPartition());
 
     long insertCount = 0;
-    try (CloseableIterator<Record> records =  icebergDataReader.readData(buildIcebergScanTask()).iterator()) {
+    try (CloseableIterator<Record> records =  icebergDataReader.readData(buildIcebergScanTask(dataFiles)).iterator()) {
       while (records.hasNext()) {
         checkIfTimeout(writer);
         if (writer.length() > targetSizeByBytes) {
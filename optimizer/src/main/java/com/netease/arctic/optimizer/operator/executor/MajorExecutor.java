@@ -33,6 +33,7 @@ import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.table.WriteOperationKind;
+import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
@@ -46,7 +47,10 @@ import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,11 +72,25 @@ public class MajorExecutor extends AbstractExecutor {
     Map<DataTreeNode, List<DeleteFile>> deleteFileMap = groupDeleteFilesByNode(task.posDeleteFiles());
     List<PrimaryKeyedFile> dataFiles = task.dataFiles();
     dataFiles.addAll(task.deleteFiles());
-    targetFiles = table.io().doAs(() -> {
-      CloseableIterator<Record> recordIterator =
-          openTask(dataFiles, deleteFileMap, table.schema(), task.getSourceNodes());
-      return optimizeTable(recordIterator);
-    });
+    Long transactionId;
+    if (table.isKeyedTable()) {
+      transactionId = getMaxTransactionId(dataFiles);
+    } else {
+      transactionId = null;
+    }
+
+    List<FileGroup> fileGroups = splitFileGroups();
+    if (fileGroups.size() > 1) {
+      targetFiles = rewriteInParallel(fileGroups, (fileGroup, groupCollections) -> optimizeTable(
+          openTask(fileGroup.files, deleteFileMap, table.schema(), fileGroup.sourceNodes, groupCollections),
+          transactionId));
+    } else {
+      targetFiles = table.io().doAs(() -> {
+        CloseableIterator<Record> recordIterator =
+            openTask(dataFiles, deleteFileMap, table.schema(), task.getSourceNodes(), structLikeCollections);
+        return optimizeTable(recordIterator, transactionId);
+      });
+    }
 
     return buildOptimizeResult(targetFiles);
   }
@@ -81,13 +99,55 @@ public class MajorExecutor extends AbstractExecutor {
   public void close() {
   }
 
-  private Iterable<DataFile> optimizeTable(CloseableIterator<Record> recordIterator) throws Exception {
-    Long transactionId;
+  /**
+   * Split the task into groups which could be read and merged independently. Files of keyed tables are split by
+   * tree node, each group reads only the equality-delete files of its node, its parent nodes and its son nodes, the
+   * files are written by node anyway, so no more small files are left. Files of unkeyed tables are split into groups
+   * of similar size by {@link #splitBySize}.
+   */
+  private List<FileGroup> splitFileGroups() {
+    List<PrimaryKeyedFile> dataFiles = task.dataFiles().stream()
+        .filter(file -> file.type() != DataFileType.EQ_DELETE_FILE)
+        .collect(Collectors.toList());
+    if (config.getTaskParallel() <= 1 || dataFiles.size() <= 1) {
+      return Collections.emptyList();
+    }
+
+    List<FileGroup> fileGroups = new ArrayList<>();
     if (table.isKeyedTable()) {
-      transactionId = getMaxTransactionId(task.dataFiles());
+      groupDataFilesByNode(dataFiles).forEach((node, nodeFiles) -> {
+        task.deleteFiles().stream()
+            .filter(deleteFile -> deleteFile.node().isSonOf(node) || node.isSonOf(deleteFile.node()))
+            .forEach(nodeFiles::add);
+        fileGroups.add(new FileGroup(nodeFiles, sourceNodesOf(node)));
+      });
     } else {
-      transactionId = null;
+      splitBySize(dataFiles, PrimaryKeyedFile::fileSizeInBytes).forEach(groupFiles ->
+          fileGroups.add(new FileGroup(groupFiles, task.getSourceNodes())));
+    }
+    return fileGroups;
+  }
+
+  /**
+   * Source nodes of the task inside the given node, deletes of other nodes could not match records of the node.
+   */
+  private Set<DataTreeNode> sourceNodesOf(DataTreeNode node) {
+    if (task.getSourceNodes() == null) {
+      return Collections.singleton(node);
+    }
+    Set<DataTreeNode> sourceNodes = new HashSet<>();
+    for (DataTreeNode sourceNode : task.getSourceNodes()) {
+      if (sourceNode.isSonOf(node)) {
+        sourceNodes.add(sourceNode);
+      } else if (node.isSonOf(sourceNode)) {
+        sourceNodes.add(node);
+      }
     }
+    return sourceNodes;
+  }
+
+  private List<DataFile> optimizeTable(CloseableIterator<Record> recordIterator, Long transactionId)
+      throws Exception {
     long targetFileSize = PropertyUtil.propertyAsLong(table.properties(),
         com.netease.arctic.table.TableProperties.SELF_OPTIMIZING_TARGET_SIZE,
         com.netease.arctic.table.TableProperties.SELF_OPTIMIZING_TARGET_SIZE_DEFAULT);
@@ -122,7 +182,8 @@ public class MajorExecutor extends AbstractExecutor {
 
   private CloseableIterator<Record> openTask(List<PrimaryKeyedFile> dataFiles,
                                              Map<DataTreeNode, List<DeleteFile>> deleteFileMap,
-                                             Schema requiredSchema, Set<DataTreeNode> sourceNodes) {
+                                             Schema requiredSchema, Set<DataTreeNode> sourceNodes,
+                                             StructLikeCollections structLikeCollections) {
     if (CollectionUtils.isEmpty(dataFiles)) {
       return CloseableIterator.empty();
     }
@@ -153,4 +214,14 @@ public class MajorExecutor extends AbstractExecutor {
     LOG.info("start read data : task {} of {}", task.getTaskId(), task.getTableIdentifier());
     return arcticDataReader.readData(keyedTableScanTask);
   }
+
+  private static class FileGroup {
+    private final List<PrimaryKeyedFile> files;
+    private final Set<DataTreeNode> sourceNodes;
+
+    FileGroup(List<PrimaryKeyedFile> files, Set<DataTreeNode> sourceNodes) {
+      this.files = files;
+      this.sourceNodes = sourceNodes;
+    }
+  }
 }
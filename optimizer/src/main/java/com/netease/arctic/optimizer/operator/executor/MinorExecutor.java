@@ -41,16 +41,23 @@ import org.apache.iceberg.data.IdentityPartitionConverters;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.Tasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 public class MinorExecutor extends AbstractExecutor {
   private static final Logger LOG = LoggerFactory.getLogger(MinorExecutor.class);
@@ -61,7 +68,6 @@ public class MinorExecutor extends AbstractExecutor {
 
   @Override
   public OptimizeTaskResult execute() throws Exception {
-    List<DeleteFile> targetFiles = new ArrayList<>();
     LOG.info("Start processing arctic table minor optimize task {} of {}: {}", task.getTaskId(),
         task.getTableIdentifier(), task);
 
@@ -69,85 +75,126 @@ public class MinorExecutor extends AbstractExecutor {
     Map<DataTreeNode, List<DeleteFile>> deleteFileMap = groupDeleteFilesByNode(task.posDeleteFiles());
     KeyedTable keyedTable = table.asKeyedTable();
 
-    AtomicLong insertCount = new AtomicLong();
-    Schema requiredSchema = new Schema(MetadataColumns.FILE_PATH, MetadataColumns.ROW_POSITION);
-    Types.StructType recordStruct = requiredSchema.asStruct();
+    Map<DataTreeNode, SortedPosDeleteWriter<Record>> posDeleteWriters = new HashMap<>();
+    Map<String, SortedPosDeleteWriter<Record>> dataFileWriters = new HashMap<>();
+    List<ArcticFileScanTask> fileScanTasks = new ArrayList<>();
     for (Map.Entry<DataTreeNode, List<PrimaryKeyedFile>> nodeFileEntry : dataFileMap.entrySet()) {
       DataTreeNode treeNode = nodeFileEntry.getKey();
       List<PrimaryKeyedFile> dataFiles = nodeFileEntry.getValue();
-      dataFiles.addAll(task.deleteFiles());
       List<DeleteFile> posDeleteList = deleteFileMap.get(treeNode);
 
+      List<PrimaryKeyedFile> transactionFiles = new ArrayList<>(dataFiles);
+      transactionFiles.addAll(task.deleteFiles());
       SortedPosDeleteWriter<Record> posDeleteWriter = AdaptHiveGenericTaskWriterBuilder.builderFor(keyedTable)
-          .withTransactionId(getMaxTransactionId(dataFiles))
+          .withTransactionId(getMaxTransactionId(transactionFiles))
           .withTaskId(task.getAttemptId())
           .buildBasePosDeleteWriter(treeNode.mask(), treeNode.index(), task.getPartition());
+      posDeleteWriters.put(treeNode, posDeleteWriter);
 
-      table.io().doAs(() -> {
-
-        try (CloseableIterator<Record> iterator =
-                 openTask(dataFiles, posDeleteList, requiredSchema, task.getSourceNodes())) {
-          while (iterator.hasNext()) {
-            checkIfTimeout(posDeleteWriter);
-
-            Record record = iterator.next();
-            String filePath = (String) record.get(recordStruct.fields()
-                .indexOf(recordStruct.field(MetadataColumns.FILE_PATH.name())));
-            Long rowPosition = (Long) record.get(recordStruct.fields()
-                .indexOf(recordStruct.field(MetadataColumns.ROW_POSITION.name())));
-            posDeleteWriter.delete(filePath, rowPosition);
-            insertCount.incrementAndGet();
-            if (insertCount.get() % SAMPLE_DATA_INTERVAL == 1) {
-              LOG.info("task {} of {} insert records number {} and data sampling path:{}, pos:{}",
-                  task.getTaskId(), task.getTableIdentifier(), insertCount.get(), filePath, rowPosition);
-            }
-          }
-        }
+      for (PrimaryKeyedFile dataFile : dataFiles) {
+        dataFileWriters.put(dataFile.path().toString(), posDeleteWriter);
+        fileScanTasks.add(new BasicArcticFileScanTask(dataFile, posDeleteList, table.spec()));
+      }
+    }
+    // read equality-delete files once for all nodes, records are routed to the writer of their node
+    task.deleteFiles().forEach(deleteFile -> fileScanTasks.add(new BasicArcticFileScanTask(deleteFile, null,
+        table.spec())));
+    Closeable allWriters = () -> {
+      for (SortedPosDeleteWriter<Record> posDeleteWriter : posDeleteWriters.values()) {
+        posDeleteWriter.close();
+      }
+    };
 
-        return null;
-      });
-
-      // rewrite pos-delete content
-      if (CollectionUtils.isNotEmpty(posDeleteList)) {
-        BaseIcebergPosDeleteReader posDeleteReader = new BaseIcebergPosDeleteReader(table.io(), posDeleteList);
-        table.io().doAs(() -> {
-          CloseableIterable<Record> posDeleteIterable = posDeleteReader.readDeletes();
-          try (CloseableIterator<Record> posDeleteIterator = posDeleteIterable.iterator()) {
-            while (posDeleteIterator.hasNext()) {
-              checkIfTimeout(posDeleteWriter);
-
-              Record record = posDeleteIterator.next();
-              String filePath = posDeleteReader.readPath(record);
-              Long rowPosition = posDeleteReader.readPos(record);
-              posDeleteWriter.delete(filePath, rowPosition);
-            }
+    AtomicLong insertCount = new AtomicLong();
+    Schema requiredSchema = new Schema(MetadataColumns.FILE_PATH, MetadataColumns.ROW_POSITION);
+    Types.StructType recordStruct = requiredSchema.asStruct();
+    table.io().doAs(() -> {
+      try (CloseableIterator<Record> iterator = openTask(fileScanTasks, requiredSchema, task.getSourceNodes())) {
+        while (iterator.hasNext()) {
+          checkIfTimeout(allWriters);
+
+          Record record = iterator.next();
+          String filePath = (String) record.get(recordStruct.fields()
+              .indexOf(recordStruct.field(MetadataColumns.FILE_PATH.name())));
+          Long rowPosition = (Long) record.get(recordStruct.fields()
+              .indexOf(recordStruct.field(MetadataColumns.ROW_POSITION.name())));
+          dataFileWriters.get(filePath).delete(filePath, rowPosition);
+          insertCount.incrementAndGet();
+          if (insertCount.get() % SAMPLE_DATA_INTERVAL == 1) {
+            LOG.info("task {} of {} insert records number {} and data sampling path:{}, pos:{}",
+                task.getTaskId(), task.getTableIdentifier(), insertCount.get(), filePath, rowPosition);
           }
-
-          return null;
-        });
+        }
       }
 
-      targetFiles.addAll(posDeleteWriter.complete());
-    }
+      return null;
+    });
     LOG.info("task {} of {} insert records number {}", task.getTaskId(), task.getTableIdentifier(), insertCount);
 
+    // rewrite pos-delete content and write pos-delete files of nodes in parallel
+    Queue<DeleteFile> targetFiles = new ConcurrentLinkedQueue<>();
+    int parallelism = writeParallelism(posDeleteWriters.size());
+    ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Minor Optimize Worker %d").build());
+    try {
+      Tasks.foreach(posDeleteWriters.entrySet())
+          .executeWith(executorService)
+          .stopOnFailure()
+          .throwFailureWhenFinished()
+          .run(nodeWriterEntry -> {
+            SortedPosDeleteWriter<Record> posDeleteWriter = nodeWriterEntry.getValue();
+            rewritePosDeletes(deleteFileMap.get(nodeWriterEntry.getKey()), posDeleteWriter);
+            targetFiles.addAll(posDeleteWriter.complete());
+          }, Exception.class);
+    } finally {
+      executorService.shutdownNow();
+    }
+
     return buildOptimizeResult(targetFiles);
   }
 
+  /**
+   * Writing pos-delete files of nodes does not share the spill maps bounded by the task parallel, so nodes are written
+   * with the processors left to each executor unless the task parallel is greater.
+   */
+  private int writeParallelism(int nodeCount) {
+    int processorsPerExecutor = Runtime.getRuntime().availableProcessors() / Math.max(1, config.getExecutorParallel());
+    return Math.max(1, Math.min(nodeCount, Math.max(config.getTaskParallel(), processorsPerExecutor)));
+  }
+
   @Override
   public void close() {
 
   }
 
-  private CloseableIterator<Record> openTask(List<PrimaryKeyedFile> dataFiles, List<DeleteFile> posDeleteList,
-                                             Schema requiredSchema, Set<DataTreeNode> sourceNodes) {
-    if (CollectionUtils.isEmpty(dataFiles)) {
-      return CloseableIterator.empty();
+  private void rewritePosDeletes(List<DeleteFile> posDeleteList,
+                                 SortedPosDeleteWriter<Record> posDeleteWriter) throws Exception {
+    if (CollectionUtils.isEmpty(posDeleteList)) {
+      return;
     }
+    BaseIcebergPosDeleteReader posDeleteReader = new BaseIcebergPosDeleteReader(table.io(), posDeleteList);
+    table.io().doAs(() -> {
+      CloseableIterable<Record> posDeleteIterable = posDeleteReader.readDeletes();
+      try (CloseableIterator<Record> posDeleteIterator = posDeleteIterable.iterator()) {
+        while (posDeleteIterator.hasNext()) {
+          checkIfTimeout(posDeleteWriter);
+
+          Record record = posDeleteIterator.next();
+          String filePath = posDeleteReader.readPath(record);
+          Long rowPosition = posDeleteReader.readPos(record);
+          posDeleteWriter.delete(filePath, rowPosition);
+        }
+      }
+
+      return null;
+    });
+  }
 
-    List<ArcticFileScanTask> fileScanTasks = dataFiles.stream()
-        .map(file -> new BasicArcticFileScanTask(file, posDeleteList, table.spec()))
-        .collect(Collectors.toList());
+  private CloseableIterator<Record> openTask(List<ArcticFileScanTask> fileScanTasks, Schema requiredSchema,
+                                             Set<DataTreeNode> sourceNodes) {
+    if (CollectionUtils.isEmpty(fileScanTasks)) {
+      return CloseableIterator.empty();
+    }
 
     PrimaryKeySpec primaryKeySpec = PrimaryKeySpec.noPrimaryKey();
     if (table.isKeyedTable()) {
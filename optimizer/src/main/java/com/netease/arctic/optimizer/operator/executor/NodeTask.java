@@ -59,6 +59,7 @@ public class NodeTask {
   private int attemptId;
   private String customHiveSubdirectory;
   private Long maxExecuteTime;
+  private String fileEncoding;
 
   public NodeTask(List<ContentFileWithSequence<?>> baseFiles,
       List<ContentFileWithSequence<?>> insertFiles,
@@ -266,6 +267,17 @@ public class NodeTask {
     this.maxExecuteTime = maxExecuteTime;
   }
 
+  /**
+   * Encoding of the files of the task, to be used for the files of the result as well, java serialization if null.
+   */
+  public String getFileEncoding() {
+    return fileEncoding;
+  }
+
+  public void setFileEncoding(String fileEncoding) {
+    this.fileEncoding = fileEncoding;
+  }
+
   public OptimizeType getOptimizeType() {
     return taskId.getType();
   }
@@ -23,6 +23,7 @@ import com.netease.arctic.ams.api.OptimizerDescriptor;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.client.OptimizeManagerClientPools;
 import com.netease.arctic.optimizer.OptimizerConfig;
+import com.netease.arctic.utils.map.RocksDBBackend;
 import org.apache.iceberg.exceptions.ValidationException;
 
 public class OptimizerUtil {
@@ -48,4 +49,16 @@ public class OptimizerUtil {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Configure the RocksDB spill backend shared by all the executors of the process, called once at optimizer
+   * startup before any task is executed.
+   */
+  public static void configureSpill(OptimizerConfig config) {
+    RocksDBBackend.configure(new RocksDBBackend.SpillConfig(
+        config.getSpillBlockCacheSize() * 1024 * 1024,
+        config.getSpillWriteBufferSize() * 1024 * 1024,
+        RocksDBBackend.SpillConfig.COLUMN_FAMILY_WRITE_BUFFER_SIZE_DEFAULT,
+        config.getSpillDiskQuota() * 1024 * 1024));
+  }
 }
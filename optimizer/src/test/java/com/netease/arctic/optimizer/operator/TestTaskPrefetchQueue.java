@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizer.operator;
+
+import com.netease.arctic.ams.api.OptimizeTask;
+import com.netease.arctic.ams.api.OptimizeTaskId;
+import com.netease.arctic.ams.api.OptimizeType;
+import com.netease.arctic.optimizer.OptimizerConfig;
+import com.netease.arctic.optimizer.TaskWrapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestTaskPrefetchQueue {
+
+  @Test
+  public void testPollTasksForIdleExecutors() throws Exception {
+    BlockingConsumer consumer = new BlockingConsumer();
+    TaskPrefetchQueue queue = new TaskPrefetchQueue(consumer, 4, 0);
+    ExecutorService executors = Executors.newFixedThreadPool(2);
+    try {
+      Future<TaskWrapper> first = executors.submit(() -> queue.poll(0));
+      Assert.assertTrue(consumer.polling.await(10, TimeUnit.SECONDS));
+      // the poll request is sent without holding the lock of the queue
+      Assert.assertEquals(0, queue.size());
+      Future<TaskWrapper> second = executors.submit(() -> queue.poll(0));
+
+      consumer.release.countDown();
+      Assert.assertNotNull(first.get(10, TimeUnit.SECONDS));
+      second.get(10, TimeUnit.SECONDS);
+      // the first batch is polled for the only idle executor instead of the whole capacity
+      Assert.assertEquals(1, (int) consumer.requestedTasks.get(0));
+      Assert.assertEquals(0, queue.size());
+    } finally {
+      executors.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReturnTasksPolledAfterClose() throws Exception {
+    BlockingConsumer consumer = new BlockingConsumer();
+    TaskPrefetchQueue queue = new TaskPrefetchQueue(consumer, 4, 0);
+    ExecutorService executors = Executors.newSingleThreadExecutor();
+    try {
+      Future<TaskWrapper> polled = executors.submit(() -> queue.poll(0));
+      Assert.assertTrue(consumer.polling.await(10, TimeUnit.SECONDS));
+      queue.close();
+
+      consumer.release.countDown();
+      Assert.assertNull(polled.get(10, TimeUnit.SECONDS));
+      Assert.assertEquals(1, consumer.returnedTasks.size());
+      Assert.assertNull(queue.poll(0));
+    } finally {
+      executors.shutdownNow();
+    }
+  }
+
+  private static class BlockingConsumer extends BaseTaskConsumer {
+    private final CountDownLatch polling = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Integer> requestedTasks = new CopyOnWriteArrayList<>();
+    private final List<TaskWrapper> returnedTasks = new CopyOnWriteArrayList<>();
+
+    BlockingConsumer() {
+      super(new OptimizerConfig());
+    }
+
+    @Override
+    public List<TaskWrapper> pollTasks(int maxTasks, long maxBytes, long timeout) {
+      requestedTasks.add(maxTasks);
+      polling.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      List<TaskWrapper> tasks = new ArrayList<>();
+      for (int i = 0; i < maxTasks; i++) {
+        OptimizeTask task = new OptimizeTask();
+        task.setTaskId(new OptimizeTaskId(OptimizeType.Major, UUID.randomUUID().toString()));
+        tasks.add(new TaskWrapper(task, i));
+      }
+      return tasks;
+    }
+
+    @Override
+    public void returnTasks(Collection<TaskWrapper> tasks) {
+      returnedTasks.addAll(tasks);
+    }
+  }
+}
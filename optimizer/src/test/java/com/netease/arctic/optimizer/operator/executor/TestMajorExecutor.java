@@ -29,9 +29,11 @@ import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.table.UnkeyedTable;
 import org.apache.hadoop.fs.Path;
+import org.apache.iceberg.ContentFile;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
@@ -70,6 +72,23 @@ public class TestMajorExecutor extends TestBaseOptimizeBase {
       });
   }
 
+  @Test
+  public void testMajorExecutorWithTaskParallel() throws Exception {
+    insertBasePosDeleteFiles(testKeyedTable, 2L, baseDataFilesInfo, posDeleteFilesInfo);
+    NodeTask nodeTask = constructNodeTask(testKeyedTable, OptimizeType.Major);
+    String[] arg = new String[0];
+    OptimizerConfig optimizerConfig = new OptimizerConfig(arg);
+    optimizerConfig.setOptimizerId("UnitTest");
+    optimizerConfig.setTaskParallel(4);
+    MajorExecutor majorExecutor = new MajorExecutor(nodeTask, testKeyedTable, System.currentTimeMillis(), optimizerConfig);
+    OptimizeTaskResult result = majorExecutor.execute();
+    Assert.assertEquals(Iterables.size(result.getTargetFiles()), 4);
+    result.getTargetFiles().forEach(dataFile -> {
+      Assert.assertEquals(240, dataFile.recordCount());
+      Assert.assertTrue(dataFile.path().toString().contains(new Path(testKeyedTable.baseLocation()).toString()));
+    });
+  }
+
   @Test
   public void testUnKeyedTableMajorExecutor() throws Exception {
     insertTableBaseDataFiles(testTable, null, baseDataFilesInfo);
@@ -102,6 +121,51 @@ public class TestMajorExecutor extends TestBaseOptimizeBase {
     });
   }
 
+  @Test
+  public void testUnKeyedTableMajorExecutorWithTaskParallel() throws Exception {
+    insertTableBaseDataFiles(testTable, null, baseDataFilesInfo);
+    NodeTask nodeTask = constructNodeTask(testTable, OptimizeType.Major);
+    String[] arg = new String[0];
+    OptimizerConfig optimizerConfig = new OptimizerConfig(arg);
+    optimizerConfig.setOptimizerId("UnitTest");
+    optimizerConfig.setTaskParallel(2);
+    MajorExecutor majorExecutor = new MajorExecutor(nodeTask, testTable, System.currentTimeMillis(), optimizerConfig);
+    OptimizeTaskResult result = majorExecutor.execute();
+    long recordCount = 0;
+    for (ContentFile<?> dataFile : result.getTargetFiles()) {
+      recordCount += dataFile.recordCount();
+      Assert.assertTrue(dataFile.path().toString().contains(new Path(testTable.location()).toString()));
+    }
+    Assert.assertEquals(1000, recordCount);
+  }
+
+  @Test
+  public void testSplitBySize() {
+    NodeTask nodeTask = constructNodeTask(testTable, OptimizeType.Major);
+    OptimizerConfig optimizerConfig = new OptimizerConfig(new String[0]);
+    optimizerConfig.setOptimizerId("UnitTest");
+    optimizerConfig.setTaskParallel(4);
+    List<Long> fileSizes = Arrays.asList(600L, 500L, 400L, 300L, 200L, 100L);
+
+    // files smaller than 4 target files per group are not split
+    testTable.updateProperties().set(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "1000").commit();
+    MajorExecutor majorExecutor = new MajorExecutor(nodeTask, testTable, System.currentTimeMillis(), optimizerConfig);
+    Assert.assertEquals(1, majorExecutor.splitBySize(fileSizes, Long::longValue).size());
+
+    testTable.updateProperties().set(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "200").commit();
+    majorExecutor = new MajorExecutor(nodeTask, testTable, System.currentTimeMillis(), optimizerConfig);
+    List<List<Long>> groups = majorExecutor.splitBySize(fileSizes, Long::longValue);
+    Assert.assertEquals(2, groups.size());
+    Assert.assertEquals(Arrays.asList(600L, 300L, 200L), groups.get(0));
+    Assert.assertEquals(Arrays.asList(500L, 400L, 100L), groups.get(1));
+
+    // at most task parallel groups
+    testTable.updateProperties().set(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "10").commit();
+    majorExecutor = new MajorExecutor(nodeTask, testTable, System.currentTimeMillis(), optimizerConfig);
+    Assert.assertEquals(4, majorExecutor.splitBySize(fileSizes, Long::longValue).size());
+    testTable.updateProperties().remove(TableProperties.SELF_OPTIMIZING_TARGET_SIZE).commit();
+  }
+
   @Test
   public void testNoPartitionTableMajorExecutor() throws Exception {
     insertBasePosDeleteFiles(testNoPartitionTable, 2L, baseDataFilesInfo, posDeleteFilesInfo);
@@ -26,6 +26,8 @@ import com.netease.arctic.ams.api.OptimizeType;
 import com.netease.arctic.data.ChangeAction;
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.data.file.ContentFileWithSequence;
+import com.netease.arctic.data.file.FileNameGenerator;
+import com.netease.arctic.io.reader.BaseIcebergPosDeleteReader;
 import com.netease.arctic.io.writer.GenericChangeTaskWriter;
 import com.netease.arctic.io.writer.GenericTaskWriters;
 import com.netease.arctic.optimizer.OptimizerConfig;
@@ -33,9 +35,12 @@ import com.netease.arctic.optimizer.util.ContentFileUtil;
 import com.netease.arctic.table.TableProperties;
 import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.WriteResult;
 import org.junit.Assert;
 import org.junit.Test;
@@ -43,7 +48,10 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
@@ -92,6 +100,45 @@ public class TestMinorExecutor extends TestBaseOptimizeBase {
     });
   }
 
+  @Test
+  public void testCrossNodeEqDeletes() throws Exception {
+    insertBasePosDeleteFiles(testKeyedTable, 2L, baseDataFilesInfo, posDeleteFilesInfo);
+    // equality-delete files of the root node cover rows of all base nodes
+    testKeyedTable.updateProperties().set(TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET, "1").commit();
+    insertChangeDeleteFiles(3);
+    Set<DataTreeNode> baseNodes = baseDataFilesInfo.stream()
+        .map(dataFileInfo -> DataTreeNode.of(dataFileInfo.getMask(), dataFileInfo.getIndex()))
+        .collect(Collectors.toSet());
+    Assert.assertTrue(baseNodes.size() > 1);
+    changeDeleteFilesInfo.forEach(dataFileInfo -> Assert.assertEquals(DataTreeNode.ROOT,
+        DataTreeNode.of(dataFileInfo.getMask(), dataFileInfo.getIndex())));
+
+    NodeTask nodeTask = constructNodeTask();
+    OptimizerConfig optimizerConfig = new OptimizerConfig(new String[0]);
+    optimizerConfig.setOptimizerId("UnitTest");
+    MinorExecutor minorExecutor =
+        new MinorExecutor(nodeTask, testKeyedTable, System.currentTimeMillis(), optimizerConfig);
+    OptimizeTaskResult result = minorExecutor.execute();
+
+    Set<DataTreeNode> targetNodes = new HashSet<>();
+    long deletedRows = 0;
+    for (ContentFile<?> targetFile : result.getTargetFiles()) {
+      DataTreeNode node = FileNameGenerator.parseFileNodeFromFileName(targetFile.path().toString());
+      Assert.assertTrue(targetNodes.add(node));
+      // every deleted row is written by the writer of the node of its data file
+      BaseIcebergPosDeleteReader posDeleteReader =
+          new BaseIcebergPosDeleteReader(testKeyedTable.io(), Collections.singletonList((DeleteFile) targetFile));
+      try (CloseableIterable<Record> deletes = posDeleteReader.readDeletes()) {
+        for (Record delete : deletes) {
+          Assert.assertEquals(node, FileNameGenerator.parseFileNodeFromFileName(posDeleteReader.readPath(delete)));
+          deletedRows++;
+        }
+      }
+    }
+    Assert.assertEquals(baseNodes, targetNodes);
+    Assert.assertEquals(1000, deletedRows);
+  }
+
   private NodeTask constructNodeTask() {
     String fileFormat = testKeyedTable.properties().getOrDefault(
         TableProperties.DEFAULT_FILE_FORMAT,
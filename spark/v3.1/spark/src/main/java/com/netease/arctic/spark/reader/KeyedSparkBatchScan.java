@@ -18,7 +18,9 @@
 
 package com.netease.arctic.spark.reader;
 
+import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.scan.ArcticFileScanTask;
 import com.netease.arctic.scan.CombinedScanTask;
 import com.netease.arctic.scan.KeyedTableScan;
 import com.netease.arctic.scan.KeyedTableScanTask;
@@ -30,9 +32,11 @@ import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterators;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.spark.Spark3Util;
 import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.spark.sql.catalyst.InternalRow;
 import org.apache.spark.sql.connector.read.Batch;
 import org.apache.spark.sql.connector.read.InputPartition;
@@ -43,6 +47,7 @@ import org.apache.spark.sql.connector.read.Statistics;
 import org.apache.spark.sql.connector.read.SupportsReportStatistics;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +58,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE_DEFAULT;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED_DEFAULT;
+
 public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics {
   private static final Logger LOG = LoggerFactory.getLogger(KeyedSparkBatchScan.class);
 
@@ -60,6 +70,8 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
   private final boolean caseSensitive;
   private final Schema expectedSchema;
   private final List<Expression> filterExpressions;
+  private final boolean vectorizationEnabled;
+  private final int batchSize;
   private StructType readSchema = null;
   private List<CombinedScanTask> tasks = null;
 
@@ -70,6 +82,10 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     this.caseSensitive = caseSensitive;
     this.expectedSchema = expectedSchema;
     this.filterExpressions = filters;
+    this.vectorizationEnabled = options.getBoolean(READ_VECTORIZATION_ENABLED, PropertyUtil.propertyAsBoolean(
+        table.properties(), READ_VECTORIZATION_ENABLED, READ_VECTORIZATION_ENABLED_DEFAULT));
+    this.batchSize = options.getInt(READ_VECTORIZATION_BATCH_SIZE, PropertyUtil.propertyAsInt(
+        table.properties(), READ_VECTORIZATION_BATCH_SIZE, READ_VECTORIZATION_BATCH_SIZE_DEFAULT));
   }
 
   @Override
@@ -88,14 +104,34 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
   @Override
   public InputPartition[] planInputPartitions() {
     List<CombinedScanTask> scanTasks = tasks();
+    // spark could not mix row-based and columnar input partitions in one scan
+    boolean columnar = supportColumnarReads(scanTasks);
     ArcticInputPartition[] readTasks = new ArcticInputPartition[scanTasks.size()];
     for (int i = 0; i < scanTasks.size(); i++) {
       readTasks[i] = new ArcticInputPartition(scanTasks.get(i), table, expectedSchema,
-          caseSensitive);
+          caseSensitive, columnar, batchSize);
     }
     return readTasks;
   }
 
+  private boolean supportColumnarReads(List<CombinedScanTask> scanTasks) {
+    boolean hiveTable = table instanceof SupportHive;
+    if (!vectorizationEnabled ||
+        !ArcticSparkColumnarDataReader.supportColumnarReads(table.schema(), expectedSchema, hiveTable)) {
+      return false;
+    }
+    for (CombinedScanTask combinedScanTask : scanTasks) {
+      for (KeyedTableScanTask keyedTableScanTask : combinedScanTask.tasks()) {
+        if (!keyedTableScanTask.arcticEquityDeletes().isEmpty() ||
+            !keyedTableScanTask.dataTasks().stream().allMatch(task ->
+                ArcticSparkColumnarDataReader.supportColumnarReads(task, table.schema(), hiveTable))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   @Override
   public PartitionReaderFactory createReaderFactory() {
     return new ReaderFactory();
@@ -165,6 +201,20 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
         throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
       }
     }
+
+    @Override
+    public PartitionReader<ColumnarBatch> createColumnarReader(InputPartition partition) {
+      if (partition instanceof ArcticInputPartition) {
+        return new BatchReader((ArcticInputPartition) partition);
+      } else {
+        throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
+      }
+    }
+
+    @Override
+    public boolean supportColumnarReads(InputPartition partition) {
+      return partition instanceof ArcticInputPartition && ((ArcticInputPartition) partition).columnar;
+    }
   }
 
   private static class RowReader implements PartitionReader<InternalRow> {
@@ -214,6 +264,55 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     }
   }
 
+  private static class BatchReader implements PartitionReader<ColumnarBatch> {
+
+    ArcticSparkColumnarDataReader reader;
+    Iterator<ArcticFileScanTask> scanTasks;
+    CloseableIterable<ColumnarBatch> currentIterable = CloseableIterable.empty();
+    CloseableIterator<ColumnarBatch> currentIterator = CloseableIterator.empty();
+    ColumnarBatch current;
+
+    BatchReader(ArcticInputPartition task) {
+      reader = new ArcticSparkColumnarDataReader(
+          task.io, task.tableSchema, task.expectedSchema, task.nameMapping, task.caseSensitive, task.batchSize
+      );
+      scanTasks = Iterators.concat(
+          Iterators.transform(task.combinedScanTask.tasks().iterator(), t -> t.dataTasks().iterator()));
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      while (true) {
+        if (currentIterator.hasNext()) {
+          this.current = currentIterator.next();
+          return true;
+        } else if (scanTasks.hasNext()) {
+          closeCurrent();
+          this.currentIterable = reader.readData(scanTasks.next());
+          this.currentIterator = currentIterable.iterator();
+        } else {
+          closeCurrent();
+          return false;
+        }
+      }
+    }
+
+    @Override
+    public ColumnarBatch get() {
+      return this.current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      closeCurrent();
+    }
+
+    private void closeCurrent() throws IOException {
+      this.currentIterator.close();
+      this.currentIterable.close();
+    }
+  }
+
   private static class ArcticInputPartition implements InputPartition, Serializable {
     final CombinedScanTask combinedScanTask;
     final ArcticFileIO io;
@@ -222,12 +321,16 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     final Schema tableSchema;
     final PrimaryKeySpec keySpec;
     final String nameMapping;
+    final boolean columnar;
+    final int batchSize;
 
     ArcticInputPartition(
         CombinedScanTask combinedScanTask,
         KeyedTable table,
         Schema expectedSchema,
-        boolean caseSensitive) {
+        boolean caseSensitive,
+        boolean columnar,
+        int batchSize) {
       this.combinedScanTask = combinedScanTask;
       this.expectedSchema = expectedSchema;
       this.tableSchema = table.schema();
@@ -235,6 +338,8 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
       this.io = table.io();
       this.keySpec = table.primaryKeySpec();
       this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
+      this.columnar = columnar;
+      this.batchSize = batchSize;
     }
   }
 }
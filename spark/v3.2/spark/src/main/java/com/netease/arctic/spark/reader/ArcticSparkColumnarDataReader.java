@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.reader;
+
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.reader.DataReaderCommon;
+import com.netease.arctic.spark.SparkInternalRowWrapper;
+import com.netease.arctic.spark.util.ArcticSparkUtils;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.DeleteFilter;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.mapping.NameMappingParser;
+import org.apache.iceberg.parquet.AdaptHiveParquet;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.spark.data.vectorized.VectorizedSparkParquetReaders;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.TypeUtil;
+import org.apache.iceberg.types.Types;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+
+import java.util.Map;
+
+/**
+ * Read data files of arctic table as {@link ColumnarBatch} by the vectorized parquet readers.
+ * Position deletes and iceberg equality deletes of a file are applied to every batch by the vectorized reader,
+ * which drops the deleted rows by a row id mapping of the batch. Arctic equality deletes of keyed tables compare the
+ * transaction id and the file offset of rows, which the vectorized readers could not read, so they are left to
+ * {@link ArcticSparkKeyedDataReader}.
+ */
+public class ArcticSparkColumnarDataReader {
+
+  private final ArcticFileIO fileIO;
+  private final Schema tableSchema;
+  private final Schema projectedSchema;
+  private final String nameMapping;
+  private final boolean caseSensitive;
+  private final int batchSize;
+
+  public ArcticSparkColumnarDataReader(
+      ArcticFileIO fileIO,
+      Schema tableSchema,
+      Schema projectedSchema,
+      String nameMapping,
+      boolean caseSensitive,
+      int batchSize) {
+    this.fileIO = fileIO;
+    this.tableSchema = tableSchema;
+    this.projectedSchema = projectedSchema;
+    this.nameMapping = nameMapping;
+    this.caseSensitive = caseSensitive;
+    this.batchSize = batchSize;
+  }
+
+  public CloseableIterable<ColumnarBatch> readData(FileScanTask task) {
+    BatchDeleteFilter deleteFilter = task.deletes().isEmpty() ? null : new BatchDeleteFilter(task);
+    // columns needed by the deletes are read after the projected columns, spark ignores them
+    Schema requiredSchema = deleteFilter == null ? projectedSchema : deleteFilter.requiredSchema();
+    Map<Integer, ?> idToConstant = DataReaderCommon.getIdToConstant(task, requiredSchema,
+        ArcticSparkUtils::convertConstant);
+    AdaptHiveParquet.ReadBuilder builder = AdaptHiveParquet.read(fileIO.newInputFile(task.file().path().toString()))
+        .split(task.start(), task.length())
+        .project(requiredSchema)
+        .createBatchedReaderFunc(fileSchema ->
+            VectorizedSparkParquetReaders.buildReader(requiredSchema, fileSchema, idToConstant, deleteFilter))
+        .recordsPerBatch(batchSize)
+        .filter(task.residual())
+        .caseSensitive(caseSensitive);
+
+    if (nameMapping != null) {
+      builder.withNameMapping(NameMappingParser.fromJson(nameMapping));
+    }
+
+    return fileIO.doAs(builder::build);
+  }
+
+  /**
+   * Whether the file of the task could be read by this reader, the task must be a parquet file, and the columns of
+   * its equality deletes must be supported by the vectorized parquet readers too.
+   */
+  public static boolean supportColumnarReads(FileScanTask task, Schema tableSchema, boolean hiveTable) {
+    if (task.file().format() != FileFormat.PARQUET) {
+      return false;
+    }
+    for (DeleteFile delete : task.deletes()) {
+      if (delete.content() == FileContent.EQUALITY_DELETES &&
+          !supportColumnarReads(tableSchema,
+              TypeUtil.select(tableSchema, Sets.newHashSet(delete.equalityFieldIds())), hiveTable)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether the projected schema could be read by the vectorized parquet readers, which only support primitive
+   * types of the table schema, file path and row position. Timestamp is not supported for hive compatible tables,
+   * since their files may be written as INT96.
+   */
+  public static boolean supportColumnarReads(Schema tableSchema, Schema projectedSchema, boolean hiveTable) {
+    for (Types.NestedField field : projectedSchema.columns()) {
+      Type type = field.type();
+      if (!type.isPrimitiveType()) {
+        return false;
+      }
+      if (hiveTable && type.typeId() == Type.TypeID.TIMESTAMP) {
+        return false;
+      }
+      if (tableSchema.findField(field.fieldId()) == null &&
+          field.fieldId() != MetadataColumns.FILE_PATH.fieldId() &&
+          field.fieldId() != MetadataColumns.ROW_POSITION.fieldId()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private class BatchDeleteFilter extends DeleteFilter<InternalRow> {
+
+    private final SparkInternalRowWrapper wrapper;
+
+    BatchDeleteFilter(FileScanTask task) {
+      super(task.file().path().toString(), task.deletes(), tableSchema, projectedSchema);
+      this.wrapper = new SparkInternalRowWrapper(SparkSchemaUtil.convert(requiredSchema()));
+    }
+
+    @Override
+    protected StructLike asStructLike(InternalRow row) {
+      return wrapper.wrap(row);
+    }
+
+    @Override
+    protected InputFile getInputFile(String location) {
+      return fileIO.newInputFile(location);
+    }
+  }
+}
@@ -18,6 +18,7 @@
 
 package com.netease.arctic.spark.reader;
 
+import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.scan.BasicArcticFileScanTask;
 import com.netease.arctic.spark.util.Stats;
@@ -45,6 +46,7 @@ import org.apache.spark.sql.connector.read.Statistics;
 import org.apache.spark.sql.connector.read.SupportsReportStatistics;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +58,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE_DEFAULT;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED_DEFAULT;
+
 public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics {
   private static final Logger LOG = LoggerFactory.getLogger(UnkeyedSparkBatchScan.class);
 
@@ -67,6 +74,8 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
   private final boolean caseSensitive;
   private final Schema expectedSchema;
   private final List<Expression> filterExpressions;
+  private final boolean vectorizationEnabled;
+  private final int batchSize;
 
   private StructType readSchema = null;
   private List<CombinedScanTask> tasks = null;
@@ -78,19 +87,36 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     this.caseSensitive = caseSensitive;
     this.expectedSchema = expectedSchema;
     this.filterExpressions = filters;
+    this.vectorizationEnabled = options.getBoolean(READ_VECTORIZATION_ENABLED, PropertyUtil.propertyAsBoolean(
+        table.properties(), READ_VECTORIZATION_ENABLED, READ_VECTORIZATION_ENABLED_DEFAULT));
+    this.batchSize = options.getInt(READ_VECTORIZATION_BATCH_SIZE, PropertyUtil.propertyAsInt(
+        table.properties(), READ_VECTORIZATION_BATCH_SIZE, READ_VECTORIZATION_BATCH_SIZE_DEFAULT));
   }
 
   @Override
   public InputPartition[] planInputPartitions() {
     List<CombinedScanTask> scanTasks = tasks();
+    // spark could not mix row-based and columnar input partitions in one scan
+    boolean columnar = supportColumnarReads(scanTasks);
     ArcticInputPartition[] readTasks = new ArcticInputPartition[scanTasks.size()];
     for (int i = 0; i < scanTasks.size(); i++) {
       readTasks[i] = new ArcticInputPartition(scanTasks.get(i), table, expectedSchema,
-          caseSensitive);
+          caseSensitive, columnar, batchSize);
     }
     return readTasks;
   }
 
+  private boolean supportColumnarReads(List<CombinedScanTask> scanTasks) {
+    boolean hiveTable = table instanceof SupportHive;
+    if (!vectorizationEnabled ||
+        !ArcticSparkColumnarDataReader.supportColumnarReads(table.schema(), expectedSchema, hiveTable)) {
+      return false;
+    }
+    return scanTasks.stream()
+        .allMatch(task -> task.files().stream().allMatch(fileTask ->
+            ArcticSparkColumnarDataReader.supportColumnarReads(fileTask, table.schema(), hiveTable)));
+  }
+
   @Override
   public PartitionReaderFactory createReaderFactory() {
     return new ReaderFactory();
@@ -168,6 +194,20 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
         throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
       }
     }
+
+    @Override
+    public PartitionReader<ColumnarBatch> createColumnarReader(InputPartition partition) {
+      if (partition instanceof ArcticInputPartition) {
+        return new BatchReader((ArcticInputPartition) partition);
+      } else {
+        throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
+      }
+    }
+
+    @Override
+    public boolean supportColumnarReads(InputPartition partition) {
+      return partition instanceof ArcticInputPartition && ((ArcticInputPartition) partition).columnar;
+    }
   }
 
   private static class RowReader implements PartitionReader<InternalRow> {
@@ -217,6 +257,54 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     }
   }
 
+  private static class BatchReader implements PartitionReader<ColumnarBatch> {
+
+    ArcticSparkColumnarDataReader reader;
+    Iterator<FileScanTask> scanTasks;
+    CloseableIterable<ColumnarBatch> currentIterable = CloseableIterable.empty();
+    CloseableIterator<ColumnarBatch> currentIterator = CloseableIterator.empty();
+    ColumnarBatch current;
+
+    BatchReader(ArcticInputPartition task) {
+      reader = new ArcticSparkColumnarDataReader(
+          task.io, task.tableSchema, task.expectedSchema, task.nameMapping, task.caseSensitive, task.batchSize
+      );
+      scanTasks = task.combinedScanTask.files().iterator();
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      while (true) {
+        if (currentIterator.hasNext()) {
+          this.current = currentIterator.next();
+          return true;
+        } else if (scanTasks.hasNext()) {
+          closeCurrent();
+          this.currentIterable = reader.readData(scanTasks.next());
+          this.currentIterator = currentIterable.iterator();
+        } else {
+          closeCurrent();
+          return false;
+        }
+      }
+    }
+
+    @Override
+    public ColumnarBatch get() {
+      return this.current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      closeCurrent();
+    }
+
+    private void closeCurrent() throws IOException {
+      this.currentIterator.close();
+      this.currentIterable.close();
+    }
+  }
+
   private static class ArcticInputPartition implements InputPartition, Serializable {
     final CombinedScanTask combinedScanTask;
     final ArcticFileIO io;
@@ -224,18 +312,24 @@ public class UnkeyedSparkBatchScan implements Scan, Batch, SupportsReportStatist
     final Schema expectedSchema;
     final Schema tableSchema;
     final String nameMapping;
+    final boolean columnar;
+    final int batchSize;
 
     ArcticInputPartition(
         CombinedScanTask combinedScanTask,
         UnkeyedTable table,
         Schema expectedSchema,
-        boolean caseSensitive) {
+        boolean caseSensitive,
+        boolean columnar,
+        int batchSize) {
       this.combinedScanTask = combinedScanTask;
       this.expectedSchema = expectedSchema;
       this.tableSchema = table.schema();
       this.caseSensitive = caseSensitive;
       this.io = table.io();
       this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
+      this.columnar = columnar;
+      this.batchSize = batchSize;
     }
   }
 
@@ -234,6 +234,11 @@ public class ArcticSparkSessionCatalog<T extends TableCatalog & SupportsNamespac
 
   @Override
   public UnboundFunction loadFunction(Identifier ident) throws NoSuchFunctionException {
-    return getSessionCatalog().loadFunction(ident);
+    try {
+      return getSessionCatalog().loadFunction(ident);
+    } catch (NoSuchFunctionException e) {
+      // functions of the transforms reported by arctic tables
+      return arcticCatalog.loadFunction(ident);
+    }
   }
 }
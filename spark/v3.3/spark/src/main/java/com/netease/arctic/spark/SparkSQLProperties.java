@@ -36,4 +36,11 @@ public class SparkSQLProperties {
 
   public static final String OPTIMIZE_WRITE_ENABLED = "spark.sql.arctic.optimize-write-enabled";
   public static final String OPTIMIZE_WRITE_ENABLED_DEFAULT = "true";
+
+  /**
+   * The max number of buckets of the key grouped partitioning reported by keyed table scans, scans of keyed tables
+   * with different number of buckets could be joined without shuffle if it is set to the smaller one.
+   */
+  public static final String REPORT_PARTITIONING_MAX_BUCKETS = "spark.sql.arctic.report-partitioning.max-buckets";
+  public static final String REPORT_PARTITIONING_MAX_BUCKETS_DEFAULT = String.valueOf(Integer.MAX_VALUE);
 }
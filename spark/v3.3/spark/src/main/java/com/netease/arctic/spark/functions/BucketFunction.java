@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.functions;
+
+import com.netease.arctic.data.PrimaryKeyData;
+import com.netease.arctic.spark.SparkInternalRowWrapper;
+import com.netease.arctic.table.PrimaryKeySpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.catalog.functions.BoundFunction;
+import org.apache.spark.sql.connector.catalog.functions.ScalarFunction;
+import org.apache.spark.sql.connector.catalog.functions.UnboundFunction;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.IntegerType;
+import org.apache.spark.sql.types.StructType;
+
+/**
+ * The function of the bucket transform reported by keyed table scans, which returns the index of the
+ * {@link com.netease.arctic.data.DataTreeNode} a primary key belongs to, with the mask of the number of buckets minus
+ * one.
+ * <p>
+ * Bound as bucket(numBuckets, key), the same arguments spark uses to resolve a bucket transform.
+ */
+public class BucketFunction implements UnboundFunction {
+
+  public static final String NAME = "bucket";
+
+  private static final String KEY_COLUMN = "key";
+
+  @Override
+  public BoundFunction bind(StructType inputType) {
+    if (inputType.fields().length != 2) {
+      throw new UnsupportedOperationException("Wrong number of inputs (expected numBuckets and key)");
+    }
+    if (!(inputType.fields()[0].dataType() instanceof IntegerType)) {
+      throw new UnsupportedOperationException("Expected number of buckets to be int");
+    }
+    return new TreeNodeBucket(inputType.fields()[1].dataType());
+  }
+
+  @Override
+  public String description() {
+    return name() + "(numBuckets, key) - Returns the index of the tree node the primary key belongs to";
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  public static class TreeNodeBucket implements ScalarFunction<Integer> {
+
+    private final DataType keyType;
+    private transient PrimaryKeyData primaryKeyData;
+    private transient SparkInternalRowWrapper keyWrapper;
+
+    TreeNodeBucket(DataType keyType) {
+      this.keyType = keyType;
+    }
+
+    @Override
+    public DataType[] inputTypes() {
+      return new DataType[]{DataTypes.IntegerType, keyType};
+    }
+
+    @Override
+    public DataType resultType() {
+      return DataTypes.IntegerType;
+    }
+
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public String canonicalName() {
+      // keys of different types hash to different nodes
+      return String.format("arctic.bucket(%s)", keyType.catalogString());
+    }
+
+    @Override
+    public Integer produceResult(InternalRow input) {
+      if (input.isNullAt(0)) {
+        return null;
+      }
+      if (primaryKeyData == null) {
+        StructType keyStruct = new StructType().add(KEY_COLUMN, keyType);
+        Schema keySchema = SparkSchemaUtil.convert(keyStruct);
+        this.primaryKeyData = new PrimaryKeyData(
+            PrimaryKeySpec.builderFor(keySchema).addColumn(KEY_COLUMN).build(), keySchema);
+        this.keyWrapper = new SparkInternalRowWrapper(keyStruct);
+      }
+      int numBuckets = input.getInt(0);
+      InternalRow keyRow = new GenericInternalRow(new Object[]{input.get(1, keyType)});
+      primaryKeyData.primaryKey(keyWrapper.wrap(keyRow));
+      return (int) primaryKeyData.treeNode(numBuckets - 1).index();
+    }
+  }
+}
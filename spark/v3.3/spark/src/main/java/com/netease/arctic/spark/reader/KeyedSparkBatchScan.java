@@ -18,51 +18,88 @@
 
 package com.netease.arctic.spark.reader;
 
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.scan.ArcticFileScanTask;
 import com.netease.arctic.scan.CombinedScanTask;
 import com.netease.arctic.scan.KeyedTableScan;
 import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.spark.util.ArcticSparkUtils;
 import com.netease.arctic.spark.util.Stats;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.PrimaryKeySpec;
+import org.apache.iceberg.PartitionField;
 import org.apache.iceberg.Schema;
+import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterators;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.spark.Spark3Util;
 import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.Pair;
+import org.apache.iceberg.util.PropertyUtil;
+import org.apache.iceberg.util.StructLikeWrapper;
 import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.connector.expressions.Expressions;
+import org.apache.spark.sql.connector.expressions.Transform;
 import org.apache.spark.sql.connector.read.Batch;
+import org.apache.spark.sql.connector.read.HasPartitionKey;
 import org.apache.spark.sql.connector.read.InputPartition;
 import org.apache.spark.sql.connector.read.PartitionReader;
 import org.apache.spark.sql.connector.read.PartitionReaderFactory;
 import org.apache.spark.sql.connector.read.Scan;
 import org.apache.spark.sql.connector.read.Statistics;
+import org.apache.spark.sql.connector.read.SupportsReportPartitioning;
 import org.apache.spark.sql.connector.read.SupportsReportStatistics;
+import org.apache.spark.sql.connector.read.partitioning.KeyGroupedPartitioning;
+import org.apache.spark.sql.connector.read.partitioning.Partitioning;
+import org.apache.spark.sql.connector.read.partitioning.UnknownPartitioning;
+import org.apache.spark.sql.internal.SQLConf;
 import org.apache.spark.sql.types.StructType;
 import org.apache.spark.sql.util.CaseInsensitiveStringMap;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics {
+import static com.netease.arctic.spark.SparkSQLProperties.REPORT_PARTITIONING_MAX_BUCKETS;
+import static com.netease.arctic.spark.SparkSQLProperties.REPORT_PARTITIONING_MAX_BUCKETS_DEFAULT;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_BATCH_SIZE_DEFAULT;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED;
+import static com.netease.arctic.table.TableProperties.READ_VECTORIZATION_ENABLED_DEFAULT;
+
+public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistics, SupportsReportPartitioning {
   private static final Logger LOG = LoggerFactory.getLogger(KeyedSparkBatchScan.class);
 
   private final KeyedTable table;
   private final boolean caseSensitive;
   private final Schema expectedSchema;
   private final List<Expression> filterExpressions;
+  private final boolean vectorizationEnabled;
+  private final int batchSize;
   private StructType readSchema = null;
   private List<CombinedScanTask> tasks = null;
+  private Long treeNodeMask = null;
+  private List<CombinedScanTask> inputTasks = null;
 
   KeyedSparkBatchScan(
       KeyedTable table, boolean caseSensitive,
@@ -71,6 +108,10 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     this.caseSensitive = caseSensitive;
     this.expectedSchema = expectedSchema;
     this.filterExpressions = filters;
+    this.vectorizationEnabled = options.getBoolean(READ_VECTORIZATION_ENABLED, PropertyUtil.propertyAsBoolean(
+        table.properties(), READ_VECTORIZATION_ENABLED, READ_VECTORIZATION_ENABLED_DEFAULT));
+    this.batchSize = options.getInt(READ_VECTORIZATION_BATCH_SIZE, PropertyUtil.propertyAsInt(
+        table.properties(), READ_VECTORIZATION_BATCH_SIZE, READ_VECTORIZATION_BATCH_SIZE_DEFAULT));
   }
 
   @Override
@@ -88,15 +129,156 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
 
   @Override
   public InputPartition[] planInputPartitions() {
-    List<CombinedScanTask> scanTasks = tasks();
+    List<CombinedScanTask> scanTasks = inputTasks();
+    // spark could not mix row-based and columnar input partitions in one scan
+    boolean columnar = supportColumnarReads(scanTasks);
     ArcticInputPartition[] readTasks = new ArcticInputPartition[scanTasks.size()];
     for (int i = 0; i < scanTasks.size(); i++) {
-      readTasks[i] = new ArcticInputPartition(scanTasks.get(i), table, expectedSchema,
-          caseSensitive);
+      CombinedScanTask scanTask = scanTasks.get(i);
+      InternalRow partitionKey = scanTask instanceof TreeNodeScanTask ?
+          partitionKey((TreeNodeScanTask) scanTask) : null;
+      readTasks[i] = new ArcticInputPartition(scanTask, table, expectedSchema,
+          caseSensitive, columnar, batchSize, partitionKey);
     }
     return readTasks;
   }
 
+  @Override
+  public Partitioning outputPartitioning() {
+    long mask = treeNodeMask();
+    if (mask < 0) {
+      return new UnknownPartitioning(inputTasks().size());
+    }
+    List<Transform> keys = table.spec().fields().stream()
+        .map(field -> Expressions.identity(table.schema().findColumnName(field.sourceId())))
+        .collect(Collectors.toList());
+    String keyColumn = table.primaryKeySpec().fields().get(0).fieldName();
+    keys.add(Expressions.bucket((int) mask + 1, keyColumn));
+    return new KeyGroupedPartitioning(keys.toArray(new Transform[0]), inputTasks().size());
+  }
+
+  /**
+   * Returns the partition key of the input partition, the values of the identity partition fields followed by the
+   * index of the tree node, matching the keys of {@link #outputPartitioning()}.
+   */
+  private InternalRow partitionKey(TreeNodeScanTask scanTask) {
+    List<Types.NestedField> partitionFields = table.spec().partitionType().fields();
+    Object[] values = new Object[partitionFields.size() + 1];
+    for (int i = 0; i < partitionFields.size(); i++) {
+      Type type = partitionFields.get(i).type();
+      values[i] = ArcticSparkUtils.convertConstant(type,
+          scanTask.partition.get(i, type.typeId().javaClass()));
+    }
+    values[partitionFields.size()] = (int) scanTask.treeNode.index();
+    return new GenericInternalRow(values);
+  }
+
+  /**
+   * Returns the mask of tree nodes reported as the bucket transform of the primary key, or -1 if the scan could not
+   * report a key grouped partitioning. A partitioned table reports its partitioning only if all partition fields are
+   * identity transforms of projected columns. The coarsest mask of all tasks is used, limited by
+   * {@link com.netease.arctic.spark.SparkSQLProperties#REPORT_PARTITIONING_MAX_BUCKETS}, so that tasks of finer nodes
+   * are grouped into their ancestor.
+   */
+  private long treeNodeMask() {
+    if (treeNodeMask == null) {
+      this.treeNodeMask = -1L;
+      if (!SQLConf.get().v2BucketingEnabled() || table.primaryKeySpec().fields().size() != 1) {
+        return treeNodeMask;
+      }
+      String keyColumn = table.primaryKeySpec().fields().get(0).fieldName();
+      if (expectedSchema.findField(keyColumn) == null) {
+        return treeNodeMask;
+      }
+      for (PartitionField field : table.spec().fields()) {
+        if (!field.transform().isIdentity() || expectedSchema.findField(field.sourceId()) == null) {
+          return treeNodeMask;
+        }
+      }
+      long mask = Long.MAX_VALUE;
+      for (CombinedScanTask combinedScanTask : tasks()) {
+        for (KeyedTableScanTask keyedTableScanTask : combinedScanTask.tasks()) {
+          if (keyedTableScanTask.dataTasks().isEmpty()) {
+            return treeNodeMask;
+          }
+          mask = Math.min(mask, treeNode(keyedTableScanTask).mask());
+        }
+      }
+      if (mask == Long.MAX_VALUE) {
+        return treeNodeMask;
+      }
+      int maxBuckets = Integer.parseInt(SQLConf.get().getConfString(
+          REPORT_PARTITIONING_MAX_BUCKETS, REPORT_PARTITIONING_MAX_BUCKETS_DEFAULT));
+      Preconditions.checkArgument(maxBuckets > 0,
+          "%s must be positive, but is %s", REPORT_PARTITIONING_MAX_BUCKETS, maxBuckets);
+      // the mask of a tree node is always a power of 2 minus 1
+      this.treeNodeMask = Math.min(mask, Integer.highestOneBit(maxBuckets) - 1);
+    }
+    return treeNodeMask;
+  }
+
+  /**
+   * Returns the tasks to read, one combined task for every partition and tree node of the reported partitioning, or
+   * the planned tasks if no partitioning is reported.
+   */
+  private List<CombinedScanTask> inputTasks() {
+    if (inputTasks == null) {
+      long mask = treeNodeMask();
+      if (mask < 0) {
+        this.inputTasks = tasks();
+      } else {
+        Types.StructType partitionType = table.spec().partitionType();
+        Map<Pair<StructLikeWrapper, DataTreeNode>, List<KeyedTableScanTask>> nodeTasks = Maps.newLinkedHashMap();
+        for (CombinedScanTask combinedScanTask : tasks()) {
+          for (KeyedTableScanTask keyedTableScanTask : combinedScanTask.tasks()) {
+            // all data files of a task belong to the same partition
+            StructLike partition = keyedTableScanTask.dataTasks().get(0).file().partition();
+            DataTreeNode ancestor = ancestor(treeNode(keyedTableScanTask), mask);
+            nodeTasks.computeIfAbsent(Pair.of(StructLikeWrapper.forType(partitionType).set(partition), ancestor),
+                key -> Lists.newArrayList()).add(keyedTableScanTask);
+          }
+        }
+        this.inputTasks = nodeTasks.entrySet().stream()
+            .map(entry -> new TreeNodeScanTask(
+                entry.getKey().first().get(), entry.getKey().second(), entry.getValue()))
+            .collect(Collectors.toList());
+      }
+    }
+    return inputTasks;
+  }
+
+  private static DataTreeNode treeNode(KeyedTableScanTask keyedTableScanTask) {
+    // all data files of a task belong to the same node
+    return keyedTableScanTask.dataTasks().get(0).file().node();
+  }
+
+  private static DataTreeNode ancestor(DataTreeNode node, long mask) {
+    DataTreeNode ancestor = node;
+    while (ancestor.mask() > mask) {
+      ancestor = ancestor.parent();
+    }
+    Preconditions.checkState(node.isSonOf(ancestor), "Tree node %s is not son of %s", node, ancestor);
+    return ancestor;
+  }
+
+  private boolean supportColumnarReads(List<CombinedScanTask> scanTasks) {
+    boolean hiveTable = table instanceof SupportHive;
+    if (!vectorizationEnabled ||
+        !ArcticSparkColumnarDataReader.supportColumnarReads(table.schema(), expectedSchema, hiveTable)) {
+      return false;
+    }
+    for (CombinedScanTask combinedScanTask : scanTasks) {
+      for (KeyedTableScanTask keyedTableScanTask : combinedScanTask.tasks()) {
+        if (!keyedTableScanTask.arcticEquityDeletes().isEmpty() ||
+            !keyedTableScanTask.dataTasks().stream().allMatch(task ->
+                ArcticSparkColumnarDataReader.supportColumnarReads(task, table.schema(), hiveTable))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   @Override
   public PartitionReaderFactory createReaderFactory() {
     return new ReaderFactory();
@@ -188,6 +370,20 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
         throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
       }
     }
+
+    @Override
+    public PartitionReader<ColumnarBatch> createColumnarReader(InputPartition partition) {
+      if (partition instanceof ArcticInputPartition) {
+        return new BatchReader((ArcticInputPartition) partition);
+      } else {
+        throw new UnsupportedOperationException("Incorrect input partition type: " + partition);
+      }
+    }
+
+    @Override
+    public boolean supportColumnarReads(InputPartition partition) {
+      return partition instanceof ArcticInputPartition && ((ArcticInputPartition) partition).columnar;
+    }
   }
 
   private static class RowReader implements PartitionReader<InternalRow> {
@@ -237,7 +433,73 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     }
   }
 
-  private static class ArcticInputPartition implements InputPartition, Serializable {
+  private static class BatchReader implements PartitionReader<ColumnarBatch> {
+
+    ArcticSparkColumnarDataReader reader;
+    Iterator<ArcticFileScanTask> scanTasks;
+    CloseableIterable<ColumnarBatch> currentIterable = CloseableIterable.empty();
+    CloseableIterator<ColumnarBatch> currentIterator = CloseableIterator.empty();
+    ColumnarBatch current;
+
+    BatchReader(ArcticInputPartition task) {
+      reader = new ArcticSparkColumnarDataReader(
+          task.io, task.tableSchema, task.expectedSchema, task.nameMapping, task.caseSensitive, task.batchSize
+      );
+      scanTasks = Iterators.concat(
+          Iterators.transform(task.combinedScanTask.tasks().iterator(), t -> t.dataTasks().iterator()));
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      while (true) {
+        if (currentIterator.hasNext()) {
+          this.current = currentIterator.next();
+          return true;
+        } else if (scanTasks.hasNext()) {
+          closeCurrent();
+          this.currentIterable = reader.readData(scanTasks.next());
+          this.currentIterator = currentIterable.iterator();
+        } else {
+          closeCurrent();
+          return false;
+        }
+      }
+    }
+
+    @Override
+    public ColumnarBatch get() {
+      return this.current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      closeCurrent();
+    }
+
+    private void closeCurrent() throws IOException {
+      this.currentIterator.close();
+      this.currentIterable.close();
+    }
+  }
+
+  private static class TreeNodeScanTask implements CombinedScanTask {
+    final StructLike partition;
+    final DataTreeNode treeNode;
+    final List<KeyedTableScanTask> tasks;
+
+    TreeNodeScanTask(StructLike partition, DataTreeNode treeNode, List<KeyedTableScanTask> tasks) {
+      this.partition = partition;
+      this.treeNode = treeNode;
+      this.tasks = tasks;
+    }
+
+    @Override
+    public Collection<KeyedTableScanTask> tasks() {
+      return tasks;
+    }
+  }
+
+  private static class ArcticInputPartition implements InputPartition, HasPartitionKey, Serializable {
     final CombinedScanTask combinedScanTask;
     final ArcticFileIO io;
     final boolean caseSensitive;
@@ -245,12 +507,18 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
     final Schema tableSchema;
     final PrimaryKeySpec keySpec;
     final String nameMapping;
+    final boolean columnar;
+    final int batchSize;
+    final InternalRow partitionKey;
 
     ArcticInputPartition(
         CombinedScanTask combinedScanTask,
         KeyedTable table,
         Schema expectedSchema,
-        boolean caseSensitive) {
+        boolean caseSensitive,
+        boolean columnar,
+        int batchSize,
+        InternalRow partitionKey) {
       this.combinedScanTask = combinedScanTask;
       this.expectedSchema = expectedSchema;
       this.tableSchema = table.schema();
@@ -258,6 +526,14 @@ public class KeyedSparkBatchScan implements Scan, Batch, SupportsReportStatistic
       this.io = table.io();
       this.keySpec = table.primaryKeySpec();
       this.nameMapping = table.properties().get(TableProperties.DEFAULT_NAME_MAPPING);
+      this.columnar = columnar;
+      this.batchSize = batchSize;
+      this.partitionKey = partitionKey;
+    }
+
+    @Override
+    public InternalRow partitionKey() {
+      return partitionKey;
     }
   }
 }
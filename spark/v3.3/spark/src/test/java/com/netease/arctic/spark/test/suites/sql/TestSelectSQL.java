@@ -20,6 +20,8 @@ package com.netease.arctic.spark.test.suites.sql;
 
 import com.netease.arctic.ams.api.properties.TableFormat;
 import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.data.file.FileNameGenerator;
+import com.netease.arctic.spark.SparkSQLProperties;
 import com.netease.arctic.spark.test.SparkTableTestBase;
 import com.netease.arctic.spark.test.extensions.EnableCatalogSelect;
 import com.netease.arctic.spark.test.helper.DataComparator;
@@ -27,7 +29,10 @@ import com.netease.arctic.spark.test.helper.RecordGenerator;
 import com.netease.arctic.spark.test.helper.TestTable;
 import com.netease.arctic.spark.test.helper.TestTableHelper;
 import com.netease.arctic.spark.test.helper.TestTables;
+import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.spark.sql.Dataset;
@@ -110,4 +115,142 @@ public class TestSelectSQL extends SparkTableTestBase {
     List<Row> changeActual = ds.collectAsList();
     Assertions.assertEquals(expectChange.size(), changeActual.size());
   }
+
+  public static Stream<Arguments> testVectorizedQuery() {
+    List<TestTable> tests = Lists.newArrayList(
+        TestTables.MixedIceberg.PK_PT,
+        TestTables.MixedIceberg.NoPK_NoPT,
+
+        TestTables.MixedHive.PK_NoPT,
+        TestTables.MixedHive.NoPK_PT
+    );
+    return tests.stream().map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testVectorizedQuery(
+      TableFormat format, TestTable table
+  ) {
+    ArcticTable tbl = createTarget(table.schema, builder ->
+        builder.withPrimaryKeySpec(table.keySpec)
+            .withProperty(TableProperties.READ_VECTORIZATION_ENABLED, "true"));
+    RecordGenerator dataGen = table.newDateGen();
+
+    List<Record> expects = dataGen.records(10);
+    TestTableHelper.writeToBase(tbl, expects);
+    expects.sort(Comparator.comparing(r -> r.get(0, Integer.class)));
+
+    Dataset<Row> ds = sql("SELECT * FROM " + target());
+    List<Record> actual = ds.collectAsList().stream()
+        .map(r -> TestTableHelper.rowToRecord(r, table.schema.asStruct()))
+        .sorted(Comparator.comparing(r -> r.get(0, Integer.class)))
+        .collect(Collectors.toList());
+    DataComparator.build(expects, actual).assertRecordsEqual();
+    // timestamp of hive compatible tables could not be read by vectorized readers
+    Assertions.assertEquals(format == MIXED_ICEBERG,
+        ds.queryExecution().executedPlan().toString().contains("ColumnarToRow"));
+
+    ds = sql("SELECT id, data FROM " + target());
+    Assertions.assertEquals(expects.size(), ds.count());
+    Assertions.assertTrue(ds.queryExecution().executedPlan().toString().contains("ColumnarToRow"));
+
+    if (tbl.isKeyedTable()) {
+      // fall back to row-based reads once there are deletes to merge
+      TestTableHelper.writeToChange(tbl.asKeyedTable(), expects.subList(0, 2), ChangeAction.DELETE);
+      ds = sql("SELECT id, data FROM " + target());
+      Assertions.assertEquals(expects.size() - 2, ds.count());
+      Assertions.assertFalse(ds.queryExecution().executedPlan().toString().contains("ColumnarToRow"));
+    }
+  }
+
+  public static Stream<Arguments> testKeyedTableJoinWithoutShuffle() {
+    List<TestTable> tests = Lists.newArrayList(
+        TestTables.MixedIceberg.PK_PT,
+        TestTables.MixedHive.PK_NoPT
+    );
+    return tests.stream().map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testKeyedTableJoinWithoutShuffle(
+      TableFormat format, TestTable table
+  ) {
+    ArcticTable target = createTarget(table.schema, builder ->
+        builder.withPrimaryKeySpec(table.keySpec));
+    ArcticTable source = createArcticSource(table.schema, builder ->
+        builder.withPrimaryKeySpec(table.keySpec)
+            .withProperty(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "8"));
+    RecordGenerator dataGen = table.newDateGen();
+    List<Record> records = dataGen.records(20);
+    TestTableHelper.writeToBase(target, records);
+    TestTableHelper.writeToBase(source, records);
+
+    spark().conf().set("spark.sql.sources.v2.bucketing.enabled", "true");
+    spark().conf().set("spark.sql.autoBroadcastJoinThreshold", "-1");
+    spark().conf().set(SparkSQLProperties.REPORT_PARTITIONING_MAX_BUCKETS, "4");
+    try {
+      // tree nodes of the source are grouped into the coarser nodes of the target
+      Dataset<Row> ds = sql("SELECT t.id, s.data FROM " + target() + " t JOIN " + source() + " s ON t.id = s.id");
+      Assertions.assertEquals(records.size(), ds.count());
+      Assertions.assertFalse(ds.queryExecution().executedPlan().toString().contains("Exchange"));
+    } finally {
+      spark().conf().unset("spark.sql.sources.v2.bucketing.enabled");
+      spark().conf().unset("spark.sql.autoBroadcastJoinThreshold");
+      spark().conf().unset(SparkSQLProperties.REPORT_PARTITIONING_MAX_BUCKETS);
+    }
+  }
+
+  public static Stream<Arguments> testPartitionedKeyedTableJoinWithoutShuffle() {
+    List<TestTable> tests = Lists.newArrayList(
+        TestTables.MixedIceberg.PK_PT,
+        TestTables.MixedHive.PK_PT
+    );
+    return tests.stream().map(t -> Arguments.of(t.format, t));
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  public void testPartitionedKeyedTableJoinWithoutShuffle(
+      TableFormat format, TestTable table
+  ) {
+    ArcticTable target = createTarget(table.schema, builder ->
+        builder.withPrimaryKeySpec(table.keySpec)
+            .withPartitionSpec(table.ptSpec)
+            .withProperty(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "2"));
+    ArcticTable source = createArcticSource(table.schema, builder ->
+        builder.withPrimaryKeySpec(table.keySpec)
+            .withPartitionSpec(table.ptSpec)
+            .withProperty(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "2"));
+    RecordGenerator dataGen = RecordGenerator.buildFor(table.schema)
+        .withSequencePrimaryKey(table.keySpec)
+        .withRoundRobinValues("pt", "a", "b", "c")
+        .build();
+    List<Record> records = dataGen.records(30);
+    List<DataFile> targetFiles = TestTableHelper.writeToBase(target, records);
+    TestTableHelper.writeToBase(source, records);
+    // every partition and tree node is read by its own input partition
+    long partitionsAndNodes = targetFiles.stream()
+        .map(file -> file.partition().get(0, String.class) + "/" +
+            FileNameGenerator.parseFileNodeFromFileName(file.path().toString()))
+        .distinct()
+        .count();
+
+    spark().conf().set("spark.sql.sources.v2.bucketing.enabled", "true");
+    spark().conf().set("spark.sql.autoBroadcastJoinThreshold", "-1");
+    try {
+      Dataset<Row> scan = sql("SELECT id, pt FROM " + target());
+      Assertions.assertEquals(partitionsAndNodes, scan.rdd().getNumPartitions());
+      Assertions.assertEquals(records.size(), scan.count());
+
+      Dataset<Row> ds = sql("SELECT t.id, s.data FROM " + target() + " t JOIN " + source() + " s " +
+          "ON t.id = s.id AND t.pt = s.pt");
+      Assertions.assertEquals(records.size(), ds.count());
+      Assertions.assertFalse(ds.queryExecution().executedPlan().toString().contains("Exchange"));
+    } finally {
+      spark().conf().unset("spark.sql.sources.v2.bucketing.enabled");
+      spark().conf().unset("spark.sql.autoBroadcastJoinThreshold");
+    }
+  }
 }
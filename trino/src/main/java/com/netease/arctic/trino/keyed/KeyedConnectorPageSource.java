@@ -20,9 +20,11 @@ package com.netease.arctic.trino.keyed;
 
 import com.google.common.collect.ImmutableList;
 import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.data.PrimaryKeyedFile;
 import com.netease.arctic.hive.io.reader.AdaptHiveArcticDeleteFilter;
 import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
 import com.netease.arctic.table.MetadataColumns;
 import com.netease.arctic.trino.delete.TrinoDeleteFile;
 import com.netease.arctic.trino.delete.TrinoRow;
@@ -39,23 +41,24 @@ import io.trino.spi.connector.ConnectorTransactionHandle;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeManager;
-import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Types;
 import org.joda.time.DateTimeZone;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.netease.arctic.ArcticErrorCode.ARCTIC_BAD_DATA;
-import static io.trino.plugin.iceberg.IcebergErrorCode.ICEBERG_BAD_DATA;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -67,17 +70,20 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
   private ConnectorTransactionHandle transaction;
   private ConnectorSession session;
   private KeyedConnectorSplit split;
+  private KeyedTableScanTask keyedTableScanTask;
   private KeyedTableHandle table;
   private List<IcebergColumnHandle> expectedColumns;
   private List<IcebergColumnHandle> requiredColumns;
   private DynamicFilter dynamicFilter;
   private TypeManager typeManager;
   private AdaptHiveArcticDeleteFilter<TrinoRow> arcticDeleteFilter;
+  private KeyedPageDeleteFilter pageDeleteFilter;
 
   private List<ColumnHandle> requireColumnsDummy;
   private Type[] requireColumnTypes;
   private int[] expectedColumnIndexes;
   private Iterator<ArcticFileScanTask> dataTasksIt;
+  private int[] positionsToKeep = new int[0];
 
   private boolean close;
   long completedPositions;
@@ -91,6 +97,7 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
       ConnectorTransactionHandle transaction,
       ConnectorSession session,
       KeyedConnectorSplit split,
+      KeyedTableScanTask keyedTableScanTask,
       KeyedTableHandle table,
       DynamicFilter dynamicFilter,
       TypeManager typeManager,
@@ -100,6 +107,7 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
     this.transaction = transaction;
     this.session = session;
     this.split = split;
+    this.keyedTableScanTask = keyedTableScanTask;
     this.table = table;
     this.requiredColumns = requiredColumns;
     this.dynamicFilter = dynamicFilter;
@@ -119,7 +127,47 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
         .map(IcebergColumnHandle::getType)
         .toArray(Type[]::new);
 
-    this.dataTasksIt = split.getKeyedTableScanTask().dataTasks().iterator();
+    this.dataTasksIt = keyedTableScanTask.dataTasks().iterator();
+    this.pageDeleteFilter = createPageDeleteFilter();
+  }
+
+  private KeyedPageDeleteFilter createPageDeleteFilter() {
+    List<PrimaryKeyedFile> equalityDeleteFiles = keyedTableScanTask.arcticEquityDeletes().stream()
+        .map(ArcticFileScanTask::file)
+        .collect(Collectors.toList());
+    int rowPositionChannel = channelOf(org.apache.iceberg.MetadataColumns.ROW_POSITION.fieldId());
+    if (equalityDeleteFiles.isEmpty()) {
+      return new KeyedPageDeleteFilter(ImmutableList.of(), new int[0], -1, -1, rowPositionChannel,
+          equalityDeleteFiles, deleteFile -> null, null, null, typeManager.getTypeOperators());
+    }
+
+    List<IcebergColumnHandle> deleteColumns = new ArrayList<>();
+    for (Types.NestedField field : table.getPrimaryKeySpec().primaryKeyStruct().fields()) {
+      deleteColumns.add(requiredColumns.get(channelOf(field.fieldId())));
+    }
+    int[] keyChannels = deleteColumns.stream().mapToInt(column -> channelOf(column.getId())).toArray();
+    List<Type> keyTypes = deleteColumns.stream().map(IcebergColumnHandle::getType).collect(Collectors.toList());
+    int transactionIdChannel = channelOf(MetadataColumns.TRANSACTION_ID_FILED_ID);
+    int fileOffsetChannel = channelOf(MetadataColumns.FILE_OFFSET_FILED_ID);
+    deleteColumns.add(requiredColumns.get(transactionIdChannel));
+    deleteColumns.add(requiredColumns.get(fileOffsetChannel));
+    List<ColumnHandle> deleteColumnsDummy = ImmutableList.copyOf(deleteColumns);
+    // deletes of keys not in the nodes of the data files never apply to this split
+    Set<DataTreeNode> dataNodes = keyedTableScanTask.dataTasks().stream()
+        .map(task -> task.file().node())
+        .collect(Collectors.toSet());
+    return new KeyedPageDeleteFilter(keyTypes, keyChannels, transactionIdChannel, fileOffsetChannel,
+        rowPositionChannel, equalityDeleteFiles, deleteFile -> openDeletes(deleteFile, deleteColumnsDummy),
+        table.getPrimaryKeySpec(), dataNodes, typeManager.getTypeOperators());
+  }
+
+  private int channelOf(int fieldId) {
+    for (int i = 0; i < requiredColumns.size(); i++) {
+      if (requiredColumns.get(i).getId() == fieldId) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
@@ -166,24 +214,16 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
         return null;
       }
 
-      if (arcticDeleteFilter != null) {
-        int positionCount = page.getPositionCount();
-        int[] positionsToKeep = new int[positionCount];
-        try (CloseableIterable<TrinoRow> filteredRows =
-            arcticDeleteFilter.filter(CloseableIterable.withNoopClose(TrinoRow.fromPage(
-                requireColumnTypes,
-                page,
-                positionCount)))) {
-          int positionsToKeepCount = 0;
-          for (TrinoRow rowToKeep : filteredRows) {
-            positionsToKeep[positionsToKeepCount] = rowToKeep.getPosition();
-            positionsToKeepCount++;
-          }
-          page = page.getPositions(positionsToKeep, 0, positionsToKeepCount).getColumns(expectedColumnIndexes);
-        } catch (IOException e) {
-          throw new TrinoException(ICEBERG_BAD_DATA, "Failed to filter rows during merge-on-read operation", e);
-        }
+      int positionCount = page.getPositionCount();
+      if (positionsToKeep.length < positionCount) {
+        positionsToKeep = new int[positionCount];
+      }
+      int positionsToKeepCount = pageDeleteFilter.filter(
+          page, arcticDeleteFilter.currentPositionDeletes(), positionsToKeep);
+      if (positionsToKeepCount < positionCount) {
+        page = page.getPositions(positionsToKeep, 0, positionsToKeepCount);
       }
+      page = page.getColumns(expectedColumnIndexes);
 
       return page;
     } catch (Exception e) {
@@ -195,7 +235,9 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
 
   @Override
   public long getMemoryUsage() {
-    return current == null ? 0 : current.getMemoryUsage();
+    long deleteFilterMemoryUsage = pageDeleteFilter.getRetainedSizeInBytes() +
+        arcticDeleteFilter.positionDeletesSizeInBytes();
+    return current == null ? deleteFilterMemoryUsage : deleteFilterMemoryUsage + current.getMemoryUsage();
   }
 
   @Override
@@ -283,4 +325,36 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
         DateTimeZone.forID(TimeZone.getDefault().getID())
     );
   }
+
+  private ConnectorPageSource openDeletes(PrimaryKeyedFile deleteFile, List<ColumnHandle> deleteColumns) {
+    Map<Integer, Optional<String>> idToConstant = new HashMap<>();
+    idToConstant.put(
+        MetadataColumns.TRANSACTION_ID_FILED_ID,
+        Optional.of(deleteFile.transactionId().toString()));
+
+    return icebergPageSourceProvider.createPageSource(
+        transaction,
+        session,
+        new IcebergSplit(
+            deleteFile.path().toString(),
+            0,
+            deleteFile.fileSizeInBytes(),
+            deleteFile.fileSizeInBytes(),
+            deleteFile.recordCount(),
+            IcebergFileFormat.fromIceberg(deleteFile.format()),
+            ImmutableList.of(),
+            split.getPartitionSpecJson(),
+            split.getPartitionDataJson(),
+            ImmutableList.of(),
+            null,
+            null
+        ),
+        table.getIcebergTableHandle(),
+        deleteColumns,
+        DynamicFilter.EMPTY,
+        idToConstant,
+        false,
+        DateTimeZone.forID(TimeZone.getDefault().getID())
+    );
+  }
 }
@@ -22,10 +22,10 @@ package com.netease.arctic.trino.keyed;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.netease.arctic.scan.KeyedTableScanTask;
-import com.netease.arctic.scan.NodeFileScanTask;
-import com.netease.arctic.trino.util.ObjectSerializerUtil;
 import io.trino.spi.HostAddress;
 import io.trino.spi.connector.ConnectorSplit;
+import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.Schema;
 
 import java.util.Collections;
 import java.util.List;
@@ -58,8 +58,16 @@ public class KeyedConnectorSplit implements ConnectorSplit {
     return keyedTableScanTaskBytes;
   }
 
-  public synchronized KeyedTableScanTask getKeyedTableScanTask() {
-    return ObjectSerializerUtil.read(keyedTableScanTaskBytes, NodeFileScanTask.class);
+  /**
+   * @param tableSchema schema of the table, to parse the partition spec of the split with
+   */
+  public synchronized KeyedTableScanTask getKeyedTableScanTask(Schema tableSchema) {
+    if (keyedTableScanTask == null) {
+      keyedTableScanTask = KeyedScanTaskCodec.decode(
+          keyedTableScanTaskBytes,
+          PartitionSpecParser.fromJson(tableSchema, partitionSpecJson));
+    }
+    return keyedTableScanTask;
   }
 
   @JsonProperty
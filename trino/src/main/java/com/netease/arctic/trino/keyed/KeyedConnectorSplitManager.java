@@ -19,17 +19,11 @@
 
 package com.netease.arctic.trino.keyed;
 
-import com.netease.arctic.scan.ArcticFileScanTask;
-import com.netease.arctic.scan.CombinedScanTask;
 import com.netease.arctic.scan.KeyedTableScan;
-import com.netease.arctic.scan.KeyedTableScanTask;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.trino.ArcticTransactionManager;
-import com.netease.arctic.trino.util.MetricUtil;
-import com.netease.arctic.trino.util.ObjectSerializerUtil;
+import io.trino.plugin.base.classloader.ClassLoaderSafeConnectorSplitSource;
 import io.trino.plugin.iceberg.IcebergTableHandle;
-import io.trino.plugin.iceberg.PartitionData;
-import io.trino.spi.classloader.ThreadContextClassLoader;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorSplitManager;
 import io.trino.spi.connector.ConnectorSplitSource;
@@ -37,20 +31,18 @@ import io.trino.spi.connector.ConnectorTableHandle;
 import io.trino.spi.connector.ConnectorTransactionHandle;
 import io.trino.spi.connector.Constraint;
 import io.trino.spi.connector.DynamicFilter;
-import io.trino.spi.connector.FixedSplitSource;
 import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.connector.TableNotFoundException;
-import org.apache.iceberg.PartitionSpecParser;
-import org.apache.iceberg.io.CloseableIterable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.trino.spi.type.TypeManager;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
 
-import static io.trino.plugin.iceberg.ExpressionConverter.toIcebergExpression;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.iceberg.IcebergSessionProperties.getDynamicFilteringWaitTimeout;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 /**
  * ConnectorSplitManager for Keyed Table
@@ -59,13 +51,21 @@ public class KeyedConnectorSplitManager implements ConnectorSplitManager {
 
   public static final int ARCTIC_DOMAIN_COMPACTION_THRESHOLD = 1000;
 
-  private static final Logger LOG = LoggerFactory.getLogger(KeyedConnectorSplitManager.class);
-
-  private ArcticTransactionManager arcticTransactionManager;
+  private final ArcticTransactionManager arcticTransactionManager;
+  private final TypeManager typeManager;
+  private final ExecutorService planExecutor = newCachedThreadPool(daemonThreadsNamed("arctic-keyed-split-plan-%s"));
 
   @Inject
-  public KeyedConnectorSplitManager(ArcticTransactionManager arcticTransactionManager) {
-    this.arcticTransactionManager = arcticTransactionManager;
+  public KeyedConnectorSplitManager(
+      ArcticTransactionManager arcticTransactionManager,
+      TypeManager typeManager) {
+    this.arcticTransactionManager = requireNonNull(arcticTransactionManager, "arcticTransactionManager is null");
+    this.typeManager = requireNonNull(typeManager, "typeManager is null");
+  }
+
+  @PreDestroy
+  public void destroy() {
+    planExecutor.shutdownNow();
   }
 
   @Override
@@ -87,37 +87,16 @@ public class KeyedConnectorSplitManager implements ConnectorSplitManager {
           icebergTableHandle.getTableName()));
     }
 
-    KeyedTableScan tableScan = arcticTable.newScan()
-        .filter(toIcebergExpression(
-            icebergTableHandle.getEnforcedPredicate().intersect(icebergTableHandle.getUnenforcedPredicate())));
-
-    ClassLoader pluginClassloader = arcticTable.getClass().getClassLoader();
-
-    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(pluginClassloader)) {
-      //优化
-      CloseableIterable<CombinedScanTask> combinedScanTasks =
-          MetricUtil.duration(() -> tableScan.planTasks(), "plan tasks");
-
-      List<KeyedTableScanTask> fileScanTaskList = new ArrayList<>();
-      for (CombinedScanTask combinedScanTask : combinedScanTasks) {
-        for (KeyedTableScanTask fileScanTask : combinedScanTask.tasks()) {
-          fileScanTaskList.add(fileScanTask);
-        }
-      }
-
-      List<KeyedConnectorSplit> keyedConnectorSplits = fileScanTaskList.stream().map(
-          s -> {
-            ArcticFileScanTask arcticFileScanTask = s.dataTasks().get(0);
-            KeyedConnectorSplit keyedConnectorSplit = new KeyedConnectorSplit(
-                ObjectSerializerUtil.write(s),
-                PartitionSpecParser.toJson(arcticFileScanTask.spec()),
-                PartitionData.toJson(arcticFileScanTask.file().partition())
-            );
-            return keyedConnectorSplit;
-          }
-      ).collect(Collectors.toList());
-
-      return new FixedSplitSource(keyedConnectorSplits);
-    }
+    KeyedTableScan tableScan = arcticTable.newScan();
+    KeyedSplitSource splitSource = new KeyedSplitSource(
+        icebergTableHandle.getEnforcedPredicate().intersect(icebergTableHandle.getUnenforcedPredicate()),
+        tableScan,
+        arcticTable.schema(),
+        dynamicFilter,
+        getDynamicFilteringWaitTimeout(session),
+        typeManager,
+        planExecutor);
+
+    return new ClassLoaderSafeConnectorSplitSource(splitSource, arcticTable.getClass().getClassLoader());
   }
 }
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.table.MetadataColumns;
+import com.netease.arctic.table.PrimaryKeySpec;
+import com.netease.arctic.trino.delete.TrinoRow;
+import com.netease.arctic.utils.NodeFilter;
+import com.netease.arctic.utils.map.PositionDeleteIndex;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.openjdk.jol.info.ClassLayout;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Applies the deletes of a keyed table to whole pages instead of single rows.
+ * Equality deletes are read as pages too, the primary key blocks of them are kept and indexed by an open addressing
+ * hash table holding the max transaction id and file offset of every key, so no object is created for each row.
+ * As the {@link com.netease.arctic.io.reader.ArcticDeleteFilter}, a null key column equals to another null value, and
+ * only deletes of keys in the source nodes are kept.
+ */
+public class KeyedPageDeleteFilter {
+
+  private static final long INSTANCE_SIZE = ClassLayout.parseClass(KeyedPageDeleteFilter.class).instanceSize();
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private final List<PrimaryKeyedFile> equalityDeleteFiles;
+  private final Function<PrimaryKeyedFile, ConnectorPageSource> deletePageSourceOpener;
+  private final MethodHandle[] hashOperators;
+  private final MethodHandle[] equalOperators;
+  private final Type[] deleteTypes;
+  private final Set<DataTreeNode> sourceNodes;
+  private final NodeFilter<TrinoRow> deleteNodeFilter;
+  // channels of the primary key, transaction id and file offset in the data pages
+  private final int[] keyChannels;
+  private final int transactionIdChannel;
+  private final int fileOffsetChannel;
+  private final int rowPositionChannel;
+
+  private boolean equalityDeletesLoaded;
+  private final List<Block[]> deleteKeyBlocks = new ArrayList<>();
+  private long deleteKeyBlocksSize;
+  // address of an entry: index of the delete key blocks in the high 32 bits and position in the low 32 bits
+  private long[] entryAddresses = new long[INITIAL_CAPACITY];
+  private long[] entryHashes = new long[INITIAL_CAPACITY];
+  private long[] entryTransactionIds = new long[INITIAL_CAPACITY];
+  private long[] entryFileOffsets = new long[INITIAL_CAPACITY];
+  private int entryCount;
+  // entry index plus one of every slot, 0 for an empty slot
+  private int[] slots = new int[INITIAL_CAPACITY * 2];
+  private int slotMask = slots.length - 1;
+
+  /**
+   * @param keyTypes types of the primary key columns
+   * @param keyChannels channels of the primary key columns in the data pages
+   * @param transactionIdChannel channel of the transaction id in the data pages, -1 if there is no equality delete
+   * @param fileOffsetChannel channel of the file offset in the data pages, -1 if there is no equality delete
+   * @param rowPositionChannel channel of the row position in the data pages, -1 if there is no position delete
+   * @param equalityDeleteFiles the equality delete files to apply
+   * @param deletePageSourceOpener opens an equality delete file, producing pages of the primary key columns,
+   *                               transaction id and file offset in this order
+   * @param primaryKeySpec the primary key of the table, null if there is no equality delete
+   * @param sourceNodes deletes of keys not in these nodes are ignored, null means no delete is ignored
+   */
+  public KeyedPageDeleteFilter(
+      List<Type> keyTypes,
+      int[] keyChannels,
+      int transactionIdChannel,
+      int fileOffsetChannel,
+      int rowPositionChannel,
+      List<PrimaryKeyedFile> equalityDeleteFiles,
+      Function<PrimaryKeyedFile, ConnectorPageSource> deletePageSourceOpener,
+      @Nullable PrimaryKeySpec primaryKeySpec,
+      @Nullable Set<DataTreeNode> sourceNodes,
+      TypeOperators typeOperators) {
+    this.keyChannels = requireNonNull(keyChannels, "keyChannels is null");
+    this.transactionIdChannel = transactionIdChannel;
+    this.fileOffsetChannel = fileOffsetChannel;
+    this.rowPositionChannel = rowPositionChannel;
+    this.equalityDeleteFiles = requireNonNull(equalityDeleteFiles, "equalityDeleteFiles is null");
+    this.deletePageSourceOpener = requireNonNull(deletePageSourceOpener, "deletePageSourceOpener is null");
+    this.hashOperators = new MethodHandle[keyTypes.size()];
+    this.equalOperators = new MethodHandle[keyTypes.size()];
+    for (int i = 0; i < keyTypes.size(); i++) {
+      hashOperators[i] = typeOperators.getHashCodeOperator(
+          keyTypes.get(i), simpleConvention(FAIL_ON_NULL, BLOCK_POSITION));
+      equalOperators[i] = typeOperators.getEqualOperator(
+          keyTypes.get(i), simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+    }
+    this.deleteTypes = new Type[keyTypes.size() + 2];
+    for (int i = 0; i < keyTypes.size(); i++) {
+      deleteTypes[i] = keyTypes.get(i);
+    }
+    deleteTypes[keyTypes.size()] = BIGINT;
+    deleteTypes[keyTypes.size() + 1] = BIGINT;
+    this.sourceNodes = sourceNodes;
+    if (sourceNodes != null && !equalityDeleteFiles.isEmpty()) {
+      requireNonNull(primaryKeySpec, "primaryKeySpec is null");
+      // the schema of the delete pages
+      List<Types.NestedField> deleteFields = new ArrayList<>(primaryKeySpec.primaryKeyStruct().fields());
+      deleteFields.add(MetadataColumns.TRANSACTION_ID_FILED);
+      deleteFields.add(MetadataColumns.FILE_OFFSET_FILED);
+      this.deleteNodeFilter = new NodeFilter<>(sourceNodes, new Schema(deleteFields), primaryKeySpec, row -> row);
+    } else {
+      this.deleteNodeFilter = null;
+    }
+  }
+
+  /**
+   * Filter the page of a data file.
+   *
+   * @param page the page read from the data file
+   * @param positionDeletes the deleted positions of the data file, null if no position of it is deleted
+   * @param positionsToKeep the positions of the page not deleted, the length of it must be no less than
+   *                        the position count of the page
+   * @return the number of positions not deleted
+   */
+  public int filter(Page page, PositionDeleteIndex.PositionSet positionDeletes, int[] positionsToKeep) {
+    if (!equalityDeletesLoaded) {
+      loadEqualityDeletes();
+    }
+
+    int positionCount = page.getPositionCount();
+    Block rowPositionBlock = positionDeletes == null ? null : page.getBlock(rowPositionChannel).getLoadedBlock();
+    Block[] keyBlocks = null;
+    Block transactionIdBlock = null;
+    Block fileOffsetBlock = null;
+    if (entryCount > 0) {
+      keyBlocks = new Block[keyChannels.length];
+      for (int i = 0; i < keyChannels.length; i++) {
+        keyBlocks[i] = page.getBlock(keyChannels[i]).getLoadedBlock();
+      }
+      transactionIdBlock = page.getBlock(transactionIdChannel).getLoadedBlock();
+      fileOffsetBlock = page.getBlock(fileOffsetChannel).getLoadedBlock();
+    }
+
+    int keepCount = 0;
+    for (int position = 0; position < positionCount; position++) {
+      if (rowPositionBlock != null && positionDeletes.contains(BIGINT.getLong(rowPositionBlock, position))) {
+        continue;
+      }
+      if (keyBlocks != null && isEqualityDeleted(keyBlocks, position, transactionIdBlock, fileOffsetBlock)) {
+        continue;
+      }
+      positionsToKeep[keepCount++] = position;
+    }
+    return keepCount;
+  }
+
+  /**
+   * @return the size of the equality delete index in bytes
+   */
+  public long getRetainedSizeInBytes() {
+    return INSTANCE_SIZE +
+        deleteKeyBlocksSize +
+        sizeOf(entryAddresses) +
+        sizeOf(entryHashes) +
+        sizeOf(entryTransactionIds) +
+        sizeOf(entryFileOffsets) +
+        sizeOf(slots);
+  }
+
+  private boolean isEqualityDeleted(Block[] keyBlocks, int position, Block transactionIdBlock, Block fileOffsetBlock) {
+    int entry = findEntry(keyBlocks, position, hash(keyBlocks, position));
+    if (entry < 0) {
+      return false;
+    }
+    return compareLsn(
+        entryTransactionIds[entry],
+        entryFileOffsets[entry],
+        BIGINT.getLong(transactionIdBlock, position),
+        BIGINT.getLong(fileOffsetBlock, position)) > 0;
+  }
+
+  private void loadEqualityDeletes() {
+    equalityDeletesLoaded = true;
+    int keyCount = keyChannels.length;
+    for (PrimaryKeyedFile deleteFile : equalityDeleteFiles) {
+      boolean filterNodes = !inSourceNodes(deleteFile.node());
+      try (ConnectorPageSource pageSource = deletePageSourceOpener.apply(deleteFile)) {
+        while (!pageSource.isFinished()) {
+          Page page = pageSource.getNextPage();
+          if (page != null && filterNodes) {
+            page = filterNodes(page);
+          }
+          if (page == null || page.getPositionCount() == 0) {
+            continue;
+          }
+          Block[] keyBlocks = new Block[keyCount];
+          for (int i = 0; i < keyCount; i++) {
+            keyBlocks[i] = page.getBlock(i).getLoadedBlock();
+          }
+          Block transactionIdBlock = page.getBlock(keyCount).getLoadedBlock();
+          Block fileOffsetBlock = page.getBlock(keyCount + 1).getLoadedBlock();
+          if (addDeletes(keyBlocks, transactionIdBlock, fileOffsetBlock)) {
+            for (Block block : keyBlocks) {
+              deleteKeyBlocksSize += block.getRetainedSizeInBytes();
+            }
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * @return true if all keys of the node are in the source nodes
+   */
+  private boolean inSourceNodes(DataTreeNode node) {
+    if (deleteNodeFilter == null) {
+      return true;
+    }
+    for (DataTreeNode sourceNode : sourceNodes) {
+      if (node.isSonOf(sourceNode)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Page filterNodes(Page page) {
+    int positionCount = page.getPositionCount();
+    int[] positions = new int[positionCount];
+    int count = 0;
+    for (TrinoRow row : deleteNodeFilter.filter(TrinoRow.fromPage(deleteTypes, page, positionCount))) {
+      positions[count++] = row.getPosition();
+    }
+    // copy the kept positions, so the index does not retain the whole page
+    return count == positionCount ? page : page.copyPositions(positions, 0, count);
+  }
+
+  /**
+   * @return true if the key blocks are referenced by the index
+   */
+  private boolean addDeletes(Block[] keyBlocks, Block transactionIdBlock, Block fileOffsetBlock) {
+    int blocksIndex = deleteKeyBlocks.size();
+    boolean referenced = false;
+    for (int position = 0; position < keyBlocks[0].getPositionCount(); position++) {
+      long transactionId = BIGINT.getLong(transactionIdBlock, position);
+      long fileOffset = BIGINT.getLong(fileOffsetBlock, position);
+      long hash = hash(keyBlocks, position);
+      int entry = findEntry(keyBlocks, position, hash);
+      if (entry >= 0) {
+        if (compareLsn(entryTransactionIds[entry], entryFileOffsets[entry], transactionId, fileOffset) <= 0) {
+          entryTransactionIds[entry] = transactionId;
+          entryFileOffsets[entry] = fileOffset;
+        }
+        continue;
+      }
+      if (!referenced) {
+        deleteKeyBlocks.add(keyBlocks);
+        referenced = true;
+      }
+      insertEntry(((long) blocksIndex << 32) | position, hash, transactionId, fileOffset);
+    }
+    return referenced;
+  }
+
+  private void insertEntry(long address, long hash, long transactionId, long fileOffset) {
+    if (entryCount == entryAddresses.length) {
+      int capacity = entryCount * 2;
+      entryAddresses = Arrays.copyOf(entryAddresses, capacity);
+      entryHashes = Arrays.copyOf(entryHashes, capacity);
+      entryTransactionIds = Arrays.copyOf(entryTransactionIds, capacity);
+      entryFileOffsets = Arrays.copyOf(entryFileOffsets, capacity);
+    }
+    int entry = entryCount++;
+    entryAddresses[entry] = address;
+    entryHashes[entry] = hash;
+    entryTransactionIds[entry] = transactionId;
+    entryFileOffsets[entry] = fileOffset;
+    if (entryCount > slots.length * LOAD_FACTOR) {
+      rehash(slots.length * 2);
+    } else {
+      putSlot(entry);
+    }
+  }
+
+  private void rehash(int slotCount) {
+    slots = new int[slotCount];
+    slotMask = slotCount - 1;
+    for (int entry = 0; entry < entryCount; entry++) {
+      putSlot(entry);
+    }
+  }
+
+  private void putSlot(int entry) {
+    int slot = (int) (entryHashes[entry] & slotMask);
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & slotMask;
+    }
+    slots[slot] = entry + 1;
+  }
+
+  /**
+   * @return index of the entry having the same key, -1 if not found
+   */
+  private int findEntry(Block[] keyBlocks, int position, long hash) {
+    int slot = (int) (hash & slotMask);
+    while (slots[slot] != 0) {
+      int entry = slots[slot] - 1;
+      if (entryHashes[entry] == hash && keyEquals(entry, keyBlocks, position)) {
+        return entry;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return -1;
+  }
+
+  private boolean keyEquals(int entry, Block[] keyBlocks, int position) {
+    long address = entryAddresses[entry];
+    Block[] entryBlocks = deleteKeyBlocks.get((int) (address >>> 32));
+    int entryPosition = (int) address;
+    try {
+      for (int i = 0; i < keyBlocks.length; i++) {
+        boolean entryNull = entryBlocks[i].isNull(entryPosition);
+        boolean keyNull = keyBlocks[i].isNull(position);
+        if (entryNull || keyNull) {
+          if (entryNull != keyNull) {
+            return false;
+          }
+        } else if (!(boolean) equalOperators[i].invokeExact(entryBlocks[i], entryPosition, keyBlocks[i], position)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+  }
+
+  private long hash(Block[] keyBlocks, int position) {
+    long hash = 0;
+    try {
+      for (int i = 0; i < keyBlocks.length; i++) {
+        // a null value hashes to 0
+        long valueHash = keyBlocks[i].isNull(position) ?
+            0 : (long) hashOperators[i].invokeExact(keyBlocks[i], position);
+        hash = 31 * hash + valueHash;
+      }
+    } catch (Throwable t) {
+      throw propagate(t);
+    }
+    // spread the high bits to the low bits used by the slot mask
+    return hash ^ (hash >>> 32) ^ (hash >>> 16);
+  }
+
+  /**
+   * Compare the lsn of two rows in the same way as {@link com.netease.arctic.data.ChangedLsn}.
+   */
+  private static int compareLsn(long transactionId, long fileOffset, long otherTransactionId, long otherFileOffset) {
+    int result = Long.compare(transactionId, otherTransactionId);
+    return result != 0 ? result : Long.compare(fileOffset, otherFileOffset);
+  }
+
+  private static RuntimeException propagate(Throwable throwable) {
+    if (throwable instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    throwIfUnchecked(throwable);
+    return new RuntimeException(throwable);
+  }
+}
@@ -75,10 +75,10 @@ public class KeyedPageSourceProvider implements ConnectorPageSourceProvider {
     KeyedTableHandle keyedTableHandle = (KeyedTableHandle) table;
     List<IcebergColumnHandle> icebergColumnHandles = columns.stream().map(IcebergColumnHandle.class::cast)
         .collect(Collectors.toList());
-    KeyedTableScanTask keyedTableScanTask = keyedConnectorSplit.getKeyedTableScanTask();
+    Schema tableSchema = SchemaParser.fromJson(keyedTableHandle.getIcebergTableHandle().getTableSchemaJson());
+    KeyedTableScanTask keyedTableScanTask = keyedConnectorSplit.getKeyedTableScanTask(tableSchema);
     List<PrimaryKeyedFile> equDeleteFiles = keyedTableScanTask.arcticEquityDeletes().stream()
         .map(ArcticFileScanTask::file).collect(Collectors.toList());
-    Schema tableSchema = SchemaParser.fromJson(keyedTableHandle.getIcebergTableHandle().getTableSchemaJson());
     List<IcebergColumnHandle> deleteFilterRequiredSchema = IcebergUtil.getColumns(new KeyedDeleteFilter(
         keyedTableScanTask,
         tableSchema,
@@ -107,6 +107,7 @@ public class KeyedPageSourceProvider implements ConnectorPageSourceProvider {
         transaction,
         session,
         keyedConnectorSplit,
+        keyedTableScanTask,
         keyedTableHandle,
         dynamicFilter,
         typeManager,
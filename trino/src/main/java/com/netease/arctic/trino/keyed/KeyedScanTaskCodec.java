@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.data.file.ContentFileWithSequence;
+import com.netease.arctic.data.file.ContentFilesCodec;
+import com.netease.arctic.data.file.WrapFileWithSequenceNumberHelper;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.BasicArcticFileScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.PartitionSpec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Encoding of the {@link NodeFileScanTask} of a {@link KeyedConnectorSplit}. Files are encoded with the compact
+ * encoding of {@link ContentFilesCodec}, the files of a task must have the partition spec of the split.
+ * Base files and change files are told apart by their type, change files keep their transaction id as the sequence
+ * number, so the {@link PrimaryKeyedFile} metas parsed from the paths are the same after decoding.
+ */
+public class KeyedScanTaskCodec {
+
+  private static final byte VERSION = 1;
+
+  private KeyedScanTaskCodec() {
+  }
+
+  public static byte[] encode(NodeFileScanTask task, PartitionSpec spec) {
+    Map<Integer, PartitionSpec> specs = ImmutableMap.of(spec.specId(), spec);
+    List<ArcticFileScanTask> dataTasks = task.dataTasks();
+    // position deletes are shared by the data files of a task
+    Map<String, Integer> deleteIndexes = new LinkedHashMap<>();
+    List<DeleteFile> deletes = new ArrayList<>();
+    for (ArcticFileScanTask dataTask : dataTasks) {
+      for (DeleteFile delete : dataTask.deletes()) {
+        deleteIndexes.computeIfAbsent(delete.path().toString(), path -> {
+          deletes.add(delete);
+          return deletes.size() - 1;
+        });
+      }
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeByte(VERSION);
+      DataTreeNode treeNode = task.treeNode();
+      output.writeBoolean(treeNode != null);
+      if (treeNode != null) {
+        output.writeLong(treeNode.mask());
+        output.writeLong(treeNode.index());
+      }
+      writeFiles(output, keyedFiles(dataTasks), specs);
+      writeFiles(output, keyedFiles(task.arcticEquityDeletes()), specs);
+      writeFiles(output, deletes, specs);
+      for (ArcticFileScanTask dataTask : dataTasks) {
+        output.writeInt(dataTask.deletes().size());
+        for (DeleteFile delete : dataTask.deletes()) {
+          output.writeInt(deleteIndexes.get(delete.path().toString()));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static NodeFileScanTask decode(byte[] bytes, PartitionSpec spec) {
+    Map<Integer, PartitionSpec> specs = ImmutableMap.of(spec.specId(), spec);
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      byte version = input.readByte();
+      checkArgument(version == VERSION, "Unsupported version %s of keyed scan task encoding", version);
+      DataTreeNode treeNode = input.readBoolean() ? DataTreeNode.of(input.readLong(), input.readLong()) : null;
+      List<ContentFile<?>> dataFiles = readFiles(input, specs);
+      List<ContentFile<?>> equalityDeletes = readFiles(input, specs);
+      List<ContentFile<?>> deletes = readFiles(input, specs);
+
+      List<ArcticFileScanTask> tasks = new ArrayList<>();
+      for (ContentFile<?> dataFile : dataFiles) {
+        ImmutableList.Builder<DeleteFile> deletesOfFile = ImmutableList.builder();
+        for (int count = input.readInt(); count > 0; count--) {
+          deletesOfFile.add((DeleteFile) deletes.get(input.readInt()));
+        }
+        tasks.add(new BasicArcticFileScanTask(keyedFile(dataFile), deletesOfFile.build(), spec));
+      }
+      for (ContentFile<?> equalityDelete : equalityDeletes) {
+        tasks.add(new BasicArcticFileScanTask(keyedFile(equalityDelete), null, spec));
+      }
+      NodeFileScanTask task = new NodeFileScanTask(tasks);
+      task.setTreeNode(treeNode);
+      return task;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<ContentFile<?>> keyedFiles(List<ArcticFileScanTask> tasks) {
+    List<ContentFile<?>> files = new ArrayList<>(tasks.size());
+    for (ArcticFileScanTask task : tasks) {
+      PrimaryKeyedFile file = task.file();
+      files.add(file.type() == DataFileType.BASE_FILE ?
+          file : WrapFileWithSequenceNumberHelper.wrap(file, file.transactionId()));
+    }
+    return files;
+  }
+
+  private static PrimaryKeyedFile keyedFile(ContentFile<?> file) {
+    if (file instanceof ContentFileWithSequence) {
+      return DefaultKeyedFile.parseChange((DataFile) file, ((ContentFileWithSequence<?>) file).getSequenceNumber());
+    }
+    return DefaultKeyedFile.parseBase((DataFile) file);
+  }
+
+  private static void writeFiles(DataOutputStream output, List<? extends ContentFile<?>> files,
+                                 Map<Integer, PartitionSpec> specs) throws IOException {
+    List<ByteBuffer> buffers = ContentFilesCodec.encode(files, ContentFilesCodec.COMPACT_ENCODING, specs);
+    if (buffers.isEmpty()) {
+      output.writeInt(0);
+      return;
+    }
+    ByteBuffer buffer = buffers.get(0);
+    output.writeInt(buffer.remaining());
+    output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+  }
+
+  private static List<ContentFile<?>> readFiles(DataInputStream input, Map<Integer, PartitionSpec> specs)
+      throws IOException {
+    int length = input.readInt();
+    if (length == 0) {
+      return Collections.emptyList();
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return ContentFilesCodec.decode(Collections.singletonList(ByteBuffer.wrap(bytes)), specs);
+  }
+}
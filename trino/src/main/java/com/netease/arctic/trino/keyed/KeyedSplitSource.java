@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.io.Closer;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.BasicArcticFileScanTask;
+import com.netease.arctic.scan.KeyedTableScan;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
+import com.netease.arctic.trino.util.MetricUtil;
+import io.airlift.units.Duration;
+import io.trino.plugin.iceberg.IcebergColumnHandle;
+import io.trino.plugin.iceberg.PartitionData;
+import io.trino.spi.classloader.ThreadContextClassLoader;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.ConnectorSplitSource;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.NullableValue;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.spi.type.TypeManager;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.PartitionSpecParser;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.types.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.netease.arctic.trino.keyed.KeyedConnectorSplitManager.ARCTIC_DOMAIN_COMPACTION_THRESHOLD;
+import static com.netease.arctic.trino.unkeyed.IcebergSplitSource.fileMatchesPredicate;
+import static com.netease.arctic.trino.unkeyed.IcebergSplitSource.partitionMatchesPredicate;
+import static io.trino.plugin.iceberg.ExpressionConverter.toIcebergExpression;
+import static io.trino.plugin.iceberg.IcebergUtil.deserializePartitionValue;
+import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.trino.plugin.iceberg.IcebergUtil.getPartitionKeys;
+import static io.trino.plugin.iceberg.IcebergUtil.primitiveFieldTypes;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * ConnectorSplitSource for Keyed Table, it waits for the dynamic filter before planning, so the collected
+ * domains can be pushed down to the scan. Tasks are planned lazily on the plan executor without blocking the
+ * caller, every batch plans only the tasks it emits, skipping the tasks whose partition or key range does not
+ * match the dynamic filter.
+ */
+public class KeyedSplitSource implements ConnectorSplitSource {
+  private static final ConnectorSplitBatch EMPTY_BATCH = new ConnectorSplitBatch(ImmutableList.of(), false);
+  private static final ConnectorSplitBatch NO_MORE_SPLITS_BATCH = new ConnectorSplitBatch(ImmutableList.of(), true);
+
+  private final TupleDomain<IcebergColumnHandle> tablePredicate;
+  private final KeyedTableScan tableScan;
+  private final Map<Integer, Type.PrimitiveType> fieldIdToType;
+  private final DynamicFilter dynamicFilter;
+  private final long dynamicFilteringWaitTimeoutMillis;
+  private final Stopwatch dynamicFilterWaitStopwatch;
+  private final TypeManager typeManager;
+  private final Executor planExecutor;
+  private final Closer closer = Closer.create();
+
+  private boolean closed;
+  private volatile boolean finished;
+  private CompletableFuture<Iterator<NodeFileScanTask>> planFuture;
+  private TupleDomain<IcebergColumnHandle> pushedDownDynamicFilterPredicate;
+
+  public KeyedSplitSource(
+      TupleDomain<IcebergColumnHandle> tablePredicate,
+      KeyedTableScan tableScan,
+      Schema tableSchema,
+      DynamicFilter dynamicFilter,
+      Duration dynamicFilteringWaitTimeout,
+      TypeManager typeManager,
+      Executor planExecutor) {
+    this.tablePredicate = requireNonNull(tablePredicate, "tablePredicate is null");
+    this.tableScan = requireNonNull(tableScan, "tableScan is null");
+    this.fieldIdToType = primitiveFieldTypes(tableSchema);
+    this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
+    this.dynamicFilteringWaitTimeoutMillis = dynamicFilteringWaitTimeout.toMillis();
+    this.dynamicFilterWaitStopwatch = Stopwatch.createStarted();
+    this.typeManager = requireNonNull(typeManager, "typeManager is null");
+    this.planExecutor = requireNonNull(planExecutor, "planExecutor is null");
+  }
+
+  @Override
+  public CompletableFuture<ConnectorSplitBatch> getNextBatch(int maxSize) {
+    long timeLeft = dynamicFilteringWaitTimeoutMillis - dynamicFilterWaitStopwatch.elapsed(MILLISECONDS);
+    if (dynamicFilter.isAwaitable() && timeLeft > 0) {
+      return dynamicFilter.isBlocked()
+          .thenApply(ignored -> EMPTY_BATCH)
+          .completeOnTimeout(EMPTY_BATCH, timeLeft, MILLISECONDS);
+    }
+
+    if (finished) {
+      return completedFuture(NO_MORE_SPLITS_BATCH);
+    }
+    if (planFuture == null) {
+      this.pushedDownDynamicFilterPredicate =
+          dynamicFilter.getCurrentPredicate().transformKeys(IcebergColumnHandle.class::cast);
+      TupleDomain<IcebergColumnHandle> fullPredicate = tablePredicate.intersect(pushedDownDynamicFilterPredicate);
+      TupleDomain<IcebergColumnHandle> simplifiedPredicate =
+          fullPredicate.simplify(ARCTIC_DOMAIN_COMPACTION_THRESHOLD);
+      if (!simplifiedPredicate.equals(fullPredicate)) {
+        // Pushed down predicate was simplified, always evaluate it against individual tasks
+        this.pushedDownDynamicFilterPredicate = TupleDomain.all();
+      }
+      if (simplifiedPredicate.isNone()) {
+        finish();
+        return completedFuture(NO_MORE_SPLITS_BATCH);
+      }
+      this.planFuture = CompletableFuture.supplyAsync(() -> planTasks(simplifiedPredicate), planExecutor);
+    }
+    if (!planFuture.isDone()) {
+      return planFuture.thenApply(ignored -> EMPTY_BATCH);
+    }
+
+    TupleDomain<IcebergColumnHandle> dynamicFilterPredicate = dynamicFilter.getCurrentPredicate()
+        .transformKeys(IcebergColumnHandle.class::cast);
+    if (dynamicFilterPredicate.isNone()) {
+      finish();
+      return completedFuture(NO_MORE_SPLITS_BATCH);
+    }
+    Iterator<NodeFileScanTask> keyedTableScanTaskIterator = planFuture.join();
+    return CompletableFuture.supplyAsync(
+        () -> nextBatch(keyedTableScanTaskIterator, dynamicFilterPredicate, maxSize),
+        planExecutor);
+  }
+
+  /**
+   * Runs on the plan executor, only the change files are planned here, the base files are planned while
+   * iterating the tasks. The planned tasks are released right away if the source is closed meanwhile.
+   */
+  private Iterator<NodeFileScanTask> planTasks(TupleDomain<IcebergColumnHandle> predicate) {
+    CloseableIterable<NodeFileScanTask> nodeFileScanTaskIterable;
+    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(tableScan.getClass().getClassLoader())) {
+      nodeFileScanTaskIterable = MetricUtil.duration(
+          () -> tableScan.filter(toIcebergExpression(predicate)).planNodeTasks(), "plan change tasks");
+    }
+    synchronized (this) {
+      if (closed) {
+        try {
+          nodeFileScanTaskIterable.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return Collections.emptyIterator();
+      }
+      closer.register(nodeFileScanTaskIterable);
+      CloseableIterator<NodeFileScanTask> nodeFileScanTaskIterator = nodeFileScanTaskIterable.iterator();
+      closer.register(nodeFileScanTaskIterator);
+      return nodeFileScanTaskIterator;
+    }
+  }
+
+  /**
+   * Runs on the plan executor, plans at most maxSize tasks. The source is finished once the tasks are exhausted.
+   */
+  private synchronized ConnectorSplitBatch nextBatch(
+      Iterator<NodeFileScanTask> keyedTableScanTaskIterator,
+      TupleDomain<IcebergColumnHandle> dynamicFilterPredicate,
+      int maxSize) {
+    if (closed) {
+      return NO_MORE_SPLITS_BATCH;
+    }
+    ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
+    try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(tableScan.getClass().getClassLoader())) {
+      Iterator<NodeFileScanTask> keyedTableScanTasks = Iterators.limit(keyedTableScanTaskIterator, maxSize);
+      while (keyedTableScanTasks.hasNext()) {
+        KeyedTableScanTask keyedTableScanTask = keyedTableScanTasks.next();
+        if (!dynamicFilterPredicate.isAll() && !dynamicFilterPredicate.equals(pushedDownDynamicFilterPredicate) &&
+            !taskMatchesPredicate(keyedTableScanTask, dynamicFilterPredicate)) {
+          continue;
+        }
+        splits.add(toKeyedConnectorSplit(keyedTableScanTask));
+      }
+      this.finished = !keyedTableScanTaskIterator.hasNext();
+    }
+    return new ConnectorSplitBatch(splits.build(), finished);
+  }
+
+  /**
+   * The task is skipped only if its partition does not match the predicate, or none of its data files may
+   * contain the keys of the predicate, the delete files of the task do not produce rows.
+   */
+  private boolean taskMatchesPredicate(
+      KeyedTableScanTask keyedTableScanTask,
+      TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
+    ArcticFileScanTask firstDataTask = keyedTableScanTask.dataTasks().get(0);
+    Schema fileSchema = firstDataTask.spec().schema();
+    Map<Integer, Optional<String>> partitionKeys = getPartitionKeys(firstDataTask);
+    Set<IcebergColumnHandle> identityPartitionColumns = partitionKeys.keySet().stream()
+        .map(fieldId -> getColumnHandle(fileSchema.findField(fieldId), typeManager))
+        .collect(toImmutableSet());
+    Supplier<Map<ColumnHandle, NullableValue>> partitionValues = memoize(() -> {
+      Map<ColumnHandle, NullableValue> bindings = new HashMap<>();
+      for (IcebergColumnHandle partitionColumn : identityPartitionColumns) {
+        Object partitionValue = deserializePartitionValue(
+            partitionColumn.getType(),
+            partitionKeys.get(partitionColumn.getId()).orElse(null),
+            partitionColumn.getName());
+        bindings.put(partitionColumn, new NullableValue(partitionColumn.getType(), partitionValue));
+      }
+      return bindings;
+    });
+    if (!partitionMatchesPredicate(identityPartitionColumns, partitionValues, dynamicFilterPredicate)) {
+      return false;
+    }
+    return keyedTableScanTask.dataTasks().stream().anyMatch(task -> fileMatchesPredicate(
+        fieldIdToType,
+        dynamicFilterPredicate,
+        task.file().lowerBounds(),
+        task.file().upperBounds(),
+        task.file().nullValueCounts()));
+  }
+
+  /**
+   * The column stats of files are only used for planning, so they are dropped before the task is encoded
+   * to keep the split small.
+   */
+  private static KeyedConnectorSplit toKeyedConnectorSplit(KeyedTableScanTask keyedTableScanTask) {
+    NodeFileScanTask compactTask = new NodeFileScanTask(
+        Stream.concat(keyedTableScanTask.dataTasks().stream(), keyedTableScanTask.arcticEquityDeletes().stream())
+            .map(KeyedSplitSource::withoutStats)
+            .collect(toImmutableList()));
+    if (keyedTableScanTask instanceof NodeFileScanTask) {
+      compactTask.setTreeNode(((NodeFileScanTask) keyedTableScanTask).treeNode());
+    }
+    ArcticFileScanTask arcticFileScanTask = keyedTableScanTask.dataTasks().get(0);
+    return new KeyedConnectorSplit(
+        KeyedScanTaskCodec.encode(compactTask, arcticFileScanTask.spec()),
+        PartitionSpecParser.toJson(arcticFileScanTask.spec()),
+        PartitionData.toJson(arcticFileScanTask.file().partition()));
+  }
+
+  private static ArcticFileScanTask withoutStats(ArcticFileScanTask task) {
+    List<DeleteFile> deletes = task.deletes().stream()
+        .map(DeleteFile::copyWithoutStats)
+        .collect(toImmutableList());
+    return new BasicArcticFileScanTask(
+        (PrimaryKeyedFile) task.file().copyWithoutStats(),
+        deletes,
+        task.spec(),
+        task.residual());
+  }
+
+  private void finish() {
+    close();
+    this.planFuture = completedFuture(Collections.emptyIterator());
+    this.finished = true;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+    try {
+      closer.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -339,7 +339,7 @@ public class IcebergSplitSource
   }
 
   @VisibleForTesting
-  static boolean fileMatchesPredicate(
+  public static boolean fileMatchesPredicate(
       Map<Integer, Type.PrimitiveType> primitiveTypeForFieldId,
       TupleDomain<IcebergColumnHandle> dynamicFilterPredicate,
       @Nullable Map<Integer, ByteBuffer> lowerBounds,
@@ -416,7 +416,7 @@ public class IcebergSplitSource
   }
 
   @VisibleForTesting
-  static boolean partitionMatchesPredicate(
+  public static boolean partitionMatchesPredicate(
       Set<IcebergColumnHandle> identityPartitionColumns,
       Supplier<Map<ColumnHandle, NullableValue>> partitionValues,
       TupleDomain<IcebergColumnHandle> dynamicFilterPredicate) {
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.arctic;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.netease.arctic.ams.api.MockArcticMetastoreServer;
+import com.netease.arctic.trino.keyed.KeyedConnectorSplit;
+import com.netease.arctic.trino.keyed.KeyedSplitSource;
+import io.airlift.units.Duration;
+import io.trino.plugin.iceberg.IcebergColumnHandle;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.ConnectorSplitSource.ConnectorSplitBatch;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.testing.QueryRunner;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.netease.arctic.ams.api.MockArcticMetastoreServer.TEST_CATALOG_NAME;
+import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestKeyedSplitSource extends TableTestBaseWithInitDataForTrino {
+
+  private final Queue<Runnable> plans = new ConcurrentLinkedQueue<>();
+
+  @Override
+  protected QueryRunner createQueryRunner() throws Exception {
+    AMS = MockArcticMetastoreServer.getInstance();
+    tmp.create();
+    setupTables();
+    initData();
+    return ArcticQueryRunner.builder()
+        .setIcebergProperties(ImmutableMap.of("arctic.url",
+            String.format("thrift://localhost:%s/%s", AMS.port(), TEST_CATALOG_NAME)))
+        .build();
+  }
+
+  @Test
+  public void testPlanWithoutBlockingCaller() {
+    TestingDynamicFilter dynamicFilter = new TestingDynamicFilter();
+    KeyedSplitSource splitSource = newSplitSource(dynamicFilter);
+
+    CompletableFuture<ConnectorSplitBatch> planning = splitSource.getNextBatch(100);
+    assertThat(planning).isNotDone();
+    runPlans();
+    assertThat(planning.join().getSplits()).isEmpty();
+
+    List<ConnectorSplit> splits = drain(splitSource);
+    assertThat(partitionDays(splits)).containsExactlyInAnyOrder(day(1), day(2), day(3), day(4));
+    assertThat(splitSource.isFinished()).isTrue();
+  }
+
+  @Test
+  public void testSkipTasksByNarrowedDynamicFilter() {
+    TestingDynamicFilter dynamicFilter = new TestingDynamicFilter();
+    KeyedSplitSource splitSource = newSplitSource(dynamicFilter);
+    CompletableFuture<ConnectorSplitBatch> planning = splitSource.getNextBatch(100);
+    runPlans();
+    assertThat(planning.join().getSplits()).isEmpty();
+
+    // the tasks are planned without the dynamic filter, then skipped by the key bounds of their data files
+    dynamicFilter.currentPredicate = TupleDomain.withColumnDomains(
+        ImmutableMap.of(idColumn(), Domain.singleValue(INTEGER, 2L)));
+    List<ConnectorSplit> splits = drain(splitSource);
+    assertThat(splits).isNotEmpty();
+    assertThat(partitionDays(splits)).containsExactly(day(2));
+  }
+
+  @Test
+  public void testNoMoreSplitsForNoneDynamicFilter() {
+    TestingDynamicFilter dynamicFilter = new TestingDynamicFilter();
+    KeyedSplitSource splitSource = newSplitSource(dynamicFilter);
+    CompletableFuture<ConnectorSplitBatch> planning = splitSource.getNextBatch(1);
+    runPlans();
+    planning.join();
+
+    dynamicFilter.currentPredicate = TupleDomain.none();
+    ConnectorSplitBatch batch = splitSource.getNextBatch(100).join();
+    assertThat(batch.getSplits()).isEmpty();
+    assertThat(batch.isNoMoreSplits()).isTrue();
+    assertThat(splitSource.isFinished()).isTrue();
+  }
+
+  private KeyedSplitSource newSplitSource(DynamicFilter dynamicFilter) {
+    return new KeyedSplitSource(
+        TupleDomain.all(),
+        testKeyedTable.newScan(),
+        testKeyedTable.schema(),
+        dynamicFilter,
+        new Duration(0, SECONDS),
+        TESTING_TYPE_MANAGER,
+        plans::add);
+  }
+
+  private void runPlans() {
+    Runnable plan;
+    while ((plan = plans.poll()) != null) {
+      plan.run();
+    }
+  }
+
+  private List<ConnectorSplit> drain(KeyedSplitSource splitSource) {
+    List<ConnectorSplit> splits = new ArrayList<>();
+    while (!splitSource.isFinished()) {
+      // every batch is planned on the plan executor
+      CompletableFuture<ConnectorSplitBatch> batch = splitSource.getNextBatch(1);
+      assertThat(batch).isNotDone();
+      runPlans();
+      splits.addAll(batch.join().getSplits());
+    }
+    return splits;
+  }
+
+  private IcebergColumnHandle idColumn() {
+    return getColumnHandle(testKeyedTable.schema().findField("id"), TESTING_TYPE_MANAGER);
+  }
+
+  private Set<Integer> partitionDays(List<ConnectorSplit> splits) {
+    return splits.stream()
+        .map(split -> ((KeyedConnectorSplit) split).getKeyedTableScanTask(testKeyedTable.schema()).dataTasks().get(0))
+        .map(task -> task.file().partition().get(0, Integer.class))
+        .collect(toImmutableSet());
+  }
+
+  private static int day(int dayOfMonth) {
+    return (int) LocalDate.of(2022, 1, dayOfMonth).toEpochDay();
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void clear() {
+    clearTable();
+  }
+
+  private static class TestingDynamicFilter implements DynamicFilter {
+    private volatile TupleDomain<IcebergColumnHandle> currentPredicate = TupleDomain.all();
+
+    @Override
+    public Set<ColumnHandle> getColumnsCovered() {
+      return ImmutableSet.of();
+    }
+
+    @Override
+    public CompletableFuture<?> isBlocked() {
+      return NOT_BLOCKED;
+    }
+
+    @Override
+    public boolean isComplete() {
+      return true;
+    }
+
+    @Override
+    public boolean isAwaitable() {
+      return false;
+    }
+
+    @Override
+    public TupleDomain<ColumnHandle> getCurrentPredicate() {
+      return currentPredicate.transformKeys(ColumnHandle.class::cast);
+    }
+  }
+}
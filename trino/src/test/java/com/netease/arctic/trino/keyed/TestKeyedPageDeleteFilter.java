@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.data.PrimaryKeyData;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.table.PrimaryKeySpec;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.connector.FixedPageSource;
+import io.trino.spi.type.TypeOperators;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.trino.spi.type.BigintType.BIGINT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestKeyedPageDeleteFilter {
+
+  private static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "id", Types.LongType.get()),
+      Types.NestedField.required(2, "name", Types.LongType.get()));
+  private static final PrimaryKeySpec KEY_SPEC = PrimaryKeySpec.builderFor(SCHEMA).addColumn("id").build();
+
+  // channels of the data pages: id, transaction id, file offset
+  private static final int[] KEY_CHANNELS = new int[] {0};
+  private static final int TRANSACTION_ID_CHANNEL = 1;
+  private static final int FILE_OFFSET_CHANNEL = 2;
+
+  @Test
+  public void testDeleteOnlyOlderRows() {
+    PrimaryKeyedFile deleteFile1 = deleteFile(DataTreeNode.ROOT, 2);
+    PrimaryKeyedFile deleteFile2 = deleteFile(DataTreeNode.ROOT, 4);
+    KeyedPageDeleteFilter filter = newFilter(
+        ImmutableMap.of(
+            deleteFile1, page(new Long[] {1L, 2L}, 2, new long[] {5, 5}),
+            deleteFile2, page(new Long[] {2L}, 4, new long[] {1})),
+        null);
+
+    Page data = page(
+        new Long[] {1L, 1L, 1L, 1L, 2L, 2L, 2L, 3L},
+        new long[] {1, 2, 2, 3, 3, 4, 4, 1},
+        new long[] {100, 4, 5, 0, 100, 0, 1, 0});
+    // a row is deleted only if the lsn of the delete is greater, the greatest lsn of the deletes of a key is used
+    assertThat(filter(filter, data)).containsExactly(2, 3, 6, 7);
+  }
+
+  @Test
+  public void testManyDeletes() {
+    int deleteCount = 10000;
+    Long[] keys = new Long[deleteCount];
+    long[] fileOffsets = new long[deleteCount];
+    for (int i = 0; i < deleteCount; i++) {
+      keys[i] = (long) i * 7;
+      fileOffsets[i] = i;
+    }
+    PrimaryKeyedFile deleteFile = deleteFile(DataTreeNode.ROOT, 2);
+    // the index is resized many times and keys collide in the slots of it
+    KeyedPageDeleteFilter filter = newFilter(ImmutableMap.of(deleteFile, page(keys, 2, fileOffsets)), null);
+
+    int dataCount = deleteCount * 7;
+    Long[] dataKeys = new Long[dataCount];
+    long[] transactionIds = new long[dataCount];
+    long[] dataOffsets = new long[dataCount];
+    for (int i = 0; i < dataCount; i++) {
+      dataKeys[i] = (long) i;
+      transactionIds[i] = 1;
+    }
+    List<Integer> kept = filter(filter, page(dataKeys, transactionIds, dataOffsets));
+    assertThat(kept).hasSize(dataCount - deleteCount);
+    assertThat(kept).allMatch(position -> position % 7 != 0);
+    assertThat(filter.getRetainedSizeInBytes()).isGreaterThan(deleteCount * 8L * 4);
+  }
+
+  @Test
+  public void testNullKey() {
+    PrimaryKeyedFile deleteFile = deleteFile(DataTreeNode.ROOT, 2);
+    KeyedPageDeleteFilter filter = newFilter(
+        ImmutableMap.of(deleteFile, page(new Long[] {null, 1L}, 2, new long[] {0, 1})),
+        null);
+
+    Page data = page(
+        new Long[] {null, null, 1L, 2L},
+        new long[] {1, 3, 1, 1},
+        new long[] {0, 0, 0, 0});
+    // a null key equals to the null key of the deletes
+    assertThat(filter(filter, data)).containsExactly(1, 3);
+  }
+
+  @Test
+  public void testIgnoreDeletesOfOtherNodes() {
+    DataTreeNode left = DataTreeNode.of(1, 0);
+    Long keyOfLeft = null;
+    Long keyOfRight = null;
+    for (long key = 0; keyOfLeft == null || keyOfRight == null; key++) {
+      if (nodeOf(key, 1).equals(left)) {
+        keyOfLeft = keyOfLeft == null ? key : keyOfLeft;
+      } else {
+        keyOfRight = keyOfRight == null ? key : keyOfRight;
+      }
+    }
+
+    PrimaryKeyedFile rootDeleteFile = deleteFile(DataTreeNode.ROOT, 2);
+    Map<PrimaryKeyedFile, Page> deletes = ImmutableMap.of(
+        rootDeleteFile, page(new Long[] {keyOfLeft, keyOfRight}, 2, new long[] {0, 1}));
+    Page data = page(new Long[] {keyOfLeft, keyOfRight}, new long[] {1, 1}, new long[] {0, 0});
+
+    assertThat(filter(newFilter(deletes, null), data)).isEmpty();
+    KeyedPageDeleteFilter leftFilter = newFilter(deletes, ImmutableSet.of(left));
+    assertThat(filter(leftFilter, data)).containsExactly(1);
+    assertThat(leftFilter.getRetainedSizeInBytes())
+        .isLessThan(newFilterLoaded(deletes, null).getRetainedSizeInBytes());
+  }
+
+  private static KeyedPageDeleteFilter newFilter(Map<PrimaryKeyedFile, Page> deletes, Set<DataTreeNode> sourceNodes) {
+    return new KeyedPageDeleteFilter(
+        ImmutableList.of(BIGINT),
+        KEY_CHANNELS,
+        TRANSACTION_ID_CHANNEL,
+        FILE_OFFSET_CHANNEL,
+        -1,
+        ImmutableList.copyOf(deletes.keySet()),
+        deleteFile -> new FixedPageSource(ImmutableList.of(deletes.get(deleteFile))),
+        KEY_SPEC,
+        sourceNodes,
+        new TypeOperators());
+  }
+
+  private static KeyedPageDeleteFilter newFilterLoaded(
+      Map<PrimaryKeyedFile, Page> deletes, Set<DataTreeNode> sourceNodes) {
+    KeyedPageDeleteFilter filter = newFilter(deletes, sourceNodes);
+    filter(filter, page(new Long[0], new long[0], new long[0]));
+    return filter;
+  }
+
+  private static List<Integer> filter(KeyedPageDeleteFilter filter, Page data) {
+    int[] positionsToKeep = new int[data.getPositionCount()];
+    int keepCount = filter.filter(data, null, positionsToKeep);
+    List<Integer> kept = new ArrayList<>();
+    for (int i = 0; i < keepCount; i++) {
+      kept.add(positionsToKeep[i]);
+    }
+    return kept;
+  }
+
+  private static DataTreeNode nodeOf(long key, long mask) {
+    GenericRecord record = GenericRecord.create(SCHEMA);
+    record.setField("id", key);
+    record.setField("name", 0L);
+    PrimaryKeyData primaryKey = new PrimaryKeyData(KEY_SPEC, SCHEMA);
+    primaryKey.primaryKey(record);
+    return primaryKey.treeNode(mask);
+  }
+
+  private static PrimaryKeyedFile deleteFile(DataTreeNode node, long transactionId) {
+    String path = String.format("/tmp/change/%d-ED-%d-00000-0-0-00001.parquet", node.getId(), transactionId);
+    return DefaultKeyedFile.parseChange(
+        DataFiles.builder(PartitionSpec.unpartitioned())
+            .withPath(path)
+            .withFileSizeInBytes(10)
+            .withRecordCount(1)
+            .build(),
+        0);
+  }
+
+  private static Page page(Long[] keys, long transactionId, long[] fileOffsets) {
+    long[] transactionIds = new long[keys.length];
+    Arrays.fill(transactionIds, transactionId);
+    return page(keys, transactionIds, fileOffsets);
+  }
+
+  private static Page page(Long[] keys, long[] transactionIds, long[] fileOffsets) {
+    BlockBuilder keyBuilder = BIGINT.createBlockBuilder(null, keys.length);
+    for (Long key : keys) {
+      if (key == null) {
+        keyBuilder.appendNull();
+      } else {
+        BIGINT.writeLong(keyBuilder, key);
+      }
+    }
+    return new Page(keyBuilder.build(), longs(transactionIds), longs(fileOffsets));
+  }
+
+  private static Block longs(long[] values) {
+    BlockBuilder builder = BIGINT.createBlockBuilder(null, values.length);
+    for (long value : values) {
+      BIGINT.writeLong(builder, value);
+    }
+    return builder.build();
+  }
+}
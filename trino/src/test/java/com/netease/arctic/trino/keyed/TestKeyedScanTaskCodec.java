@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import com.google.common.collect.ImmutableList;
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.BasicArcticFileScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestKeyedScanTaskCodec {
+
+  private static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "id", Types.LongType.get()),
+      Types.NestedField.optional(2, "pt", Types.StringType.get()));
+  private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).identity("pt").build();
+
+  @Test
+  public void testEncodeTask() {
+    DeleteFile posDelete = FileMetadata.deleteFileBuilder(SPEC)
+        .ofPositionDeletes()
+        .withPath("/tmp/base/pt=a/1-PD-6-00000-0-0-00001.parquet")
+        .withPartitionPath("pt=a")
+        .withFileSizeInBytes(10)
+        .withRecordCount(1)
+        .build();
+    ArcticFileScanTask baseTask = new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseBase(dataFile("/tmp/base/pt=a/1-B-5-00000-0-0-00001.parquet", 100)),
+        ImmutableList.of(posDelete),
+        SPEC);
+    // the transaction id of the file of flink is the sequence number
+    ArcticFileScanTask insertTask = new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseChange(dataFile("/tmp/change/pt=a/1-I-0-00000-0-0-00001.parquet", 20), 7),
+        null,
+        SPEC);
+    ArcticFileScanTask deleteTask = new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseChange(dataFile("/tmp/change/pt=a/1-ED-8-00000-0-0-00001.parquet", 5), 8),
+        null,
+        SPEC);
+    NodeFileScanTask task = new NodeFileScanTask(ImmutableList.of(baseTask, insertTask, deleteTask));
+    task.setTreeNode(DataTreeNode.ROOT);
+
+    KeyedTableScanTask decoded = KeyedScanTaskCodec.decode(KeyedScanTaskCodec.encode(task, SPEC), SPEC);
+
+    assertThat(((NodeFileScanTask) decoded).treeNode()).isEqualTo(DataTreeNode.ROOT);
+    assertThat(decoded.baseTasks()).hasSize(1);
+    assertFile(decoded.baseTasks().get(0).file(), baseTask.file());
+    assertThat(decoded.baseTasks().get(0).deletes()).hasSize(1);
+    DeleteFile decodedPosDelete = decoded.baseTasks().get(0).deletes().get(0);
+    assertThat(decodedPosDelete.path().toString()).isEqualTo(posDelete.path().toString());
+    assertThat(decodedPosDelete.content()).isEqualTo(posDelete.content());
+    assertThat(decodedPosDelete.partition().get(0, String.class)).isEqualTo("a");
+
+    assertThat(decoded.insertTasks()).hasSize(1);
+    assertFile(decoded.insertTasks().get(0).file(), insertTask.file());
+    assertThat(decoded.insertTasks().get(0).deletes()).isEmpty();
+    List<ArcticFileScanTask> deletes = decoded.arcticEquityDeletes();
+    assertThat(deletes).hasSize(1);
+    assertFile(deletes.get(0).file(), deleteTask.file());
+  }
+
+  @Test
+  public void testEncodeTaskWithoutNode() {
+    ArcticFileScanTask baseTask = new BasicArcticFileScanTask(
+        DefaultKeyedFile.parseBase(dataFile("/tmp/base/pt=a/data.parquet", 100)),
+        null,
+        SPEC);
+    NodeFileScanTask task = new NodeFileScanTask(ImmutableList.of(baseTask));
+
+    NodeFileScanTask decoded = KeyedScanTaskCodec.decode(KeyedScanTaskCodec.encode(task, SPEC), SPEC);
+    assertThat(decoded.treeNode()).isNull();
+    assertThat(decoded.baseTasks()).hasSize(1);
+    assertThat(decoded.baseTasks().get(0).file().type()).isEqualTo(DataFileType.BASE_FILE);
+    assertFile(decoded.baseTasks().get(0).file(), baseTask.file());
+    assertThat(decoded.insertTasks()).isEmpty();
+    assertThat(decoded.arcticEquityDeletes()).isEmpty();
+  }
+
+  private static void assertFile(PrimaryKeyedFile actual, PrimaryKeyedFile expected) {
+    assertThat(actual.path().toString()).isEqualTo(expected.path().toString());
+    assertThat(actual.type()).isEqualTo(expected.type());
+    assertThat(actual.transactionId()).isEqualTo(expected.transactionId());
+    assertThat(actual.node()).isEqualTo(expected.node());
+    assertThat(actual.recordCount()).isEqualTo(expected.recordCount());
+    assertThat(actual.fileSizeInBytes()).isEqualTo(expected.fileSizeInBytes());
+    assertThat(actual.format()).isEqualTo(expected.format());
+    assertThat(actual.partition().get(0, String.class)).isEqualTo("a");
+  }
+
+  private static DataFile dataFile(String path, long recordCount) {
+    return DataFiles.builder(SPEC)
+        .withPath(path)
+        .withPartitionPath("pt=a")
+        .withFileSizeInBytes(recordCount * 10)
+        .withRecordCount(recordCount)
+        .build();
+  }
+}